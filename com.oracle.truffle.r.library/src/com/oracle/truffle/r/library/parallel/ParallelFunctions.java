@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,9 +22,15 @@
  */
 package com.oracle.truffle.r.library.parallel;
 
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.integerValue;
+
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.r.nodes.builtin.RExternalBuiltinNode;
+import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.rng.lecuyer.LEcuyerCMRG;
 
 /**
  * The .Call support for the parallel package.
@@ -36,4 +42,31 @@ public class ParallelFunctions {
             return RRuntime.asLogical(getRContext().getParent() != null);
         }
     }
+
+    /**
+     * {@code nextRNGStream} and {@code nextRNGSubStream} implemented via {@link LEcuyerCMRG} instead
+     * of the native code in rngstream.c.
+     */
+    public abstract static class NextStream extends RExternalBuiltinNode.Arg1 {
+
+        private final boolean subStream;
+
+        protected NextStream(boolean subStream) {
+            this.subStream = subStream;
+        }
+
+        static {
+            Casts casts = new Casts(NextStream.class);
+            casts.arg(0).mustBe(integerValue()).asIntegerVector();
+        }
+
+        @Specialization
+        protected RIntVector nextStream(RIntVector seed) {
+            if (seed.getLength() != 7) {
+                throw error(RError.Message.GENERIC, "invalid value of 'seed'");
+            }
+            int[] seeds = seed.materialize().getReadonlyData();
+            return RDataFactory.createIntVector(subStream ? LEcuyerCMRG.nextSubStream(seeds) : LEcuyerCMRG.nextStream(seeds), RDataFactory.INCOMPLETE_VECTOR);
+        }
+    }
 }
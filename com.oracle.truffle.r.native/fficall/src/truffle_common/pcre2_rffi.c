@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2021, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -81,10 +81,67 @@ int call_pcre2_match(
     uint32_t options,
     int stop_after_first_match
 );
+/**
+ * Matches the pattern against many subjects in one call, with the same semantics as
+ * `call_pcre2_match` for each of them. The matches are written into flat buffers instead of being
+ * reported via callbacks, and one match context and match data block are used for all the
+ * subjects.
+ *
+ * @param re A pointer to the compiled pattern - as returned by `call_pcre2_compile`.
+ * @param subjects The subjects, concatenated.
+ * @param subject_offsets Subject `i` is `subjects[subject_offsets[i]..subject_offsets[i + 1])`.
+ * @param first Index of the first subject to match.
+ * @param count Number of subjects, `subject_offsets` has `count + 1` elements.
+ * @param options An option bitset. See pcre2.h.
+ * @param stop_after_first_match If 1, only first match is done in every subject.
+ * @param match_counts Receives the number of matches of every subject.
+ * @param results Receives `2 * (capture_count + 1)` integers for every match: the start and end
+ *     index of the match followed by the start and end indexes of the captures, or -1 for the
+ *     captures that did not participate in the match.
+ * @param results_len Length of `results`.
+ *
+ * @returns Index of the first subject that was not matched because its matches do not fit into
+ *    the remaining part of `results` (or `count` if all of them were matched), or PCRE2 error code
+ *    (negative integer) on error.
+ */
+int call_pcre2_match_all(
+    pcre2_code *re,
+    uint8_t *subjects,
+    int *subject_offsets,
+    int first,
+    int count,
+    uint32_t options,
+    int stop_after_first_match,
+    int *match_counts,
+    int *results,
+    int results_len
+);
 void call_pcre2_pattern_free(pcre2_code *compiled_pattern);
 void call_pcre2_errcode_to_string(int errcode, uint8_t *buff, size_t buff_len);
 
+/**
+ * The destination of the matches found by `match_subject`. The `report` function is called once per
+ * match and returns 0, or 1 if the match could not be stored, in which case the matching stops.
+ */
+typedef struct match_sink {
+    int (*report)(struct match_sink *sink, uint32_t capture_count, const size_t *ovector);
+    // Used by `call_pcre2_match`.
+    match_cb_t match_cb;
+    capture_cb_t capture_cb;
+    // Used by `call_pcre2_match_all`.
+    int *results;
+    int results_len;
+    int results_pos;
+} match_sink_t;
+
 // Helper functions
+static int match_subject(pcre2_code *re, pcre2_match_data *match_data, pcre2_match_context *match_context, uint32_t capture_count, int utf8,
+                         uint8_t *subject, size_t subject_len, uint32_t first_match_options, int stop_after_first_match, match_sink_t *sink);
+static int do_match(pcre2_code *re, uint8_t *subject, size_t subject_len, size_t start_offset, uint32_t options, pcre2_match_data *match_data,
+                    pcre2_match_context *match_context);
+static int is_utf8_pattern(pcre2_code *re);
+static int report_to_callbacks(match_sink_t *sink, uint32_t capture_count, const size_t *ovector);
+static int report_to_buffer(match_sink_t *sink, uint32_t capture_count, const size_t *ovector);
 static int is_valid_index(size_t index);
 static int is_utf8_continuation_byte(uint8_t byte);
 static void report_captures(capture_cb_t capture_cb, uint32_t capture_count, const size_t *ovector);
@@ -101,6 +158,11 @@ pcre2_code *call_pcre2_compile(uint8_t *pattern, size_t pattern_len, uint32_t op
     printf("]\n");
 #endif
     pcre2_code *compiled_pattern = pcre2_compile(pattern, pattern_len, options, error_code, (size_t *)error_offset, NULL);
+    if (compiled_pattern != NULL) {
+        // The compiled patterns are cached and reused, so the JIT compilation pays off. If the JIT
+        // is not available, pcre2_match falls back to the interpreter.
+        (void)pcre2_jit_compile(compiled_pattern, PCRE2_JIT_COMPLETE);
+    }
     return compiled_pattern;
 }
 
@@ -162,24 +224,90 @@ int call_pcre2_match(
 )
 {
     pcre2_match_data *match_data = pcre2_match_data_create_from_pattern(re, NULL);
+    match_sink_t sink = {report_to_callbacks, match_cb, capture_cb, NULL, 0, 0};
+    // We use the default match context.
+    int rc = match_subject(re, match_data, NULL, call_pcre2_capture_count(re), is_utf8_pattern(re),
+                           subject, subject_len, first_match_options, stop_after_first_match, &sink);
+    pcre2_match_data_free(match_data);
+    return rc;
+}
+
+int call_pcre2_match_all(
+    pcre2_code *re,
+    uint8_t *subjects,
+    int *subject_offsets,
+    int first,
+    int count,
+    uint32_t options,
+    int stop_after_first_match,
+    int *match_counts,
+    int *results,
+    int results_len
+)
+{
+    pcre2_match_data *match_data = pcre2_match_data_create_from_pattern(re, NULL);
+    pcre2_match_context *match_context = pcre2_match_context_create(NULL);
+    // The default JIT stack (32K on the machine stack) is too small for some patterns.
+    pcre2_jit_stack *jit_stack = pcre2_jit_stack_create(32 * 1024, 1024 * 1024, NULL);
+    if (jit_stack != NULL) {
+        pcre2_jit_stack_assign(match_context, NULL, jit_stack);
+    }
     uint32_t capture_count = call_pcre2_capture_count(re);
+    int utf8 = is_utf8_pattern(re);
+    match_sink_t sink = {report_to_buffer, NULL, NULL, results, results_len, 0};
+
+    int ret = count;
+    for (int i = first; i < count; i++) {
+        int results_pos = sink.results_pos;
+        size_t subject_len = (size_t) (subject_offsets[i + 1] - subject_offsets[i]);
+        int rc = match_subject(re, match_data, match_context, capture_count, utf8,
+                               subjects + subject_offsets[i], subject_len, options, stop_after_first_match, &sink);
+        if (sink.results_pos < 0) {
+            // The matches of this subject do not fit, the caller matches it again.
+            sink.results_pos = results_pos;
+            ret = i;
+            break;
+        } else if (rc < 0) {
+            ret = rc;
+            break;
+        }
+        match_counts[i] = rc;
+    }
 
-    uint32_t pattern_option_bits = 0;
-    (void)pcre2_pattern_info(re, PCRE2_INFO_ALLOPTIONS, &pattern_option_bits);
-    int utf8 = (pattern_option_bits & PCRE2_UTF) != 0;
-#ifdef FASTR_PCRE2_DEBUG
-    printf("call_pcre2_match: utf8 option = %d\n", utf8);
-#endif
+    if (jit_stack != NULL) {
+        pcre2_jit_stack_free(jit_stack);
+    }
+    pcre2_match_context_free(match_context);
+    pcre2_match_data_free(match_data);
+    return ret;
+}
 
+/**
+ * Matches the pattern against one subject and reports the matches to the sink, see
+ * `call_pcre2_match`.
+ *
+ * @returns Number of matches, or PCRE2 error code (negative integer) on error.
+ */
+static int match_subject(
+    pcre2_code *re,
+    pcre2_match_data *match_data,
+    pcre2_match_context *match_context,
+    uint32_t capture_count,
+    int utf8,
+    uint8_t *subject,
+    size_t subject_len,
+    uint32_t first_match_options,
+    int stop_after_first_match,
+    match_sink_t *sink
+)
+{
     int match_count = 0;
-    // We use the default match context, and subject_offset is 0.
+    // subject_offset is 0.
     // rc corresponds to the count of captured groups plus one, or error code if rc is negative.
-    int rc = pcre2_match(re, subject, subject_len, 0, first_match_options, match_data, NULL);
+    int rc = do_match(re, subject, subject_len, 0, first_match_options, match_data, match_context);
     if (rc == PCRE2_ERROR_NOMATCH) {
-        pcre2_match_data_free(match_data);
         return 0;
     } else if (rc < 0) {
-        pcre2_match_data_free(match_data);
         return rc;
     } else {
         match_count++;
@@ -197,22 +325,21 @@ int call_pcre2_match(
         printf("call_pcre2_match: \\K special case\n");
 #endif
         // \K special case
-        pcre2_match_data_free(match_data);
         return -1;
     }
 
 #ifdef FASTR_PCRE2_DEBUG
     printf("call_pcre2_match: match_cb(%lu, %lu)\n", ovector[0], ovector[1]);
 #endif
-    match_cb(ovector[0], ovector[1]);
-    report_captures(capture_cb, capture_count, ovector);
+    if (sink->report(sink, capture_count, ovector)) {
+        return match_count;
+    }
 
     if (stop_after_first_match) {
         // The case for match_count == 0 was already processed.
         if (match_count != 1) {
             fatalError("pcre2_rffi.c: match_count != 1");
         }
-        pcre2_match_data_free(match_data);
         return match_count;
     }
 
@@ -225,7 +352,6 @@ int call_pcre2_match(
 #ifdef FASTR_PCRE2_DEBUG
             printf("start_offset > subject_len\n");
 #endif
-            pcre2_match_data_free(match_data);
             return match_count;
         }
 
@@ -233,7 +359,6 @@ int call_pcre2_match(
         if (ovector[0] == ovector[1]) {
             if (ovector[0] == subject_len) {
                 // We are at the end of the subject.
-                pcre2_match_data_free(match_data);
                 return match_count;
             } else {
                 // We set the options here so that we prevent an infinite recursion.
@@ -250,7 +375,6 @@ int call_pcre2_match(
 #endif
                 if (subject_len <= prev_match_start_idx) {
                     // Reached end of subject.
-                    pcre2_match_data_free(match_data);
                     return match_count;
                 } else {
                     start_offset = advance_offset(prev_match_start_idx, utf8, subject, subject_len);
@@ -262,7 +386,7 @@ int call_pcre2_match(
         printf("call_pcre2_match: Calling pcre2_match(start_offset=%lu, options=%u)\n", start_offset, options);
 #endif
         // This time, we call `pcre2_match` with a specific offset into the subject.
-        rc = pcre2_match(re, subject, subject_len, start_offset, options, match_data, NULL);
+        rc = do_match(re, subject, subject_len, start_offset, options, match_data, match_context);
 
         // This time, NO_MATCH is not an error.
         if (rc == PCRE2_ERROR_NOMATCH) {
@@ -275,12 +399,10 @@ int call_pcre2_match(
             continue;
         } else if (rc == PCRE2_ERROR_BADUTFOFFSET) {
             // We provided pcre2_match function with bad offset into an UTF-8 character.
-            pcre2_match_data_free(match_data);
             fatalError("pcre2_rffi.c: BADUTFOFFSET - should not happen");
             return -1;
         } else if (rc < 0) {
             // This error is not recoverable
-            pcre2_match_data_free(match_data);
             return rc;
         } else {
             match_count++;
@@ -288,17 +410,65 @@ int call_pcre2_match(
 
         if (ovector[0] > ovector[1]) {
             printf("Error: Special case with \\K (see pcre2demo)");
-            pcre2_match_data_free(match_data);
             return -1;
         }
 
-        match_cb(ovector[0], ovector[1]);
-        report_captures(capture_cb, capture_count, ovector);
+        if (sink->report(sink, capture_count, ovector)) {
+            return match_count;
+        }
     }
-    pcre2_match_data_free(match_data);
     return match_count;
 }
 
+/**
+ * Calls `pcre2_match`, falling back to the interpreter if the JIT stack is exhausted.
+ */
+static int do_match(pcre2_code *re, uint8_t *subject, size_t subject_len, size_t start_offset, uint32_t options, pcre2_match_data *match_data,
+                    pcre2_match_context *match_context)
+{
+    int rc = pcre2_match(re, subject, subject_len, start_offset, options, match_data, match_context);
+    if (rc == PCRE2_ERROR_JIT_STACKLIMIT) {
+        rc = pcre2_match(re, subject, subject_len, start_offset, options | PCRE2_NO_JIT, match_data, match_context);
+    }
+    return rc;
+}
+
+static int is_utf8_pattern(pcre2_code *re)
+{
+    uint32_t pattern_option_bits = 0;
+    (void)pcre2_pattern_info(re, PCRE2_INFO_ALLOPTIONS, &pattern_option_bits);
+    int utf8 = (pattern_option_bits & PCRE2_UTF) != 0;
+#ifdef FASTR_PCRE2_DEBUG
+    printf("call_pcre2_match: utf8 option = %d\n", utf8);
+#endif
+    return utf8;
+}
+
+static int report_to_callbacks(match_sink_t *sink, uint32_t capture_count, const size_t *ovector)
+{
+    sink->match_cb(ovector[0], ovector[1]);
+    report_captures(sink->capture_cb, capture_count, ovector);
+    return 0;
+}
+
+/**
+ * Stores the match and its captures into `sink->results`. If they do not fit, sets
+ * `sink->results_pos` to -1 and returns 1.
+ */
+static int report_to_buffer(match_sink_t *sink, uint32_t capture_count, const size_t *ovector)
+{
+    int len = 2 * ((int) capture_count + 1);
+    if (sink->results_pos + len > sink->results_len) {
+        sink->results_pos = -1;
+        return 1;
+    }
+    for (int i = 0; i < len; i++) {
+        // We want to report only "valid" indexes to Java.
+        sink->results[sink->results_pos++] = is_valid_index(ovector[i]) ? (int) ovector[i] : -1;
+    }
+    return 0;
+}
+
 void call_pcre2_pattern_free(pcre2_code *compiled_pattern)
 {
     pcre2_code_free(compiled_pattern);
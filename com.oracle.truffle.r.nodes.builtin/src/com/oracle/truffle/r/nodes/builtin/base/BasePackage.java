@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -131,10 +131,14 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRInteropFactory.FastRInterop
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRInteropFactory.FastRInteropClearExceptionNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRInteropFactory.FastRInteropGetExceptionNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRInteropFactory.FastRInteropTryNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRIsPure;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRIsPureNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRJavaGDResize;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRLibPaths;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRLibPathsNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastROptionBuiltin;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRParallelThreads;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRParallelThreadsNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPatchPackage;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPatchPackageNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPkgSource;
@@ -142,8 +146,12 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRPkgSourceNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPrintError;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPrintErrorNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRRCallerTrace;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRReadTable;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRReadTableNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRRefCountInfo;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRRefCountInfoNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRRegexCache;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRRegexCacheNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRRegisterFunctions;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRRegisterFunctionsNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRSVGFileName;
@@ -490,8 +498,15 @@ public class BasePackage extends RBuiltinPackage {
         add(FastRContext.ChannelReceive.class, FastRContextFactory.ChannelReceiveNodeGen::create);
         add(FastRContext.ChannelSelect.class, FastRContextFactory.ChannelSelectNodeGen::create);
         add(FastRContext.ChannelSend.class, FastRContextFactory.ChannelSendNodeGen::create);
+        add(FastRContext.ChannelSendBatch.class, FastRContextFactory.ChannelSendBatchNodeGen::create);
+        add(FastRContext.ChannelReceiveBatch.class, FastRContextFactory.ChannelReceiveBatchNodeGen::create);
+        add(FastRContext.ChannelStats.class, FastRContextFactory.ChannelStatsNodeGen::create);
         add(FastRContext.Spawn.class, FastRContextFactory.SpawnNodeGen::create);
         add(FastRContext.Interrupt.class, FastRContextFactory.InterruptNodeGen::create);
+        add(FastRContext.PoolAcquire.class, FastRContextFactory.PoolAcquireNodeGen::create);
+        add(FastRContext.PoolRegister.class, FastRContextFactory.PoolRegisterNodeGen::create);
+        add(FastRContext.PoolRelease.class, FastRContextFactory.PoolReleaseNodeGen::create);
+        add(FastRContext.PoolStats.class, FastRContextFactory.PoolStatsNodeGen::create);
         add(FastRContext.Join.class, FastRContextFactory.JoinNodeGen::create);
         add(FastRRegisterFunctions.class, FastRRegisterFunctionsNodeGen::create);
         add(FastrDqrls.class, FastrDqrlsNodeGen::create);
@@ -505,6 +520,10 @@ public class BasePackage extends RBuiltinPackage {
         add(FastRHelpPath.class, FastRHelpPathNodeGen::create);
         add(FastRHelpRd.class, FastRHelpRdNodeGen::create);
         add(FastRIdentity.class, FastRIdentityNodeGen::create);
+        add(FastRIsPure.class, FastRIsPureNodeGen::create);
+        add(FastRParallelThreads.class, FastRParallelThreadsNodeGen::create);
+        add(FastRReadTable.class, FastRReadTableNodeGen::create);
+        add(FastRRegexCache.class, FastRRegexCacheNodeGen::create);
         add(FastROptionBuiltin.class, FastROptionBuiltin::create);
         add(FastRTestsTry.class, FastRTestsTryNodeGen::create);
         add(FastRInteropTry.class, FastRInteropTryNodeGen::create);
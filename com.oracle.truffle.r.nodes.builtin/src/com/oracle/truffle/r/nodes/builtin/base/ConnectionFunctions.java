@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -56,7 +56,6 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.DoubleBuffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
 import java.nio.channels.ByteChannel;
@@ -957,6 +956,11 @@ public abstract class ConnectionFunctions {
         }
 
         private static ByteBuffer fillBuffer(RConnection con, boolean swap, int bytes) throws IOException {
+            // large reads from files are converted directly from the memory mapped file
+            ByteBuffer view = con.readBinView(bytes);
+            if (view != null) {
+                return checkOrder(view, swap);
+            }
             ByteBuffer buffer = ByteBuffer.allocate(bytes);
             // read at least one element
             do {
@@ -976,13 +980,12 @@ public abstract class ConnectionFunctions {
             int[] data = new int[nInts];
             boolean complete = RDataFactory.COMPLETE_VECTOR;
             if (size == 4) {
-                IntBuffer intBuffer = buffer.asIntBuffer();
+                buffer.asIntBuffer().get(data);
                 for (int i = 0; i < nInts; i++) {
-                    int d = intBuffer.get();
-                    if (RRuntime.isNA(d)) {
+                    if (RRuntime.isNA(data[i])) {
                         complete = RDataFactory.INCOMPLETE_VECTOR;
+                        break;
                     }
-                    data[i] = d;
                 }
             } else if (size == 1) {
                 for (int i = 0; i < nInts; i++) {
@@ -1002,34 +1005,30 @@ public abstract class ConnectionFunctions {
 
         private static RDoubleVector readDouble(RConnection con, int n, boolean swap) throws IOException {
             ByteBuffer buffer = fillBuffer(con, swap, n * 8);
-            DoubleBuffer doubleBuffer = buffer.asDoubleBuffer();
             int nDoubles = buffer.limit() / 8;
             boolean complete = RDataFactory.COMPLETE_VECTOR;
             double[] data = new double[nDoubles];
+            buffer.asDoubleBuffer().get(data);
             for (int i = 0; i < nDoubles; i++) {
-                double d = doubleBuffer.get();
-                if (RRuntime.isNA(d)) {
+                if (RRuntime.isNA(data[i])) {
                     complete = RDataFactory.INCOMPLETE_VECTOR;
+                    break;
                 }
-                data[i] = d;
             }
             return RDataFactory.createDoubleVector(data, complete);
         }
 
         private static RComplexVector readComplex(RConnection con, int n, boolean swap) throws IOException {
             ByteBuffer buffer = fillBuffer(con, swap, n * 16);
-            DoubleBuffer doubleBuffer = buffer.asDoubleBuffer();
             int nComplex = buffer.limit() / 16;
             boolean complete = RDataFactory.COMPLETE_VECTOR;
             double[] data = new double[nComplex * 2];
-            for (int i = 0; i < nComplex; i++) {
-                double re = doubleBuffer.get();
-                double im = doubleBuffer.get();
-                if (RRuntime.isNA(re) || RRuntime.isNA(im)) {
+            buffer.asDoubleBuffer().get(data);
+            for (int i = 0; i < data.length; i++) {
+                if (RRuntime.isNA(data[i])) {
                     complete = RDataFactory.INCOMPLETE_VECTOR;
+                    break;
                 }
-                data[2 * i] = re;
-                data[2 * i + 1] = im;
             }
             return RDataFactory.createComplexVector(data, complete);
         }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.base;
+
+import java.util.Arrays;
+
+/**
+ * The search for a literal string behind the {@code fixed = TRUE} variants of {@code grep},
+ * {@code sub}, {@code regexpr}, {@code strsplit} and the other regular expression builtins. The
+ * needle is preprocessed once per call of the builtin and then searched for in every element.
+ *
+ * Single characters are searched for by {@link String#indexOf(int, int)}, short needles by
+ * {@link String#indexOf(String, int)}, both of which are intrinsics. Long needles in long texts use
+ * the Boyer-Moore-Horspool algorithm, whose bad character table is indexed by the low byte of the
+ * characters, so that the search skips up to the length of the needle at every mismatch.
+ */
+final class FixedStringSearch {
+
+    /**
+     * The minimal length of the needle for which the Horspool search is used.
+     */
+    private static final int HORSPOOL_MIN_NEEDLE = 8;
+    /**
+     * The minimal length of the text, as a multiple of the needle length, for which the Horspool
+     * search is used.
+     */
+    private static final int HORSPOOL_MIN_TEXT_FACTOR = 4;
+
+    private final String needle;
+    private final int length;
+    private final char lastChar;
+    /**
+     * The Horspool shifts indexed by the low byte of the character, or {@code null} if the needle is
+     * too short.
+     */
+    private final int[] shifts;
+
+    FixedStringSearch(String needle) {
+        this.needle = needle;
+        this.length = needle.length();
+        this.lastChar = length == 0 ? 0 : needle.charAt(length - 1);
+        if (length >= HORSPOOL_MIN_NEEDLE) {
+            shifts = new int[256];
+            Arrays.fill(shifts, length);
+            // the characters sharing the low byte get the smallest shift, which is always safe
+            for (int i = 0; i < length - 1; i++) {
+                shifts[needle.charAt(i) & 0xFF] = length - 1 - i;
+            }
+        } else {
+            shifts = null;
+        }
+    }
+
+    int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the needle in {@code text} at or after
+     * {@code from}, or {@code -1}.
+     */
+    int indexOf(String text, int from) {
+        if (length == 1) {
+            return text.indexOf(lastChar, from);
+        }
+        if (shifts == null || text.length() - from < length * HORSPOOL_MIN_TEXT_FACTOR) {
+            return text.indexOf(needle, from);
+        }
+        int last = length - 1;
+        int textLength = text.length();
+        int i = Math.max(from, 0) + last;
+        while (i < textLength) {
+            char c = text.charAt(i);
+            if (c == lastChar && text.regionMatches(i - last, needle, 0, last)) {
+                return i - last;
+            }
+            i += shifts[c & 0xFF];
+        }
+        return -1;
+    }
+
+    boolean contains(String text) {
+        return indexOf(text, 0) >= 0;
+    }
+
+    /**
+     * Replaces the first or, if {@code all} is {@code true}, all the non-overlapping occurrences of
+     * the needle (which must not be empty if {@code all} is {@code true}) in {@code text} by
+     * {@code replacement}. The result is built in a single pass into a buffer of the exact size.
+     */
+    String replace(String text, String replacement, boolean all) {
+        assert length > 0 || !all;
+        int first = indexOf(text, 0);
+        if (first < 0) {
+            return text;
+        }
+        int[] positions = new int[]{first};
+        int count = 1;
+        if (all) {
+            int index = indexOf(text, first + length);
+            while (index >= 0) {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = index;
+                index = indexOf(text, index + length);
+            }
+        }
+        StringBuilder sb = new StringBuilder(text.length() + count * (replacement.length() - length));
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            sb.append(text, start, positions[i]).append(replacement);
+            start = positions[i] + length;
+        }
+        return sb.append(text, start, text.length()).toString();
+    }
+
+    /**
+     * Splits {@code text} at the non-overlapping occurrences of the non-empty needle the way
+     * {@code strsplit(fixed = TRUE)} does: a piece before the first occurrence is kept even if it
+     * is empty, an empty piece after the last one is dropped. Returns {@code null} if the needle
+     * does not occur in {@code text}.
+     */
+    String[] split(String text) {
+        assert length > 0;
+        int index = indexOf(text, 0);
+        if (index < 0) {
+            return null;
+        }
+        int[] positions = new int[8];
+        int count = 0;
+        while (index >= 0) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = index;
+            index = indexOf(text, index + length);
+        }
+        int tailStart = positions[count - 1] + length;
+        boolean hasTail = tailStart < text.length();
+        String[] pieces = new String[hasTail ? count + 1 : count];
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            pieces[i] = text.substring(start, positions[i]);
+            start = positions[i] + length;
+        }
+        if (hasTail) {
+            pieces[count] = text.substring(tailStart);
+        }
+        return pieces;
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1995-2015, The R Core Team
  * Copyright (c) 2003, The R Foundation
- * Copyright (c) 2015, 2022, Oracle and/or its affiliates
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -58,7 +58,11 @@ import com.oracle.truffle.r.runtime.RError.Message;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RegExp;
+import com.oracle.truffle.r.runtime.RegexCache;
+import com.oracle.truffle.r.runtime.RegexCache.PerlPattern;
+import com.oracle.truffle.r.runtime.TRegex;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RIntVector;
@@ -141,7 +145,7 @@ public class GrepFunctions {
     @NodeInfo(cost = NodeCost.NONE)
     public static class CommonCodeNode extends RBaseNodeWithWarnings {
         @Child protected PCRE2RFFI.CompileNode pcre2CompileNode = RFFIFactory.getPCRE2RFFI().createCompileNode();
-        @Child protected PCRE2RFFI.MatchNode pcre2MatchNode = RFFIFactory.getPCRE2RFFI().createMatchNode();
+        @Child protected PCRE2RFFI.MatchAllNode pcre2MatchAllNode = RFFIFactory.getPCRE2RFFI().createMatchAllNode();
         @Child protected PCRE2RFFI.GetCaptureCountNode pcre2CaptureCountNode = RFFIFactory.getPCRE2RFFI().createGetCaptureCountNode();
         @Child protected PCRE2RFFI.MemoryReleaseNode pcre2MemoryReleaseNode = RFFIFactory.getPCRE2RFFI().createMemoryReleaseNode();
         @Child private InteropLibrary interop = InteropLibrary.getFactory().createDispatched(DSLConfig.getInteropLibraryCacheSize());
@@ -230,20 +234,49 @@ public class GrepFunctions {
             return RDataFactory.createIntVector(naData, RDataFactory.INCOMPLETE_VECTOR);
         }
 
-        protected PCRE2RFFI.CompileResult compilePerlPattern(String pattern, boolean ignoreCase) {
-            int options = ignoreCase ? PCRE2RFFI.Option.CASELESS.value : 0;
+        protected PerlPattern compilePerlPattern(String pattern, boolean ignoreCase) {
+            return compilePerlPattern(pattern, ignoreCase ? PCRE2RFFI.Option.CASELESS.value : 0);
+        }
+
+        /**
+         * Returns the PCRE2 pattern from the {@link RegexCache}, compiling it if it is not cached.
+         * The pattern is owned by the cache, the builtins call {@link #releasePerlPatterns()} once
+         * they do not use it anymore.
+         */
+        protected PerlPattern compilePerlPattern(String pattern, int options) {
+            RContext context = RContext.getInstance();
+            PerlPattern cached = context.stateRegexCache.getPerlPattern(pattern, options);
+            if (cached != null) {
+                return cached;
+            }
             PCRE2RFFI.CompileResult pcre = pcre2CompileNode.execute(pattern, options);
             if (interop.isNull(pcre.compiledPattern)) {
                 assert pcre.errorMessage != null;
                 throw error(Message.INVALID_REGEXP_REASON, pattern, pcre.errorMessage);
             }
-            return pcre;
+            PerlPattern compiled = new PerlPattern(pcre.compiledPattern, pcre2CaptureCountNode.execute(pcre.compiledPattern));
+            context.stateRegexCache.putPerlPattern(context, pattern, options, compiled);
+            return compiled;
+        }
+
+        /**
+         * Matches the PCRE2 pattern against all the {@code subjects} with a single downcall per
+         * batch of subjects. The {@code null} subjects are skipped, their match data is
+         * {@code null}.
+         */
+        protected PCRE2RFFI.MatchData[] matchAllPerl(PerlPattern pcre, String[] subjects, boolean stopAfterFirstMatch) {
+            return pcre2MatchAllNode.execute(pcre.compiledPattern, subjects, 0, stopAfterFirstMatch, pcre.captureCount);
+        }
+
+        /**
+         * Releases the PCRE2 patterns evicted from the {@link RegexCache}.
+         */
+        protected void releasePerlPatterns() {
+            RContext.getInstance().stateRegexCache.releaseEvicted(pcre2MemoryReleaseNode);
         }
     }
 
     protected static final class GrepCommonCodeNode extends CommonCodeNode {
-        @Child private InteropLibrary interop = InteropLibrary.getFactory().createDispatched(DSLConfig.getInteropLibraryCacheSize());
-
         protected Object doGrep(String patternArg, RStringVector vector, boolean ignoreCase, boolean value, boolean perlPar, boolean fixed,
                         @SuppressWarnings("unused") boolean useBytes, boolean invert, boolean grepl) {
             try {
@@ -264,78 +297,81 @@ public class GrepFunctions {
                     }
                     findAllMatches(matches, pattern, vector, fixed, ignoreCase);
                 } else {
-                    PCRE2RFFI.CompileResult compileResult = pcre2CompileNode.execute(pattern, 0);
-                    if (interop.isNull(compileResult.compiledPattern)) {
-                        assert compileResult.errorMessage != null;
-                        throw error(Message.INVALID_REGEXP_REASON, pattern, compileResult.errorMessage);
-                    }
-                    int captureCount = pcre2CaptureCountNode.execute(compileResult.compiledPattern);
-                    assert !interop.isNull(compileResult.compiledPattern);
-                    for (int i = 0; i < vector.getLength(); i++) {
-                        String text = vector.getDataAt(i);
-                        PCRE2RFFI.MatchData matchData = pcre2MatchNode.execute(compileResult.compiledPattern, text, 0, true, captureCount);
-                        matches[i] = matchData.getMatchCount() > 0;
-                    }
-                    pcre2MemoryReleaseNode.execute(compileResult.compiledPattern);
-                }
-
-                if (grepl) {
-                    byte[] data = new byte[len];
+                    PerlPattern pcre = compilePerlPattern(pattern, 0);
+                    PCRE2RFFI.MatchData[] matchData = matchAllPerl(pcre, vector.getReadonlyStringData(), true);
                     for (int i = 0; i < len; i++) {
-                        data[i] = RRuntime.asLogical(matches[i]);
+                        matches[i] = matchData[i].getMatchCount() > 0;
                     }
-                    return RDataFactory.createLogicalVector(data, RDataFactory.COMPLETE_VECTOR);
+                    releasePerlPatterns();
                 }
+                return createResult(matches, vector, value, invert, grepl);
+            } catch (PatternSyntaxException e) {
+                throw error(Message.INVALID_REGEXP_REASON, patternArg, e.getMessage());
+            }
+        }
 
-                int nmatches = 0;
+        /**
+         * Creates the result of {@code grep} or {@code grepl} from the elements of {@code vector}
+         * that match the pattern.
+         */
+        @TruffleBoundary
+        protected static Object createResult(boolean[] matches, RStringVector vector, boolean value, boolean invert, boolean grepl) {
+            int len = matches.length;
+            if (grepl) {
+                byte[] data = new byte[len];
                 for (int i = 0; i < len; i++) {
-                    if (invert ^ matches[i]) {
-                        nmatches++;
-                    }
+                    data[i] = RRuntime.asLogical(matches[i]);
                 }
+                return RDataFactory.createLogicalVector(data, RDataFactory.COMPLETE_VECTOR);
+            }
 
-                if (nmatches == 0) {
-                    return value ? RDataFactory.createEmptyStringVector() : RDataFactory.createEmptyIntVector();
-                } else {
-                    if (value) {
-                        RStringVector oldNames = vector.getNames();
-                        String[] newNames = null;
-                        if (oldNames != null) {
-                            newNames = new String[nmatches];
-                        }
-                        String[] data = new String[nmatches];
-                        int j = 0;
-                        for (int i = 0; i < len; i++) {
-                            if (invert ^ matches[i]) {
-                                if (newNames != null) {
-                                    newNames[j] = oldNames.getDataAt(i);
-                                }
-                                data[j++] = vector.getDataAt(i);
+            int nmatches = 0;
+            for (int i = 0; i < len; i++) {
+                if (invert ^ matches[i]) {
+                    nmatches++;
+                }
+            }
+
+            if (nmatches == 0) {
+                return value ? RDataFactory.createEmptyStringVector() : RDataFactory.createEmptyIntVector();
+            } else {
+                if (value) {
+                    RStringVector oldNames = vector.getNames();
+                    String[] newNames = null;
+                    if (oldNames != null) {
+                        newNames = new String[nmatches];
+                    }
+                    String[] data = new String[nmatches];
+                    int j = 0;
+                    for (int i = 0; i < len; i++) {
+                        if (invert ^ matches[i]) {
+                            if (newNames != null) {
+                                newNames[j] = oldNames.getDataAt(i);
                             }
+                            data[j++] = vector.getDataAt(i);
                         }
-                        return RDataFactory.createStringVector(data, RDataFactory.COMPLETE_VECTOR, newNames == null ? null : RDataFactory.createStringVector(newNames, RDataFactory.COMPLETE_VECTOR));
-                    } else {
-                        int[] data = new int[nmatches];
-                        int j = 0;
-                        for (int i = 0; i < len; i++) {
-                            if (invert ^ matches[i]) {
-                                data[j++] = i + 1;
-                            }
+                    }
+                    return RDataFactory.createStringVector(data, RDataFactory.COMPLETE_VECTOR, newNames == null ? null : RDataFactory.createStringVector(newNames, RDataFactory.COMPLETE_VECTOR));
+                } else {
+                    int[] data = new int[nmatches];
+                    int j = 0;
+                    for (int i = 0; i < len; i++) {
+                        if (invert ^ matches[i]) {
+                            data[j++] = i + 1;
                         }
-                        return RDataFactory.createIntVector(data, RDataFactory.COMPLETE_VECTOR);
                     }
+                    return RDataFactory.createIntVector(data, RDataFactory.COMPLETE_VECTOR);
                 }
-            } catch (PatternSyntaxException e) {
-                throw error(Message.INVALID_REGEXP_REASON, patternArg, e.getMessage());
             }
         }
 
         protected static void findAllMatches(boolean[] result, String pattern, RStringVector vector, boolean fixed, boolean ignoreCase) {
+            FixedStringSearch search = fixed ? new FixedStringSearch(pattern) : null;
             for (int i = 0; i < result.length; i++) {
                 String text = vector.getDataAt(i);
                 if (!RRuntime.isNA(text)) {
                     if (fixed) {
-                        result[i] = text.contains(pattern);
+                        result[i] = search.contains(text);
                     } else {
                         result[i] = findMatch(pattern, text, ignoreCase);
                     }
@@ -349,6 +385,44 @@ public class GrepFunctions {
         }
     }
 
+    /**
+     * Compiles the (non-perl, non-fixed) {@code pattern} of {@code grep} and {@code grepl} on
+     * TRegex, returns {@code null} if the pattern has to be run by {@link java.util.regex} instead.
+     * Invalid patterns are left to {@link java.util.regex}, which reports the error.
+     */
+    @TruffleBoundary
+    protected static Object compileTRegex(String patternArg) {
+        if (RRuntime.isNA(patternArg)) {
+            return null;
+        }
+        String pattern = RegExp.transformPatternToGnurCompatible(patternArg);
+        // see Regexpr.getPatternMatcher
+        if (pattern.length() > 0 && pattern.charAt(0) == '*') {
+            pattern = pattern.substring(1);
+        }
+        try {
+            RegexCache.compile(pattern, Pattern.DOTALL);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+        return TRegex.compile(RContext.getInstance(), pattern);
+    }
+
+    protected static boolean[] findAllTRegexMatches(Object regex, RStringVector vector, VectorDataLibrary vectorDataLib, InteropLibrary regexInterop, InteropLibrary resultInterop,
+                    LoopConditionProfile loopProfile) {
+        Object vectorData = vector.getData();
+        int len = vectorDataLib.getLength(vectorData);
+        boolean[] matches = new boolean[len];
+        loopProfile.profileCounted(len);
+        for (int i = 0; loopProfile.inject(i < len); i++) {
+            String text = vectorDataLib.getStringAt(vectorData, i);
+            if (!RRuntime.isNA(text)) {
+                matches[i] = TRegex.isMatch(regex, text, regexInterop, resultInterop);
+            }
+        }
+        return matches;
+    }
+
     public static CommonCodeNode createCommon() {
         return new CommonCodeNode();
     }
@@ -361,7 +435,7 @@ public class GrepFunctions {
         return new SubCommonCodeNode();
     }
 
-    @ImportStatic(GrepFunctions.class)
+    @ImportStatic({GrepFunctions.class, DSLConfig.class})
     @RBuiltin(name = "grep", kind = INTERNAL, parameterNames = {"pattern", "text", "ignore.case", "value", "perl", "fixed", "useBytes", "invert"}, behavior = PURE)
     public abstract static class Grep extends RBuiltinNode.Arg8 {
 
@@ -387,7 +461,7 @@ public class GrepFunctions {
                         @SuppressWarnings("unused") boolean perl,
                         @SuppressWarnings("unused") boolean fixed, @SuppressWarnings("unused") boolean useBytes, boolean invert) {
 
-            String pattern = ignoreCase ? toLowerCase(patternPar) : patternPar;
+            FixedStringSearch search = new FixedStringSearch(ignoreCase ? toLowerCase(patternPar) : patternPar);
 
             int[] matchIndices = new int[vector.getLength()];
             int matches = 0;
@@ -397,7 +471,7 @@ public class GrepFunctions {
                     s = toLowerCase(s);
                 }
 
-                if (s.contains(pattern) == !invert) {
+                if (search.contains(s) == !invert) {
                     // don't forget: R indices are 1-based
                     matchIndices[matches++] = i + 1;
                 }
@@ -406,6 +480,32 @@ public class GrepFunctions {
             return RDataFactory.createIntVector(Arrays.copyOf(matchIndices, matches), true);
         }
 
+        @Specialization(guards = {"!perl", "!fixed", "!ignoreCase", "regex != null", "cachedPattern.equals(pattern)"}, limit = "getCacheSize(2)")
+        protected Object grepTRegex(@SuppressWarnings("unused") String pattern, RStringVector vector, @SuppressWarnings("unused") boolean ignoreCase, boolean value,
+                        @SuppressWarnings("unused") boolean perl, @SuppressWarnings("unused") boolean fixed, @SuppressWarnings("unused") boolean useBytes, boolean invert,
+                        @SuppressWarnings("unused") @Cached("pattern") String cachedPattern,
+                        @Cached("compileTRegex(cachedPattern)") Object regex,
+                        @CachedLibrary(limit = "getGenericDataLibraryCacheSize()") VectorDataLibrary vectorDataLib,
+                        @CachedLibrary("regex") InteropLibrary regexInterop,
+                        @CachedLibrary(limit = "1") InteropLibrary resultInterop,
+                        @Cached("createCountingProfile()") LoopConditionProfile loopProfile) {
+            boolean[] matches = findAllTRegexMatches(regex, vector, vectorDataLib, regexInterop, resultInterop, loopProfile);
+            return GrepCommonCodeNode.createResult(matches, vector, value, invert, false);
+        }
+
+        /**
+         * Remembers the patterns that TRegex does not support (or all of them if it is disabled), so
+         * that they are not compiled again on every call.
+         */
+        @Specialization(guards = {"!perl", "!fixed", "!ignoreCase", "regex == null", "cachedPattern.equals(pattern)"}, limit = "getCacheSize(2)")
+        @TruffleBoundary
+        protected Object grepJavaRegex(String pattern, RStringVector vector, boolean ignoreCase, boolean value, boolean perl, boolean fixed, boolean useBytes, boolean invert,
+                        @SuppressWarnings("unused") @Cached("pattern") String cachedPattern,
+                        @SuppressWarnings("unused") @Cached("compileTRegex(cachedPattern)") Object regex,
+                        @Cached("createGrepCommon()") GrepCommonCodeNode common) {
+            return common.doGrep(pattern, vector, ignoreCase, value, perl, fixed, useBytes, invert, false);
+        }
+
         @Specialization
         @TruffleBoundary
         protected Object grepValueFalse(String patternArgVec, RStringVector vector, boolean ignoreCaseLogical, boolean valueLogical, boolean perlLogical, boolean fixedLogical,
@@ -415,7 +515,7 @@ public class GrepFunctions {
         }
     }
 
-    @ImportStatic(GrepFunctions.class)
+    @ImportStatic({GrepFunctions.class, DSLConfig.class})
     @RBuiltin(name = "grepl", kind = INTERNAL, parameterNames = {"pattern", "text", "ignore.case", "value", "perl", "fixed", "useBytes", "invert"}, behavior = PURE)
     public abstract static class GrepL extends RBuiltinNode.Arg8 {
 
@@ -431,6 +531,32 @@ public class GrepFunctions {
             castInvert(casts);
         }
 
+        @Specialization(guards = {"!perl", "!fixed", "!ignoreCase", "regex != null", "cachedPattern.equals(pattern)"}, limit = "getCacheSize(2)")
+        protected Object greplTRegex(@SuppressWarnings("unused") String pattern, RStringVector vector, @SuppressWarnings("unused") boolean ignoreCase, boolean value,
+                        @SuppressWarnings("unused") boolean perl, @SuppressWarnings("unused") boolean fixed, @SuppressWarnings("unused") boolean useBytes, boolean invert,
+                        @SuppressWarnings("unused") @Cached("pattern") String cachedPattern,
+                        @Cached("compileTRegex(cachedPattern)") Object regex,
+                        @CachedLibrary(limit = "getGenericDataLibraryCacheSize()") VectorDataLibrary vectorDataLib,
+                        @CachedLibrary("regex") InteropLibrary regexInterop,
+                        @CachedLibrary(limit = "1") InteropLibrary resultInterop,
+                        @Cached("createCountingProfile()") LoopConditionProfile loopProfile) {
+            boolean[] matches = findAllTRegexMatches(regex, vector, vectorDataLib, regexInterop, resultInterop, loopProfile);
+            return GrepCommonCodeNode.createResult(matches, vector, value, invert, true);
+        }
+
+        /**
+         * Remembers the patterns that TRegex does not support (or all of them if it is disabled), so
+         * that they are not compiled again on every call.
+         */
+        @Specialization(guards = {"!perl", "!fixed", "!ignoreCase", "regex == null", "cachedPattern.equals(pattern)"}, limit = "getCacheSize(2)")
+        @TruffleBoundary
+        protected Object greplJavaRegex(String pattern, RStringVector vector, boolean ignoreCase, boolean value, boolean perl, boolean fixed, boolean useBytes, boolean invert,
+                        @SuppressWarnings("unused") @Cached("pattern") String cachedPattern,
+                        @SuppressWarnings("unused") @Cached("compileTRegex(cachedPattern)") Object regex,
+                        @Cached("createGrepCommon()") GrepCommonCodeNode common) {
+            return common.doGrep(pattern, vector, ignoreCase, value, perl, fixed, useBytes, invert, true);
+        }
+
         @Specialization
         @TruffleBoundary
         protected Object grepl(String pattern, RStringVector vector, boolean ignoreCaseLogical, boolean valueLogical, boolean perlLogical, boolean fixedLogical, boolean useBytes,
@@ -487,13 +613,22 @@ public class GrepFunctions {
                     perl = false;
                 }
 
-                PCRE2RFFI.CompileResult pcre = null;
-                int captureCount = 0;
+                PerlPattern pcre = null;
+                PCRE2RFFI.MatchData[] perlMatches = null;
+                Pattern compiled = null;
+                FixedStringSearch fixedSearch = null;
                 if (fixed) {
                     // TODO case
+                    fixedSearch = new FixedStringSearch(pattern);
                 } else if (perl) {
                     pcre = compilePerlPattern(pattern, ignoreCase);
-                    captureCount = pcre2CaptureCountNode.execute(pcre.compiledPattern);
+                    String[] inputs = vectorDataLib.getStringDataCopy(vector.getData());
+                    for (int i = 0; i < len; i++) {
+                        if (RRuntime.isNA(inputs[i])) {
+                            inputs[i] = null;
+                        }
+                    }
+                    perlMatches = matchAllPerl(pcre, inputs, !gsub);
                 } else {
                     pattern = RegExp.transformPatternToGnurCompatible(pattern);
                 }
@@ -507,24 +642,24 @@ public class GrepFunctions {
                     }
 
                     String value;
-                    if (fixed) {
-                        if (gsub) {
-                            if (preparedReplacement == null) {
-                                preparedReplacement = replacement.replace("$", "\\$");
-                                preparedReplacement = convertGroups(preparedReplacement, 0);
-                            }
-                            value = Pattern.compile(pattern, Pattern.LITERAL).matcher(input).replaceAll(preparedReplacement);
-                        } else {
-                            int ix = input.indexOf(pattern);
-                            if (preparedReplacement == null) {
-                                preparedReplacement = replacement.replace("\\\\", "\\");
-                            }
-                            value = ix < 0 ? input : input.substring(0, ix) + preparedReplacement + input.substring(ix + pattern.length());
+                    if (fixed && gsub && pattern.isEmpty()) {
+                        if (preparedReplacement == null) {
+                            preparedReplacement = replacement.replace("$", "\\$");
+                            preparedReplacement = convertGroups(preparedReplacement, 0);
                         }
+                        if (compiled == null) {
+                            compiled = RegexCache.compile(pattern, Pattern.LITERAL);
+                        }
+                        value = compiled.matcher(input).replaceAll(preparedReplacement);
+                    } else if (fixed) {
+                        // the replacement is only prepared once there is a match, it may be invalid
+                        if (preparedReplacement == null && fixedSearch.contains(input)) {
+                            preparedReplacement = gsub ? literalReplacement(pattern, replacement) : replacement.replace("\\\\", "\\");
+                        }
+                        value = preparedReplacement == null ? input : fixedSearch.replace(input, preparedReplacement, gsub);
                     } else if (perl) {
-                        assert pcre != null;
-                        boolean stopAfterFirstMatch = !gsub;
-                        PCRE2RFFI.MatchData matchData = pcre2MatchNode.execute(pcre.compiledPattern, input, 0, stopAfterFirstMatch, captureCount);
+                        assert perlMatches != null;
+                        PCRE2RFFI.MatchData matchData = perlMatches[i];
                         boolean replacementContainsBackReferences = containsBackReferences(replacement);
                         if (!replacementContainsBackReferences) {
                             preparedReplacement = preparePcreReplacement(input, replacement, 0, matchData);
@@ -557,7 +692,10 @@ public class GrepFunctions {
                         sb.append(input, lastMatchEndIdx, input.length());
                         value = sb.toString();
                     } else {
-                        Matcher matcher = Pattern.compile(pattern, Pattern.DOTALL).matcher(input);
+                        if (compiled == null) {
+                            compiled = RegexCache.compile(pattern, Pattern.DOTALL);
+                        }
+                        Matcher matcher = compiled.matcher(input);
                         if (preparedReplacement == null) {
                             preparedReplacement = replacement.replace("$", "\\$");
                             // matcher.groupCount() only depends on the pattern (not on the input)
@@ -572,8 +710,7 @@ public class GrepFunctions {
                     result[i] = value;
                 }
                 if (perl) {
-                    assert pcre != null;
-                    pcre2MemoryReleaseNode.execute(pcre.compiledPattern);
+                    releasePerlPatterns();
                 }
                 boolean isVectorComplete = vectorDataLib.isComplete(vector.getData());
                 RStringVector ret = RDataFactory.createStringVector(result, isVectorComplete);
@@ -758,6 +895,17 @@ public class GrepFunctions {
             }
         }
 
+        /**
+         * Returns the text that replaces every match of the non-empty fixed {@code pattern} in
+         * {@code gsub}, i.e., the {@code replacement} with the escapes and group references
+         * resolved the same way as by {@link Matcher#replaceAll}. The text does not depend on the
+         * input since the whole match is always {@code pattern}.
+         */
+        private static String literalReplacement(String pattern, String replacement) {
+            String preparedReplacement = convertGroups(replacement.replace("$", "\\$"), 0);
+            return RegexCache.compile(pattern, Pattern.LITERAL).matcher(pattern).replaceAll(preparedReplacement);
+        }
+
         @TruffleBoundary
         private static String convertGroups(String value, int groupCount) {
             StringBuilder result = new StringBuilder();
@@ -850,7 +998,6 @@ public class GrepFunctions {
         @Child private SetFixedAttributeNode setCaptureNamesAttrNode = SetFixedAttributeNode.create("capture.names");
         @Child private SetFixedAttributeNode setDimNamesAttrNode = SetFixedAttributeNode.createDimNames();
         @Child private PCRE2RFFI.GetCaptureNamesNode getCaptureNamesNode = RFFIFactory.getPCRE2RFFI().createGetCaptureNamesNode();
-        @Child private PCRE2RFFI.GetCaptureCountNode getCaptureCountNode = RFFIFactory.getPCRE2RFFI().createGetCaptureCountNode();
 
         static {
             Casts casts = new Casts(Regexpr.class);
@@ -939,17 +1086,19 @@ public class GrepFunctions {
                     // emtpy pattern
                     Arrays.fill(result, 1);
                 } else {
+                    String[] perlCaptureNames = getPatternCaptureNames(common, pattern, ignoreCase, perl, fixed);
                     if (vectorLen == 0) {
-                        String[] namesOrNull = getPatternCaptureNames(common, pattern, ignoreCase, perl, fixed);
-                        if (namesOrNull != null && namesOrNull.length > 0) {
+                        if (perlCaptureNames != null && perlCaptureNames.length > 0) {
                             hasCaptureNames = true;
-                            captureNames = namesOrNull;
+                            captureNames = perlCaptureNames;
                             captureStart = new int[0];
                             captureLength = new int[0];
                         }
                     }
+                    PCRE2RFFI.MatchData[] perlMatches = matchPerl(common, pattern, vector, ignoreCase, perl, fixed, true);
+                    FixedStringSearch fixedSearch = createFixedSearch(pattern, ignoreCase, fixed);
                     for (int i = 0; i < vectorLen; i++) {
-                        Info res = getInfo(common, pattern, vector.getDataAt(i), ignoreCase, perl, fixed, true).get(0);
+                        Info res = getInfo(common, pattern, vector.getDataAt(i), ignoreCase, perl, fixedSearch, perlCaptureNames, perlMatches == null ? null : perlMatches[i]).get(0);
                         result[i] = res.index;
                         matchLength[i] = res.size;
                         if (res.hasCapture) {
@@ -998,6 +1147,9 @@ public class GrepFunctions {
                     setCaptureLengthAttrNode.setAttr(ret, captureLengthVec);
                     setCaptureNamesAttrNode.setAttr(ret, captureNamesVec);
                 }
+                if (perl) {
+                    common.releasePerlPatterns();
+                }
                 return ret;
             } catch (PatternSyntaxException e) {
                 throw error(Message.INVALID_REGEXP_REASON, patternArg, e.getMessage());
@@ -1008,8 +1160,8 @@ public class GrepFunctions {
             if (fixed || !perl) {
                 return null;
             }
-            PCRE2RFFI.CompileResult pcre = common.compilePerlPattern(pattern, ignoreCase);
-            int maxCaptureCount = getCaptureCountNode.execute(pcre.compiledPattern);
+            PerlPattern pcre = common.compilePerlPattern(pattern, ignoreCase);
+            int maxCaptureCount = pcre.captureCount;
             if (maxCaptureCount < 0) {
                 // TODO: pcre2-specific error message
                 throw error(Message.PCRE_FULLINFO_RETURNED, maxCaptureCount);
@@ -1017,42 +1169,54 @@ public class GrepFunctions {
             return getCaptureNamesNode.execute(pcre.compiledPattern, maxCaptureCount);
         }
 
-        protected List<Info> getInfo(CommonCodeNode common, String pattern, String text, boolean ignoreCase, boolean perl, boolean fixed) {
-            return getInfo(common, pattern, text, ignoreCase, perl, fixed, false);
+        /**
+         * Matches the Perl pattern against all the elements of {@code vector} at once, returns
+         * {@code null} if the Perl pattern is not used.
+         */
+        protected static PCRE2RFFI.MatchData[] matchPerl(CommonCodeNode common, String pattern, RStringVector vector, boolean ignoreCase, boolean perl, boolean fixed, boolean onlyFirst) {
+            if (fixed || !perl || pattern.length() == 0) {
+                return null;
+            }
+            return common.matchAllPerl(common.compilePerlPattern(pattern, ignoreCase), vector.getReadonlyStringData(), onlyFirst);
         }
 
-        protected List<Info> getInfo(CommonCodeNode common, String pattern, String text, boolean ignoreCase, boolean perl, boolean fixed, boolean onlyFirst) {
+        /**
+         * Returns the search for the non-empty {@code pattern} if it is {@code fixed}, otherwise
+         * {@code null}.
+         */
+        protected static FixedStringSearch createFixedSearch(String pattern, boolean ignoreCase, boolean fixed) {
+            if (!fixed) {
+                return null;
+            }
+            return new FixedStringSearch(ignoreCase ? toLowerCase(pattern) : pattern);
+        }
+
+        /**
+         * @param fixedSearch The search for the pattern if it is fixed, see
+         *            {@link #createFixedSearch}.
+         * @param perlCaptureNames The capture names as returned by
+         *            {@link #getPatternCaptureNames}, only used with the Perl pattern.
+         * @param perlMatch The matches of the Perl pattern in {@code text}, see {@link #matchPerl}.
+         */
+        protected List<Info> getInfo(CommonCodeNode common, String pattern, String text, boolean ignoreCase, boolean perl, FixedStringSearch fixedSearch, String[] perlCaptureNames,
+                        PCRE2RFFI.MatchData perlMatch) {
             List<Info> list = new ArrayList<>();
-            if (fixed) {
-                int index = 0;
-                while (true) {
-                    if (ignoreCase) {
-                        index = toLowerCase(text).indexOf(toLowerCase(pattern), index);
-                    } else {
-                        index = text.indexOf(pattern, index);
-                    }
-                    if (index == -1) {
-                        break;
-                    }
-                    list.add(new Info(index + 1, pattern.length(), null, null, null));
-                    index += pattern.length();
+            if (fixedSearch != null) {
+                String searchedText = ignoreCase ? toLowerCase(text) : text;
+                int length = fixedSearch.getLength();
+                int index = fixedSearch.indexOf(searchedText, 0);
+                while (index != -1) {
+                    list.add(new Info(index + 1, length, null, null, null));
+                    index = fixedSearch.indexOf(searchedText, index + length);
                 }
             } else if (perl) {
-                PCRE2RFFI.CompileResult pcre = common.compilePerlPattern(pattern, ignoreCase);
-                int captureCount = getCaptureCountNode.execute(pcre.compiledPattern);
-                if (captureCount < 0) {
-                    // TODO: PCRE2-specific error
-                    throw error(Message.PCRE_FULLINFO_RETURNED, captureCount);
-                }
-
-                String[] captureNames = getCaptureNamesNode.execute(pcre.compiledPattern, captureCount);
-                assert captureCount == captureNames.length;
+                assert perlCaptureNames != null && perlMatch != null;
+                int captureCount = perlCaptureNames.length;
+                String[] captureNames = new String[captureCount];
                 for (int i = 0; i < captureNames.length; i++) {
-                    if (captureNames[i] == null) {
-                        captureNames[i] = "";
-                    }
+                    captureNames[i] = perlCaptureNames[i] == null ? "" : perlCaptureNames[i];
                 }
-                PCRE2RFFI.MatchData matchData = common.pcre2MatchNode.execute(pcre.compiledPattern, text, 0, onlyFirst, captureCount);
+                PCRE2RFFI.MatchData matchData = perlMatch;
                 int[] captureStart = null;
                 int[] captureLength = null;
                 if (captureCount > 0) {
@@ -1109,7 +1273,7 @@ public class GrepFunctions {
             if (pattern.length() > 0 && pattern.charAt(0) == '*') {
                 actualPattern = pattern.substring(1);
             }
-            return Pattern.compile(actualPattern, Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE : 0)).matcher(text);
+            return RegexCache.compile(actualPattern, Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE : 0)).matcher(text);
         }
     }
 
@@ -1264,7 +1428,7 @@ public class GrepFunctions {
 
         @TruffleBoundary
         private static Matcher getPatternMatcher(String pattern, String text, boolean ignoreCase) {
-            return Pattern.compile(pattern, Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE : 0)).matcher(text);
+            return RegexCache.compile(pattern, Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE : 0)).matcher(text);
         }
     }
 
@@ -1330,6 +1494,9 @@ public class GrepFunctions {
                 Object[] result = new Object[vector.getLength()];
                 boolean hasAnyCapture = false;
                 RStringVector captureNames = null;
+                String[] perlCaptureNames = pattern.length() == 0 ? null : getPatternCaptureNames(common, pattern, ignoreCase, perl, fixed);
+                PCRE2RFFI.MatchData[] perlMatches = matchPerl(common, pattern, vector, ignoreCase, perl, fixed, false);
+                FixedStringSearch fixedSearch = pattern.length() == 0 ? null : createFixedSearch(pattern, ignoreCase, fixed);
                 for (int i = 0; i < vector.getLength(); i++) {
                     RIntVector res;
                     if (pattern.length() == 0) {
@@ -1345,7 +1512,7 @@ public class GrepFunctions {
                             setUseBytesAttrNode.setAttr(res, RRuntime.LOGICAL_TRUE);
                         }
                     } else {
-                        List<Info> l = getInfo(common, pattern, vector.getDataAt(i), ignoreCase, perl, fixed);
+                        List<Info> l = getInfo(common, pattern, vector.getDataAt(i), ignoreCase, perl, fixedSearch, perlCaptureNames, perlMatches == null ? null : perlMatches[i]);
                         res = toIndexOrSizeVector(l, true);
                         setMatchLengthAttrNode.setAttr(res, toIndexOrSizeVector(l, false));
                         if (useBytes) {
@@ -1377,6 +1544,9 @@ public class GrepFunctions {
 
                     result[i] = res;
                 }
+                if (perl) {
+                    common.releasePerlPatterns();
+                }
                 return RDataFactory.createList(result);
             } catch (PatternSyntaxException e) {
                 throw error(Message.INVALID_REGEXP_REASON, patternArg, e.getMessage());
@@ -1589,7 +1759,7 @@ public class GrepFunctions {
         }
     }
 
-    @ImportStatic({GrepFunctions.class, DSLConfig.class})
+    @ImportStatic(GrepFunctions.class)
     @RBuiltin(name = "strsplit", kind = INTERNAL, parameterNames = {"x", "split", "fixed", "perl", "useBytes"}, behavior = PURE)
     public abstract static class Strsplit extends RBuiltinNode.Arg5 {
 
@@ -1607,14 +1777,14 @@ public class GrepFunctions {
         @Specialization
         @TruffleBoundary
         protected RList split(RStringVector x, RStringVector splitArg, boolean fixed, boolean perlLogical, @SuppressWarnings("unused") boolean useBytes,
-                        @Cached("createCommon()") CommonCodeNode commonNode,
-                        @CachedLibrary("getInteropLibraryCacheSize()") InteropLibrary interop) {
+                        @Cached("createCommon()") CommonCodeNode commonNode) {
             boolean perl = commonNode.checkPerlFixed(perlLogical, fixed);
             Object[] result = new Object[x.getLength()];
             // treat split = NULL as split = ""
             RStringVector split = splitArg.getLength() == 0 ? RDataFactory.createStringVectorFromScalar("") : splitArg;
             String[] splits = new String[split.getLength()];
-            PCRE2RFFI.CompileResult[] pcrePatterns = perl ? new PCRE2RFFI.CompileResult[splits.length] : null;
+            PerlPattern[] pcrePatterns = perl ? new PerlPattern[splits.length] : null;
+            FixedStringSearch[] fixedSearches = fixed ? new FixedStringSearch[splits.length] : null;
 
             na.enable(x);
             for (int i = 0; i < splits.length; i++) {
@@ -1622,14 +1792,15 @@ public class GrepFunctions {
                 splits[i] = fixed || perl ? split.getDataAt(i) : RegExp.transformPatternToGnurCompatible(split.getDataAt(i));
                 if (perl) {
                     if (!currentSplit.isEmpty()) {
-                        pcrePatterns[i] = commonNode.pcre2CompileNode.execute(currentSplit, 0);
-                        if (interop.isNull(pcrePatterns[i].compiledPattern)) {
-                            assert pcrePatterns[i].errorMessage != null;
-                            throw error(RError.Message.INVALID_REGEXP_REASON, currentSplit, pcrePatterns[i].errorMessage);
-                        }
+                        pcrePatterns[i] = commonNode.compilePerlPattern(currentSplit, 0);
+                    }
+                } else if (fixed) {
+                    if (!currentSplit.isEmpty() && !RRuntime.isNA(currentSplit)) {
+                        fixedSearches[i] = new FixedStringSearch(currentSplit);
                     }
                 }
             }
+            PCRE2RFFI.MatchData[] perlMatches = perl ? matchPerl(x, splits, pcrePatterns, commonNode) : null;
             for (int i = 0; i < x.getLength(); i++) {
                 String data = x.getDataAt(i);
                 assert data != null;
@@ -1650,9 +1821,11 @@ public class GrepFunctions {
                             resultItem = RDataFactory.createNAStringVector();
                         } else {
                             if (perl) {
-                                resultItem = splitPerl(data, pcrePatterns[i % splits.length], commonNode);
+                                resultItem = splitPerl(data, perlMatches[i]);
+                            } else if (fixed) {
+                                resultItem = splitFixed(data, fixedSearches[i % splits.length]);
                             } else {
-                                resultItem = splitIntl(data, currentSplit, fixed);
+                                resultItem = splitIntl(data, currentSplit);
                             }
                             if (resultItem.getLength() == 0) {
                                 if (fixed) {
@@ -1668,6 +1841,9 @@ public class GrepFunctions {
                     throw error(Message.INVALID_REGEXP_REASON, currentSplit, e.getMessage());
                 }
             }
+            if (perl) {
+                commonNode.releasePerlPatterns();
+            }
             RList ret = RDataFactory.createList(result);
             if (x.getNames() != null) {
                 ret.copyNamesFrom(x);
@@ -1686,35 +1862,21 @@ public class GrepFunctions {
             }
         }
 
-        private static RStringVector splitIntl(String input, String separator, boolean fixed) {
+        private static RStringVector splitFixed(String input, FixedStringSearch separator) {
             assert !RRuntime.isNA(input);
+            String[] pieces = separator.split(input);
+            if (pieces == null) {
+                return RDataFactory.createStringVector(input);
+            }
+            return RDataFactory.createStringVector(pieces, false);
+        }
 
-            if (fixed) {
-                ArrayList<String> matches = new ArrayList<>();
-                int idx = input.indexOf(separator);
-                if (idx < 0) {
-                    return RDataFactory.createStringVector(input);
-                }
-                int lastIdx = 0;
-                while (idx > -1) {
-                    matches.add(input.substring(lastIdx, idx));
-                    lastIdx = idx + separator.length();
-                    if (lastIdx > input.length()) {
-                        break;
-                    }
-                    idx = input.indexOf(separator, lastIdx);
-                }
-                String m = input.substring(lastIdx);
-                if (!m.isEmpty()) {
-                    matches.add(m);
-                }
-                return RDataFactory.createStringVector(matches.toArray(new String[matches.size()]), false);
+        private static RStringVector splitIntl(String input, String separator) {
+            assert !RRuntime.isNA(input);
+            if (input.equals(separator)) {
+                return RDataFactory.createStringVector("");
             } else {
-                if (input.equals(separator)) {
-                    return RDataFactory.createStringVector("");
-                } else {
-                    return RDataFactory.createStringVector(input.split(separator), true);
-                }
+                return RDataFactory.createStringVector(input.split(separator), true);
             }
         }
 
@@ -1727,9 +1889,31 @@ public class GrepFunctions {
             return RDataFactory.createStringVector(result, true);
         }
 
-        private static RStringVector splitPerl(String data, PCRE2RFFI.CompileResult pcre, CommonCodeNode common) {
-            int captureCount = common.pcre2CaptureCountNode.execute(pcre.compiledPattern);
-            PCRE2RFFI.MatchData matchData = common.pcre2MatchNode.execute(pcre.compiledPattern, data, 0, false, captureCount);
+        /**
+         * Matches every element of {@code x} against its Perl split pattern, all the elements split
+         * by the same pattern are matched at once.
+         */
+        private static PCRE2RFFI.MatchData[] matchPerl(RStringVector x, String[] splits, PerlPattern[] pcrePatterns, CommonCodeNode common) {
+            int len = x.getLength();
+            PCRE2RFFI.MatchData[] result = new PCRE2RFFI.MatchData[len];
+            for (int k = 0; k < splits.length && k < len; k++) {
+                if (pcrePatterns[k] == null || RRuntime.isNA(splits[k])) {
+                    continue;
+                }
+                String[] subjects = new String[(len - k + splits.length - 1) / splits.length];
+                for (int j = 0; j < subjects.length; j++) {
+                    String data = x.getDataAt(k + j * splits.length);
+                    subjects[j] = data.isEmpty() || RRuntime.isNA(data) ? null : data;
+                }
+                PCRE2RFFI.MatchData[] matches = common.matchAllPerl(pcrePatterns[k], subjects, false);
+                for (int j = 0; j < matches.length; j++) {
+                    result[k + j * splits.length] = matches[j];
+                }
+            }
+            return result;
+        }
+
+        private static RStringVector splitPerl(String data, PCRE2RFFI.MatchData matchData) {
             List<IndexRange> matches = matchData.getMatches();
             int matchCount = matchData.getMatchCount();
             assert matchCount == matches.size();
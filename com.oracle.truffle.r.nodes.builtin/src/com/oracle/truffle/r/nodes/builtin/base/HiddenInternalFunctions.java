@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1995-2012, The R Core Team
  * Copyright (c) 2003, The R Foundation
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -50,6 +50,7 @@ import com.oracle.truffle.r.nodes.function.RCallNode;
 import com.oracle.truffle.r.nodes.function.call.CallRFunctionCachedNode;
 import com.oracle.truffle.r.nodes.function.call.CallRFunctionCachedNodeGen;
 import com.oracle.truffle.r.runtime.ArgumentsSignature;
+import com.oracle.truffle.r.runtime.LazyDBCache;
 import com.oracle.truffle.r.runtime.RCaller;
 import com.oracle.truffle.r.runtime.RCompression;
 import com.oracle.truffle.r.runtime.RError;
@@ -238,46 +239,56 @@ public class HiddenInternalFunctions {
                         CallRFunctionCachedNode callCache) {
             String dbPath = datafile.getDataAt(0);
             String packageName = context.getSafeTruffleFile(dbPath).getName();
-            byte[] dbData = getRContext().stateLazyDBCache.getData(context, dbPath);
             int dotIndex;
             if ((dotIndex = packageName.lastIndexOf('.')) > 0) {
                 packageName = packageName.substring(0, dotIndex);
             }
             int offset = key.getDataAt(0);
             int length = key.getDataAt(1);
-            int outlen = getOutlen(dbData, offset); // length of uncompressed data
-            byte[] udata = null;
-            boolean rc = true;
-            /*
-             * compression may have value 0, 1, 2 or 3. Value 1 is gzip and the data starts at
-             * "offset + 4". Values 2 and 3 have a "type" field at "offset + 4
-             * " and the data starts at "offset + 5". The type field is 'Z' for lzma, '2' for bzip,
-             * '1' for zip and '0' for no compression. From GnuR code, the only difference between
-             * compression=2 and compression=3 is that type='Z' is only possible for the latter.
-             */
-            if (compression == 0) {
-                udata = new byte[length];
-                System.arraycopy(dbData, offset, udata, 0, length);
-            } else {
-                udata = new byte[outlen];
-                if (compression == 2 || compression == 3) {
-                    RCompression.Type type = RCompression.Type.fromTypeChar(dbData[4]);
-                    if (type == null) {
-                        warning(RError.Message.GENERIC, "unknown compression type");
-                        return RNull.instance;
+            LazyDBCache.ContextStateImpl dbCache = context.stateLazyDBCache;
+            dbCache.update(context, dbPath);
+            byte[] udata = dbCache.getDecoded(dbPath, offset);
+            if (udata == null) {
+                // the record is inflated directly from the (usually memory mapped) database
+                ByteBuffer dbData = dbCache.getData(dbPath, offset, length);
+                if (dbData == null || (compression != 0 && length < 5)) {
+                    throw error(RError.Message.LAZY_LOAD_DB_CORRUPT, dbPath);
+                }
+                boolean rc = true;
+                /*
+                 * compression may have value 0, 1, 2 or 3. Value 1 is gzip and the data starts at
+                 * "offset + 4". Values 2 and 3 have a "type" field at "offset + 4" and the data
+                 * starts at "offset + 5". The type field is 'Z' for lzma, '2' for bzip, '1' for zip
+                 * and '0' for no compression. From GnuR code, the only difference between
+                 * compression=2 and compression=3 is that type='Z' is only possible for the latter.
+                 */
+                try {
+                    if (compression == 0) {
+                        udata = new byte[length];
+                        dbData.get(udata);
+                    } else {
+                        int outlen = dbData.getInt(); // length of uncompressed data
+                        udata = new byte[outlen];
+                        if (compression == 2 || compression == 3) {
+                            RCompression.Type type = RCompression.Type.fromTypeChar(dbData.get());
+                            if (type == null) {
+                                warning(RError.Message.GENERIC, "unknown compression type");
+                                return RNull.instance;
+                            }
+                            rc = RCompression.uncompress(type, udata, dbData);
+                        } else {
+                            // GnuR treats any other value as 1
+                            rc = RCompression.uncompress(RCompression.Type.GZIP, udata, dbData);
+                        }
                     }
-                    byte[] data = new byte[length - 5];
-                    System.arraycopy(dbData, offset + 5, data, 0, data.length);
-                    rc = RCompression.uncompress(type, udata, data);
-                } else {
-                    // GnuR treats any other value as 1
-                    byte[] data = new byte[length - 4];
-                    System.arraycopy(dbData, offset + 4, data, 0, data.length);
-                    rc = RCompression.uncompress(RCompression.Type.GZIP, udata, data);
+                } catch (InternalError e) {
+                    // the mapped file was truncated by another process or context after the check
+                    throw error(RError.Message.LAZY_LOAD_DB_CORRUPT, dbPath);
                 }
-            }
-            if (!rc) {
-                throw error(RError.Message.LAZY_LOAD_DB_CORRUPT, dbPath);
+                if (!rc) {
+                    throw error(RError.Message.LAZY_LOAD_DB_CORRUPT, dbPath);
+                }
+                dbCache.putDecoded(context, dbPath, offset, udata);
             }
             try {
                 RSerialize.CallHook callHook = new RSerialize.CallHook() {
@@ -305,13 +316,6 @@ public class HiddenInternalFunctions {
             }
         }
 
-        private static int getOutlen(byte[] dbData, int offset) {
-            ByteBuffer dataLengthBuf = ByteBuffer.allocate(4);
-            dataLengthBuf.put(dbData, offset, 4);
-            dataLengthBuf.position(0);
-            return dataLengthBuf.getInt();
-        }
-
         private static final class EvaluateAndSharePromiseNode extends Node {
             @Child private PromiseHelperNode promiseHelperNode;
             @Child private ShareObjectNode shareObjectNode;
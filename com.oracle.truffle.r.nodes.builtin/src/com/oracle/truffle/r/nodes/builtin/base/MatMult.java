@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -34,6 +34,7 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
 import com.oracle.truffle.r.runtime.DSLConfig;
+import com.oracle.truffle.r.runtime.ParallelWorkers;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
 import com.oracle.truffle.r.runtime.data.nodes.attributes.SpecialAttributesFunctions.GetDimAttributeNode;
@@ -47,6 +48,8 @@ import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RComplex;
 import com.oracle.truffle.r.runtime.data.RComplexVector;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
@@ -629,9 +632,16 @@ public abstract class MatMult extends RBuiltinNode.Arg2 {
         private final boolean promoteDimNames;
 
         private final ConditionProfile bigProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile parallelProfile = ConditionProfile.createBinaryProfile();
         private final BranchProfile incompleteProfile = BranchProfile.create();
         @CompilationFinal private boolean seenLargeMatrix;
 
+        /**
+         * Products with at least this many multiply-add operations are computed by the
+         * {@link ParallelWorkers}.
+         */
+        private final int parallelThreshold;
+
         private final LoopConditionProfile mainLoopProfile = LoopConditionProfile.createCountingProfile();
         private final LoopConditionProfile remainingLoopProfile = LoopConditionProfile.createCountingProfile();
         private final ConditionProfile noDimAttributes = ConditionProfile.createBinaryProfile();
@@ -642,6 +652,7 @@ public abstract class MatMult extends RBuiltinNode.Arg2 {
 
         public MatMultAsDouble(boolean promoteDimNames) {
             this.promoteDimNames = promoteDimNames;
+            this.parallelThreshold = RContext.getInstance().getNonNegativeIntOption(FastROptions.ParallelMatrixThreshold);
         }
 
         static MatMultAsDouble create(boolean promoteDimNames) {
@@ -798,7 +809,9 @@ public abstract class MatMult extends RBuiltinNode.Arg2 {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 seenLargeMatrix = true;
             }
-            if (seenLargeMatrix) {
+            if (seenLargeMatrix && parallelProfile.profile(parallelThreshold > 0 && (long) aRows * aCols * bCols >= parallelThreshold && ParallelWorkers.getThreadCount() > 1)) {
+                multiplyBlocksParallel(dataA, dataB, aRows, aCols, bCols, result, aRowStride, aColStride, bRowStride, bColStride, mirrored);
+            } else if (seenLargeMatrix) {
                 for (int row = 0; row < aRows; row += BLOCK_SIZE) {
                     for (int col = mirrored ? row : 0; col < bCols; col += BLOCK_SIZE) {
                         for (int k = 0; k < aCols; k += BLOCK_SIZE) {
@@ -861,6 +874,32 @@ public abstract class MatMult extends RBuiltinNode.Arg2 {
             return resultVec;
         }
 
+        /**
+         * Distributes the blocks of the result among the {@link ParallelWorkers}. Every block of the
+         * result is computed by a single thread with the same order of operations as in the
+         * sequential version, so the result does not depend on the number of threads.
+         */
+        @TruffleBoundary
+        private static void multiplyBlocksParallel(double[] dataA, double[] dataB, int aRows, int aCols, int bCols, double[] result, int aRowStride, int aColStride, int bRowStride,
+                        int bColStride, boolean mirrored) {
+            int rowBlocks = (aRows + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            int colBlocks = (bCols + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            LoopConditionProfile loopProfile = LoopConditionProfile.getUncached();
+            ParallelWorkers.forEachChunk(rowBlocks * colBlocks, 1, (block, from, to) -> {
+                int row = (block % rowBlocks) * BLOCK_SIZE;
+                int col = (block / rowBlocks) * BLOCK_SIZE;
+                if (mirrored && col < row) {
+                    return;
+                }
+                int remainingCols = Math.min(BLOCK_SIZE, bCols - col);
+                int remainingRows = Math.min(BLOCK_SIZE, aRows - row);
+                for (int k = 0; k < aCols; k += BLOCK_SIZE) {
+                    int remainingK = Math.min(BLOCK_SIZE, aCols - k);
+                    multiplyBlock(dataA, dataB, aRows, result, row, col, k, aRowStride, aColStride, bRowStride, bColStride, remainingCols, remainingRows, remainingK, loopProfile);
+                }
+            });
+        }
+
         private static void fixNARows(double[] dataA, int aRows, int aCols, int bCols, int aRowStride, int aColStride, double[] result) {
             // NA's in a cause the whole row to be NA in the result
             outer: for (int row = 0; row < aRows; row++) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,20 +22,26 @@
  */
 package com.oracle.truffle.r.nodes.builtin.base;
 
-import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.logicalFalse;
-import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.logicalValue;
 import static com.oracle.truffle.r.runtime.builtins.RBehavior.PURE;
 import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.r.nodes.builtin.Match5Node;
 import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
-import com.oracle.truffle.r.runtime.RError.Message;
+import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.data.RLogicalVector;
+import com.oracle.truffle.r.runtime.data.RMissing;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 
-/*
- * TODO: handle "incomparables" parameter.
+/**
+ * The elements of {@code x} found in {@code incomparables} are never matched, they are computed by
+ * matching {@code x} against {@code incomparables} and replaced with {@code nomatch}.
  */
 @RBuiltin(name = "match", kind = INTERNAL, parameterNames = {"x", "table", "nomatch", "incomparables"}, behavior = PURE)
 public abstract class Match extends RBuiltinNode.Arg4 {
@@ -45,13 +51,58 @@ public abstract class Match extends RBuiltinNode.Arg4 {
     static {
         Casts casts = new Casts(Match.class);
         casts.arg("nomatch").asIntegerVector().findFirst();
-        casts.arg("incomparables").defaultError(Message.GENERIC, "usage of 'incomparables' in match not implemented").allowNull().mustBe(logicalValue()).asLogicalVector().findFirst().mustBe(
-                        logicalFalse());
     }
 
-    @Specialization
-    Object doIt(Object x, Object table, int nomatch, Object incomparables,
+    /**
+     * {@code NULL}, empty vectors and a single {@code FALSE} mean no incomparables.
+     */
+    protected static boolean hasIncomparables(Object incomparables) {
+        if (incomparables == RNull.instance || incomparables == RMissing.instance) {
+            return false;
+        } else if (incomparables instanceof Byte) {
+            return (byte) incomparables != RRuntime.LOGICAL_FALSE;
+        } else if (incomparables instanceof RLogicalVector) {
+            RLogicalVector vector = (RLogicalVector) incomparables;
+            return vector.getLength() > 1 || (vector.getLength() == 1 && vector.getDataAt(0) != RRuntime.LOGICAL_FALSE);
+        } else if (incomparables instanceof RAbstractVector) {
+            return ((RAbstractVector) incomparables).getLength() > 0;
+        }
+        return true;
+    }
+
+    @Specialization(guards = "!hasIncomparables(incomparables)")
+    Object doIt(Object x, Object table, int nomatch, @SuppressWarnings("unused") Object incomparables,
                     @Cached Match5Node match5Node) {
-        return match5Node.execute(x, table, nomatch, incomparables);
+        return match5Node.execute(x, table, nomatch, RNull.instance);
+    }
+
+    @Specialization(guards = "hasIncomparables(incomparables)")
+    Object doIncomparables(Object x, Object table, int nomatch, Object incomparables,
+                    @Cached Match5Node match5Node,
+                    @Cached Match5Node incomparablesMatch5Node) {
+        Object result = match5Node.execute(x, table, nomatch, RNull.instance);
+        Object excluded = incomparablesMatch5Node.execute(x, incomparables, 0, RNull.instance);
+        return excludeIncomparables(result, excluded, nomatch);
+    }
+
+    @TruffleBoundary
+    private static Object excludeIncomparables(Object result, Object excluded, int nomatch) {
+        if (result instanceof Integer) {
+            return getAt(excluded, 0) > 0 ? nomatch : result;
+        }
+        RIntVector vector = (RIntVector) result;
+        int[] values = vector.getDataCopy();
+        boolean complete = vector.isComplete();
+        for (int i = 0; i < values.length; i++) {
+            if (getAt(excluded, i) > 0) {
+                values[i] = nomatch;
+                complete &= nomatch != RRuntime.INT_NA;
+            }
+        }
+        return RDataFactory.createIntVector(values, complete);
+    }
+
+    private static int getAt(Object matches, int index) {
+        return matches instanceof Integer ? (int) matches : ((RIntVector) matches).getDataAt(index);
     }
 }
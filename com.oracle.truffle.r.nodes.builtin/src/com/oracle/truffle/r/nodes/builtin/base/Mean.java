@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,17 +26,21 @@ import static com.oracle.truffle.r.runtime.RDispatch.INTERNAL_GENERIC;
 import static com.oracle.truffle.r.runtime.builtins.RBehavior.PURE_SUMMARY;
 import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
 
+import java.util.function.IntToDoubleFunction;
+
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.ParallelWorkers;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
 import com.oracle.truffle.r.runtime.data.RComplex;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.data.nodes.VectorAccess;
 import com.oracle.truffle.r.runtime.data.nodes.VectorAccess.SequentialIterator;
+import com.oracle.truffle.r.runtime.ops.ParallelReductions;
 
 @ImportStatic(RType.class)
 @RBuiltin(name = "mean", kind = INTERNAL, parameterNames = {"x"}, dispatch = INTERNAL_GENERIC, behavior = PURE_SUMMARY)
@@ -46,10 +50,18 @@ public abstract class Mean extends RBuiltinNode.Arg1 {
         Casts.noCasts(Mean.class);
     }
 
+    private final int parallelThreshold = ParallelWorkers.getThreshold();
+
     @Specialization(guards = {"access.supports(x)", "access.getType() != Complex"})
     protected double meanDoubleCached(RAbstractVector x,
                     @Cached("x.access()") VectorAccess access,
                     @Cached("createBinaryProfile()") ConditionProfile emptyProfile) {
+        if (ParallelWorkers.exceedsThreshold(parallelThreshold, x.getLength())) {
+            IntToDoubleFunction elements = ParallelReductions.doubleElements(x.getData());
+            if (elements != null) {
+                return ParallelReductions.mean(elements, x.getLength());
+            }
+        }
         SequentialIterator iter = access.access(x);
         if (emptyProfile.profile(!access.next(iter))) {
             return Double.NaN;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -45,6 +45,7 @@ import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.RList;
 import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.data.RStringCompactVectorData;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 
 // TODO interpret "type" and "allowNA" arguments
@@ -112,6 +113,7 @@ public abstract class NChar extends RBuiltinNode.Arg4 {
                     @Cached("createCountingProfile()") LoopConditionProfile loopProfile,
                     @Cached("createBinaryProfile()") ConditionProfile nullDimNamesProfile,
                     @Cached("createBinaryProfile()") ConditionProfile keepNAProfile,
+                    @Cached("createBinaryProfile()") ConditionProfile compactProfile,
                     @Cached("create()") GetDimAttributeNode getDimNode,
                     @Cached("create()") SetDimNamesAttributeNode setDimNamesNode,
                     @Cached("create()") ExtractDimNamesAttributeNode extractDimNamesNode,
@@ -121,6 +123,19 @@ public abstract class NChar extends RBuiltinNode.Arg4 {
         int[] result = new int[len];
         boolean isComplete = true;
         loopProfile.profileCounted(len);
+        if (compactProfile.profile(vector.isCompact())) {
+            // the lengths are known without creating the strings
+            RStringCompactVectorData compact = vector.getCompact();
+            for (int i = 0; loopProfile.inject(i < len); i++) {
+                if (compact.isNA(i)) {
+                    result[i] = keepNA ? RRuntime.INT_NA : 2;
+                    isComplete = !keepNA;
+                } else {
+                    result[i] = compact.getCharCount(i);
+                }
+            }
+            return createResult(vector, result, isComplete, nullDimNamesProfile, getDimNode, setDimNamesNode, extractDimNamesNode, extractNamesNode);
+        }
         for (int i = 0; loopProfile.inject(i < len); i++) {
             String item = vector.getDataAt(i);
             if (RRuntime.isNA(item)) {
@@ -130,6 +145,11 @@ public abstract class NChar extends RBuiltinNode.Arg4 {
                 result[i] = item.length();
             }
         }
+        return createResult(vector, result, isComplete, nullDimNamesProfile, getDimNode, setDimNamesNode, extractDimNamesNode, extractNamesNode);
+    }
+
+    private static RIntVector createResult(RStringVector vector, int[] result, boolean isComplete, ConditionProfile nullDimNamesProfile, GetDimAttributeNode getDimNode,
+                    SetDimNamesAttributeNode setDimNamesNode, ExtractDimNamesAttributeNode extractDimNamesNode, ExtractNamesAttributeNode extractNamesNode) {
         RIntVector resultVector = RDataFactory.createIntVector(result, isComplete, getDimNode.getDimensions(vector), extractNamesNode.execute(vector));
         RList dimNames = extractDimNamesNode.execute(vector);
         if (nullDimNamesProfile.profile(dimNames != null)) {
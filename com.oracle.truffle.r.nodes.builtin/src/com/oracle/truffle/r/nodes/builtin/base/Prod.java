@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2014, Purdue University
- * Copyright (c) 2014, 2021, Oracle and/or its affiliates
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -24,6 +24,8 @@ import static com.oracle.truffle.r.runtime.RDispatch.SUMMARY_GROUP_GENERIC;
 import static com.oracle.truffle.r.runtime.builtins.RBehavior.PURE_SUMMARY;
 import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
 
+import java.util.function.IntToDoubleFunction;
+
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.ImportStatic;
@@ -31,15 +33,18 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef;
 import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.ParallelWorkers;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
 import com.oracle.truffle.r.runtime.data.RArgsValuesAndNames;
 import com.oracle.truffle.r.runtime.data.RComplex;
+import com.oracle.truffle.r.runtime.data.model.RAbstractContainer;
 import com.oracle.truffle.r.runtime.data.nodes.VectorAccess;
 import com.oracle.truffle.r.runtime.data.nodes.VectorAccess.SequentialIterator;
 import com.oracle.truffle.r.runtime.ops.BinaryArithmetic;
+import com.oracle.truffle.r.runtime.ops.ParallelReductions;
 
 @ImportStatic(RType.class)
 @RBuiltin(name = "prod", kind = PRIMITIVE, parameterNames = {"...", "na.rm"}, dispatch = SUMMARY_GROUP_GENERIC, behavior = PURE_SUMMARY)
@@ -57,6 +62,8 @@ public abstract class Prod extends RBuiltinNode.Arg2 {
 
     @Child private BinaryArithmetic prod = BinaryArithmetic.MULTIPLY.createOperation();
 
+    private final int parallelThreshold = ParallelWorkers.getThreshold();
+
     @ExplodeLoop
     protected static boolean supports(RArgsValuesAndNames args, VectorAccess[] argAccess) {
         if (args.getLength() != argAccess.length) {
@@ -167,7 +174,15 @@ public abstract class Prod extends RBuiltinNode.Arg2 {
         throw error(RError.Message.INVALID_TYPE_ARGUMENT, Predef.getTypeName(args.getArgument(i)));
     }
 
-    protected static double prodDouble(Object v, VectorAccess access, boolean naRm) {
+    protected double prodDouble(Object v, VectorAccess access, boolean naRm) {
+        if (!naRm && v instanceof RAbstractContainer && ParallelWorkers.exceedsThreshold(parallelThreshold, ((RAbstractContainer) v).getLength())) {
+            // with na.rm, only NA is removed here while ParallelReductions removes NaN as well
+            RAbstractContainer container = (RAbstractContainer) v;
+            IntToDoubleFunction elements = ParallelReductions.doubleElements(container.getData());
+            if (elements != null) {
+                return (double) ParallelReductions.reduceDouble(ParallelReductions.Kind.PROD, elements, container.getLength(), 1, false, false).value;
+            }
+        }
         SequentialIterator iter = access.access(v);
         double value = 1;
         while (access.next(iter)) {
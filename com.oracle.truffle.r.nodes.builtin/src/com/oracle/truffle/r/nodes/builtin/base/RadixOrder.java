@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.base;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.oracle.truffle.r.runtime.RRuntime;
+
+/**
+ * The stable radix ordering behind {@code radixsort}, i.e., {@code order(..., method = "radix")}.
+ *
+ * Every key vector is first mapped to unsigned 64-bit keys that preserve the ordering of its
+ * elements, including {@code decreasing}: integers and logicals are shifted, doubles are
+ * "twiddled" (the sign bit is flipped for positive values and all bits for negative values, -0 and
+ * 0 map to the same key) and strings are replaced by their rank among the distinct strings. The
+ * rows are then sorted by the keys from the last one to the first one, every pass being an LSD
+ * radix sort with 8-bit digits which skips the digits that are equal in all keys. NA and NaN
+ * values are moved to the front or the back in every pass according to {@code na.last}, so the
+ * whole ordering is linear in the number of rows apart from sorting the distinct strings.
+ */
+final class RadixOrder {
+
+    /**
+     * The key of NA values, never produced for other values.
+     */
+    private static final long NA_KEY = -1L;
+
+    private static final int DIGIT_BITS = 8;
+    private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+
+    private RadixOrder() {
+        // no instances
+    }
+
+    static long[] intKeys(int[] data, boolean decreasing) {
+        long[] keys = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            int value = data[i];
+            if (value == RRuntime.INT_NA) {
+                keys[i] = NA_KEY;
+            } else {
+                // values are greater than Integer.MIN_VALUE, so the key is never 0
+                long key = (long) value - Integer.MIN_VALUE;
+                keys[i] = decreasing ? ~key : key;
+            }
+        }
+        return keys;
+    }
+
+    static long[] logicalKeys(byte[] data, boolean decreasing) {
+        long[] keys = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            byte value = data[i];
+            if (value == RRuntime.LOGICAL_NA) {
+                keys[i] = NA_KEY;
+            } else {
+                long key = value + 1L;
+                keys[i] = decreasing ? ~key : key;
+            }
+        }
+        return keys;
+    }
+
+    static long[] doubleKeys(double[] data, boolean decreasing) {
+        long[] keys = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            double value = data[i];
+            if (Double.isNaN(value)) {
+                keys[i] = NA_KEY;
+            } else {
+                // 0 and -0 are equal, the NaN bit patterns excluded here map to 0 and NA_KEY
+                long bits = Double.doubleToRawLongBits(value == 0 ? 0 : value);
+                long key = bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+                keys[i] = decreasing ? ~key : key;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Maps strings to their rank in the C locale (i.e., by code points) or, if {@code sort} is
+     * {@code false}, in the order of their first appearance.
+     */
+    static long[] stringKeys(Object[] data, boolean decreasing, boolean sort) {
+        HashMap<String, Integer> ranks = new HashMap<>();
+        for (Object element : data) {
+            String value = (String) element;
+            if (!RRuntime.isNA(value)) {
+                ranks.putIfAbsent(value, ranks.size());
+            }
+        }
+        if (sort) {
+            String[] distinct = ranks.keySet().toArray(new String[ranks.size()]);
+            Arrays.sort(distinct, RadixOrder::compareCodePoints);
+            for (int i = 0; i < distinct.length; i++) {
+                ranks.put(distinct[i], i);
+            }
+        }
+        long[] keys = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            String value = (String) data[i];
+            if (RRuntime.isNA(value)) {
+                keys[i] = NA_KEY;
+            } else {
+                // the rank is shifted by one so that the decreasing key is never NA_KEY
+                long key = ranks.get(value) + 1L;
+                keys[i] = decreasing ? ~key : key;
+            }
+        }
+        return keys;
+    }
+
+    private static int compareCodePoints(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(i);
+            if (ca != cb) {
+                if (Character.isSurrogate(ca) || Character.isSurrogate(cb)) {
+                    return Integer.compare(a.codePointAt(i), b.codePointAt(i));
+                }
+                return ca - cb;
+            }
+        }
+        return a.length() - b.length();
+    }
+
+    /**
+     * Returns the 0-based indices of the rows ordered by the given keys. If {@code naLast} is
+     * {@link RRuntime#LOGICAL_NA}, the rows with NA in any of the keys are dropped.
+     */
+    static int[] order(long[][] keys, int length, byte naLast) {
+        int[] order;
+        if (naLast == RRuntime.LOGICAL_NA) {
+            int count = 0;
+            order = new int[length];
+            outer: for (int i = 0; i < length; i++) {
+                for (long[] key : keys) {
+                    if (key[i] == NA_KEY) {
+                        continue outer;
+                    }
+                }
+                order[count++] = i;
+            }
+            order = Arrays.copyOf(order, count);
+        } else {
+            order = new int[length];
+            for (int i = 0; i < length; i++) {
+                order[i] = i;
+            }
+        }
+        // LSD over the keys: since every pass is stable, the last pass has the highest priority
+        for (int k = keys.length - 1; k >= 0; k--) {
+            order = sortByKey(order, keys[k], naLast == RRuntime.LOGICAL_FALSE);
+        }
+        return order;
+    }
+
+    private static int[] sortByKey(int[] order, long[] key, boolean naFirst) {
+        int n = order.length;
+        int naCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (key[order[i]] == NA_KEY) {
+                naCount++;
+            }
+        }
+        int[] nas = new int[naCount];
+        int[] rows = new int[n - naCount];
+        long[] values = new long[n - naCount];
+        int naIndex = 0;
+        int index = 0;
+        for (int i = 0; i < n; i++) {
+            int row = order[i];
+            long value = key[row];
+            if (value == NA_KEY) {
+                nas[naIndex++] = row;
+            } else {
+                rows[index] = row;
+                values[index++] = value;
+            }
+        }
+        int[] sorted = radixSort(values, rows);
+        if (naCount == 0) {
+            return sorted;
+        }
+        int[] result = new int[n];
+        System.arraycopy(nas, 0, result, naFirst ? 0 : sorted.length, naCount);
+        System.arraycopy(sorted, 0, result, naFirst ? naCount : 0, sorted.length);
+        return result;
+    }
+
+    /**
+     * Stable LSD radix sort of {@code rows} by the unsigned {@code values}, returns the sorted rows
+     * (which may be a different array than {@code rows}).
+     */
+    private static int[] radixSort(long[] values, int[] rows) {
+        int n = values.length;
+        if (n < 2) {
+            return rows;
+        }
+        // only the digits that differ in at least one value need a pass
+        long first = values[0];
+        long differentBits = 0;
+        for (int i = 1; i < n; i++) {
+            differentBits |= values[i] ^ first;
+        }
+        if (differentBits == 0) {
+            return rows;
+        }
+        long[] keys = values;
+        int[] indices = rows;
+        long[] keysTmp = new long[n];
+        int[] indicesTmp = new int[n];
+        int[] counts = new int[DIGIT_MASK + 2];
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            if (((differentBits >>> shift) & DIGIT_MASK) == 0) {
+                continue;
+            }
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(int) ((keys[i] >>> shift) & DIGIT_MASK) + 1]++;
+            }
+            for (int digit = 0; digit <= DIGIT_MASK; digit++) {
+                counts[digit + 1] += counts[digit];
+            }
+            for (int i = 0; i < n; i++) {
+                int position = counts[(int) ((keys[i] >>> shift) & DIGIT_MASK)]++;
+                keysTmp[position] = keys[i];
+                indicesTmp[position] = indices[i];
+            }
+            long[] swapKeys = keys;
+            keys = keysTmp;
+            keysTmp = swapKeys;
+            int[] swapIndices = indices;
+            indices = indicesTmp;
+            indicesTmp = swapIndices;
+        }
+        return indices;
+    }
+
+    /**
+     * Returns the 1-based positions in {@code order} at which a new group of rows with equal keys
+     * starts.
+     */
+    static int[] groupStarts(long[][] keys, int[] order) {
+        int n = order.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        int[] starts = new int[n];
+        int count = 0;
+        starts[count++] = 1;
+        for (int i = 1; i < n; i++) {
+            int row = order[i];
+            int previous = order[i - 1];
+            for (long[] key : keys) {
+                if (key[row] != key[previous]) {
+                    starts[count++] = i + 1;
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1995, 1996, Robert Gentleman and Ross Ihaka
  * Copyright (c) 1998-2013, The R Core Team
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -36,7 +36,7 @@ import static com.oracle.truffle.r.runtime.builtins.RBehavior.IO;
 import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashMap;
 
@@ -51,6 +51,7 @@ import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RError.Message;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
 import com.oracle.truffle.r.runtime.conn.RConnection;
 import com.oracle.truffle.r.runtime.conn.RConnection.ReadLineWarning;
@@ -70,6 +71,11 @@ import com.oracle.truffle.r.runtime.ops.na.NACheck;
 public abstract class Scan extends RBuiltinNode.Arg19 {
 
     private static final int SCAN_BLOCKSIZE = 1000;
+    /**
+     * The number of lines read from the connection at once when the number of items is not limited,
+     * i.e., when all the lines are going to be read anyway.
+     */
+    private static final int SCAN_BLOCK_LINES = 4096;
     private static final int NO_COMCHAR = 100000; /* won't occur even in Unicode */
 
     private final NACheck naCheck = NACheck.create();
@@ -106,16 +112,11 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
         boolean atStart = false;
         boolean embedWarn = false;
         boolean skipNull = false;
-    }
-
-    private static class GetQuotedItemsResult {
-        final String[] items;
-        final int pos;
-
-        GetQuotedItemsResult(String[] items, int pos) {
-            this.items = items;
-            this.pos = pos;
-        }
+        // the lines read from the connection and not processed yet
+        String[] lines = new String[0];
+        int linePos = 0;
+        int blockLines = 1;
+        final Fields fields = new Fields();
     }
 
     static {
@@ -206,6 +207,10 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
 
         data.save = 0;
 
+        // reading ahead is safe if everything up to nlines or the end of input is going to be read
+        // (stdin must not block for lines it does not need)
+        data.blockLines = file == 0 || nmax > 0 ? 1 : SCAN_BLOCK_LINES;
+
         try (RConnection openConn = data.con.forceOpen("r")) {
             if (nskip > 0) {
                 openConn.readLines(nskip, EnumSet.of(ReadLineWarning.EMBEDDED_NUL), skipNull);
@@ -237,8 +242,12 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
         return false;
     }
 
-    private static GetQuotedItemsResult getQuotedItems(LocalData data, int maxItems, String s) {
-        ArrayList<String> items = new ArrayList<>();
+    /**
+     * Splits {@code s} into {@code fields}. Fields without quotes are recorded as spans of the line,
+     * only fields containing quotes are copied into a new string.
+     */
+    private static void getQuotedItems(LocalData data, int maxItems, String s, Fields fields) {
+        fields.clear(s);
 
         char sepchar = data.sepchar;
         char[] quoteset = data.quoteset;
@@ -248,23 +257,36 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
             pos = skipWhitespace(s, pos);
         }
         if (pos == length) {
-            return new GetQuotedItemsResult(new String[0], pos);
+            fields.pos = pos;
+            return;
         }
-        StringBuilder str = new StringBuilder();
+        // the current field is either [start, pos) or, once it contained a quote, str
+        int start = pos;
+        StringBuilder str = null;
         do {
             char ch = s.charAt(pos);
             if (sepchar == 0 && (ch == ' ' || ch == '\t')) {
+                int end = pos;
                 pos = skipWhitespace(s, pos);
                 if (pos == length) {
-                    break;
+                    if (str != null ? str.length() > 0 : end > start) {
+                        fields.add(start, end, str);
+                    }
+                    fields.pos = pos;
+                    return;
                 }
-                items.add(str.toString());
-                str.setLength(0);
+                fields.add(start, end, str);
+                start = pos;
+                str = null;
             } else if (sepchar != 0 && ch == sepchar) {
+                fields.add(start, pos, str);
                 pos++;
-                items.add(str.toString());
-                str.setLength(0);
-            } else if (str.length() == 0 && isInSet(ch, quoteset)) {
+                start = pos;
+                str = null;
+            } else if ((str != null ? str.length() == 0 : pos == start) && isInSet(ch, quoteset)) {
+                if (str == null) {
+                    str = new StringBuilder();
+                }
                 char quoteStart = ch;
                 pos++;
                 while (true) {
@@ -284,39 +306,80 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
                     }
                 }
             } else {
-                str.append(ch);
+                if (str != null) {
+                    str.append(ch);
+                }
                 pos++;
             }
-        } while (pos < s.length() && (maxItems <= 0 || items.size() < maxItems));
-        if (str.length() > 0) {
-            items.add(str.toString());
+        } while (pos < length && (maxItems <= 0 || fields.count < maxItems));
+        if (str != null ? str.length() > 0 : pos > start) {
+            fields.add(start, pos, str);
         }
-        return new GetQuotedItemsResult(items.toArray(new String[items.size()]), pos);
+        fields.pos = pos;
     }
 
-    private static String[] getItems(LocalData data, int maxItems, boolean blSkip) throws IOException {
+    /**
+     * Returns the next line, reading the lines from the connection in blocks of
+     * {@link LocalData#blockLines}, but never more than {@code remainingLines} at once.
+     */
+    private static String nextLine(LocalData data, int remainingLines) throws IOException {
+        if (data.linePos == data.lines.length) {
+            int n = Math.max(1, Math.min(data.blockLines, remainingLines));
+            data.lines = data.con.readLines(n, EnumSet.of(ReadLineWarning.EMBEDDED_NUL), false);
+            data.linePos = 0;
+            if (data.lines == null || data.lines.length == 0) {
+                data.lines = new String[0];
+                return null;
+            }
+        }
+        return data.lines[data.linePos++];
+    }
+
+    private static Fields getItems(LocalData data, int maxItems, boolean blSkip, int remainingLines) throws IOException {
+        Fields fields = data.fields;
         while (true) {
-            String[] str = data.con.readLines(1, EnumSet.of(ReadLineWarning.EMBEDDED_NUL), false);
-            if (str == null || str.length == 0) {
+            String line = nextLine(data, remainingLines);
+            if (line == null) {
                 return null;
             } else {
-                GetQuotedItemsResult res = getQuotedItems(data, maxItems, str[0]);
-                String[] items = res.items;
-                if (!blSkip || items.length != 0) {
-                    if (res.pos < str[0].length()) {
-                        RStringVector remainder = RDataFactory.createStringVectorFromScalar(str[0].substring(res.pos));
+                getQuotedItems(data, maxItems, line, fields);
+                if (!blSkip || fields.count != 0) {
+                    if (fields.pos < line.length()) {
+                        assert data.linePos == data.lines.length : "lines are read one by one if the number of items is limited";
+                        RStringVector remainder = RDataFactory.createStringVectorFromScalar(line.substring(fields.pos));
                         data.con.pushBack(remainder, true);
                     }
-                    return items.length == 0 ? new String[]{""} : items;
+                    if (fields.count == 0) {
+                        fields.add(0, 0, null);
+                    }
+                    return fields;
                 }
             }
         }
     }
 
-    private void fillEmpty(int from, int to, int records, RList list, LocalData data) {
+    private static int remainingLines(int maxLines, int lines) {
+        return maxLines > 0 ? maxLines - lines : Integer.MAX_VALUE;
+    }
+
+    private static void fillEmpty(int from, int to, int records, Column[] columns, LocalData data) {
         for (int i = from; i < to; i++) {
-            RAbstractVector vec = (RAbstractVector) list.getDataAt(i);
-            vec.updateDataAtAsObject(records, extractItem(vec, "", data), naCheck);
+            columns[i].set(records, Fields.EMPTY, 0, data);
+        }
+    }
+
+    private Column createColumn(RAbstractVector what, int size) {
+        switch (what.getRType()) {
+            case Logical:
+                return new LogicalColumn(size);
+            case Integer:
+                return new IntColumn(size);
+            case Double:
+                return new DoubleColumn(size);
+            case Character:
+                return new StringColumn(size);
+            default:
+                return new VectorColumn(what.createEmptySameType(size, RDataFactory.COMPLETE_VECTOR), naCheck);
         }
     }
 
@@ -329,24 +392,28 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
         }
         int blockSize = maxRecords > 0 ? maxRecords : (maxLines > 0 ? maxLines : SCAN_BLOCKSIZE);
 
-        RList list = RDataFactory.createList(nc);
+        Column[] columns = new Column[nc];
         for (int i = 0; i < nc; i++) {
             if (what.getDataAt(i) == RNull.instance) {
                 throw error(RError.Message.INVALID_ARGUMENT, "what");
             } else {
-                RAbstractVector vec = castVector(what.getDataAt(i));
-                list.updateDataAt(i, vec.createEmptySameType(blockSize, RDataFactory.COMPLETE_VECTOR), null);
+                columns[i] = createColumn(castVector(what.getDataAt(i)), blockSize);
             }
         }
-        list.setNames(extractNames.execute(what));
 
         naCheck.enable(true);
 
-        return scanFrameInternal(maxRecords, maxLines, flush, fill, blSkip, multiLine, data, nc, blockSize, list);
+        RList list = RDataFactory.createList(nc);
+        int records = scanFrameInternal(maxRecords, maxLines, flush, fill, blSkip, multiLine, data, nc, blockSize, columns);
+        for (int i = 0; i < nc; i++) {
+            list.updateDataAt(i, columns[i].finish(records), null);
+        }
+        list.setNames(extractNames.execute(what));
+        return list;
     }
 
     @TruffleBoundary
-    private RAbstractVector scanFrameInternal(int maxRecords, int maxLines, boolean flush, boolean fill, boolean blSkip, boolean multiLine, LocalData data, int nc, int initialBlockSize, RList list)
+    private int scanFrameInternal(int maxRecords, int maxLines, boolean flush, boolean fill, boolean blSkip, boolean multiLine, LocalData data, int nc, int initialBlockSize, Column[] columns)
                     throws IOException {
         int blockSize = initialBlockSize;
         int n = 0;
@@ -354,47 +421,43 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
         int records = 0;
         while (true) {
             // TODO: does not do any fancy stuff, like handling comments
-            String[] strItems = getItems(data, maxRecords, blSkip);
-            if (strItems == null) {
+            Fields items = getItems(data, maxRecords, blSkip, remainingLines(maxLines, lines));
+            if (items == null) {
                 break;
             }
 
             boolean done = false;
-            for (int i = 0; i < Math.max(nc, strItems.length); i++) {
+            for (int i = 0; i < Math.max(nc, items.count); i++) {
 
-                if (n == strItems.length) {
+                if (n == items.count) {
                     if (fill) {
-                        fillEmpty(n, nc, records, list, data);
+                        fillEmpty(n, nc, records, columns, data);
                         records++;
                         n = 0;
                         break;
                     } else if (!multiLine) {
                         throw error(RError.Message.LINE_ELEMENTS, lines + 1, nc);
                     } else {
-                        strItems = getItems(data, maxRecords, blSkip);
+                        items = getItems(data, maxRecords, blSkip, remainingLines(maxLines, lines));
                         // Checkstyle: stop modified control variable check
                         i = 0;
                         // Checkstyle: resume modified control variable check
-                        if (strItems == null) {
+                        if (items == null) {
                             done = true;
                             break;
                         }
                     }
                 }
-                Object item = extractItem((RAbstractVector) list.getDataAt(n), strItems[i], data);
 
                 if (records == blockSize) {
-                    // enlarge the vector
+                    // enlarge the columns
                     blockSize = blockSize * 2;
                     for (int j = 0; j < nc; j++) {
-                        RAbstractVector vec = (RAbstractVector) list.getDataAt(j);
-                        vec = vec.copyResized(blockSize, false);
-                        list.updateDataAt(j, vec, null);
+                        columns[j].resize(blockSize);
                     }
                 }
 
-                RAbstractVector vec = (RAbstractVector) list.getDataAt(n);
-                vec.updateDataAtAsObject(records, item, naCheck);
+                columns[n].set(records, items, i, data);
                 n++;
                 if (n == nc) {
                     records++;
@@ -421,7 +484,12 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
             if (!fill) {
                 warning(RError.Message.ITEMS_NOT_MULTIPLE);
             }
-            fillEmpty(n, nc, records, list, data);
+            if (records == blockSize) {
+                for (int j = 0; j < nc; j++) {
+                    columns[j].resize(blockSize + 1);
+                }
+            }
+            fillEmpty(n, nc, records, columns, data);
             records++;
         }
 
@@ -429,45 +497,34 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
             String s = String.format("Read %d record%s", records, (records == 1) ? "" : "s");
             StdConnections.getStdout().writeString(s, true);
         }
-        // trim vectors if necessary
-        for (int i = 0; i < nc; i++) {
-            RAbstractVector vec = (RAbstractVector) list.getDataAt(i);
-            if (vec.getLength() > records) {
-                list.updateDataAt(i, vec.copyResized(records, false), null);
-            }
-        }
-
-        return list;
+        return records;
     }
 
     @TruffleBoundary
     private RAbstractVector scanVector(RAbstractVector what, int maxItems, int maxLines, @SuppressWarnings("unused") boolean flush, @SuppressWarnings("unused") boolean stripWhite, boolean blSkip,
                     LocalData data) throws IOException {
         int blockSize = maxItems > 0 ? maxItems : SCAN_BLOCKSIZE;
-        RAbstractVector vec = what.createEmptySameType(blockSize, RDataFactory.COMPLETE_VECTOR);
+        Column column = createColumn(what, blockSize);
         naCheck.enable(true);
 
         int n = 0;
         int lines = 0;
         while (true) {
             // TODO: does not do any fancy stuff, like handling comments
-            String[] strItems = getItems(data, maxItems, blSkip);
-            if (strItems == null) {
+            Fields items = getItems(data, maxItems, blSkip, remainingLines(maxLines, lines));
+            if (items == null) {
                 break;
             }
 
             boolean done = false;
-            for (int i = 0; i < strItems.length; i++) {
-
-                Object item = extractItem(what, strItems[i], data);
-
+            for (int i = 0; i < items.count; i++) {
                 if (n == blockSize) {
                     // enlarge the vector
                     blockSize = blockSize * 2;
-                    vec = vec.copyResized(blockSize, false);
+                    column.resize(blockSize);
                 }
 
-                vec.updateDataAtAsObject(n, item, naCheck);
+                column.set(n, items, i, data);
                 n++;
                 if (n == maxItems) {
                     done = true;
@@ -486,21 +543,20 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
             String s = String.format("Read %d item%s", n, (n == 1) ? "" : "s");
             StdConnections.getStdout().writeString(s, true);
         }
-        // trim vector if necessary
-        return vec.getLength() > n ? vec.copyResized(n, false) : vec;
+        return column.finish(n);
     }
 
     // If mode = 0 use for numeric fields where "" is NA
     // If mode = 1 use for character fields where "" is verbatim unless
     // na.strings includes ""
-    private static boolean isNaString(String buffer, int mode, LocalData data) {
+    private static boolean isNaString(Fields fields, int index, int mode, LocalData data) {
         int i;
 
-        if (mode == 0 && buffer.length() == 0) {
+        if (mode == 0 && fields.length(index) == 0) {
             return true;
         }
         for (i = 0; i < data.naStrings.getLength(); i++) {
-            if (data.naStrings.getDataAt(i).equals(buffer)) {
+            if (fields.contentEquals(index, data.naStrings.getDataAt(i))) {
                 return true;
             }
         }
@@ -510,37 +566,12 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
     private static Object extractItem(RAbstractVector what, String buffer, LocalData data) {
         try {
             switch (what.getRType()) {
-                case Logical:
-                    if (isNaString(buffer, 0, data)) {
-                        return RRuntime.LOGICAL_NA;
-                    } else {
-                        return RRuntime.string2logicalNoCheck(buffer);
-                    }
-                case Integer:
-                    if (isNaString(buffer, 0, data)) {
-                        return RRuntime.INT_NA;
-                    } else {
-                        return RRuntime.parseInt(buffer);
-                    }
-                case Double:
-                    if (isNaString(buffer, 0, data)) {
-                        return RRuntime.DOUBLE_NA;
-                    } else {
-                        return RRuntime.string2doubleNoCheck(buffer);
-                    }
                 case Complex:
                     if (isNaString(buffer, 0, data)) {
                         return RRuntime.COMPLEX_NA;
                     } else {
                         return RRuntime.string2complexNoCheck(buffer);
                     }
-                case Character:
-                    if (isNaString(buffer, 1, data)) {
-                        return RRuntime.STRING_NA;
-                    } else {
-                        String oldEntry = data.stringTable.putIfAbsent(buffer, buffer);
-                        return oldEntry == null ? buffer : oldEntry;
-                    }
                 case Raw:
                     if (isNaString(buffer, 0, data)) {
                         return RRaw.valueOf((byte) 0);
@@ -554,4 +585,364 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
             throw RError.error(RError.SHOW_CALLER, Message.SCAN_UNEXPECTED, what.getRType().getName(), buffer);
         }
     }
+
+    private static boolean isNaString(String buffer, int mode, LocalData data) {
+        int i;
+
+        if (mode == 0 && buffer.length() == 0) {
+            return true;
+        }
+        for (i = 0; i < data.naStrings.getLength(); i++) {
+            if (data.naStrings.getDataAt(i).equals(buffer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The fields of one line. A field is either the span {@code [starts[i], ends[i])} of the line
+     * or, if it contained quotes, the string {@code values[i]}.
+     */
+    private static final class Fields {
+        static final Fields EMPTY = new Fields();
+
+        static {
+            EMPTY.clear("");
+            EMPTY.add(0, 0, null);
+        }
+
+        String line;
+        int count;
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        String[] values = new String[16];
+        /**
+         * The position in the line at which splitting stopped.
+         */
+        int pos;
+
+        void clear(String s) {
+            line = s;
+            count = 0;
+            pos = 0;
+        }
+
+        void add(int start, int end, StringBuilder value) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            values[count] = value == null ? null : value.toString();
+            count++;
+        }
+
+        int length(int i) {
+            return values[i] != null ? values[i].length() : ends[i] - starts[i];
+        }
+
+        char charAt(int i, int index) {
+            return values[i] != null ? values[i].charAt(index) : line.charAt(starts[i] + index);
+        }
+
+        boolean contentEquals(int i, String s) {
+            if (values[i] != null) {
+                return values[i].equals(s);
+            }
+            return ends[i] - starts[i] == s.length() && line.regionMatches(starts[i], s, 0, s.length());
+        }
+
+        String getString(int i) {
+            return values[i] != null ? values[i] : line.substring(starts[i], ends[i]);
+        }
+    }
+
+    /**
+     * A column of the result, filled in place and enlarged with {@link #resize(int)}.
+     */
+    private abstract static class Column {
+        abstract void set(int index, Fields fields, int i, LocalData data);
+
+        abstract void resize(int size);
+
+        abstract RAbstractVector finish(int length);
+    }
+
+    private static final class LogicalColumn extends Column {
+        private byte[] values;
+        private boolean complete = RDataFactory.COMPLETE_VECTOR;
+
+        LogicalColumn(int size) {
+            values = new byte[size];
+        }
+
+        @Override
+        void set(int index, Fields fields, int i, LocalData data) {
+            byte value;
+            if (isNaString(fields, i, 0, data)) {
+                value = RRuntime.LOGICAL_NA;
+            } else if (fields.contentEquals(i, "TRUE") || fields.contentEquals(i, "T") || fields.contentEquals(i, "True") || fields.contentEquals(i, "true")) {
+                value = RRuntime.LOGICAL_TRUE;
+            } else if (fields.contentEquals(i, "FALSE") || fields.contentEquals(i, "F") || fields.contentEquals(i, "False") || fields.contentEquals(i, "false")) {
+                value = RRuntime.LOGICAL_FALSE;
+            } else {
+                value = RRuntime.LOGICAL_NA;
+            }
+            complete &= value != RRuntime.LOGICAL_NA;
+            values[index] = value;
+        }
+
+        @Override
+        void resize(int size) {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        RAbstractVector finish(int length) {
+            return RDataFactory.createLogicalVector(length == values.length ? values : Arrays.copyOf(values, length), complete);
+        }
+    }
+
+    private static final class IntColumn extends Column {
+        private int[] values;
+        private boolean complete = RDataFactory.COMPLETE_VECTOR;
+
+        IntColumn(int size) {
+            values = new int[size];
+        }
+
+        @Override
+        void set(int index, Fields fields, int i, LocalData data) {
+            int value;
+            if (isNaString(fields, i, 0, data)) {
+                value = RRuntime.INT_NA;
+            } else {
+                long simple = parseSimpleInt(fields, i);
+                if (simple != NOT_SIMPLE) {
+                    value = (int) simple;
+                } else {
+                    String buffer = fields.getString(i);
+                    try {
+                        value = RRuntime.parseInt(buffer);
+                    } catch (NumberFormatException e) {
+                        throw RError.error(RError.SHOW_CALLER, Message.SCAN_UNEXPECTED, RType.Integer.getName(), buffer);
+                    }
+                }
+            }
+            complete &= value != RRuntime.INT_NA;
+            values[index] = value;
+        }
+
+        @Override
+        void resize(int size) {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        RAbstractVector finish(int length) {
+            return RDataFactory.createIntVector(length == values.length ? values : Arrays.copyOf(values, length), complete);
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private double[] values;
+        private boolean complete = RDataFactory.COMPLETE_VECTOR;
+
+        DoubleColumn(int size) {
+            values = new double[size];
+        }
+
+        @Override
+        void set(int index, Fields fields, int i, LocalData data) {
+            double value;
+            if (isNaString(fields, i, 0, data)) {
+                value = RRuntime.DOUBLE_NA;
+            } else {
+                value = parseSimpleDouble(fields, i);
+                if (Double.isNaN(value)) {
+                    value = RRuntime.string2doubleNoCheck(fields.getString(i));
+                }
+            }
+            complete &= !RRuntime.isNA(value);
+            values[index] = value;
+        }
+
+        @Override
+        void resize(int size) {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        RAbstractVector finish(int length) {
+            return RDataFactory.createDoubleVector(length == values.length ? values : Arrays.copyOf(values, length), complete);
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        private String[] values;
+        private boolean complete = RDataFactory.COMPLETE_VECTOR;
+
+        StringColumn(int size) {
+            values = new String[size];
+        }
+
+        @Override
+        void set(int index, Fields fields, int i, LocalData data) {
+            if (isNaString(fields, i, 1, data)) {
+                values[index] = RRuntime.STRING_NA;
+                complete = false;
+            } else {
+                String buffer = fields.getString(i);
+                String oldEntry = data.stringTable.putIfAbsent(buffer, buffer);
+                values[index] = oldEntry == null ? buffer : oldEntry;
+            }
+        }
+
+        @Override
+        void resize(int size) {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        RAbstractVector finish(int length) {
+            return RDataFactory.createStringVector(length == values.length ? values : Arrays.copyOf(values, length), complete);
+        }
+    }
+
+    /**
+     * Columns of the remaining types (complex and raw), which go through the string value of every
+     * field.
+     */
+    private static final class VectorColumn extends Column {
+        private RAbstractVector vector;
+        private final NACheck naCheck;
+
+        VectorColumn(RAbstractVector vector, NACheck naCheck) {
+            this.vector = vector;
+            this.naCheck = naCheck;
+        }
+
+        @Override
+        void set(int index, Fields fields, int i, LocalData data) {
+            vector.updateDataAtAsObject(index, extractItem(vector, fields.getString(i), data), naCheck);
+        }
+
+        @Override
+        void resize(int size) {
+            vector = vector.copyResized(size, false);
+        }
+
+        @Override
+        RAbstractVector finish(int length) {
+            return vector.getLength() > length ? vector.copyResized(length, false) : vector;
+        }
+    }
+
+    private static final long NOT_SIMPLE = Long.MIN_VALUE;
+
+    /**
+     * Parses integers of at most nine digits with an optional minus sign without creating a string,
+     * returns {@link #NOT_SIMPLE} for anything else.
+     */
+    private static long parseSimpleInt(Fields fields, int i) {
+        int length = fields.length(i);
+        int pos = 0;
+        boolean negative = length > 0 && fields.charAt(i, 0) == '-';
+        if (negative) {
+            pos++;
+        }
+        if (pos == length || length - pos > 9) {
+            return NOT_SIMPLE;
+        }
+        long value = 0;
+        while (pos < length) {
+            char ch = fields.charAt(i, pos++);
+            if (ch < '0' || ch > '9') {
+                return NOT_SIMPLE;
+            }
+            value = value * 10 + (ch - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * Parses decimal numbers with at most 15 significant digits and a small exponent without
+     * creating a string. Both the digits and the power of ten are exact doubles in this case, so a
+     * single multiplication or division gives the correctly rounded result, i.e., the same as
+     * {@link Double#parseDouble(String)}. Returns {@code NaN} for anything else.
+     */
+    private static double parseSimpleDouble(Fields fields, int i) {
+        int length = fields.length(i);
+        int pos = 0;
+        boolean negative = false;
+        if (length > 0 && (fields.charAt(i, 0) == '-' || fields.charAt(i, 0) == '+')) {
+            negative = fields.charAt(i, 0) == '-';
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        while (pos < length) {
+            char ch = fields.charAt(i, pos);
+            if (ch >= '0' && ch <= '9') {
+                seenDigit = true;
+                if ((mantissa != 0 || ch != '0') && ++digits > 15) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (ch - '0');
+                if (seenPoint) {
+                    exponent--;
+                }
+            } else if (ch == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        if (!seenDigit) {
+            return Double.NaN;
+        }
+        if (pos < length && (fields.charAt(i, pos) == 'e' || fields.charAt(i, pos) == 'E')) {
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < length && (fields.charAt(i, pos) == '-' || fields.charAt(i, pos) == '+')) {
+                negativeExponent = fields.charAt(i, pos) == '-';
+                pos++;
+            }
+            if (pos == length) {
+                return Double.NaN;
+            }
+            int value = 0;
+            while (pos < length) {
+                char ch = fields.charAt(i, pos++);
+                if (ch < '0' || ch > '9' || value > 1000) {
+                    return Double.NaN;
+                }
+                value = value * 10 + (ch - '0');
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (pos != length) {
+            return Double.NaN;
+        }
+        double result;
+        if (mantissa == 0) {
+            result = 0;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            result = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            result = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return Double.NaN;
+        }
+        return negative ? -result : result;
+    }
 }
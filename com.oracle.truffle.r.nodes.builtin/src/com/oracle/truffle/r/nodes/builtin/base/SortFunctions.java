@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -44,6 +44,7 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef;
 import com.oracle.truffle.r.nodes.builtin.NodeWithArgumentCasts.Casts;
 import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
 import com.oracle.truffle.r.runtime.DSLConfig;
@@ -270,12 +271,13 @@ public class SortFunctions {
     /**
      * This a helper function for the code in sort.R. It does NOT return the input vectors sorted,
      * but returns an {@link RIntVector} of indices (positions) indicating the sort order (Or
-     * {@link RNull#instance} if no vectors). In short it is a special variant of {@code order}. For
-     * now we delegate to {@code order} and do not implement the {@code retgrp} argument.
+     * {@link RNull#instance} if no vectors). In short it is a special variant of {@code order}
+     * implemented by the stable {@link RadixOrder}. If {@code retgrp} is {@code TRUE}, the result
+     * has the attributes {@code starts} (the positions at which the groups of equal rows start) and
+     * {@code maxgrpn} (the size of the largest group).
      */
     @RBuiltin(name = "radixsort", kind = INTERNAL, parameterNames = {"na.last", "decreasing", "retgrp", "sortstr", "..."}, behavior = PURE)
     public abstract static class RadixSort extends RBuiltinNode.Arg5 {
-        @Child private Order orderNode = OrderNodeGen.create();
 
         static {
             Casts casts = new Casts(RadixSort.class);
@@ -285,16 +287,10 @@ public class SortFunctions {
             casts.arg("sortstr").asLogicalVector().findFirst().map(toBoolean());
         }
 
-        @SuppressWarnings("unused")
         @Specialization(limit = "getVectorAccessCacheSize()")
         protected Object radixSort(byte naLast, RLogicalVector decreasingVec, boolean retgrp, boolean sortstr, RArgsValuesAndNames zz,
                         @Bind("decreasingVec.getData()") Object decreasingVecData,
                         @CachedLibrary("decreasingVecData") VectorDataLibrary decreasingDataLib) {
-            // Partial implementation just to get startup to work
-            if (retgrp) {
-                // sortstr only has an effect when retrgrp == true
-                throw RError.nyi(this, "radixsort: retgrp == TRUE not implemented");
-            }
             int nargs = zz.getLength();
             if (nargs == 0) {
                 return RNull.instance;
@@ -302,26 +298,72 @@ public class SortFunctions {
             if (nargs != decreasingDataLib.getLength(decreasingVecData)) {
                 throw error(RError.Message.RADIX_SORT_DEC_MATCH);
             }
-            /*
-             * Order takes a single decreasing argument that applies to all the vectors. We
-             * potentially have a different value for each vector, so we have to process one by one.
-             * However, OrderNode can't yet handle that, so we abort if nargs > 1 and the decreasing
-             * values don't match.
-             */
-            byte lastdb = RRuntime.LOGICAL_NA;
+            boolean[] decreasing = new boolean[nargs];
             for (int i = 0; i < nargs; i++) {
                 byte db = decreasingDataLib.getLogicalAt(decreasingVecData, i);
                 if (RRuntime.isNA(db)) {
                     throw error(RError.Message.RADIX_SORT_DEC_NOT_LOGICAL);
                 }
-                if (lastdb != RRuntime.LOGICAL_NA && db != lastdb) {
-                    throw RError.nyi(this, "radixsort: args > 1 with differing 'decreasing' values not implemented");
+                decreasing[i] = RRuntime.fromLogical(db);
+            }
+            // sortstr only has an effect when retgrp == true
+            return order(naLast, decreasing, retgrp, sortstr || !retgrp, zz.getArguments());
+        }
+
+        @TruffleBoundary
+        private RIntVector order(byte naLast, boolean[] decreasing, boolean retgrp, boolean sortStrings, Object[] args) {
+            long[][] keys = new long[args.length][];
+            for (int i = 0; i < args.length; i++) {
+                keys[i] = keys(args[i], i, decreasing[i], sortStrings);
+                if (keys[i].length != keys[0].length) {
+                    throw error(RError.Message.ARGUMENT_LENGTHS_DIFFER);
+                }
+            }
+            int[] order = RadixOrder.order(keys, keys[0].length, naLast);
+            int[] data = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                data[i] = order[i] + 1;
+            }
+            RIntVector result = RDataFactory.createIntVector(data, RDataFactory.COMPLETE_VECTOR);
+            if (retgrp) {
+                int[] starts = RadixOrder.groupStarts(keys, order);
+                int maxgrpn = 0;
+                for (int i = 0; i < starts.length; i++) {
+                    int end = i + 1 < starts.length ? starts[i + 1] : order.length + 1;
+                    maxgrpn = Math.max(maxgrpn, end - starts[i]);
                 }
-                lastdb = db;
+                result.setAttr("starts", RDataFactory.createIntVector(starts, RDataFactory.COMPLETE_VECTOR));
+                result.setAttr("maxgrpn", maxgrpn);
             }
-            boolean decreasing = RRuntime.fromLogical(decreasingDataLib.getLogicalAt(decreasingVecData, 0));
-            Object result = orderNode.execute(naLast, decreasing, zz);
             return result;
         }
+
+        private long[] keys(Object arg, int index, boolean decreasing, boolean sortStrings) {
+            if (arg instanceof Integer) {
+                return RadixOrder.intKeys(new int[]{(int) arg}, decreasing);
+            } else if (arg instanceof Double) {
+                return RadixOrder.doubleKeys(new double[]{(double) arg}, decreasing);
+            } else if (arg instanceof Byte) {
+                return RadixOrder.logicalKeys(new byte[]{(byte) arg}, decreasing);
+            } else if (arg instanceof String) {
+                return RadixOrder.stringKeys(new String[]{(String) arg}, decreasing, sortStrings);
+            } else if (arg instanceof RIntVector) {
+                return RadixOrder.intKeys(((RIntVector) arg).getReadonlyData(), decreasing);
+            } else if (arg instanceof RDoubleVector) {
+                return RadixOrder.doubleKeys(((RDoubleVector) arg).getReadonlyData(), decreasing);
+            } else if (arg instanceof RLogicalVector) {
+                return RadixOrder.logicalKeys(((RLogicalVector) arg).getReadonlyData(), decreasing);
+            } else if (arg instanceof RStringVector) {
+                RStringVector vector = (RStringVector) arg;
+                String[] data = new String[vector.getLength()];
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = vector.getDataAt(i);
+                }
+                return RadixOrder.stringKeys(data, decreasing, sortStrings);
+            } else if (arg == RNull.instance) {
+                return new long[0];
+            }
+            throw error(RError.Message.GENERIC, String.format("argument %d is of type '%s' which is not supported by radix sort", index + 1, Predef.getTypeName(arg)));
+        }
     }
 }
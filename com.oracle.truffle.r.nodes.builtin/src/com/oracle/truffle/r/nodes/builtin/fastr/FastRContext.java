@@ -56,6 +56,7 @@ import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.context.RContext.ConsoleIO;
 import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RList;
 import com.oracle.truffle.r.runtime.data.RMissing;
@@ -437,6 +438,80 @@ public class FastRContext {
         }
     }
 
+    /**
+     * Borrows up to {@code n} idle workers from the context's
+     * {@link com.oracle.truffle.r.runtime.context.WorkerContextPool}. The result is a list with
+     * elements "context" and "channel" holding the ids of the borrowed workers.
+     */
+    @RBuiltin(name = ".fastr.context.pool.acquire", kind = PRIMITIVE, parameterNames = {"n"}, behavior = COMPLEX)
+    public abstract static class PoolAcquire extends RBuiltinNode.Arg1 {
+
+        static {
+            Casts casts = new Casts(PoolAcquire.class);
+            casts.arg("n").asIntegerVector().mustBe(notEmpty()).findFirst().mustNotBeNA().mustBe(gte(0));
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected RList acquire(int n) {
+            int[][] workers = getRContext().stateWorkerPool.acquire(getRContext(), n);
+            return RDataFactory.createList(new Object[]{RDataFactory.createIntVector(workers[0], RDataFactory.COMPLETE_VECTOR),
+                            RDataFactory.createIntVector(workers[1], RDataFactory.COMPLETE_VECTOR)}, RDataFactory.createStringVector(new String[]{"context", "channel"}, true));
+        }
+    }
+
+    @RBuiltin(name = ".fastr.context.pool.register", visibility = OFF, kind = PRIMITIVE, parameterNames = {"context", "channel"}, behavior = COMPLEX)
+    public abstract static class PoolRegister extends RBuiltinNode.Arg2 {
+
+        static {
+            Casts casts = new Casts(PoolRegister.class);
+            casts.arg("context").asIntegerVector().mustBe(notEmpty()).findFirst().mustNotBeNA();
+            casts.arg("channel").asIntegerVector().mustBe(notEmpty()).findFirst().mustNotBeNA();
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected RNull register(int context, int channel) {
+            getRContext().stateWorkerPool.register(context, channel);
+            return RNull.instance;
+        }
+    }
+
+    /**
+     * Returns a borrowed worker to the pool. The result is {@code FALSE} if the pool did not take
+     * the worker back and the caller should stop it.
+     */
+    @RBuiltin(name = ".fastr.context.pool.release", kind = PRIMITIVE, parameterNames = {"context", "channel"}, behavior = COMPLEX)
+    public abstract static class PoolRelease extends RBuiltinNode.Arg2 {
+
+        static {
+            Casts casts = new Casts(PoolRelease.class);
+            casts.arg("context").asIntegerVector().mustBe(notEmpty()).findFirst().mustNotBeNA();
+            casts.arg("channel").asIntegerVector().mustBe(notEmpty()).findFirst().mustNotBeNA();
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected byte release(int context, int channel) {
+            return RRuntime.asLogical(getRContext().stateWorkerPool.release(getRContext(), context, channel));
+        }
+    }
+
+    @RBuiltin(name = ".fastr.context.pool.stats", kind = PRIMITIVE, parameterNames = {}, behavior = READS_STATE)
+    public abstract static class PoolStats extends RBuiltinNode.Arg0 {
+
+        static {
+            Casts.noCasts(PoolStats.class);
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected RIntVector stats() {
+            return RDataFactory.createIntVector(getRContext().stateWorkerPool.getStats(), RDataFactory.COMPLETE_VECTOR,
+                            RDataFactory.createStringVector(new String[]{"capacity", "idle", "spawned", "reused"}, true));
+        }
+    }
+
     private static String[] prependCommand(RStringVector argsVec, String command) {
         String[] argsVecArgs = argsVec.materialize().getDataCopy();
         String[] result = new String[argsVecArgs.length + 1];
@@ -544,6 +619,61 @@ public class FastRContext {
         }
     }
 
+    /**
+     * Sends each element of {@code data} (a list) as a separate message.
+     */
+    @RBuiltin(name = ".fastr.channel.sendBatch", visibility = OFF, kind = PRIMITIVE, parameterNames = {"id", "data"}, behavior = COMPLEX)
+    public abstract static class ChannelSendBatch extends RBuiltinNode.Arg2 {
+
+        static {
+            Casts casts = new Casts(ChannelSendBatch.class);
+            CastsHelper.id(casts);
+            casts.arg("data").mustBe(instanceOf(RList.class));
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected RNull sendBatch(int id, RList data) {
+            RChannel.sendBatch(id, data);
+            return RNull.instance;
+        }
+    }
+
+    /**
+     * Waits for at least one message and returns a list of up to {@code max} messages that are
+     * available in the channel.
+     */
+    @RBuiltin(name = ".fastr.channel.receiveBatch", kind = PRIMITIVE, parameterNames = {"id", "max"}, behavior = COMPLEX)
+    public abstract static class ChannelReceiveBatch extends RBuiltinNode.Arg2 {
+
+        static {
+            Casts casts = new Casts(ChannelReceiveBatch.class);
+            CastsHelper.id(casts);
+            casts.arg("max").asIntegerVector().mustBe(notEmpty()).findFirst().mustNotBeNA().mustBe(gte(1));
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected RList receiveBatch(int id, int max) {
+            return RChannel.receiveBatch(id, max);
+        }
+    }
+
+    @RBuiltin(name = ".fastr.channel.stats", kind = PRIMITIVE, parameterNames = {"id"}, behavior = READS_STATE)
+    public abstract static class ChannelStats extends RBuiltinNode.Arg1 {
+
+        static {
+            Casts casts = new Casts(ChannelStats.class);
+            CastsHelper.id(casts);
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected RDoubleVector stats(int id) {
+            return RDataFactory.createDoubleVector(RChannel.getStats(id), RDataFactory.COMPLETE_VECTOR, RDataFactory.createStringVector(RChannel.STATS_NAMES, true));
+        }
+    }
+
     @RBuiltin(name = ".fastr.channel.poll", kind = PRIMITIVE, parameterNames = {"id"}, behavior = COMPLEX)
     public abstract static class ChannelPoll extends RBuiltinNode.Arg1 {
 
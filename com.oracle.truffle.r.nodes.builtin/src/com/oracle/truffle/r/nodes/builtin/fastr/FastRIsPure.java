@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.instanceOf;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.READS_STATE;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.r.nodes.access.variables.ReadVariableNode;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.ArgumentsSignature;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.builtins.RBehavior;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.builtins.RBuiltinDescriptor;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.env.REnvironment;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxCall;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxConstant;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxElement;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxFunction;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxLookup;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxVisitor;
+
+/**
+ * Conservative purity analysis of functions, used by {@code .fastr.parLapply} to decide whether the
+ * iterations of {@code FUN} can be evaluated independently of each other. A closure is considered
+ * pure if its body, and the bodies of all the closures it calls, only call builtins marked as pure
+ * (or reading the local frame) and only assign to local variables. Anything the analysis cannot
+ * resolve statically in the closure's environment (calls of computed functions or of local
+ * variables, unevaluated promises) makes the closure impure, and so do {@code <<-},
+ * {@code assign}, I/O, the random number generator and native calls. Replacement assignments like
+ * {@code x$a <- v} are only accepted if {@code x} was assigned a value created by the function
+ * itself before, because the parameters and free variables may be environments shared with the
+ * other iterations. Dispatch to user defined S3
+ * or S4 methods is not taken into account, the caller is responsible for checking the classes of
+ * the arguments.
+ */
+@RBuiltin(name = ".fastr.isPure", kind = PRIMITIVE, parameterNames = {"f"}, behavior = READS_STATE)
+public abstract class FastRIsPure extends RBuiltinNode.Arg1 {
+
+    /**
+     * Upper bound on the number of closures analyzed transitively, beyond it we give up.
+     */
+    private static final int MAX_ANALYZED_FUNCTIONS = 256;
+
+    /**
+     * Builtins that are not marked as pure, but do not have side effects visible outside of the
+     * function's own frame.
+     */
+    private static final Set<String> LOCAL_CONTROL_FLOW = new HashSet<>(Arrays.asList("break", "next", "return", "invisible", "missing", "function"));
+
+    /**
+     * Builtins that may return one of their arguments or an existing environment, so that their
+     * result can be shared with the caller or with other iterations. Replacement functions (e.g.,
+     * {@code $<-} on an environment) are handled separately.
+     */
+    private static final Set<String> NOT_FRESH = new HashSet<>(Arrays.asList("(", "{", "if", "switch", "return", "invisible", "unclass", ".Internal", "$", "[[", "@", ".subset2",
+                    "attr", "slot", "get", "get0", "mget", "dynGet", "environment", "parent.frame", "parent.env", "sys.frame", "sys.function", "globalenv", "emptyenv", "baseenv", "topenv",
+                    "as.environment", "pos.to.env", "getNamespace", "getRegisteredNamespace", "eval", "evalq", "do.call", "forceAndCall", "Recall", "standardGeneric", "UseMethod", "NextMethod"));
+
+    static {
+        Casts casts = new Casts(FastRIsPure.class);
+        casts.arg("f").mustBe(instanceOf(RFunction.class));
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected byte isPure(RFunction f) {
+        return RRuntime.asLogical(new PurityAnalysis().isPure(f));
+    }
+
+    private static final class PurityAnalysis {
+
+        private final Set<RootCallTarget> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        boolean isPure(RFunction f) {
+            if (f.isBuiltin()) {
+                return isPureBuiltin(f.getRBuiltin());
+            }
+            if (!visited.add(f.getTarget())) {
+                // recursion, the function is pure if the rest of it is pure
+                return true;
+            }
+            if (visited.size() > MAX_ANALYZED_FUNCTIONS || !(f.getRootNode() instanceof RSyntaxFunction)) {
+                return false;
+            }
+            RSyntaxFunction syntax = (RSyntaxFunction) f.getRootNode();
+            Set<String> locals = new HashSet<>();
+            LocalsCollector collector = new LocalsCollector(locals);
+            collector.collectFunction(syntax);
+            return new PurityVisitor(f.getEnclosingFrame(), locals).acceptFunction(syntax);
+        }
+
+        private static boolean isPureBuiltin(RBuiltinDescriptor builtin) {
+            RBehavior behavior = builtin.getBehavior();
+            return behavior.isPure() || behavior == RBehavior.READS_FRAME || LOCAL_CONTROL_FLOW.contains(builtin.getName());
+        }
+
+        /**
+         * Collects the parameters and the locally assigned variables of a function and of all the
+         * functions nested in it.
+         */
+        private static final class LocalsCollector extends RSyntaxVisitor<Void> {
+            private final Set<String> locals;
+
+            LocalsCollector(Set<String> locals) {
+                this.locals = locals;
+            }
+
+            void collectFunction(RSyntaxFunction element) {
+                ArgumentsSignature signature = element.getSyntaxSignature();
+                for (int i = 0; i < signature.getLength(); i++) {
+                    locals.add(signature.getName(i));
+                }
+                for (RSyntaxElement def : element.getSyntaxArgumentDefaults()) {
+                    if (def != null) {
+                        accept(def);
+                    }
+                }
+                accept(element.getSyntaxBody());
+            }
+
+            @Override
+            protected Void visit(RSyntaxCall element) {
+                RSyntaxElement lhs = element.getSyntaxLHS();
+                RSyntaxElement[] args = element.getSyntaxArguments();
+                if (lhs instanceof RSyntaxLookup && args.length > 0) {
+                    String name = ((RSyntaxLookup) lhs).getIdentifier();
+                    if ("<-".equals(name) || "=".equals(name)) {
+                        RSyntaxElement target = args[0];
+                        while (target instanceof RSyntaxCall && ((RSyntaxCall) target).getSyntaxArguments().length > 0) {
+                            target = ((RSyntaxCall) target).getSyntaxArguments()[0];
+                        }
+                        if (target instanceof RSyntaxLookup) {
+                            locals.add(((RSyntaxLookup) target).getIdentifier());
+                        }
+                    }
+                }
+                accept(lhs);
+                for (RSyntaxElement arg : args) {
+                    if (arg != null) {
+                        accept(arg);
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            protected Void visit(RSyntaxConstant element) {
+                return null;
+            }
+
+            @Override
+            protected Void visit(RSyntaxLookup element) {
+                return null;
+            }
+
+            @Override
+            protected Void visit(RSyntaxFunction element) {
+                collectFunction(element);
+                return null;
+            }
+        }
+
+        private final class PurityVisitor extends RSyntaxVisitor<Boolean> {
+            private final MaterializedFrame enclosingFrame;
+            private final Set<String> locals;
+            /**
+             * The local variables that certainly hold a value created by the function itself at
+             * the current point of the analysis, only those can be targets of replacement
+             * assignments.
+             */
+            private Set<String> fresh = new HashSet<>();
+
+            PurityVisitor(MaterializedFrame enclosingFrame, Set<String> locals) {
+                this.enclosingFrame = enclosingFrame;
+                this.locals = locals;
+            }
+
+            boolean acceptFunction(RSyntaxFunction element) {
+                Set<String> outer = fresh;
+                fresh = new HashSet<>();
+                try {
+                    for (RSyntaxElement def : element.getSyntaxArgumentDefaults()) {
+                        if (def != null && !acceptConditionally(def)) {
+                            return false;
+                        }
+                    }
+                    return accept(element.getSyntaxBody());
+                } finally {
+                    fresh = outer;
+                }
+            }
+
+            private boolean acceptArguments(RSyntaxElement[] args, int from) {
+                for (int i = from; i < args.length; i++) {
+                    if (args[i] != null && !accept(args[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            /**
+             * Accepts an element that may or may not be evaluated, e.g., an argument passed as a
+             * promise: the variables it assigns cannot be considered fresh afterwards.
+             */
+            private boolean acceptConditionally(RSyntaxElement element) {
+                Set<String> before = new HashSet<>(fresh);
+                boolean result = element == null || accept(element);
+                fresh.retainAll(before);
+                return result;
+            }
+
+            /**
+             * Accepts the arguments of a call to a pure function in the order in which they are
+             * evaluated.
+             */
+            private boolean acceptCallArguments(String name, RSyntaxElement[] args) {
+                switch (name) {
+                    case "{":
+                    case "(":
+                        return acceptArguments(args, 0);
+                    case "if":
+                        if (args.length == 0 || !accept(args[0])) {
+                            return false;
+                        } else if (args.length < 3) {
+                            return args.length == 1 || acceptConditionally(args[1]);
+                        } else {
+                            Set<String> before = new HashSet<>(fresh);
+                            if (args[1] != null && !accept(args[1])) {
+                                return false;
+                            }
+                            Set<String> afterThen = fresh;
+                            fresh = before;
+                            boolean result = args[2] == null || accept(args[2]);
+                            fresh.retainAll(afterThen);
+                            return result;
+                        }
+                    case "for":
+                    case "while":
+                    case "repeat":
+                        // a variable assigned in the loop may still hold the value of the
+                        // previous iteration
+                        Set<String> assigned = new HashSet<>();
+                        LocalsCollector collector = new LocalsCollector(assigned);
+                        for (RSyntaxElement arg : args) {
+                            if (arg != null) {
+                                collector.accept(arg);
+                            }
+                        }
+                        if ("for".equals(name) && args.length > 0 && args[0] instanceof RSyntaxLookup) {
+                            assigned.add(((RSyntaxLookup) args[0]).getIdentifier());
+                        }
+                        fresh.removeAll(assigned);
+                        boolean result = acceptArguments(args, 0);
+                        fresh.removeAll(assigned);
+                        return result;
+                    case "&&":
+                    case "||":
+                    case "switch":
+                        if (args.length == 0 || (args[0] != null && !accept(args[0]))) {
+                            return false;
+                        }
+                        for (int i = 1; i < args.length; i++) {
+                            if (!acceptConditionally(args[i])) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    default:
+                        for (RSyntaxElement arg : args) {
+                            if (!acceptConditionally(arg)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                }
+            }
+
+            @Override
+            protected Boolean visit(RSyntaxCall element) {
+                RSyntaxElement lhs = element.getSyntaxLHS();
+                RSyntaxElement[] args = element.getSyntaxArguments();
+                if (!(lhs instanceof RSyntaxLookup)) {
+                    if (lhs instanceof RSyntaxCall && isNamespaceAccess((RSyntaxCall) lhs)) {
+                        RFunction f = lookupInNamespace((RSyntaxCall) lhs);
+                        return f != null && isPure(f) && acceptCallArguments("", args);
+                    }
+                    // calls of computed functions
+                    return false;
+                }
+                String name = ((RSyntaxLookup) lhs).getIdentifier();
+                switch (name) {
+                    case "<-":
+                    case "=":
+                        if (args.length != 2 || args[0] == null || args[1] == null || !accept(args[1])) {
+                            return false;
+                        }
+                        if (isName(args[0])) {
+                            String variable = getName(args[0]);
+                            if (isFresh(args[1])) {
+                                fresh.add(variable);
+                            } else {
+                                fresh.remove(variable);
+                            }
+                            return true;
+                        }
+                        return isLocalAssignmentTarget(args[0]) && accept(args[0]);
+                    case ".Internal":
+                        if (args.length == 1 && args[0] instanceof RSyntaxCall && ((RSyntaxCall) args[0]).getSyntaxLHS() instanceof RSyntaxLookup) {
+                            RSyntaxCall inner = (RSyntaxCall) args[0];
+                            RBuiltinDescriptor builtin = RContext.lookupBuiltinDescriptor(((RSyntaxLookup) inner.getSyntaxLHS()).getIdentifier());
+                            return builtin != null && isPureBuiltin(builtin) && acceptArguments(inner.getSyntaxArguments(), 0);
+                        }
+                        return false;
+                    default:
+                        if (locals.contains(name)) {
+                            // the value of a local variable is not known statically
+                            return false;
+                        }
+                        RFunction f = lookupFunction(name);
+                        return f != null && isPure(f) && acceptCallArguments(name, args);
+                }
+            }
+
+            /**
+             * Checks that the target of a replacement assignment is a fresh local variable and
+             * that the replacement functions involved (e.g., {@code names<-} in
+             * {@code names(x) <- v}) are pure.
+             */
+            private boolean isLocalAssignmentTarget(RSyntaxElement target) {
+                if (isName(target)) {
+                    return fresh.contains(getName(target));
+                } else if (target instanceof RSyntaxCall) {
+                    RSyntaxCall call = (RSyntaxCall) target;
+                    RSyntaxElement[] args = call.getSyntaxArguments();
+                    if (!(call.getSyntaxLHS() instanceof RSyntaxLookup) || args.length == 0 || args[0] == null) {
+                        return false;
+                    }
+                    String replacement = ((RSyntaxLookup) call.getSyntaxLHS()).getIdentifier() + "<-";
+                    if (locals.contains(replacement)) {
+                        return false;
+                    }
+                    RFunction f = lookupFunction(replacement);
+                    return f != null && isPure(f) && acceptArguments(args, 1) && isLocalAssignmentTarget(args[0]);
+                }
+                return false;
+            }
+
+            /**
+             * Checks whether the value of an expression is certainly not shared with anything
+             * outside of the function: constants, closures, fresh local variables and the results
+             * of builtins that create new values.
+             */
+            private boolean isFresh(RSyntaxElement value) {
+                if (value instanceof RSyntaxConstant || value instanceof RSyntaxFunction) {
+                    return true;
+                } else if (value instanceof RSyntaxLookup) {
+                    return fresh.contains(((RSyntaxLookup) value).getIdentifier());
+                } else if (value instanceof RSyntaxCall && ((RSyntaxCall) value).getSyntaxLHS() instanceof RSyntaxLookup) {
+                    String name = ((RSyntaxLookup) ((RSyntaxCall) value).getSyntaxLHS()).getIdentifier();
+                    if (locals.contains(name) || NOT_FRESH.contains(name) || name.endsWith("<-")) {
+                        return false;
+                    }
+                    // closures may return their arguments or environments
+                    RFunction f = lookupFunction(name);
+                    return f != null && f.isBuiltin();
+                }
+                return false;
+            }
+
+            private RFunction lookupFunction(String name) {
+                try {
+                    return ReadVariableNode.lookupFunction(name, enclosingFrame, false, false);
+                } catch (RError e) {
+                    return null;
+                }
+            }
+
+            private boolean isNamespaceAccess(RSyntaxCall call) {
+                if (!(call.getSyntaxLHS() instanceof RSyntaxLookup)) {
+                    return false;
+                }
+                String name = ((RSyntaxLookup) call.getSyntaxLHS()).getIdentifier();
+                RSyntaxElement[] args = call.getSyntaxArguments();
+                return ("::".equals(name) || ":::".equals(name)) && args.length == 2 && isName(args[0]) && isName(args[1]);
+            }
+
+            private RFunction lookupInNamespace(RSyntaxCall call) {
+                RSyntaxElement[] args = call.getSyntaxArguments();
+                REnvironment namespace = REnvironment.getRegisteredNamespace(getName(args[0]));
+                if (namespace == null) {
+                    return null;
+                }
+                try {
+                    return ReadVariableNode.lookupFunction(getName(args[1]), namespace.getFrame(), true, false);
+                } catch (RError e) {
+                    return null;
+                }
+            }
+
+            private boolean isName(RSyntaxElement element) {
+                return element instanceof RSyntaxLookup || (element instanceof RSyntaxConstant && ((RSyntaxConstant) element).getValue() instanceof String);
+            }
+
+            private String getName(RSyntaxElement element) {
+                return element instanceof RSyntaxLookup ? ((RSyntaxLookup) element).getIdentifier() : (String) ((RSyntaxConstant) element).getValue();
+            }
+
+            @Override
+            protected Boolean visit(RSyntaxConstant element) {
+                return true;
+            }
+
+            @Override
+            protected Boolean visit(RSyntaxLookup element) {
+                return true;
+            }
+
+            @Override
+            protected Boolean visit(RSyntaxFunction element) {
+                // nested functions can only be called through local variables (which makes the
+                // caller impure) or passed to other functions, which are analyzed separately
+                return acceptFunction(element);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gte0;
+import static com.oracle.truffle.r.runtime.RError.Message.INVALID_ARGUMENT;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.MODIFIES_STATE;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.ParallelWorkers;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.RMissing;
+import com.oracle.truffle.r.runtime.data.RNull;
+
+/**
+ * Gets or sets the number of threads used by the parallel vector and matrix operations, see
+ * {@link ParallelWorkers}. {@code 0} restores the default given by the {@code ParallelThreads}
+ * option. The previous number of threads is returned.
+ */
+@RBuiltin(name = ".fastr.parallel.threads", kind = PRIMITIVE, parameterNames = {"n"}, behavior = MODIFIES_STATE)
+public abstract class FastRParallelThreads extends RBuiltinNode.Arg1 {
+
+    static {
+        Casts casts = new Casts(FastRParallelThreads.class);
+        casts.arg("n").defaultError(INVALID_ARGUMENT, "n").allowNullAndMissing().asIntegerVector().findFirst().mustNotBeNA().mustBe(gte0());
+    }
+
+    @Specialization
+    protected int getThreads(@SuppressWarnings("unused") RNull n) {
+        return ParallelWorkers.getThreadCount();
+    }
+
+    @Specialization
+    protected int getThreads(@SuppressWarnings("unused") RMissing n) {
+        return ParallelWorkers.getThreadCount();
+    }
+
+    @Specialization
+    protected int setThreads(int n) {
+        return ParallelWorkers.setThreadCount(n);
+    }
+}
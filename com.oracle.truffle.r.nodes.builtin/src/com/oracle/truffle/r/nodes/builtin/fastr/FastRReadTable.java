@@ -0,0 +1,978 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.constant;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gt0;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gte0;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.logicalValue;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.stringValue;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.toBoolean;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.IO;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.logging.Level;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.ParallelWorkers;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RLocale;
+import com.oracle.truffle.r.runtime.RLogger;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+
+/**
+ * Reads a delimited text file for {@code read.table} (and thus {@code read.csv}), see
+ * {@code utils_overrides.R}. The file is split into chunks of about {@code chunk.size} bytes at line
+ * boundaries and the chunks are tokenized and type converted by the {@link ParallelWorkers}.
+ *
+ * A chunk boundary may fall into a quoted field that contains a newline. Every chunk therefore
+ * records where its last record ends, and a chunk that does not start exactly there is parsed
+ * again from the right position once the preceding chunks are known.
+ *
+ * The values of a column are classified as NA, logical, integer or double only if they have the
+ * simplest form, for which the result of {@code type.convert} is known, anything else makes the
+ * column a character column which is converted by {@code type.convert} on the R side. The result
+ * is a list with the header fields (or {@code NULL}), the columns, a logical vector telling which
+ * columns still need to be converted and the number of rows. {@code NULL} is returned if the input
+ * uses anything that is not handled here (comments, escapes, lines with different numbers of
+ * fields, compressed files, ...), the caller then falls back to the original {@code read.table}.
+ */
+@RBuiltin(name = ".fastr.readTable", kind = PRIMITIVE, parameterNames = {"file", "header", "sep", "quote", "na.strings", "skip", "comment.char", "utf8", "chunk.size"}, behavior = IO)
+public abstract class FastRReadTable extends RBuiltinNode.Arg9 {
+
+    private static final TruffleLogger LOGGER = RLogger.getLogger(RLogger.LOGGER_CONNECTIONS);
+
+    private static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+
+    private static final int READ_BLOCK_SIZE = 1 << 16;
+
+    /*
+     * The kinds of values and columns. A column with both logical and numeric values or with any
+     * other value is a STRING column.
+     */
+    private static final byte NA = 0;
+    private static final byte LOGICAL = 1;
+    private static final byte INT = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte STRING = 4;
+
+    static {
+        Casts casts = new Casts(FastRReadTable.class);
+        casts.arg("file").mustBe(stringValue()).asStringVector().findFirst().mustNotBeNA();
+        casts.arg("header").mustBe(logicalValue()).asLogicalVector().findFirst().mustNotBeNA().map(toBoolean());
+        casts.arg("sep").mustBe(stringValue()).asStringVector().findFirst().mustNotBeNA();
+        casts.arg("quote").mustBe(stringValue()).asStringVector().findFirst().mustNotBeNA();
+        casts.arg("na.strings").mustBe(stringValue()).asStringVector();
+        casts.arg("skip").asIntegerVector().findFirst().mustNotBeNA().mustBe(gte0());
+        casts.arg("comment.char").mustBe(stringValue()).asStringVector().findFirst().mustNotBeNA();
+        casts.arg("utf8").mustBe(logicalValue()).asLogicalVector().findFirst().mustNotBeNA().map(toBoolean());
+        casts.arg("chunk.size").mapMissing(constant(DEFAULT_CHUNK_SIZE)).asIntegerVector().findFirst().mustNotBeNA().mustBe(gt0());
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected Object readTable(String file, boolean header, String sep, String quote, RStringVector naStrings, int skip, String commentChar, boolean utf8, int chunkSize) {
+        Format format = Format.create(sep, quote, naStrings, commentChar, utf8);
+        if (format == null || !isPlainDecimalLocale(getRContext().stateRLocale.getLocale(RLocale.NUMERIC))) {
+            return RNull.instance;
+        }
+        long startTime = LOGGER.isLoggable(Level.FINE) ? System.nanoTime() : 0;
+        TruffleFile path = getRContext().getSafeTruffleFile(file);
+        try (SeekableByteChannel channel = path.newByteChannel(Collections.singleton(StandardOpenOption.READ))) {
+            Input input = new Input(channel, channel.size());
+            Table table = new Table(format, input);
+            if (!table.read(skip, header, chunkSize)) {
+                return RNull.instance;
+            }
+            if (startTime != 0) {
+                long nanos = Math.max(System.nanoTime() - startTime, 1);
+                LOGGER.fine(String.format("read.table(%s): %d rows, %d bytes, %d chunks in %.3f ms (%.1f MB/s)", file, table.rows, input.size, table.chunks.length, nanos / 1e6,
+                                input.size * 1e3 / nanos));
+            }
+            return table.toList();
+        } catch (UncheckedIOException e) {
+            throw error(RError.Message.ERROR_READING_CONNECTION, e.getCause().getMessage());
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            throw error(RError.Message.ERROR_READING_CONNECTION, e.getMessage());
+        }
+    }
+
+    /**
+     * The values are classified assuming that {@code type.convert} parses doubles with
+     * {@link NumberFormat} in the numeric locale, which is only the same as
+     * {@link Double#parseDouble(String)} for the numbers accepted here if the locale uses the plain
+     * ASCII digits, minus sign and decimal point.
+     */
+    private static boolean isPlainDecimalLocale(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        return symbols.getDecimalSeparator() == '.' && symbols.getMinusSign() == '-' && symbols.getZeroDigit() == '0' && NumberFormat.getInstance(locale) instanceof DecimalFormat;
+    }
+
+    private static byte join(byte a, byte b) {
+        if (a == b || b == NA) {
+            return a;
+        } else if (a == NA) {
+            return b;
+        } else if (a == LOGICAL || b == LOGICAL) {
+            return STRING;
+        }
+        return (byte) Math.max(a, b);
+    }
+
+    /**
+     * The separator, quotes, comment character and NA strings.
+     */
+    private static final class Format {
+        /**
+         * 0 means any run of spaces and tabs.
+         */
+        final byte sep;
+        final boolean[] quotes = new boolean[128];
+        /**
+         * The comment character or a value that does not match any byte.
+         */
+        final int commentChar;
+        final byte[][] naStrings;
+        final boolean utf8;
+
+        private Format(byte sep, int commentChar, byte[][] naStrings, boolean utf8) {
+            this.sep = sep;
+            this.commentChar = commentChar;
+            this.naStrings = naStrings;
+            this.utf8 = utf8;
+        }
+
+        static Format create(String sep, String quote, RStringVector naStrings, String commentChar, boolean utf8) {
+            if (sep.length() > 1 || commentChar.length() > 1) {
+                return null;
+            }
+            int sepChar = sep.isEmpty() ? 0 : sep.charAt(0);
+            int comment = commentChar.isEmpty() ? Integer.MIN_VALUE : commentChar.charAt(0);
+            if (sep.length() == 1 && (!isPlainAscii(sepChar) || sepChar == ' ' || sepChar == '\t' || sepChar == comment)) {
+                return null;
+            }
+            if (!commentChar.isEmpty() && !isPlainAscii(comment)) {
+                return null;
+            }
+            byte[][] na = new byte[naStrings.getLength()][];
+            int count = 0;
+            for (int i = 0; i < naStrings.getLength(); i++) {
+                String s = naStrings.getDataAt(i);
+                if (!RRuntime.isNA(s)) {
+                    for (int j = 0; j < quote.length(); j++) {
+                        if (s.indexOf(quote.charAt(j)) >= 0) {
+                            return null;
+                        }
+                    }
+                    na[count++] = s.getBytes(StandardCharsets.UTF_8);
+                }
+            }
+            Format format = new Format((byte) sepChar, comment, Arrays.copyOf(na, count), utf8);
+            for (int i = 0; i < quote.length(); i++) {
+                char ch = quote.charAt(i);
+                if (!isPlainAscii(ch) || ch == sepChar || ch == comment || ch == ' ' || ch == '\t') {
+                    return null;
+                }
+                format.quotes[ch] = true;
+            }
+            return format;
+        }
+
+        private static boolean isPlainAscii(int ch) {
+            return ch > 0 && ch < 128 && ch != '\n' && ch != '\r';
+        }
+
+        boolean isQuote(byte b) {
+            return b >= 0 && quotes[b];
+        }
+
+        boolean isNaString(byte[] buf, int start, int end) {
+            for (byte[] na : naStrings) {
+                if (na.length == end - start && Arrays.equals(na, 0, na.length, buf, start, end)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Positional reads from the file, which may be done by multiple threads at once.
+     */
+    private static final class Input {
+        private final SeekableByteChannel channel;
+        final long size;
+
+        Input(SeekableByteChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        int read(long position, byte[] dst, int offset, int length) {
+            ByteBuffer buffer = ByteBuffer.wrap(dst, offset, length);
+            try {
+                if (channel instanceof FileChannel) {
+                    FileChannel fileChannel = (FileChannel) channel;
+                    int n;
+                    do {
+                        n = fileChannel.read(buffer, position + buffer.position() - offset);
+                    } while (n >= 0 && buffer.hasRemaining());
+                } else {
+                    synchronized (channel) {
+                        channel.position(position);
+                        int n;
+                        do {
+                            n = channel.read(buffer);
+                        } while (n >= 0 && buffer.hasRemaining());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.position() - offset;
+        }
+
+        /**
+         * Returns the position after the first newline at or after {@code position}, or the size
+         * of the file if there is none.
+         */
+        long nextLineStart(long position) {
+            byte[] block = new byte[READ_BLOCK_SIZE];
+            long pos = position;
+            while (pos < size) {
+                int n = read(pos, block, 0, (int) Math.min(block.length, size - pos));
+                for (int i = 0; i < n; i++) {
+                    if (block[i] == '\n') {
+                        return pos + i + 1;
+                    }
+                }
+                pos += n;
+            }
+            return size;
+        }
+    }
+
+    /**
+     * The result of parsing one chunk. The records of the chunk are those starting in
+     * {@code [start, limit)}, {@code end} is the position after the last of them.
+     */
+    private static final class Chunk {
+        long start;
+        final long limit;
+        long end;
+        int rows;
+        boolean supported;
+        Column[] columns;
+
+        Chunk(long start, long limit) {
+            this.start = start;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * The values of one column in one chunk. While parsing, the fields are kept as offsets into the
+     * buffer of the chunk (the end is complemented if the field contains doubled quotes) and as
+     * numbers for the non-string kinds. At the end of the chunk, string columns are turned into
+     * {@link String}s and the buffer is dropped.
+     */
+    private static final class Column {
+        byte kind = NA;
+        int count;
+        double[] numbers = new double[16];
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        String[] strings;
+
+        void add(ChunkParser parser, int start, int end) {
+            if (count == starts.length) {
+                int newLength = count * 2;
+                starts = Arrays.copyOf(starts, newLength);
+                ends = Arrays.copyOf(ends, newLength);
+                numbers = Arrays.copyOf(numbers, newLength);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            if (kind != STRING) {
+                kind = join(kind, parser.classify(start, end));
+                numbers[count] = parser.value;
+            }
+            count++;
+        }
+
+        boolean finish(ChunkParser parser, boolean needStrings) {
+            if (kind == STRING || needStrings) {
+                strings = new String[count];
+                for (int i = 0; i < count; i++) {
+                    String s = parser.getString(starts[i], ends[i], true);
+                    if (s == null) {
+                        return false;
+                    }
+                    strings[i] = s;
+                }
+                numbers = null;
+            }
+            starts = null;
+            ends = null;
+            return true;
+        }
+    }
+
+    /**
+     * Tokenizes records with the same rules as {@code scan}, but gives up on anything whose
+     * treatment by {@code scan} is not exactly reproduced here.
+     */
+    private static final class ChunkParser {
+        private static final int NEED_MORE = -1;
+        private static final int UNSUPPORTED = -2;
+
+        private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+        private final Format format;
+        private final Input input;
+
+        private byte[] buf;
+        private int len;
+        private long bufStart;
+
+        /*
+         * The fields of the current record.
+         */
+        int fieldCount;
+        int[] fieldStarts = new int[16];
+        int[] fieldEnds = new int[16];
+
+        /**
+         * The value of the last classified field.
+         */
+        double value;
+
+        ChunkParser(Format format, Input input) {
+            this.format = format;
+            this.input = input;
+        }
+
+        private void load(long position, int length) {
+            buf = new byte[length];
+            bufStart = position;
+            len = input.read(position, buf, 0, length);
+        }
+
+        /**
+         * Reads more of the file after the buffer, returns {@code false} at the end of the file.
+         */
+        private boolean extend() {
+            long remaining = input.size - (bufStart + len);
+            if (remaining <= 0) {
+                return false;
+            }
+            int more = (int) Math.min(remaining, Math.max(READ_BLOCK_SIZE, len));
+            if ((long) len + more > Integer.MAX_VALUE - 8) {
+                return false;
+            }
+            buf = Arrays.copyOf(buf, len + more);
+            int n = input.read(bufStart + len, buf, len, more);
+            len += n;
+            return n > 0;
+        }
+
+        /**
+         * Parses the first non-blank record at or after {@code position} and returns the position
+         * after it, or -1 if there is none or it cannot be parsed. The start of the record is
+         * stored in {@link #recordStart}.
+         */
+        long parseFirstRecord(long position) {
+            load(position, (int) Math.min(READ_BLOCK_SIZE, input.size - position));
+            int pos = 0;
+            while (bufStart + pos < input.size) {
+                int next = parseRecord(pos);
+                if (next == NEED_MORE) {
+                    if (!extend()) {
+                        return -1;
+                    }
+                } else if (next == UNSUPPORTED) {
+                    return -1;
+                } else if (fieldCount == 0) {
+                    pos = next;
+                } else {
+                    recordStart = bufStart + pos;
+                    return bufStart + next;
+                }
+            }
+            return -1;
+        }
+
+        long recordStart;
+
+        void parse(Chunk chunk, int ncols, boolean[] needStrings) {
+            chunk.supported = false;
+            chunk.rows = 0;
+            chunk.columns = new Column[ncols];
+            for (int i = 0; i < ncols; i++) {
+                chunk.columns[i] = new Column();
+            }
+            if (chunk.start >= chunk.limit) {
+                chunk.end = chunk.start;
+                chunk.supported = true;
+                return;
+            }
+            if (chunk.limit - chunk.start > Integer.MAX_VALUE - 8) {
+                return;
+            }
+            load(chunk.start, (int) (chunk.limit - chunk.start));
+            int pos = 0;
+            while (bufStart + pos < chunk.limit) {
+                int next = parseRecord(pos);
+                if (next == NEED_MORE) {
+                    // a quoted field continues after the limit
+                    if (!extend()) {
+                        return;
+                    }
+                    continue;
+                } else if (next == UNSUPPORTED) {
+                    return;
+                }
+                if (fieldCount != 0) {
+                    if (fieldCount != ncols || chunk.rows == Integer.MAX_VALUE) {
+                        return;
+                    }
+                    for (int i = 0; i < ncols; i++) {
+                        chunk.columns[i].add(this, fieldStarts[i], fieldEnds[i]);
+                    }
+                    chunk.rows++;
+                }
+                pos = next;
+            }
+            chunk.end = bufStart + pos;
+            for (int i = 0; i < ncols; i++) {
+                if (!chunk.columns[i].finish(this, needStrings != null && needStrings[i])) {
+                    return;
+                }
+            }
+            buf = null;
+            chunk.supported = true;
+        }
+
+        private int skipBlanks(int from) {
+            int pos = from;
+            while (pos < len && (buf[pos] == ' ' || buf[pos] == '\t')) {
+                pos++;
+            }
+            return pos;
+        }
+
+        private void addField(int start, int end) {
+            if (fieldCount == fieldStarts.length) {
+                fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+                fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+            }
+            fieldStarts[fieldCount] = start;
+            fieldEnds[fieldCount] = end;
+            fieldCount++;
+        }
+
+        /**
+         * Splits the record starting at {@code from} into fields and returns the position after
+         * its newline, {@link #NEED_MORE} if the buffer ends before that or {@link #UNSUPPORTED}.
+         * Blank lines result in no fields. Like {@code scan}, quotes are only recognized at the
+         * start of a field and a doubled quote in a quoted field stands for the quote itself.
+         */
+        private int parseRecord(int from) {
+            fieldCount = 0;
+            byte sep = format.sep;
+            int pos = sep == 0 ? skipBlanks(from) : from;
+            if (pos == len) {
+                return NEED_MORE;
+            } else if (buf[pos] == '\n') {
+                return pos + 1;
+            } else if (buf[pos] == '\r') {
+                if (pos + 1 == len) {
+                    return NEED_MORE;
+                }
+                return buf[pos + 1] == '\n' ? pos + 2 : UNSUPPORTED;
+            }
+            while (true) {
+                byte first = buf[pos];
+                int start;
+                int end;
+                if (format.isQuote(first)) {
+                    boolean doubled = false;
+                    pos++;
+                    start = pos;
+                    while (true) {
+                        if (pos == len) {
+                            return NEED_MORE;
+                        }
+                        byte b = buf[pos];
+                        if (b == first) {
+                            if (pos + 1 == len) {
+                                return NEED_MORE;
+                            } else if (buf[pos + 1] == first) {
+                                doubled = true;
+                                pos += 2;
+                                continue;
+                            }
+                            break;
+                        } else if (b == '\r' || b == 0) {
+                            return UNSUPPORTED;
+                        }
+                        pos++;
+                    }
+                    end = pos;
+                    pos++;
+                    addField(start, doubled ? ~end : end);
+                } else {
+                    start = pos;
+                    while (pos < len) {
+                        byte b = buf[pos];
+                        if (b == '\n' || b == '\r' || b == sep || (sep == 0 && (b == ' ' || b == '\t'))) {
+                            break;
+                        } else if (b == 0 || b == format.commentChar || format.isQuote(b)) {
+                            return UNSUPPORTED;
+                        }
+                        pos++;
+                    }
+                    end = pos;
+                    addField(start, end);
+                }
+                int afterField = pos;
+                if (sep == 0) {
+                    pos = skipBlanks(pos);
+                }
+                if (pos == len) {
+                    return NEED_MORE;
+                }
+                byte b = buf[pos];
+                if (b == '\n' || b == '\r') {
+                    if (end == start) {
+                        // scan drops an empty last field
+                        return UNSUPPORTED;
+                    } else if (b == '\r') {
+                        if (pos + 1 == len) {
+                            return NEED_MORE;
+                        } else if (buf[pos + 1] != '\n') {
+                            return UNSUPPORTED;
+                        }
+                        pos++;
+                    }
+                    return pos + 1;
+                } else if (sep != 0 && b == sep) {
+                    pos++;
+                    if (pos == len) {
+                        return NEED_MORE;
+                    }
+                } else if (sep != 0 || pos == afterField) {
+                    // a quoted field followed by something else than a separator
+                    return UNSUPPORTED;
+                }
+            }
+        }
+
+        /**
+         * Classifies the field and stores its value in {@link #value} unless it is a string.
+         */
+        byte classify(int start, int encodedEnd) {
+            if (encodedEnd < 0) {
+                return STRING;
+            }
+            int end = encodedEnd;
+            if (end == start || format.isNaString(buf, start, end)) {
+                value = RRuntime.DOUBLE_NA;
+                return NA;
+            }
+            byte first = buf[start];
+            if (first == 'T' || first == 'F' || first == 't' || first == 'f') {
+                if (equals(start, end, "T") || equals(start, end, "TRUE") || equals(start, end, "True") || equals(start, end, "true")) {
+                    value = 1;
+                    return LOGICAL;
+                } else if (equals(start, end, "F") || equals(start, end, "FALSE") || equals(start, end, "False") || equals(start, end, "false")) {
+                    value = 0;
+                    return LOGICAL;
+                }
+                return STRING;
+            }
+            return classifyNumber(start, end);
+        }
+
+        private boolean equals(int start, int end, String s) {
+            if (end - start != s.length()) {
+                return false;
+            }
+            for (int i = 0; i < s.length(); i++) {
+                if (buf[start + i] != s.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        /**
+         * Integers without leading zeros and decimal numbers with a fraction and no exponent, which
+         * are converted to the same values by {@code type.convert}.
+         */
+        private byte classifyNumber(int start, int end) {
+            int pos = start;
+            boolean negative = buf[pos] == '-';
+            if (negative) {
+                pos++;
+            }
+            int intStart = pos;
+            while (pos < end && isDigit(buf[pos])) {
+                pos++;
+            }
+            int intDigits = pos - intStart;
+            if (intDigits == 0 || (buf[intStart] == '0' && intDigits > 1)) {
+                return STRING;
+            }
+            if (pos == end) {
+                if (negative && buf[intStart] == '0') {
+                    // "-0" is -0.0 if converted to double
+                    return STRING;
+                }
+                if (intDigits <= 10) {
+                    long v = 0;
+                    for (int i = intStart; i < end; i++) {
+                        v = v * 10 + (buf[i] - '0');
+                    }
+                    if (v <= Integer.MAX_VALUE) {
+                        value = negative ? -v : v;
+                        return INT;
+                    }
+                }
+                value = parseDouble(start, end, intStart, end, end);
+                return DOUBLE;
+            } else if (buf[pos] != '.') {
+                return STRING;
+            }
+            int point = pos;
+            pos++;
+            while (pos < end && isDigit(buf[pos])) {
+                pos++;
+            }
+            if (pos == point + 1 || pos != end) {
+                return STRING;
+            }
+            value = parseDouble(start, end, intStart, point, end);
+            return DOUBLE;
+        }
+
+        private double parseDouble(int start, int end, int digitsStart, int point, int digitsEnd) {
+            long mantissa = 0;
+            int significant = 0;
+            for (int i = digitsStart; i < digitsEnd; i++) {
+                if (i != point) {
+                    int digit = buf[i] - '0';
+                    if (mantissa != 0 || digit != 0) {
+                        significant++;
+                    }
+                    mantissa = mantissa * 10 + digit;
+                    if (significant > 15) {
+                        break;
+                    }
+                }
+            }
+            int fractionDigits = point == digitsEnd ? 0 : digitsEnd - point - 1;
+            if (significant <= 15 && fractionDigits < POWERS_OF_TEN.length) {
+                // both operands are exact, so is the correctly rounded quotient
+                double result = mantissa / POWERS_OF_TEN[fractionDigits];
+                return buf[start] == '-' ? -result : result;
+            }
+            return Double.parseDouble(new String(buf, start, end - start, StandardCharsets.ISO_8859_1));
+        }
+
+        /**
+         * Quoted fields are preceded by their quote, unquoted fields by a separator or a newline.
+         */
+        boolean isUnquotedWithBlanks(int start, int encodedEnd) {
+            if (encodedEnd < 0 || (start > 0 && format.isQuote(buf[start - 1]))) {
+                return false;
+            }
+            return start < encodedEnd && (buf[start] == ' ' || buf[start] == '\t' || buf[encodedEnd - 1] == ' ' || buf[encodedEnd - 1] == '\t');
+        }
+
+        /**
+         * Returns the contents of the field, or {@code null} if it is not valid in the encoding.
+         */
+        String getString(int start, int encodedEnd, boolean naStrings) {
+            boolean doubled = encodedEnd < 0;
+            int end = doubled ? ~encodedEnd : encodedEnd;
+            if (naStrings && !doubled && format.isNaString(buf, start, end)) {
+                return RRuntime.STRING_NA;
+            }
+            boolean ascii = true;
+            for (int i = start; i < end; i++) {
+                if (buf[i] < 0) {
+                    ascii = false;
+                    break;
+                }
+            }
+            String s;
+            if (ascii) {
+                s = new String(buf, start, end - start, StandardCharsets.ISO_8859_1);
+            } else if (format.utf8) {
+                try {
+                    s = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT).decode(
+                                    ByteBuffer.wrap(buf, start, end - start)).toString();
+                } catch (CharacterCodingException e) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+            if (doubled) {
+                String quote = String.valueOf((char) buf[start - 1]);
+                s = s.replace(quote + quote, quote);
+            }
+            return s;
+        }
+    }
+
+    /**
+     * Reads the whole table: the header and the first record are parsed sequentially, then the
+     * chunks in parallel, then the chunks are validated in order and merged.
+     */
+    private static final class Table {
+        private final Format format;
+        private final Input input;
+
+        String[] header;
+        int ncols;
+        Chunk[] chunks;
+        byte[] kinds;
+        int rows;
+
+        Table(Format format, Input input) {
+            this.format = format;
+            this.input = input;
+        }
+
+        boolean read(int skip, boolean hasHeader, int chunkSize) {
+            if (input.size == 0 || !isPlainText()) {
+                return false;
+            }
+            long position = 0;
+            for (int i = 0; i < skip; i++) {
+                position = input.nextLineStart(position);
+            }
+            if (position >= input.size) {
+                return false;
+            }
+            ChunkParser first = new ChunkParser(format, input);
+            long afterFirst = first.parseFirstRecord(position);
+            if (afterFirst < 0) {
+                return false;
+            }
+            ncols = first.fieldCount;
+            long dataStart;
+            if (hasHeader) {
+                header = new String[ncols];
+                for (int i = 0; i < ncols; i++) {
+                    // read.table strips white space from the unquoted header fields
+                    if (first.isUnquotedWithBlanks(first.fieldStarts[i], first.fieldEnds[i])) {
+                        return false;
+                    }
+                    header[i] = first.getString(first.fieldStarts[i], first.fieldEnds[i], false);
+                    if (header[i] == null) {
+                        return false;
+                    }
+                }
+                dataStart = afterFirst;
+            } else {
+                dataStart = first.recordStart;
+            }
+
+            ArrayList<Chunk> list = new ArrayList<>();
+            long start = dataStart;
+            while (start < input.size) {
+                long limit = start + chunkSize >= input.size ? input.size : input.nextLineStart(start + chunkSize - 1);
+                list.add(new Chunk(start, limit));
+                start = limit;
+            }
+            chunks = list.toArray(new Chunk[list.size()]);
+            ParallelWorkers.forEachChunk(chunks.length, 1, (index, from, to) -> new ChunkParser(format, input).parse(chunks[index], ncols, null));
+
+            // a chunk that does not start where the previous one ended has to be parsed again
+            long expected = dataStart;
+            for (Chunk chunk : chunks) {
+                if (chunk.start != expected) {
+                    chunk.start = expected;
+                    new ChunkParser(format, input).parse(chunk, ncols, null);
+                }
+                if (!chunk.supported) {
+                    return false;
+                }
+                expected = chunk.end;
+            }
+            if (expected != input.size) {
+                return false;
+            }
+
+            kinds = new byte[ncols];
+            long totalRows = 0;
+            for (Chunk chunk : chunks) {
+                totalRows += chunk.rows;
+                for (int i = 0; i < ncols; i++) {
+                    kinds[i] = join(kinds[i], chunk.columns[i].kind);
+                }
+            }
+            if (totalRows == 0 || totalRows > Integer.MAX_VALUE) {
+                return false;
+            }
+            rows = (int) totalRows;
+
+            // the strings of columns that are strings only in some of the chunks
+            boolean[] needStrings = new boolean[ncols];
+            ArrayList<Chunk> missingStrings = new ArrayList<>();
+            for (Chunk chunk : chunks) {
+                for (int i = 0; i < ncols; i++) {
+                    if (kinds[i] == STRING && chunk.columns[i].strings == null) {
+                        needStrings[i] = true;
+                        if (missingStrings.isEmpty() || missingStrings.get(missingStrings.size() - 1) != chunk) {
+                            missingStrings.add(chunk);
+                        }
+                    }
+                }
+            }
+            Chunk[] reparse = missingStrings.toArray(new Chunk[missingStrings.size()]);
+            ParallelWorkers.forEachChunk(reparse.length, 1, (index, from, to) -> new ChunkParser(format, input).parse(reparse[index], ncols, needStrings));
+            for (Chunk chunk : reparse) {
+                if (!chunk.supported) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Compressed files, files with a byte order mark and files without a final newline are
+         * left to {@code read.table}.
+         */
+        private boolean isPlainText() {
+            byte[] head = new byte[6];
+            int n = input.read(0, head, 0, head.length);
+            if ((n >= 2 && (head[0] & 0xff) == 0x1f && (head[1] & 0xff) == 0x8b) || (n >= 3 && head[0] == 'B' && head[1] == 'Z' && head[2] == 'h') ||
+                            (n >= 6 && (head[0] & 0xff) == 0xfd && head[1] == '7' && head[2] == 'z' && head[3] == 'X' && head[4] == 'Z' && head[5] == 0) ||
+                            (n >= 3 && (head[0] & 0xff) == 0xef && (head[1] & 0xff) == 0xbb && (head[2] & 0xff) == 0xbf)) {
+                return false;
+            }
+            byte[] last = new byte[1];
+            return input.read(input.size - 1, last, 0, 1) == 1 && last[0] == '\n';
+        }
+
+        Object toList() {
+            Object[] columns = new Object[ncols];
+            byte[] convert = new byte[ncols];
+            for (int i = 0; i < ncols; i++) {
+                columns[i] = createColumn(i);
+                convert[i] = RRuntime.asLogical(kinds[i] == STRING);
+            }
+            Object names = header == null ? RNull.instance : RDataFactory.createStringVector(header, RDataFactory.COMPLETE_VECTOR);
+            return RDataFactory.createList(new Object[]{names, RDataFactory.createList(columns), RDataFactory.createLogicalVector(convert, RDataFactory.COMPLETE_VECTOR), rows},
+                            RDataFactory.createStringVector(new String[]{"header", "columns", "convert", "rows"}, RDataFactory.COMPLETE_VECTOR));
+        }
+
+        private Object createColumn(int col) {
+            boolean complete = true;
+            int index = 0;
+            switch (kinds[col]) {
+                case NA:
+                case LOGICAL: {
+                    byte[] data = new byte[rows];
+                    for (Chunk chunk : chunks) {
+                        double[] numbers = chunk.columns[col].numbers;
+                        for (int i = 0; i < chunk.rows; i++) {
+                            double d = numbers[i];
+                            complete &= !RRuntime.isNA(d);
+                            data[index++] = RRuntime.isNA(d) ? RRuntime.LOGICAL_NA : (byte) d;
+                        }
+                    }
+                    return RDataFactory.createLogicalVector(data, complete);
+                }
+                case INT: {
+                    int[] data = new int[rows];
+                    for (Chunk chunk : chunks) {
+                        double[] numbers = chunk.columns[col].numbers;
+                        for (int i = 0; i < chunk.rows; i++) {
+                            double d = numbers[i];
+                            complete &= !RRuntime.isNA(d);
+                            data[index++] = RRuntime.isNA(d) ? RRuntime.INT_NA : (int) d;
+                        }
+                    }
+                    return RDataFactory.createIntVector(data, complete);
+                }
+                case DOUBLE: {
+                    double[] data = new double[rows];
+                    for (Chunk chunk : chunks) {
+                        double[] numbers = chunk.columns[col].numbers;
+                        for (int i = 0; i < chunk.rows; i++) {
+                            complete &= !RRuntime.isNA(numbers[i]);
+                        }
+                        System.arraycopy(numbers, 0, data, index, chunk.rows);
+                        index += chunk.rows;
+                    }
+                    return RDataFactory.createDoubleVector(data, complete);
+                }
+                default: {
+                    String[] data = new String[rows];
+                    for (Chunk chunk : chunks) {
+                        String[] strings = chunk.columns[col].strings;
+                        for (int i = 0; i < chunk.rows; i++) {
+                            complete &= !RRuntime.isNA(strings[i]);
+                        }
+                        System.arraycopy(strings, 0, data, index, chunk.rows);
+                        index += chunk.rows;
+                    }
+                    return RDataFactory.createStringVector(data, complete);
+                }
+            }
+        }
+    }
+}
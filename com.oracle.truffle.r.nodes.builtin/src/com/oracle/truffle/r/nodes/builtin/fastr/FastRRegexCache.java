@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.toBoolean;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.MODIFIES_STATE;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RegexCache;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.ffi.PCRE2RFFI;
+import com.oracle.truffle.r.runtime.ffi.RFFIFactory;
+
+/**
+ * Returns the statistics of the {@link RegexCache} of the current context as a named numeric
+ * vector: the number of cached patterns, the maximal number of cached patterns and the number of
+ * hits, misses and evictions. If {@code clear} is {@code TRUE}, the cache is emptied and the
+ * statistics are reset afterwards.
+ */
+@RBuiltin(name = ".fastr.regex.cache", kind = PRIMITIVE, parameterNames = {"clear"}, behavior = MODIFIES_STATE)
+public abstract class FastRRegexCache extends RBuiltinNode.Arg1 {
+
+    private static final String[] NAMES = {"size", "capacity", "hits", "misses", "evictions"};
+
+    @Child private PCRE2RFFI.MemoryReleaseNode releaseNode = RFFIFactory.getPCRE2RFFI().createMemoryReleaseNode();
+
+    @Override
+    public Object[] getDefaultParameterValues() {
+        return new Object[]{RRuntime.LOGICAL_FALSE};
+    }
+
+    static {
+        Casts casts = new Casts(FastRRegexCache.class);
+        casts.arg("clear").asLogicalVector().findFirst(RRuntime.LOGICAL_FALSE).map(toBoolean());
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected RDoubleVector regexCache(boolean clear) {
+        RContext context = RContext.getInstance();
+        RegexCache.ContextStateImpl cache = context.stateRegexCache;
+        long[] statistics = cache.getStatistics();
+        double[] data = new double[]{statistics[0], context.getNonNegativeIntOption(FastROptions.RegexCacheSize), statistics[1], statistics[2], statistics[3]};
+        if (clear) {
+            cache.clear();
+            cache.releaseEvicted(releaseNode);
+        }
+        return RDataFactory.createDoubleVector(data, RDataFactory.COMPLETE_VECTOR, RDataFactory.createStringVector(NAMES, RDataFactory.COMPLETE_VECTOR));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2021, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -56,6 +56,7 @@ public class PCRE2Tests extends TestBase {
     private TestRootNode testRootNode;
     private PCRE2RFFI.CompileNode compileNode;
     private PCRE2RFFI.MatchNode matchNode;
+    private PCRE2RFFI.MatchAllNode matchAllNode;
     private PCRE2RFFI.MemoryReleaseNode memoryReleaseNode;
     private PCRE2RFFI.GetCaptureNamesNode captureNamesNode;
     private PCRE2RFFI.GetCaptureCountNode captureCountNode;
@@ -267,6 +268,7 @@ public class PCRE2Tests extends TestBase {
         execInContext(() -> {
             compileNode = RFFIFactory.getPCRE2RFFI().createCompileNode();
             matchNode = RFFIFactory.getPCRE2RFFI().createMatchNode();
+            matchAllNode = RFFIFactory.getPCRE2RFFI().createMatchAllNode();
             memoryReleaseNode = RFFIFactory.getPCRE2RFFI().createMemoryReleaseNode();
             captureNamesNode = RFFIFactory.getPCRE2RFFI().createGetCaptureNamesNode();
             captureCountNode = RFFIFactory.getPCRE2RFFI().createGetCaptureCountNode();
@@ -274,7 +276,7 @@ public class PCRE2Tests extends TestBase {
             // Some of the nodes that we initialize in this method have to be adopted. Therefore,
             // we adopt them into this artificial root node.
             testRootNode = new TestRootNode();
-            testRootNode.insertChildren(new Node[]{compileNode, matchNode, memoryReleaseNode, captureNamesNode, captureCountNode});
+            testRootNode.insertChildren(new Node[]{compileNode, matchNode, matchAllNode, memoryReleaseNode, captureNamesNode, captureCountNode});
             return null;
         });
     }
@@ -298,6 +300,49 @@ public class PCRE2Tests extends TestBase {
         });
     }
 
+    @Theory
+    public void testMatchAll(TestData testingData) {
+        execInContext(() -> {
+            Object compiledPattern = compilePattern(testingData.pattern);
+            int captureCount = captureCountNode.execute(compiledPattern);
+            String[] subjects = {testingData.subject, null, "", testingData.subject + testingData.subject};
+            MatchData[] matchData = matchAllNode.execute(compiledPattern, subjects, 0, false, captureCount);
+            assertEquals(subjects.length, matchData.length);
+            Assert.assertNull(matchData[1]);
+            for (int i = 0; i < subjects.length; i++) {
+                if (subjects[i] != null) {
+                    MatchData expected = matchNode.execute(compiledPattern, subjects[i], 0, false, captureCount);
+                    assertEquals(expected.toString(), matchData[i].toString());
+                }
+            }
+            assertMatchIndexesEqual(testingData.expectedMatchIndexes, matchData[0]);
+            if (testingData.hasCaptures()) {
+                assertCapturesEqual(testingData.expectedCaptureMatches, matchData[0]);
+            }
+            freePattern(compiledPattern);
+            return null;
+        });
+    }
+
+    @Test
+    public void testMatchAllManyMatches() {
+        execInContext(() -> {
+            Object compiledPattern = compilePattern("(a)");
+            String subject = "a".repeat(5000);
+            String[] subjects = {"b", subject, "ba", subject};
+            MatchData[] matchData = matchAllNode.execute(compiledPattern, subjects, 0, false, 1);
+            assertEquals(0, matchData[0].getMatchCount());
+            assertEquals(5000, matchData[1].getMatchCount());
+            assertEquals(1, matchData[2].getMatchCount());
+            assertEquals(new IndexRange(1, 2), matchData[2].getCaptures().get(0).get(0));
+            assertEquals(5000, matchData[3].getCaptures().get(0).size());
+            matchData = matchAllNode.execute(compiledPattern, subjects, 0, true, 1);
+            assertEquals(1, matchData[1].getMatchCount());
+            freePattern(compiledPattern);
+            return null;
+        });
+    }
+
     @Test
     public void testFailedPatternCompilationStar() {
         execInContext(() -> {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,6 +22,8 @@
  */
 package com.oracle.truffle.r.nodes.binary;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -32,6 +34,8 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.profiles.LoopConditionProfile;
 import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
 import com.oracle.truffle.r.nodes.primitive.BinaryMapNode;
 import com.oracle.truffle.r.nodes.profile.TruffleBoundaryNode;
@@ -39,6 +43,7 @@ import com.oracle.truffle.r.runtime.DSLConfig;
 import com.oracle.truffle.r.runtime.RDeparse;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RError.Message;
+import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.data.RComplex;
 import com.oracle.truffle.r.runtime.data.RComplexVector;
@@ -50,6 +55,7 @@ import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RPairList;
 import com.oracle.truffle.r.runtime.data.RRaw;
 import com.oracle.truffle.r.runtime.data.RRawVector;
+import com.oracle.truffle.r.runtime.data.RStringCompactVectorData;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.data.RSymbol;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
@@ -57,11 +63,13 @@ import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.data.nodes.attributes.CopyAttributesNode;
 import com.oracle.truffle.r.runtime.data.nodes.attributes.CopyAttributesNodeGen;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
+import com.oracle.truffle.r.runtime.ops.BinaryCompare;
 import com.oracle.truffle.r.runtime.ops.BinaryLogic;
 import com.oracle.truffle.r.runtime.ops.BinaryLogic.And;
 import com.oracle.truffle.r.runtime.ops.BinaryLogic.Or;
 import com.oracle.truffle.r.runtime.ops.BooleanOperation;
 import com.oracle.truffle.r.runtime.ops.BooleanOperationFactory;
+import com.oracle.truffle.r.runtime.ops.na.NAProfile;
 
 /**
  * Represents a binary or unary operation from the 'logical' subset of Ops R group. The concrete
@@ -107,6 +115,49 @@ public abstract class BinaryBooleanNode extends RBuiltinNode.Arg2 {
         return BinaryBooleanNodeGen.create(factory);
     }
 
+    /**
+     * {@code x == "a"} and {@code x != "a"} on a compact string vector compare the bytes of the
+     * elements without creating their strings.
+     */
+    protected boolean isCompactStringComparison(Object vector, Object scalar) {
+        return (factory == BinaryCompare.EQUAL || factory == BinaryCompare.NOT_EQUAL) && vector instanceof RStringVector && ((RStringVector) vector).isCompact() &&
+                        scalar instanceof RStringVector && ((RStringVector) scalar).getLength() == 1;
+    }
+
+    @Specialization(guards = "isCompactStringComparison(left, right) || isCompactStringComparison(right, left)")
+    protected Object doCompactString(RStringVector left, RStringVector right,
+                    @Cached("createBinaryProfile()") ConditionProfile leftCompactProfile,
+                    @Cached("createCountingProfile()") LoopConditionProfile loopProfile,
+                    @Cached("create()") NAProfile naProfile,
+                    @Cached("createCopyAttributes()") CopyAttributesNode copyAttributesNode) {
+        boolean leftCompact = leftCompactProfile.profile(isCompactStringComparison(left, right));
+        RStringCompactVectorData compact = (leftCompact ? left : right).getCompact();
+        String value = (leftCompact ? right : left).getDataAt(0);
+        byte equal = factory == BinaryCompare.EQUAL ? RRuntime.LOGICAL_TRUE : RRuntime.LOGICAL_FALSE;
+        byte notEqual = factory == BinaryCompare.EQUAL ? RRuntime.LOGICAL_FALSE : RRuntime.LOGICAL_TRUE;
+        int length = compact.getLength();
+        byte[] result = new byte[length];
+        boolean complete = compact.isComplete();
+        if (naProfile.isNA(value)) {
+            Arrays.fill(result, RRuntime.LOGICAL_NA);
+            complete = false;
+        } else {
+            loopProfile.profileCounted(length);
+            for (int i = 0; loopProfile.inject(i < length); i++) {
+                if (compact.isNA(i)) {
+                    result[i] = RRuntime.LOGICAL_NA;
+                } else {
+                    result[i] = compact.equals(i, value) ? equal : notEqual;
+                }
+            }
+        }
+        return copyAttributesNode.execute(RDataFactory.createLogicalVector(result, complete), left, left.getLength(), right, right.getLength());
+    }
+
+    protected static CopyAttributesNode createCopyAttributes() {
+        return CopyAttributesNodeGen.create(false);
+    }
+
     @Specialization(limit = "getCacheSize(CACHE_LIMIT)", guards = {"cached != null", "cached.isSupported(left, right)"})
     protected Object doNumericVectorCached(RAbstractVector left, RAbstractVector right,
                     @Cached("createFastCached(left, right)") BinaryMapNode cached) {
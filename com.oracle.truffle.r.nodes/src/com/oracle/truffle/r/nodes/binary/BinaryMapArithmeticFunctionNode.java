@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,6 +22,8 @@
  */
 package com.oracle.truffle.r.nodes.binary;
 
+import java.util.function.DoubleBinaryOperator;
+
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.nodes.primitive.BinaryMapNAFunctionNode;
@@ -57,10 +59,46 @@ public final class BinaryMapArithmeticFunctionNode extends BinaryMapNAFunctionNo
 
     private final ConditionProfile finiteResult = ConditionProfile.createBinaryProfile();
 
+    /*
+     * Stateless variants of applyDouble for the operations that do not have NA corner cases, used
+     * when the vectors are processed by multiple threads.
+     */
+    private static final DoubleBinaryOperator PARALLEL_ADD = withNA((l, r) -> l + r);
+    private static final DoubleBinaryOperator PARALLEL_SUBTRACT = withNA((l, r) -> l - r);
+    private static final DoubleBinaryOperator PARALLEL_MULTIPLY = withNA((l, r) -> l * r);
+    private static final DoubleBinaryOperator PARALLEL_DIV = withNA((l, r) -> l / r);
+
     public BinaryMapArithmeticFunctionNode(BinaryArithmetic arithmetic) {
         this.arithmetic = arithmetic;
     }
 
+    private static DoubleBinaryOperator withNA(DoubleBinaryOperator op) {
+        return (left, right) -> {
+            if (RRuntime.isNA(left)) {
+                return RRuntime.DOUBLE_NA;
+            }
+            if (RRuntime.isNA(right)) {
+                // CORNER: Make sure NaN op NA == NaN
+                return Double.isNaN(left) ? left : RRuntime.DOUBLE_NA;
+            }
+            return op.applyAsDouble(left, right);
+        };
+    }
+
+    @Override
+    public DoubleBinaryOperator getParallelDoubleFunction() {
+        if (arithmetic instanceof Add) {
+            return PARALLEL_ADD;
+        } else if (arithmetic instanceof Subtract) {
+            return PARALLEL_SUBTRACT;
+        } else if (arithmetic instanceof Multiply) {
+            return PARALLEL_MULTIPLY;
+        } else if (arithmetic instanceof Div) {
+            return PARALLEL_DIV;
+        }
+        return null;
+    }
+
     public Object getLeftDataAt(Object leftData, int index) {
         if (leftDataLib == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
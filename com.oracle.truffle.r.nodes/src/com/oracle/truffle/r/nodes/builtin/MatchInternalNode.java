@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -42,10 +42,12 @@ import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RIntSeqVectorData;
 import com.oracle.truffle.r.runtime.data.RComplexVector;
 import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.data.LookupIndexCache;
 import com.oracle.truffle.r.runtime.data.RList;
 import com.oracle.truffle.r.runtime.data.model.RAbstractListVector;
 import com.oracle.truffle.r.runtime.data.RLogicalVector;
 import com.oracle.truffle.r.runtime.data.RRawVector;
+import com.oracle.truffle.r.runtime.data.RStringCompactVectorData;
 import com.oracle.truffle.r.runtime.data.RStringSeqVectorData;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
@@ -59,10 +61,30 @@ import com.oracle.truffle.r.runtime.ops.na.NAProfile;
 abstract class AbstractMatchNode extends RBaseNode {
     protected static final int TABLE_SIZE_FACTOR = 10;
 
+    /**
+     * Tables at least this long that are not temporary keep the hash map built over all their
+     * elements in their data (see {@link LookupIndexCache}), so that repeated lookups into the same
+     * unchanged vector, e.g., {@code x %in% table} in a loop, build it only once.
+     */
+    protected static final int CACHED_INDEX_MIN_LENGTH = 1000;
+
     public abstract Object execute(RAbstractVector x, RAbstractVector table, int noMatch);
 
     protected final ConditionProfile bigTableProfile = ConditionProfile.createBinaryProfile();
+    protected final ConditionProfile cachedIndexProfile = ConditionProfile.createBinaryProfile();
+
+    protected static boolean isIndexCacheable(RAbstractVector table, Object tableData, int tableLength) {
+        return tableData instanceof LookupIndexCache && tableLength >= CACHED_INDEX_MIN_LENGTH && !table.isTemporary();
+    }
 
+    /**
+     * Returns the index of the given kind cached in {@code tableData} or {@code null} if there is
+     * none, e.g., because the data were modified since it was built.
+     */
+    protected static <T> T getCachedIndex(Object tableData, Class<T> kind) {
+        Object index = ((LookupIndexCache) tableData).getLookupIndex();
+        return kind.isInstance(index) ? kind.cast(index) : null;
+    }
 }
 
 @ImportStatic(DSLConfig.class)
@@ -708,6 +730,16 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
                     @Cached("create()") BranchProfile notFoundProfile) {
         String element = xDataLib.getStringAt(x.getData(), 0);
         Object tableData = table.getData();
+        if (tableData instanceof RStringCompactVectorData) {
+            // compares the bytes without creating the strings of the table
+            int index = ((RStringCompactVectorData) tableData).indexOf(element);
+            if (index != -1) {
+                foundProfile.enter();
+                return index + 1;
+            }
+            notFoundProfile.enter();
+            return nomatch;
+        }
         SeqIterator it = tableDataLib.iterator(tableData);
         if (naProfile.isNA(element)) {
             while (tableDataLib.nextLoopCondition(tableData, it)) {
@@ -844,8 +876,11 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
             boolean matchAll = true;
 
             RandomAccessIterator rit = tableDataLib.randomAccessIterator(tableData);
-            NonRecursiveHashMapInt hashTable;
-            if (bigTableProfile.profile(tableLength > (xLength * TABLE_SIZE_FACTOR))) {
+            boolean cacheable = cachedIndexProfile.profile(isIndexCacheable(table, tableData, tableLength));
+            NonRecursiveHashMapInt hashTable = cacheable ? getCachedIndex(tableData, NonRecursiveHashMapInt.class) : null;
+            if (hashTable != null) {
+                // the table did not change since the last lookup
+            } else if (!cacheable && bigTableProfile.profile(tableLength > (xLength * TABLE_SIZE_FACTOR))) {
                 hashTable = new NonRecursiveHashMapInt(xLength);
                 NonRecursiveHashSetInt hashSet = new NonRecursiveHashSetInt(xLength);
                 SeqIterator it = xDataLib.iterator(xData);
@@ -863,6 +898,9 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
                 for (int i = tableLength - 1; i >= 0; i--) {
                     hashTable.put(tableDataLib.getInt(tableData, rit, i), i);
                 }
+                if (cacheable) {
+                    ((LookupIndexCache) tableData).setLookupIndex(hashTable);
+                }
             }
             SeqIterator it = xDataLib.iterator(xData);
             while (xDataLib.nextLoopCondition(xData, it)) {
@@ -891,8 +929,11 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
             int[] result = initResult(xLength, nomatch);
             boolean matchAll = true;
             RandomAccessIterator rit = tableDataLib.randomAccessIterator(tableData);
-            NonRecursiveHashMapDouble hashTable;
-            if (bigTableProfile.profile(tableLength > (xLength * TABLE_SIZE_FACTOR))) {
+            boolean cacheable = cachedIndexProfile.profile(isIndexCacheable(table, tableData, tableLength));
+            NonRecursiveHashMapDouble hashTable = cacheable ? getCachedIndex(tableData, NonRecursiveHashMapDouble.class) : null;
+            if (hashTable != null) {
+                // the table did not change since the last lookup
+            } else if (!cacheable && bigTableProfile.profile(tableLength > (xLength * TABLE_SIZE_FACTOR))) {
                 hashTable = new NonRecursiveHashMapDouble(xLength);
                 NonRecursiveHashSetDouble hashSet = new NonRecursiveHashSetDouble(xLength);
                 SeqIterator it = xDataLib.iterator(xData);
@@ -910,6 +951,9 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
                 for (int i = tableLength - 1; i >= 0; i--) {
                     hashTable.put(tableDataLib.getDouble(tableData, rit, i), i);
                 }
+                if (cacheable) {
+                    ((LookupIndexCache) tableData).setLookupIndex(hashTable);
+                }
             }
             SeqIterator it = xDataLib.iterator(xData);
             while (xDataLib.nextLoopCondition(xData, it)) {
@@ -975,6 +1019,8 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
 
     @ImportStatic(DSLConfig.class)
     protected abstract static class MatchAsStringVectorNode extends MatchAsNode {
+        protected final ConditionProfile compactTableProfile = ConditionProfile.createBinaryProfile();
+
         @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
         protected RIntVector match(RAbstractAtomicVector x, RAbstractAtomicVector table, int nomatch,
                         @CachedLibrary("x.getData()") VectorDataLibrary xDataLib,
@@ -985,9 +1031,34 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
             int tableLength = tableDataLib.getLength(tableData);
             int[] result = initResult(xLength, nomatch);
             boolean matchAll = true;
-            NonRecursiveHashMapCharacter hashTable;
+            if (compactTableProfile.profile(tableData instanceof RStringCompactVectorData)) {
+                // hashes and compares the bytes without creating the strings of the table
+                RStringCompactVectorData compact = (RStringCompactVectorData) tableData;
+                boolean cacheable = cachedIndexProfile.profile(isIndexCacheable(table, tableData, tableLength));
+                NonRecursiveHashMapCompact hashTable = cacheable ? getCachedIndex(tableData, NonRecursiveHashMapCompact.class) : null;
+                if (hashTable == null) {
+                    hashTable = new NonRecursiveHashMapCompact(compact, tableLength);
+                    if (cacheable) {
+                        compact.setLookupIndex(hashTable);
+                    }
+                }
+                SeqIterator it = xDataLib.iterator(xData);
+                while (xDataLib.nextLoopCondition(xData, it)) {
+                    int index = hashTable.get(xDataLib.getNextString(xData, it));
+                    if (index != -1) {
+                        result[it.getIndex()] = index + 1;
+                    } else {
+                        matchAll = false;
+                    }
+                }
+                return RDataFactory.createIntVector(result, setCompleteState(matchAll, nomatch));
+            }
             RandomAccessIterator rit = tableDataLib.randomAccessIterator(tableData);
-            if (bigTableProfile.profile(tableLength > (xLength * TABLE_SIZE_FACTOR))) {
+            boolean cacheable = cachedIndexProfile.profile(isIndexCacheable(table, tableData, tableLength));
+            NonRecursiveHashMapCharacter hashTable = cacheable ? getCachedIndex(tableData, NonRecursiveHashMapCharacter.class) : null;
+            if (hashTable != null) {
+                // the table did not change since the last lookup
+            } else if (!cacheable && bigTableProfile.profile(tableLength > (xLength * TABLE_SIZE_FACTOR))) {
                 hashTable = new NonRecursiveHashMapCharacter(xLength);
                 NonRecursiveHashSetCharacter hashSet = new NonRecursiveHashSetCharacter(xLength);
                 SeqIterator it = xDataLib.iterator(xData);
@@ -1005,6 +1076,9 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
                 for (int i = tableLength - 1; i >= 0; i--) {
                     hashTable.put(tableDataLib.getString(tableData, rit, i), i);
                 }
+                if (cacheable) {
+                    ((LookupIndexCache) tableData).setLookupIndex(hashTable);
+                }
             }
             SeqIterator it = xDataLib.iterator(xData);
             while (xDataLib.nextLoopCondition(xData, it)) {
@@ -1097,6 +1171,56 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
         }
     }
 
+    /**
+     * Maps the elements of a compact string vector to their first index, the keys are the indices
+     * themselves and the hashes and comparisons use the bytes of the elements.
+     */
+    private static final class NonRecursiveHashMapCompact extends NonRecursiveHashMap {
+
+        private final RStringCompactVectorData data;
+
+        NonRecursiveHashMapCompact(RStringCompactVectorData data, int length) {
+            super(length);
+            this.data = data;
+            for (int i = 0; i < length; i++) {
+                if (data.isNA(i)) {
+                    if (naValue == 0) {
+                        naValue = i + 1;
+                    }
+                } else {
+                    int ind = index(data.hashCode(i));
+                    while (values[ind] != 0 && !data.elementsEqual(values[ind] - 1, i)) {
+                        ind++;
+                        if (ind == values.length) {
+                            ind = 0;
+                        }
+                    }
+                    if (values[ind] == 0) {
+                        values[ind] = i + 1;
+                    }
+                }
+            }
+        }
+
+        public int get(String key) {
+            if (RRuntime.isNA(key)) {
+                return naValue - 1;
+            } else {
+                int ind = index(key.hashCode());
+                while (values[ind] != 0) {
+                    if (data.equals(values[ind] - 1, key)) {
+                        return values[ind] - 1;
+                    }
+                    ind++;
+                    if (ind == values.length) {
+                        ind = 0;
+                    }
+                }
+                return -1;
+            }
+        }
+    }
+
     private static final class NonRecursiveHashMapComplex extends NonRecursiveHashMap {
 
         private final RComplex[] keys;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,6 +22,9 @@
  */
 package com.oracle.truffle.r.nodes.primitive;
 
+import java.util.function.DoubleBinaryOperator;
+
+import com.oracle.truffle.r.runtime.ParallelWorkers;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.data.AbstractContainerLibrary;
 import com.oracle.truffle.r.runtime.data.RComplex;
@@ -121,6 +124,16 @@ public abstract class BinaryMapFunctionNode extends RBaseNode {
 
     }
 
+    /**
+     * Returns a stateless equivalent of {@link #applyDouble(double, double)} that may be called from
+     * the {@link ParallelWorkers}, or <code>null</code> if this function cannot be evaluated in
+     * parallel. The returned function must handle NA values without relying on the NA checks of this
+     * node.
+     */
+    public DoubleBinaryOperator getParallelDoubleFunction() {
+        return null;
+    }
+
     /**
      * Returns <code>true</code> if the result can always be considered complete.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,7 +22,10 @@
  */
 package com.oracle.truffle.r.nodes.primitive;
 
+import java.util.function.DoubleBinaryOperator;
+
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.profiles.BranchProfile;
@@ -30,11 +33,16 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
 import com.oracle.truffle.r.nodes.profile.VectorLengthProfile;
 import com.oracle.truffle.r.runtime.DSLConfig;
+import com.oracle.truffle.r.runtime.ParallelWorkers;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RComplex;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleArrayVectorData;
 import com.oracle.truffle.r.runtime.data.RRaw;
 import com.oracle.truffle.r.runtime.data.RScalarVector;
 import com.oracle.truffle.r.runtime.data.RSharingAttributeStorage;
@@ -166,6 +174,7 @@ final class BinaryMapVectorNode extends BinaryMapNode {
     private final ConditionProfile seenEmpty;
     private final ConditionProfile shareLeft;
     private final ConditionProfile shareRight;
+    private final ConditionProfile parallelProfile;
     private final BranchProfile hasWarningsBranchProfile;
 
     // compile-time optimization flags
@@ -174,6 +183,13 @@ final class BinaryMapVectorNode extends BinaryMapNode {
     private final boolean mayShareLeft;
     private final boolean mayShareRight;
 
+    /**
+     * Thread-safe variant of the function for double vectors that are long enough to be processed
+     * by {@link ParallelWorkers}, see {@link FastROptions#ParallelVectorThreshold}.
+     */
+    private final DoubleBinaryOperator parallelFunction;
+    private final int parallelThreshold;
+
     BinaryMapVectorNode(BinaryMapFunctionNode function, RAbstractVector left, RAbstractVector right, RType argumentType, RType resultType, boolean copyAttributes, boolean isGeneric) {
         super(function, left, right, argumentType, resultType);
         this.leftLengthProfile = VectorLengthProfile.create();
@@ -191,6 +207,9 @@ final class BinaryMapVectorNode extends BinaryMapNode {
         this.shareLeft = mayShareLeft ? ConditionProfile.createBinaryProfile() : null;
         this.shareRight = mayShareRight ? ConditionProfile.createBinaryProfile() : null;
         this.dimensionsProfile = mayContainMetadata ? ConditionProfile.createBinaryProfile() : null;
+        this.parallelFunction = argumentType == RType.Double && resultType == RType.Double ? function.getParallelDoubleFunction() : null;
+        this.parallelThreshold = parallelFunction != null ? RContext.getInstance().getNonNegativeIntOption(FastROptions.ParallelVectorThreshold) : 0;
+        this.parallelProfile = parallelThreshold > 0 ? ConditionProfile.createBinaryProfile() : null;
 
         this.hasWarningsBranchProfile = BranchProfile.create();
 
@@ -253,7 +272,16 @@ final class BinaryMapVectorNode extends BinaryMapNode {
             assert right.getLength() == rightLength;
             SeqIterator leftIter = leftLibrary.iterator(leftData);
             SeqIterator rightIter = rightLibrary.iterator(rightData);
-            if (mayShareLeft && left.getRType() == resultType && shareLeft.profile(leftLength == maxLength && ((RSharingAttributeStorage) left).isTemporary())) {
+            if (parallelThreshold > 0 && parallelProfile.profile(maxLength >= parallelThreshold && isParallelOperand(leftData, leftLength) && isParallelOperand(rightData, rightLength) &&
+                            ParallelWorkers.getThreadCount() > 1)) {
+                target = applyParallel(leftData, leftLength, rightData, rightLength, maxLength);
+                if (maxLength % Math.min(leftLength, rightLength) != 0) {
+                    hasWarningsBranchProfile.enter();
+                    RError.warning(this, RError.Message.LENGTH_NOT_MULTI);
+                }
+                // the parallel double operations cannot overflow, there is nothing else to report
+                warningInfo = new WarningInfo();
+            } else if (mayShareLeft && left.getRType() == resultType && shareLeft.profile(leftLength == maxLength && ((RSharingAttributeStorage) left).isTemporary())) {
                 target = left;
                 SeqWriteIterator resultIter = leftLibrary.writeIterator(leftData);
                 try {
@@ -298,6 +326,46 @@ final class BinaryMapVectorNode extends BinaryMapNode {
         return target;
     }
 
+    private static boolean isParallelOperand(Object data, int length) {
+        return length == 1 || data instanceof RDoubleArrayVectorData;
+    }
+
+    private RAbstractVector applyParallel(Object leftData, int leftLength, Object rightData, int rightLength, int maxLength) {
+        double leftScalar = leftLength == 1 ? leftLibrary.getDoubleAt(leftData, 0) : 0;
+        double rightScalar = rightLength == 1 ? rightLibrary.getDoubleAt(rightData, 0) : 0;
+        double[] leftArray = leftLength == 1 ? null : ((RDoubleArrayVectorData) leftData).getReadonlyDoubleData();
+        double[] rightArray = rightLength == 1 ? null : ((RDoubleArrayVectorData) rightData).getReadonlyDoubleData();
+        return applyParallel(parallelFunction, leftArray, leftScalar, leftLength, rightArray, rightScalar, rightLength, maxLength);
+    }
+
+    /**
+     * Computes the result in chunks on the {@link ParallelWorkers}. Operands of length one are
+     * passed as scalars, longer operands are recycled as in the sequential version.
+     */
+    @TruffleBoundary
+    private static RAbstractVector applyParallel(DoubleBinaryOperator function, double[] left, double leftScalar, int leftLength, double[] right, double rightScalar, int rightLength,
+                    int maxLength) {
+        double[] result = new double[maxLength];
+        int chunkSize = ParallelWorkers.DEFAULT_CHUNK_SIZE;
+        boolean[] seenNA = new boolean[(maxLength + chunkSize - 1) / chunkSize];
+        ParallelWorkers.forEachChunk(maxLength, chunkSize, (chunk, from, to) -> {
+            boolean na = false;
+            for (int i = from; i < to; i++) {
+                double l = left == null ? leftScalar : left[leftLength == maxLength ? i : i % leftLength];
+                double r = right == null ? rightScalar : right[rightLength == maxLength ? i : i % rightLength];
+                double value = function.applyAsDouble(l, r);
+                result[i] = value;
+                na |= RRuntime.isNA(value);
+            }
+            seenNA[chunk] = na;
+        });
+        boolean complete = true;
+        for (boolean na : seenNA) {
+            complete &= !na;
+        }
+        return RDataFactory.createDoubleVector(result, complete);
+    }
+
     private VectorDataLibrary getResultLibrary() {
         if (resultLibrary == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,6 +22,9 @@
  */
 package com.oracle.truffle.r.nodes.unary;
 
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.ImportStatic;
@@ -34,9 +37,11 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef;
 import com.oracle.truffle.r.runtime.DSLConfig;
+import com.oracle.truffle.r.runtime.ParallelWorkers;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.data.RComplex;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RNull;
@@ -52,6 +57,7 @@ import com.oracle.truffle.r.runtime.nodes.RBaseNode;
 import com.oracle.truffle.r.runtime.nodes.RBaseNodeWithWarnings;
 import com.oracle.truffle.r.runtime.ops.BinaryArithmetic;
 import com.oracle.truffle.r.runtime.ops.BinaryArithmeticFactory;
+import com.oracle.truffle.r.runtime.ops.ParallelReductions;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 
 /**
@@ -83,12 +89,22 @@ public abstract class UnaryArithmeticReduceNode extends RBaseNodeWithWarnings {
 
     private final BranchProfile intNANoOverflowProfile = BranchProfile.create();
 
+    /**
+     * Long vectors are reduced in chunks by {@link ParallelReductions}, {@code null} if the
+     * arithmetic does not support it.
+     */
+    private final ParallelReductions.Kind parallelKind;
+    private final int parallelThreshold;
+    private final ConditionProfile parallelProfile = ConditionProfile.createBinaryProfile();
+
     protected UnaryArithmeticReduceNode(ReduceSemantics semantics, BinaryArithmeticFactory factory) {
         this.factory = factory;
         this.semantics = semantics;
         this.arithmetic = factory.createOperation();
         this.supportString = semantics.supportString;
         this.supportComplex = semantics.supportComplex;
+        this.parallelKind = ParallelReductions.Kind.fromArithmetic(factory);
+        this.parallelThreshold = parallelKind == null ? 0 : ParallelWorkers.getThreshold();
     }
 
     private void emptyWarning() {
@@ -199,6 +215,20 @@ public abstract class UnaryArithmeticReduceNode extends RBaseNodeWithWarnings {
 
     private Object doInt(RAbstractVector vector, boolean naRm, VectorAccess access) {
         boolean profiledNaRm = naRmProfile.profile(naRm);
+        if (parallelProfile.profile(parallelKind != null && parallelKind != ParallelReductions.Kind.PROD && access.getType() == RType.Integer &&
+                        ParallelWorkers.exceedsThreshold(parallelThreshold, vector.getLength()))) {
+            IntUnaryOperator elements = ParallelReductions.intElements(vector.getData());
+            if (elements != null) {
+                ParallelReductions.Result reduced = ParallelReductions.reduceInt(parallelKind, elements, vector.getLength(), semantics.getIntStart(), profiledNaRm);
+                if (reduced.empty) {
+                    emptyWarning();
+                    if (semantics.isUseDoubleStartForEmptyVector()) {
+                        return semantics.getDoubleStart();
+                    }
+                }
+                return reduced.value;
+            }
+        }
         int result = semantics.getIntStart();
         int oldResult = result;
         double doubleResult = semantics.getDoubleStart();
@@ -286,6 +316,16 @@ public abstract class UnaryArithmeticReduceNode extends RBaseNodeWithWarnings {
     private double doDouble(RDoubleVector vector, boolean naRm, boolean finite, ConditionProfile finiteProfile, ConditionProfile isInfiniteProfile, VectorAccess access) {
         boolean profiledNaRm = naRmProfile.profile(naRm);
         boolean profiledFinite = finiteProfile.profile(finite);
+        if (parallelProfile.profile(parallelKind != null && ParallelWorkers.exceedsThreshold(parallelThreshold, vector.getLength()))) {
+            IntToDoubleFunction elements = ParallelReductions.doubleElements(vector.getData());
+            if (elements != null) {
+                ParallelReductions.Result reduced = ParallelReductions.reduceDouble(parallelKind, elements, vector.getLength(), semantics.getDoubleStart(), profiledNaRm, profiledFinite);
+                if (reduced.empty) {
+                    emptyWarning();
+                }
+                return (double) reduced.value;
+            }
+        }
         double result = semantics.getDoubleStart();
         boolean empty = true;
         VectorAccess.SequentialIterator iter = access.access(vector);
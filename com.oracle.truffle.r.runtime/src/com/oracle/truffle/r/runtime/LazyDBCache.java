@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -23,37 +23,225 @@
 package com.oracle.truffle.r.runtime;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.runtime.context.RContext;
 
+/**
+ * The lazy-load databases ({@code .rdb} files) used by {@code lazyLoadDBfetch}.
+ *
+ * The files are memory mapped once per process and the mappings are shared by all contexts, the
+ * records are inflated directly from the mapped memory. Every context additionally keeps the most
+ * recently decoded (i.e., uncompressed) records in an LRU cache whose total size is limited by
+ * {@link FastROptions#LazyLoadCacheSize}.
+ *
+ * A database may be rewritten in place (e.g., by {@code makeLazyLoadDB}, which truncates the file
+ * first) while it is mapped. Every access therefore first compares the size and the modification
+ * time of the file with those of the mapping, a changed file is mapped again and the records
+ * decoded from the old contents are dropped. A file that changes between the check and the read
+ * can still fault, the callers report that as a corrupt database.
+ */
 public class LazyDBCache {
 
+    /**
+     * A read-only view of the whole database file, either memory mapped or, if the file cannot be
+     * mapped (e.g., it is not in the default file system), read into the heap.
+     */
+    private static final class Database {
+        private final ByteBuffer data;
+        private final long size;
+        private final FileTime lastModified;
+
+        Database(ByteBuffer data, long size, FileTime lastModified) {
+            this.data = data;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        boolean isCurrent(long fileSize, FileTime fileLastModified) {
+            return size == fileSize && lastModified.equals(fileLastModified);
+        }
+    }
+
+    private static final class RecordKey {
+        private final String dbPath;
+        private final int offset;
+
+        RecordKey(String dbPath, int offset) {
+            this.dbPath = dbPath;
+            this.offset = offset;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RecordKey)) {
+                return false;
+            }
+            RecordKey other = (RecordKey) obj;
+            return offset == other.offset && dbPath.equals(other.dbPath);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dbPath, offset);
+        }
+    }
+
+    /**
+     * The databases shared by all contexts, keyed by the canonical path of the file.
+     */
+    private static final Map<String, Database> sharedDatabases = new ConcurrentHashMap<>();
+
+    /**
+     * The attributes compared to detect a rewritten database.
+     */
+    private static final Collection<TruffleFile.AttributeDescriptor<?>> ATTRIBUTES = Arrays.asList(TruffleFile.SIZE, TruffleFile.LAST_MODIFIED_TIME);
+
     public static final class ContextStateImpl implements RContext.ContextState {
-        private final Map<String, byte[]> dbCache = new HashMap<>();
-
-        public byte[] getData(RContext context, String dbPath) {
-            byte[] dbData = dbCache.get(dbPath);
-            if (dbData == null) {
-                try {
-                    dbData = context.getSafeTruffleFile(dbPath).readAllBytes();
-                } catch (IOException ex) {
-                    // unexpected
-                    throw RInternalError.shouldNotReachHere(ex);
+        private final Map<String, Database> dbCache = new HashMap<>();
+
+        private final LinkedHashMap<RecordKey, byte[]> decoded = new LinkedHashMap<>(16, 0.75f, true);
+        private long decodedSize;
+
+        /**
+         * Checks whether the file has changed since it was mapped, in which case it is mapped again
+         * and the records decoded from the old contents are dropped. Must be called once per fetch
+         * before {@link #getDecoded} and {@link #getData}, the file is only examined here.
+         */
+        public void update(RContext context, String dbPath) {
+            Database cached = dbCache.get(dbPath);
+            Database db = getDatabase(context, dbPath, cached);
+            if (db != cached) {
+                dbCache.put(dbPath, db);
+                if (cached != null) {
+                    removeDecoded(dbPath);
                 }
-                dbCache.put(dbPath, dbData);
             }
-            return dbData;
+        }
+
+        /**
+         * Returns the bytes {@code [offset, offset + length)} of the database as a buffer that is
+         * not shared with any other caller, or {@code null} if they are not within the file.
+         */
+        public ByteBuffer getData(String dbPath, int offset, int length) {
+            Database db = dbCache.get(dbPath);
+            assert db != null : "update not called";
+            if (offset < 0 || length < 0 || (long) offset + length > db.size) {
+                return null;
+            }
+            return db.data.duplicate().position(offset).limit(offset + length).slice();
+        }
+
+        /**
+         * Returns the decoded record cached by {@link #putDecoded}, or {@code null} if there is
+         * none or the file has changed since it was decoded, see {@link #update}.
+         */
+        public byte[] getDecoded(String dbPath, int offset) {
+            return decoded.get(new RecordKey(dbPath, offset));
+        }
+
+        /**
+         * Caches a decoded record, evicting the least recently used records so that the total size
+         * does not exceed {@link FastROptions#LazyLoadCacheSize}. The array must not be modified
+         * afterwards.
+         */
+        public void putDecoded(RContext context, String dbPath, int offset, byte[] data) {
+            long budget = context.getNonNegativeIntOption(FastROptions.LazyLoadCacheSize);
+            if (data.length > budget) {
+                return;
+            }
+            byte[] previous = decoded.put(new RecordKey(dbPath, offset), data);
+            decodedSize += data.length - (previous == null ? 0 : previous.length);
+            var it = decoded.values().iterator();
+            while (decodedSize > budget && it.hasNext()) {
+                decodedSize -= it.next().length;
+                it.remove();
+            }
         }
 
         public void remove(String dbPath) {
             // no an error if missing
-            dbCache.remove(dbPath);
+            Database db = dbCache.remove(dbPath);
+            if (db != null) {
+                sharedDatabases.values().remove(db);
+            }
+            removeDecoded(dbPath);
+        }
+
+        private void removeDecoded(String dbPath) {
+            var it = decoded.entrySet().iterator();
+            while (it.hasNext()) {
+                var entry = it.next();
+                if (entry.getKey().dbPath.equals(dbPath)) {
+                    decodedSize -= entry.getValue().length;
+                    it.remove();
+                }
+            }
         }
 
         public static ContextStateImpl newContextState() {
             return new ContextStateImpl();
         }
     }
+
+    /**
+     * Returns {@code cached} if it still maps the current contents of the file, otherwise the
+     * shared mapping of the current contents, which is created if necessary.
+     */
+    private static Database getDatabase(RContext context, String dbPath, Database cached) {
+        try {
+            TruffleFile file = context.getSafeTruffleFile(dbPath);
+            // a single snapshot of the attributes per fetch
+            TruffleFile.Attributes attributes = file.getAttributes(ATTRIBUTES);
+            long size = attributes.get(TruffleFile.SIZE);
+            FileTime lastModified = attributes.get(TruffleFile.LAST_MODIFIED_TIME);
+            if (cached != null && cached.isCurrent(size, lastModified)) {
+                return cached;
+            }
+            String key = file.getCanonicalFile().getPath();
+            Database db = sharedDatabases.get(key);
+            if (db != null && db.isCurrent(size, lastModified)) {
+                return db;
+            }
+            // replaces the outdated mapping shared by the other contexts, they detect the change
+            // themselves
+            db = new Database(mapFile(file, size), size, lastModified);
+            sharedDatabases.put(key, db);
+            return db;
+        } catch (IOException ex) {
+            // unexpected
+            throw RInternalError.shouldNotReachHere(ex);
+        }
+    }
+
+    /**
+     * Maps the file if the Truffle file system of the context opens it as a {@link FileChannel},
+     * so that its IO policy applies, otherwise reads the whole file.
+     */
+    private static ByteBuffer mapFile(TruffleFile file, long size) throws IOException {
+        if (size <= Integer.MAX_VALUE) {
+            try (SeekableByteChannel channel = file.newByteChannel(Collections.singleton(StandardOpenOption.READ))) {
+                if (channel instanceof FileChannel) {
+                    // the mapping stays valid after the channel is closed
+                    return ((FileChannel) channel).map(MapMode.READ_ONLY, 0, size).asReadOnlyBuffer();
+                }
+            }
+        }
+        return ByteBuffer.wrap(file.readAllBytes()).asReadOnlyBuffer();
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+
+/**
+ * A process-wide pool of worker threads used to split computations over large vectors (element-wise
+ * arithmetic, reductions, matrix products) into chunks processed in parallel.
+ *
+ * The workers never execute R code and never enter a Truffle context, the tasks submitted to them
+ * may only read and write Java arrays that are not reachable by any other thread for the duration
+ * of the call. Everything that requires the context (allocating vectors, reporting warnings or
+ * errors) must be done by the calling thread before or after {@link #forEachChunk}.
+ */
+public final class ParallelWorkers {
+
+    /**
+     * Processes the elements {@code [from, to)} of the chunk with the given index.
+     */
+    @FunctionalInterface
+    public interface ChunkAction {
+        void run(int chunk, int from, int to);
+    }
+
+    /**
+     * Default number of elements in one chunk of an element-wise operation.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    private static ForkJoinPool pool;
+
+    private ParallelWorkers() {
+        // no instances
+    }
+
+    /**
+     * Returns the number of threads used for parallel vector operations.
+     */
+    @TruffleBoundary
+    public static int getThreadCount() {
+        RContext context = RContext.getInstance();
+        int count = context.getParallelThreads();
+        if (count == 0) {
+            count = context.getNonNegativeIntOption(FastROptions.ParallelThreads);
+        }
+        return count == 0 ? Runtime.getRuntime().availableProcessors() : count;
+    }
+
+    /**
+     * Sets the number of threads used for parallel vector operations in the current context,
+     * {@code 0} restores the value of {@link FastROptions#ParallelThreads}. Returns the previous
+     * number of threads.
+     */
+    @TruffleBoundary
+    public static int setThreadCount(int count) {
+        assert count >= 0;
+        int previous = getThreadCount();
+        RContext.getInstance().setParallelThreads(count);
+        return previous;
+    }
+
+    /**
+     * Returns {@code true} if an operation over {@code length} elements should be split among the
+     * workers, i.e., if it is longer than {@link FastROptions#ParallelVectorThreshold} and there is
+     * more than one thread available.
+     */
+    @TruffleBoundary
+    public static boolean isParallel(int length) {
+        int threshold = RContext.getInstance().getNonNegativeIntOption(FastROptions.ParallelVectorThreshold);
+        return threshold > 0 && length >= threshold && getThreadCount() > 1;
+    }
+
+    /**
+     * Returns {@code true} if {@code length} reaches the given threshold. Unlike
+     * {@link #isParallel(int)}, this does not depend on the number of threads, operations whose
+     * result depends on the order of evaluation (e.g., reductions) use it to choose the chunked
+     * algorithm so that the result does not change with the number of threads.
+     */
+    public static boolean exceedsThreshold(int threshold, int length) {
+        return threshold > 0 && length >= threshold;
+    }
+
+    /**
+     * Returns the value of {@link FastROptions#ParallelVectorThreshold} in the current context.
+     */
+    @TruffleBoundary
+    public static int getThreshold() {
+        return RContext.getInstance().getNonNegativeIntOption(FastROptions.ParallelVectorThreshold);
+    }
+
+    /**
+     * Splits {@code [0, length)} into chunks of {@code chunkSize} elements (the last one may be
+     * shorter) and runs {@code action} on each of them. The chunk boundaries depend only on the
+     * arguments, not on the number of threads, so that operations which combine partial results
+     * per chunk are reproducible. Returns after all chunks are processed, an exception thrown by
+     * any of the chunks is re-thrown in the calling thread.
+     */
+    @TruffleBoundary
+    public static void forEachChunk(int length, int chunkSize, ChunkAction action) {
+        assert chunkSize > 0;
+        int chunks = (int) (((long) length + chunkSize - 1) / chunkSize);
+        int threads = getThreadCount();
+        if (chunks <= 1 || threads <= 1) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int from = chunk * chunkSize;
+                action.run(chunk, from, Math.min(length, from + chunkSize));
+            }
+            return;
+        }
+        ForkJoinPool workers = getPool(threads);
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int index = chunk;
+            int from = chunk * chunkSize;
+            int to = Math.min(length, from + chunkSize);
+            tasks[chunk] = workers.submit(() -> action.run(index, from, to));
+        }
+        RuntimeException failure = null;
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                task.join();
+            } catch (RuntimeException e) {
+                // wait for the rest of the tasks anyway, they may still write to the arrays
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static synchronized ForkJoinPool getPool(int threads) {
+        if (pool == null || pool.getParallelism() != threads) {
+            // the previous pool may still be in use by another context, it is not shut down
+            // explicitly, its idle threads terminate on their own
+            pool = new ForkJoinPool(threads, p -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName("FastR-vector-worker-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return pool;
+    }
+}
@@ -22,6 +22,7 @@
  */
 package com.oracle.truffle.r.runtime;
 
+import static com.oracle.truffle.r.runtime.context.FastROptions.ChannelQueueCapacity;
 import static com.oracle.truffle.r.runtime.context.FastROptions.ChannelReceiveTimeout;
 import static com.oracle.truffle.r.runtime.env.frame.REnvTruffleFrameAccess.getStringIdentifiersAndValues;
 
@@ -29,8 +30,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
@@ -54,6 +57,8 @@ import com.oracle.truffle.r.runtime.data.RPromise;
 import com.oracle.truffle.r.runtime.data.RPromise.PromiseState;
 import com.oracle.truffle.r.runtime.data.RSharingAttributeStorage;
 import com.oracle.truffle.r.runtime.data.RUnboundValue;
+import com.oracle.truffle.r.runtime.data.model.RAbstractAtomicVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
 import com.oracle.truffle.r.runtime.nodes.RSyntaxElement;
@@ -61,173 +66,165 @@ import com.oracle.truffle.r.runtime.nodes.RSyntaxElement;
 /**
  * Implementation of a channel abstraction used for communication between parallel contexts in
  * shared memory space.
+ *
+ * Since the contexts share the heap, atomic vectors are transmitted by reference: they are made
+ * shared permanent (so that neither the sender nor the receiver can update them in place and the
+ * reference count is not updated concurrently) and if only their attributes need to be converted,
+ * the receiver gets a new vector sharing the original data (see
+ * {@link RDataFactory#createSharedDataView}). Only environments, closures, promises and other
+ * stateful objects are (partially) serialized.
  */
 public class RChannel {
 
     // TODO: cheaper way of serializing data (re-usable buffer?)
 
-    private static final int INITIAL_CHANNEL_NUM = 4;
-    private static final int CHANNEL_NUM_GROW_FACTOR = 2;
-    private static final int QUEUE_CAPACITY = 1;
-
-    private static int[] keys = new int[INITIAL_CHANNEL_NUM];
-    private static RChannel[] channels = new RChannel[INITIAL_CHANNEL_NUM];
-
-    private static final int CLOSED_CHANNEL_KEY = -1;
-
     /*
-     * Used to mediate access to the semaphore instances
+     * The registry maps positive channel ids to channels and channel keys to channel ids. Channel
+     * ids are positive for the side that created the channel and negative for the side that
+     * obtained it by its key. Ids are never reused, so an id not greater than the last id issued
+     * that is not in the registry denotes a closed channel. Lookups by id are lock-free, only the
+     * (infrequent) creation of channels is serialized.
      */
-    private static final Semaphore create = new Semaphore(1, true);
+    private static final ConcurrentHashMap<Integer, RChannel> channels = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Integer, Integer> keys = new ConcurrentHashMap<>();
+    private static final AtomicInteger lastId = new AtomicInteger(0);
+    private static final Object createLock = new Object();
+
+    private final int key;
+    private final ArrayBlockingQueue<Object> primaryToWorker;
+    private final ArrayBlockingQueue<Object> workerToPrimary;
+    private final Stats primaryToWorkerStats = new Stats();
+    private final Stats workerToPrimaryStats = new Stats();
+
+    private RChannel(int key, int capacity) {
+        this.key = key;
+        this.primaryToWorker = new ArrayBlockingQueue<>(capacity);
+        this.workerToPrimary = new ArrayBlockingQueue<>(capacity);
+    }
 
-    private final ArrayBlockingQueue<Object> primaryToWorker = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
-    private final ArrayBlockingQueue<Object> workerToPrimary = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    /**
+     * Counters for one direction of a channel. The bytes only account for the serialized parts of
+     * the messages, objects transmitted by reference are not counted.
+     */
+    private static final class Stats {
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong sendWaitNanos = new AtomicLong();
+        private final AtomicLong receiveWaitNanos = new AtomicLong();
+    }
 
     public static int createChannel(int key) {
         if (key <= 0) {
             throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel's key must be positive");
         }
-        try {
-            create.acquire();
-            return createChannelInternal(key)[0];
-        } catch (InterruptedException x) {
-            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error creating a channel");
-        } finally {
-            create.release();
+        int[] res = createChannelInternal(key);
+        if (res == null) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified key already exists");
         }
+        return res[0];
     }
 
     public static int[] createForkChannel(int portBaseNumber) {
-        try {
-            create.acquire();
-
-            int firstUnused = 0;
-            int port = -1;
-            while (true) {
-                // generate unique values for channel keys
-                // (addition factor is chosen based on how snow generates port numbers)
-                port = portBaseNumber + (firstUnused + 1) * 1000;
-                firstUnused = firstUnused + 1;
-                if (getChannelInternal(port) == null) {
-                    break;
-                }
-            }
-            assert port > 0;
-            return createChannelInternal(port);
-        } catch (InterruptedException x) {
-            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error creating a channel");
-        } finally {
-            create.release();
-        }
-    }
-
-    private static int[] createChannelInternal(int key) throws RError {
+        int firstUnused = 0;
         while (true) {
-            int freeSlot = -1;
-            // start from one as we need slots that have distinguishable positive and negative
-            // value
-            for (int i = 1; i < keys.length; i++) {
-                if (keys[i] == key) {
-                    throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified key already exists");
-                }
-                if (keys[i] == 0 && freeSlot == -1) {
-                    freeSlot = i;
-                }
-            }
-            if (freeSlot != -1) {
-                keys[freeSlot] = key;
-                channels[freeSlot] = new RChannel();
-                return new int[]{freeSlot, key};
-            } else {
-                int[] keysTmp = new int[keys.length * CHANNEL_NUM_GROW_FACTOR];
-                RChannel[] channelsTmp = new RChannel[channels.length * CHANNEL_NUM_GROW_FACTOR];
-                for (int i = 1; i < keys.length; i++) {
-                    keysTmp[i] = keys[i];
-                    channelsTmp[i] = channels[i];
-                }
-                keys = keysTmp;
-                channels = channelsTmp;
+            // generate unique values for channel keys
+            // (addition factor is chosen based on how snow generates port numbers)
+            int port = portBaseNumber + (firstUnused + 1) * 1000;
+            firstUnused = firstUnused + 1;
+            int[] res = createChannelInternal(port);
+            if (res != null) {
+                assert port > 0;
+                return res;
             }
         }
     }
 
-    public static int getChannel(int key) {
-        try {
-            create.acquire();
-            Integer res = getChannelInternal(key);
-            if (res != null) {
-                return res;
+    /**
+     * Returns {@code {id, key}} of the new channel or {@code null} if a channel with given key
+     * already exists.
+     */
+    private static int[] createChannelInternal(int key) {
+        int capacity = Math.max(1, RContext.getInstance().getNonNegativeIntOption(ChannelQueueCapacity));
+        synchronized (createLock) {
+            if (keys.containsKey(key)) {
+                return null;
             }
-        } catch (InterruptedException x) {
-            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error accessing channel");
-        } finally {
-            create.release();
+            int id = lastId.incrementAndGet();
+            channels.put(id, new RChannel(key, capacity));
+            keys.put(key, id);
+            return new int[]{id, key};
         }
-        throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel does not exist");
     }
 
-    private static Integer getChannelInternal(int key) {
-        for (int i = 1; i < keys.length; i++) {
-            if (keys[i] == key) {
-                return -i;
-            }
+    public static int getChannel(int key) {
+        Integer id = keys.get(key);
+        if (id == null) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel does not exist");
         }
-        return null;
+        return -id;
     }
 
     public static void closeChannel(int id) {
         int actualId = Math.abs(id);
-        try {
-            create.acquire();
-            if (actualId == 0 || actualId >= channels.length || channels[actualId] == null) {
-                // closing an already closed channel does not necessarily have to be an error (and
-                // makes parallell package's worker script work unchanged)
-                if (keys[actualId] != CLOSED_CHANNEL_KEY) {
-                    throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified id does not exist");
-                }
+        RChannel channel = channels.remove(actualId);
+        if (channel == null) {
+            // closing an already closed channel does not necessarily have to be an error (and
+            // makes parallell package's worker script work unchanged)
+            if (actualId == 0 || actualId > lastId.get()) {
+                throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified id does not exist");
             }
-            keys[actualId] = CLOSED_CHANNEL_KEY;
-            channels[actualId] = null;
-        } catch (InterruptedException x) {
-            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error closing channel");
-        } finally {
-            create.release();
+        } else {
+            keys.remove(channel.key, actualId);
         }
     }
 
     private static RChannel getChannelFromId(int id) {
-        int actualId = Math.abs(id);
-        try {
-            create.acquire();
-            if (actualId == 0 || actualId >= channels.length || channels[actualId] == null) {
-                throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified id does not exist");
-            }
-            RChannel channel = channels[actualId];
-            return channel;
-        } catch (InterruptedException x) {
-            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error transmitting through channel");
-        } finally {
-            create.release();
+        RChannel channel = channels.get(Math.abs(id));
+        if (channel == null) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified id does not exist");
         }
+        return channel;
     }
 
-    public static void send(int id, Object data) {
+    private ArrayBlockingQueue<Object> outgoing(int id) {
+        return id > 0 ? primaryToWorker : workerToPrimary;
+    }
+
+    private ArrayBlockingQueue<Object> incoming(int id) {
+        return id < 0 ? primaryToWorker : workerToPrimary;
+    }
+
+    private Stats outgoingStats(int id) {
+        return id > 0 ? primaryToWorkerStats : workerToPrimaryStats;
+    }
+
+    private Stats incomingStats(int id) {
+        return id < 0 ? primaryToWorkerStats : workerToPrimaryStats;
+    }
+
+    private void put(int id, Object data) {
         Output out = new Output();
         Object msg = out.processOutgoingMessage(data);
-        RChannel channel = getChannelFromId(id);
+        Stats stats = outgoingStats(id);
+        long start = System.nanoTime();
         try {
-            (id > 0 ? channel.primaryToWorker : channel.workerToPrimary).put(msg);
+            outgoing(id).put(msg);
         } catch (InterruptedException x) {
             throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error sending through the channel");
         }
+        stats.sendWaitNanos.addAndGet(System.nanoTime() - start);
+        stats.sent.incrementAndGet();
+        stats.bytes.addAndGet(out.getSerializedBytes());
     }
 
-    public static Object receive(int id) {
-        RChannel channel = getChannelFromId(id);
+    private Object take(int id) {
+        ArrayBlockingQueue<Object> queue = incoming(id);
+        Stats stats = incomingStats(id);
+        int timeout = RContext.getInstance().getNonNegativeIntOption(ChannelReceiveTimeout);
+        long start = System.nanoTime();
+        Object msg;
         try {
-            ArrayBlockingQueue<Object> queue = id < 0 ? channel.primaryToWorker : channel.workerToPrimary;
-            int timeout = RContext.getInstance().getNonNegativeIntOption(ChannelReceiveTimeout);
-            Object msg;
             if (timeout > 0) {
                 // timeout for testing
                 // if no msg is send due to an error .take() will block forever
@@ -235,26 +232,83 @@ public class RChannel {
             } else {
                 msg = queue.take();
             }
-            if (msg != null) {
-                Input in = new Input();
-                return in.processedReceivedMessage(msg);
-            }
-            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "timeout while receiving from the channel");
         } catch (InterruptedException x) {
             throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error receiving from the channel");
         }
+        stats.receiveWaitNanos.addAndGet(System.nanoTime() - start);
+        if (msg == null) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "timeout while receiving from the channel");
+        }
+        stats.received.incrementAndGet();
+        return msg;
+    }
+
+    public static void send(int id, Object data) {
+        getChannelFromId(id).put(id, data);
+    }
+
+    /**
+     * Sends each element of the list as a separate message, i.e., this is equivalent to a sequence
+     * of {@link #send} calls, but it looks up the channel only once.
+     */
+    public static void sendBatch(int id, RList data) {
+        RChannel channel = getChannelFromId(id);
+        for (int i = 0; i < data.getLength(); i++) {
+            channel.put(id, data.getDataAt(i));
+        }
+    }
+
+    public static Object receive(int id) {
+        Object msg = getChannelFromId(id).take(id);
+        Input in = new Input();
+        return in.processedReceivedMessage(msg);
+    }
+
+    /**
+     * Waits for at least one message and returns a list of all the messages (but at most
+     * {@code max}) that are available in the channel at that point.
+     */
+    public static RList receiveBatch(int id, int max) {
+        assert max > 0;
+        RChannel channel = getChannelFromId(id);
+        ArrayList<Object> msgs = new ArrayList<>();
+        msgs.add(channel.take(id));
+        if (max > 1) {
+            int drained = channel.incoming(id).drainTo(msgs, max - 1);
+            channel.incomingStats(id).received.addAndGet(drained);
+        }
+        Object[] result = new Object[msgs.size()];
+        for (int i = 0; i < result.length; i++) {
+            Input in = new Input();
+            result[i] = in.processedReceivedMessage(msgs.get(i));
+        }
+        return RDataFactory.createList(result);
     }
 
     public static Object poll(int id) {
         RChannel channel = getChannelFromId(id);
-        Object msg = (id < 0 ? channel.primaryToWorker : channel.workerToPrimary).poll();
+        Object msg = channel.incoming(id).poll();
         if (msg != null) {
+            channel.incomingStats(id).received.incrementAndGet();
             Input in = new Input();
             return in.processedReceivedMessage(msg);
         }
         return null;
     }
 
+    public static final String[] STATS_NAMES = new String[]{"messages.sent", "messages.received", "bytes.sent", "bytes.received", "send.wait.ms", "receive.wait.ms"};
+
+    /**
+     * Returns counters of the channel as seen from the side given by the sign of the {@code id},
+     * the order of the values is given by {@link #STATS_NAMES}.
+     */
+    public static double[] getStats(int id) {
+        RChannel channel = getChannelFromId(id);
+        Stats out = channel.outgoingStats(id);
+        Stats in = channel.incomingStats(id);
+        return new double[]{out.sent.get(), in.received.get(), out.bytes.get(), in.bytes.get(), out.sendWaitNanos.get() / 1e6, in.receiveWaitNanos.get() / 1e6};
+    }
+
     private static class TransmitterCommon extends RSerialize.RefCounter {
 
         protected static class SerializedRef {
@@ -423,6 +477,12 @@ public class RChannel {
 
     private static class Output extends TransmitterCommon {
 
+        private long serializedBytes;
+
+        long getSerializedBytes() {
+            return serializedBytes;
+        }
+
         private static Object makeShared(Object o) {
             if (RSharingAttributeStorage.isShareable(o)) {
                 RSharingAttributeStorage shareable = (RSharingAttributeStorage) o;
@@ -463,7 +523,9 @@ public class RChannel {
             DynamicObject attr = attributable.getAttributes();
             DynamicObject newAttr = createShareableSlow(attr, false);
             if (newAttr != attr && RSharingAttributeStorage.isShareable(attributable)) {
-                attributable = ((RSharingAttributeStorage) msg).copy();
+                // only the attributes differ, the (immutable from now on) data can be shared
+                RAbstractVector view = msg instanceof RAbstractAtomicVector ? RDataFactory.createSharedDataView((RAbstractVector) msg) : null;
+                attributable = view != null ? view : ((RSharingAttributeStorage) msg).copy();
             }
             // see convertListAttributesToPrivate() why it is OK to use initAttributes() here
             attributable.initAttributes(newAttr);
@@ -526,6 +588,7 @@ public class RChannel {
                 attributable.initAttributes(null);
             }
             byte[] serializedAttributable = RSerialize.serialize(RContext.getInstance(), attributable, RSerialize.XDR, RSerialize.DEFAULT_VERSION, null);
+            serializedBytes += serializedAttributable.length;
             if (attributes != null) {
                 attributable.initAttributes(attributes);
                 attributes = createShareableSlow(attributes, true);
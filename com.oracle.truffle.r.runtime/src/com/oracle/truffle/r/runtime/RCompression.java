@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,10 +28,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.ProcessBuilder.Redirect;
+import java.nio.ByteBuffer;
 import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.zip.DataFormatException;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
 
 import org.tukaani.xz.LZMA2InputStream;
 
@@ -120,6 +123,35 @@ public class RCompression {
         }
     }
 
+    /**
+     * Variant of {@link #uncompress(Type, byte[], byte[])} that reads the compressed data directly
+     * from a buffer, e.g., a memory mapped lazy-load database, instead of a copy in the heap.
+     *
+     * @param type compression type
+     * @param udata where to store uncompressed data
+     * @param cdata data to uncompress, consumed by this method
+     * @return {@code true} iff success
+     */
+    public static boolean uncompress(Type type, byte[] udata, ByteBuffer cdata) {
+        switch (type) {
+            case NONE:
+                if (cdata.remaining() > udata.length) {
+                    return false;
+                }
+                cdata.get(udata, 0, cdata.remaining());
+                return true;
+            case GZIP:
+                return zlibUncompress(udata, cdata);
+            case BZIP2:
+                throw RInternalError.unimplemented("BZIP2 compression");
+            case XZ:
+                return lzmaUncompress(udata, new ByteBufferInputStream(cdata));
+            default:
+                assert false;
+                return false;
+        }
+    }
+
     /**
      * Uncompress for internal use in {@code LazyLoadDBInsertValue} where size of uncompressed data
      * is known.
@@ -185,9 +217,63 @@ public class RCompression {
 
     }
 
+    /**
+     * The same as {@link #gzipUncompress(byte[], byte[])}, i.e., zlib's {@code uncompress}, but
+     * done by {@link Inflater} so that the input can be read from any buffer.
+     */
+    private static boolean zlibUncompress(byte[] udata, ByteBuffer cdata) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(cdata);
+            int total = 0;
+            while (total < udata.length && !inflater.finished()) {
+                int n = inflater.inflate(udata, total, udata.length - total);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    return false;
+                }
+                total += n;
+            }
+            return total == udata.length && inflater.finished();
+        } catch (DataFormatException ex) {
+            return false;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+
     private static boolean lzmaUncompress(byte[] udata, byte[] data) {
+        return lzmaUncompress(udata, new ByteArrayInputStream(data));
+    }
+
+    private static boolean lzmaUncompress(byte[] udata, InputStream data) {
         int dictSize = udata.length < LZMA2InputStream.DICT_SIZE_MIN ? LZMA2InputStream.DICT_SIZE_MIN : udata.length;
-        try (LZMA2InputStream lzmaStream = new LZMA2InputStream(new ByteArrayInputStream(data), dictSize)) {
+        try (LZMA2InputStream lzmaStream = new LZMA2InputStream(data, dictSize)) {
             int totalRead = 0;
             int n;
             while ((n = lzmaStream.read(udata, totalRead, udata.length - totalRead)) > 0) {
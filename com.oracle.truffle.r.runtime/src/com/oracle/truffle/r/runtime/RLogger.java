@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -113,6 +113,12 @@ public class RLogger {
      */
     public static final String LOGGER_PCRE = "com.oracle.truffle.r.pcre";
 
+    /**
+     * Log the amount of data processed by bulk connection reads (e.g. {@code readLines}) and their
+     * throughput.
+     */
+    public static final String LOGGER_CONNECTIONS = "com.oracle.truffle.r.connections";
+
     public static final String LOGGER_FRAMES = "com.oracle.truffle.r.frames";
 
     public static final String LOGGER_AST = "com.oracle.truffle.r.ast";
@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1995-2012, The R Core Team
  * Copyright (c) 2003, The R Foundation
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -26,7 +26,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
@@ -61,19 +66,25 @@ import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.r.launcher.RVersionNumber;
 import com.oracle.truffle.r.runtime.RError.Message;
 import com.oracle.truffle.r.runtime.conn.RConnection;
+import com.oracle.truffle.r.runtime.conn.RConnection.SeekMode;
+import com.oracle.truffle.r.runtime.conn.RConnection.SeekRWMode;
 import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.Closure;
+import com.oracle.truffle.r.runtime.data.MappedFileRegion;
 import com.oracle.truffle.r.runtime.data.RArgsValuesAndNames;
 import com.oracle.truffle.r.runtime.data.RAttributable;
 import com.oracle.truffle.r.runtime.data.RAttributesLayout;
 import com.oracle.truffle.r.runtime.data.RBaseObject;
+import com.oracle.truffle.r.runtime.data.RComplexArrayVectorData;
 import com.oracle.truffle.r.runtime.data.RComplexVector;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleArrayVectorData;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.REmpty;
 import com.oracle.truffle.r.runtime.data.RExternalPtr;
 import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RIntArrayVectorData;
 import com.oracle.truffle.r.runtime.data.RIntSeqVectorData;
 import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RList;
@@ -83,9 +94,11 @@ import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RPairList;
 import com.oracle.truffle.r.runtime.data.RPromise;
 import com.oracle.truffle.r.runtime.data.RPromise.PromiseState;
+import com.oracle.truffle.r.runtime.data.RRawArrayVectorData;
 import com.oracle.truffle.r.runtime.data.RRawVector;
 import com.oracle.truffle.r.runtime.data.RScalar;
 import com.oracle.truffle.r.runtime.data.RSharingAttributeStorage;
+import com.oracle.truffle.r.runtime.data.RStringCompactVectorData;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.data.RSymbol;
 import com.oracle.truffle.r.runtime.data.RUnboundValue;
@@ -385,6 +398,14 @@ public class RSerialize {
 
     @TruffleBoundary
     public static Object unserialize(RConnection conn) throws IOException {
+        MappedInputStream mapped = MappedInputStream.create(conn);
+        if (mapped != null) {
+            Input instance = trace() ? new TracingInput(mapped, null, null, null) : new Input(mapped, null, null, null);
+            Object result = instance.unserialize();
+            // the connection did not move, it is positioned after the data read from the mapping
+            conn.seek(mapped.getStart() + mapped.position(), SeekMode.START, SeekRWMode.READ);
+            return result;
+        }
         Input instance = trace() ? new TracingInput(conn) : new Input(conn);
         Object result = instance.unserialize();
         return result;
@@ -417,6 +438,11 @@ public class RSerialize {
 
     private static class Input extends Common {
 
+        /**
+         * The number of elements of logical vectors converted at once.
+         */
+        private static final int LOGICAL_BLOCK_SIZE = 8192;
+
         protected final PInputStream stream;
         /**
          * Only set when called from lazyLoadDBFetch. Helps to identify the package of the deparsed
@@ -437,6 +463,18 @@ public class RSerialize {
          */
         private int langDepth;
 
+        /**
+         * The minimal length of integer and double vectors that are not read but left in the
+         * memory mapped file, {@code 0} if the input is not mapped.
+         */
+        private final int lazyVectorLength;
+
+        /**
+         * The minimal length of character vectors that are read into compact vectors, see
+         * {@link FastROptions#CompactStringThreshold}, {@code 0} if disabled.
+         */
+        private final int compactStringLength;
+
         private Input(RConnection conn) throws IOException {
             this(conn.getInputStream(), null, null, null);
         }
@@ -449,12 +487,16 @@ public class RSerialize {
             super(hook);
             this.packageName = packageName;
             this.functionName = functionName;
+            this.lazyVectorLength = is instanceof MappedInputStream ? ((MappedInputStream) is).lazyVectorLength : 0;
+            this.compactStringLength = RContext.getInstance().getNonNegativeIntOption(FastROptions.CompactStringThreshold);
             byte[] buf = new byte[2];
             is.read(buf);
             switch (buf[0]) {
                 case 'A':
-                case 'B':
                     throw formatError(buf[0], true);
+                case 'B':
+                    stream = new BinaryInputFormat(is);
+                    break;
                 case 'X':
                     stream = new XdrInputFormat(is);
                     break;
@@ -466,6 +508,10 @@ public class RSerialize {
             }
         }
 
+        private boolean isLazyVector(int length) {
+            return lazyVectorLength > 0 && length >= lazyVectorLength;
+        }
+
         private int inRefIndex(int flags) throws IOException {
             int i = unpackRefIndex(flags);
             if (i == 0) {
@@ -485,9 +531,8 @@ public class RSerialize {
                 ne = stream.readString(nelen);
             }
 
-            // 'xdr' format hardcoded; so far it is the only supported
-            // and a formatError would already have been thrown from the c-tor
-            return new VersionInfo(version, writerVersion, minReaderVersion, "xdr", ne);
+            // a formatError would already have been thrown from the c-tor for other formats
+            return new VersionInfo(version, writerVersion, minReaderVersion, stream instanceof BinaryInputFormat ? "binary" : "xdr", ne);
         }
 
         private Object unserialize() throws IOException {
@@ -863,14 +908,19 @@ public class RSerialize {
 
                 case INTSXP: {
                     int len = stream.readInt();
+                    MappedFileRegion region = isLazyVector(len) ? stream.readMapped((long) len * Integer.BYTES) : null;
+                    if (region != null) {
+                        result = RDataFactory.createMappedIntVector(region, len);
+                        break;
+                    }
                     int[] data = new int[len];
+                    stream.readInts(data, 0, len);
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
                     for (int i = 0; i < len; i++) {
-                        int intVal = stream.readInt();
-                        if (intVal == RRuntime.INT_NA) {
+                        if (data[i] == RRuntime.INT_NA) {
                             complete = false;
+                            break;
                         }
-                        data[i] = intVal;
                     }
                     result = RDataFactory.createIntVector(data, complete);
                     break;
@@ -880,13 +930,19 @@ public class RSerialize {
                     int len = stream.readInt();
                     byte[] data = new byte[len];
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
-                    for (int i = 0; i < len; i++) {
-                        int intVal = stream.readInt();
-                        if (intVal == RRuntime.INT_NA) {
-                            complete = false;
-                            data[i] = RRuntime.LOGICAL_NA;
-                        } else {
-                            data[i] = (byte) intVal;
+                    // logicals are written as ints, they are converted in blocks
+                    int[] block = new int[Math.min(len, LOGICAL_BLOCK_SIZE)];
+                    for (int from = 0; from < len; from += block.length) {
+                        int count = Math.min(block.length, len - from);
+                        stream.readInts(block, 0, count);
+                        for (int i = 0; i < count; i++) {
+                            int intVal = block[i];
+                            if (intVal == RRuntime.INT_NA) {
+                                complete = false;
+                                data[from + i] = RRuntime.LOGICAL_NA;
+                            } else {
+                                data[from + i] = (byte) intVal;
+                            }
                         }
                     }
                     result = RDataFactory.createLogicalVector(data, complete);
@@ -895,14 +951,19 @@ public class RSerialize {
 
                 case REALSXP: {
                     int len = stream.readInt();
+                    MappedFileRegion region = isLazyVector(len) ? stream.readMapped((long) len * Double.BYTES) : null;
+                    if (region != null) {
+                        result = RDataFactory.createMappedDoubleVector(region, len);
+                        break;
+                    }
                     double[] data = new double[len];
+                    stream.readDoubles(data, 0, len);
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
                     for (int i = 0; i < len; i++) {
-                        double doubleVal = stream.readDouble();
-                        if (RRuntime.isNA(doubleVal)) {
+                        if (RRuntime.isNA(data[i])) {
                             complete = false;
+                            break;
                         }
-                        data[i] = doubleVal;
                     }
                     result = RDataFactory.createDoubleVector(data, complete);
                     break;
@@ -911,23 +972,18 @@ public class RSerialize {
                 case CPLXSXP: {
                     int len = stream.readInt();
                     double[] data = new double[2 * len];
+                    stream.readDoubles(data, 0, 2 * len);
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
                     for (int i = 0; i < len; i++) {
                         int ix = 2 * i;
-                        double reVal = stream.readDouble();
-                        if (RRuntime.isNA(reVal)) {
-                            complete = false;
-                        }
-                        double imVal = stream.readDouble();
-                        if (RRuntime.isNA(imVal)) {
+                        double reVal = data[ix];
+                        double imVal = data[ix + 1];
+                        if (RRuntime.isNA(reVal) || RRuntime.isNA(imVal)) {
                             complete = false;
-                        }
-                        if (RRuntime.isNA(reVal) && RRuntime.isNA(imVal)) {
-                            data[ix] = RRuntime.COMPLEX_NA_REAL_PART;
-                            data[ix + 1] = RRuntime.COMPLEX_NA_IMAGINARY_PART;
-                        } else {
-                            data[ix] = reVal;
-                            data[ix + 1] = imVal;
+                            if (RRuntime.isNA(reVal) && RRuntime.isNA(imVal)) {
+                                data[ix] = RRuntime.COMPLEX_NA_REAL_PART;
+                                data[ix + 1] = RRuntime.COMPLEX_NA_IMAGINARY_PART;
+                            }
                         }
                     }
                     result = RDataFactory.createComplexVector(data, complete);
@@ -1111,15 +1167,27 @@ public class RSerialize {
                 }
             }
             int len = stream.readInt();
-            String[] data = new String[len];
+            RStringCompactVectorData.Builder compact = strsxp && compactStringLength > 0 && len >= compactStringLength ? new RStringCompactVectorData.Builder(len) : null;
+            String[] data = compact == null ? new String[len] : null;
             boolean complete = RDataFactory.COMPLETE_VECTOR; // optimistic
             for (int i = 0; i < len; i++) {
                 String item = (String) readItem();
                 if (RRuntime.isNA(item)) {
                     complete = RDataFactory.INCOMPLETE_VECTOR;
                 }
+                if (compact != null) {
+                    if (compact.add(item)) {
+                        continue;
+                    }
+                    // not Latin-1, continue with the ordinary vector
+                    data = compact.toStringArray();
+                    compact = null;
+                }
                 data[i] = item;
             }
+            if (compact != null) {
+                return RDataFactory.createCompactStringVector(compact);
+            }
             return RDataFactory.createStringVector(data, complete);
         }
 
@@ -1224,6 +1292,15 @@ public class RSerialize {
         }
     }
 
+    /*
+     * Views for reading and writing single numbers in the XDR (big endian) and native binary
+     * formats.
+     */
+    private static final VarHandle INT_VIEW = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle NATIVE_INT_VIEW = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle NATIVE_LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
     private abstract static class PInputStream {
         protected InputStream is;
 
@@ -1239,6 +1316,110 @@ public class RSerialize {
 
         abstract void readRaw(byte[] data) throws IOException;
 
+        /**
+         * Reads {@code to - from} ints into {@code data[from, to)}.
+         */
+        abstract void readInts(int[] data, int from, int to) throws IOException;
+
+        /**
+         * Reads {@code to - from} doubles into {@code data[from, to)}.
+         */
+        abstract void readDoubles(double[] data, int from, int to) throws IOException;
+
+        /**
+         * Skips the next {@code bytes} bytes and returns them as a memory mapped region, or
+         * returns {@code null} without skipping anything if the input is not memory mapped.
+         */
+        @SuppressWarnings("unused")
+        MappedFileRegion readMapped(long bytes) throws IOException {
+            return null;
+        }
+    }
+
+    /**
+     * The rest of a file connection, from its current position to the end of the file, memory
+     * mapped so that large vectors can be left in the file, see
+     * {@link FastROptions#LazyVectorThreshold}.
+     */
+    private static final class MappedInputStream extends InputStream {
+        private final FileChannel channel;
+        private final String file;
+        private final long start;
+        private final MappedFileRegion region;
+        private final int lazyVectorLength;
+        private long position;
+
+        private MappedInputStream(FileChannel channel, String file, long start, MappedFileRegion region, int lazyVectorLength) {
+            this.channel = channel;
+            this.file = file;
+            this.start = start;
+            this.region = region;
+            this.lazyVectorLength = lazyVectorLength;
+        }
+
+        /**
+         * Returns the mapped input of the connection if lazy vectors are enabled and the connection
+         * reads a plain file, {@code null} otherwise. The file has to be known, so that the mapped
+         * vectors can be copied to the heap before it is overwritten, see
+         * {@link MappedFileRegion#detachFile}.
+         */
+        static MappedInputStream create(RConnection conn) throws IOException {
+            int threshold = RContext.getInstance().getNonNegativeIntOption(FastROptions.LazyVectorThreshold);
+            if (threshold == 0 || !conn.isSeekable()) {
+                return null;
+            }
+            FileChannel channel = conn.getMappableChannel();
+            String file = channel == null ? null : conn.getMappableFile();
+            if (file == null) {
+                return null;
+            }
+            long start = conn.seek(0, SeekMode.ENQUIRE, SeekRWMode.READ);
+            long size = Math.max(0, channel.size() - start);
+            return new MappedInputStream(channel, file, start, MappedFileRegion.map(channel, file, start, size, ByteOrder.BIG_ENDIAN), threshold);
+        }
+
+        long getStart() {
+            return start;
+        }
+
+        long position() {
+            return position;
+        }
+
+        void seek(long pos) {
+            position = pos;
+        }
+
+        /**
+         * Maps {@code bytes} bytes at the given position (relative to {@link #getStart()}), the
+         * numbers are read in the given byte order.
+         */
+        MappedFileRegion map(long pos, long bytes, ByteOrder order) throws IOException {
+            if (pos + bytes > region.getSize()) {
+                throw new IOException("Premature EOF");
+            }
+            return MappedFileRegion.map(channel, file, start + pos, bytes, order);
+        }
+
+        @Override
+        public int read() {
+            return position < region.getSize() ? region.getByte(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            long available = region.getSize() - position;
+            if (available <= 0) {
+                return -1;
+            }
+            int n = (int) Math.min(len, available);
+            region.getBytes(position, b, off, n);
+            position += n;
+            return n;
+        }
     }
 
     @SuppressWarnings("unused")
@@ -1248,17 +1429,23 @@ public class RSerialize {
         }
     }
 
-    @SuppressWarnings("unused")
-    private abstract static class BinaryInputFormat extends PInputStream {
+    /**
+     * The native binary format, which has the same layout as the XDR format but uses the native
+     * byte order.
+     */
+    private static final class BinaryInputFormat extends XdrInputFormat {
         BinaryInputFormat(InputStream is) {
-            super(is);
+            super(is, ByteOrder.nativeOrder());
         }
     }
 
-    private static final class XdrInputFormat extends PInputStream {
+    private static class XdrInputFormat extends PInputStream {
 
         private static final int READ_BUFFER_SIZE = 32 * 1024;
 
+        private final ByteOrder order;
+        private final boolean bigEndian;
+
         private final class Buffer {
             private final byte[] buf;
             private int size;
@@ -1269,15 +1456,27 @@ public class RSerialize {
             }
 
             int readInt() {
-                return ((buf[offset++] & 0xff) << 24 | (buf[offset++] & 0xff) << 16 | (buf[offset++] & 0xff) << 8 | (buf[offset++] & 0xff));
+                int val = bigEndian ? (int) INT_VIEW.get(buf, offset) : (int) NATIVE_INT_VIEW.get(buf, offset);
+                offset += Integer.BYTES;
+                return val;
             }
 
             double readDouble() {
-                long val = ((long) (buf[offset++] & 0xff) << 56 | (long) (buf[offset++] & 0xff) << 48 | (long) (buf[offset++] & 0xff) << 40 | (long) (buf[offset++] & 0xff) << 32 |
-                                (long) (buf[offset++] & 0xff) << 24 | (long) (buf[offset++] & 0xff) << 16 | (long) (buf[offset++] & 0xff) << 8 | buf[offset++] & 0xff);
+                long val = bigEndian ? (long) LONG_VIEW.get(buf, offset) : (long) NATIVE_LONG_VIEW.get(buf, offset);
+                offset += Long.BYTES;
                 return Double.longBitsToDouble(val);
             }
 
+            void readInts(int[] data, int from, int count) {
+                ByteBuffer.wrap(buf, offset, count * Integer.BYTES).order(order).asIntBuffer().get(data, from, count);
+                offset += count * Integer.BYTES;
+            }
+
+            void readDoubles(double[] data, int from, int count) {
+                ByteBuffer.wrap(buf, offset, count * Double.BYTES).order(order).asDoubleBuffer().get(data, from, count);
+                offset += count * Double.BYTES;
+            }
+
             @SuppressWarnings("deprecation")
             String readString(int len) {
                 /*
@@ -1345,7 +1544,13 @@ public class RSerialize {
         private final WeakHashMap<String, WeakReference<String>> strings = RContext.getInstance().stringMap;
 
         XdrInputFormat(InputStream is) {
+            this(is, ByteOrder.BIG_ENDIAN);
+        }
+
+        protected XdrInputFormat(InputStream is, ByteOrder order) {
             super(is);
+            this.order = order;
+            this.bigEndian = order == ByteOrder.BIG_ENDIAN;
             if (is instanceof PByteArrayInputStream) {
                 // we already have the data and we have read the beginning
                 PByteArrayInputStream pbis = (PByteArrayInputStream) is;
@@ -1376,7 +1581,71 @@ public class RSerialize {
 
         @Override
         void readRaw(byte[] data) throws IOException {
-            ensureData(data.length).readRaw(data);
+            if (data.length <= defaultBuffer.buf.length) {
+                ensureData(data.length).readRaw(data);
+                return;
+            }
+            if (is instanceof PByteArrayInputStream) {
+                throw new IOException("Premature EOF");
+            }
+            // large vectors are read directly into their array, not through an enlarged buffer
+            int buffered = defaultBuffer.size - defaultBuffer.offset;
+            System.arraycopy(defaultBuffer.buf, defaultBuffer.offset, data, 0, buffered);
+            defaultBuffer.offset = defaultBuffer.size = 0;
+            int pos = buffered;
+            while (pos < data.length) {
+                int nread = is.read(data, pos, data.length - pos);
+                if (nread <= 0) {
+                    throw RInternalError.unimplemented("handle unexpected eof");
+                }
+                pos += nread;
+            }
+        }
+
+        /*
+         * Numeric vectors are converted from the byte order of the format in blocks that fit in
+         * the default buffer, so that the whole vector is never held in a temporary array.
+         */
+
+        @Override
+        void readInts(int[] data, int from, int to) throws IOException {
+            int pos = from;
+            while (pos < to) {
+                int count = Math.min(to - pos, defaultBuffer.buf.length / Integer.BYTES);
+                ensureData(count * Integer.BYTES).readInts(data, pos, count);
+                pos += count;
+            }
+        }
+
+        @Override
+        void readDoubles(double[] data, int from, int to) throws IOException {
+            int pos = from;
+            while (pos < to) {
+                int count = Math.min(to - pos, defaultBuffer.buf.length / Double.BYTES);
+                ensureData(count * Double.BYTES).readDoubles(data, pos, count);
+                pos += count;
+            }
+        }
+
+        /**
+         * The data still in the buffer are skipped in the buffer, the rest in the mapped stream.
+         */
+        @Override
+        MappedFileRegion readMapped(long bytes) throws IOException {
+            if (!(is instanceof MappedInputStream)) {
+                return null;
+            }
+            MappedInputStream mapped = (MappedInputStream) is;
+            int buffered = defaultBuffer.size - defaultBuffer.offset;
+            long pos = mapped.position() - buffered;
+            MappedFileRegion region = mapped.map(pos, bytes, order);
+            if (bytes <= buffered) {
+                defaultBuffer.offset += (int) bytes;
+            } else {
+                mapped.seek(pos + bytes);
+                defaultBuffer.offset = defaultBuffer.size = 0;
+            }
+            return region;
         }
 
         private Buffer ensureData(int n) throws IOException {
@@ -1474,28 +1743,56 @@ public class RSerialize {
 
         abstract void writeRaw(byte value) throws IOException;
 
+        abstract void writeInts(int[] data, int from, int to) throws IOException;
+
+        abstract void writeDoubles(double[] data, int from, int to) throws IOException;
+
+        abstract void writeRaw(byte[] data, int from, int to) throws IOException;
+
         abstract void flush() throws IOException;
 
     }
 
+    /**
+     * The native binary format, which has the same layout as the XDR format but uses the native
+     * byte order. It is not portable between machines with different byte orders.
+     */
+    private static final class BinaryOutputFormat extends XdrOutputFormat {
+        BinaryOutputFormat(OutputStream os) {
+            super(os, (byte) 'B', ByteOrder.nativeOrder());
+        }
+    }
+
     private static class XdrOutputFormat extends POutputStream {
+        private static final int WRITE_BUFFER_SIZE = 32 * 1024;
+
         private final byte[] buf;
         private int offset;
+        private final ByteOrder order;
+        private final boolean bigEndian;
 
         XdrOutputFormat(OutputStream os) {
+            this(os, (byte) 'X', ByteOrder.BIG_ENDIAN);
+        }
+
+        protected XdrOutputFormat(OutputStream os, byte format, ByteOrder order) {
             super(os);
-            buf = new byte[8192];
-            buf[offset++] = 'X';
+            this.order = order;
+            this.bigEndian = order == ByteOrder.BIG_ENDIAN;
+            buf = new byte[WRITE_BUFFER_SIZE];
+            buf[offset++] = format;
             buf[offset++] = '\n';
         }
 
         @Override
         void writeInt(int value) throws IOException {
-            ensureSpace(4);
-            buf[offset++] = (byte) (value >>> 24);
-            buf[offset++] = (byte) (value >> 16);
-            buf[offset++] = (byte) (value >> 8);
-            buf[offset++] = (byte) value;
+            ensureSpace(Integer.BYTES);
+            if (bigEndian) {
+                INT_VIEW.set(buf, offset, value);
+            } else {
+                NATIVE_INT_VIEW.set(buf, offset, value);
+            }
+            offset += Integer.BYTES;
         }
 
         @Override
@@ -1540,16 +1837,57 @@ public class RSerialize {
 
         @Override
         void writeDouble(double value) throws IOException {
-            ensureSpace(8);
+            ensureSpace(Double.BYTES);
             long valueBits = Double.doubleToRawLongBits(value);
-            buf[offset++] = (byte) (valueBits >>> 56);
-            buf[offset++] = (byte) ((valueBits >> 48) & 0xff);
-            buf[offset++] = (byte) ((valueBits >> 40) & 0xff);
-            buf[offset++] = (byte) ((valueBits >> 32) & 0xff);
-            buf[offset++] = (byte) ((valueBits >> 24) & 0xff);
-            buf[offset++] = (byte) ((valueBits >> 16) & 0xff);
-            buf[offset++] = (byte) ((valueBits >> 8) & 0xff);
-            buf[offset++] = (byte) (valueBits & 0xff);
+            if (bigEndian) {
+                LONG_VIEW.set(buf, offset, valueBits);
+            } else {
+                NATIVE_LONG_VIEW.set(buf, offset, valueBits);
+            }
+            offset += Double.BYTES;
+        }
+
+        /*
+         * Numeric vectors are converted to the byte order of the format in blocks filling the
+         * buffer.
+         */
+
+        @Override
+        void writeInts(int[] data, int from, int to) throws IOException {
+            int pos = from;
+            while (pos < to) {
+                ensureSpace(Integer.BYTES);
+                int count = Math.min(to - pos, (buf.length - offset) / Integer.BYTES);
+                ByteBuffer.wrap(buf, offset, count * Integer.BYTES).order(order).asIntBuffer().put(data, pos, count);
+                offset += count * Integer.BYTES;
+                pos += count;
+            }
+        }
+
+        @Override
+        void writeDoubles(double[] data, int from, int to) throws IOException {
+            int pos = from;
+            while (pos < to) {
+                ensureSpace(Double.BYTES);
+                int count = Math.min(to - pos, (buf.length - offset) / Double.BYTES);
+                ByteBuffer.wrap(buf, offset, count * Double.BYTES).order(order).asDoubleBuffer().put(data, pos, count);
+                offset += count * Double.BYTES;
+                pos += count;
+            }
+        }
+
+        @Override
+        void writeRaw(byte[] data, int from, int to) throws IOException {
+            int len = to - from;
+            if (len > buf.length) {
+                // too large to fit buffer, written directly from the vector
+                flushBuffer();
+                os.write(data, from, len);
+            } else {
+                ensureSpace(len);
+                System.arraycopy(data, from, buf, offset, len);
+                offset += len;
+            }
         }
 
         private void ensureSpace(int n) throws IOException {
@@ -1595,6 +1933,9 @@ public class RSerialize {
                 case XDR:
                     stream = new XdrOutputFormat(os);
                     break;
+                case BINARY:
+                    stream = new BinaryOutputFormat(os);
+                    break;
                 default:
                     throw formatError((byte) format, true);
             }
@@ -1787,6 +2128,12 @@ public class RSerialize {
                             case LGLSXP: {
                                 // logicals are written as ints
                                 RAbstractVector vector = (RAbstractVector) obj;
+                                if (vector.getData() instanceof RIntArrayVectorData) {
+                                    int length = vector.getLength();
+                                    stream.writeInt(length);
+                                    stream.writeInts(((RIntArrayVectorData) vector.getData()).getReadonlyIntData(), 0, length);
+                                    break;
+                                }
                                 VectorAccess access = vector.slowPathAccess();
                                 SequentialIterator iter = access.access(vector);
                                 stream.writeInt(access.getLength(iter));
@@ -1798,6 +2145,12 @@ public class RSerialize {
 
                             case REALSXP: {
                                 RDoubleVector vector = (RDoubleVector) obj;
+                                if (vector.getData() instanceof RDoubleArrayVectorData) {
+                                    int length = vector.getLength();
+                                    stream.writeInt(length);
+                                    stream.writeDoubles(((RDoubleArrayVectorData) vector.getData()).getReadonlyDoubleData(), 0, length);
+                                    break;
+                                }
                                 VectorAccess access = vector.slowPathAccess();
                                 SequentialIterator iter = access.access(vector);
                                 stream.writeInt(access.getLength(iter));
@@ -1809,6 +2162,13 @@ public class RSerialize {
 
                             case CPLXSXP: {
                                 RComplexVector vector = (RComplexVector) obj;
+                                if (vector.isComplete() && vector.getData() instanceof RComplexArrayVectorData) {
+                                    // NA values would have to be written as two NA parts
+                                    int length = vector.getLength();
+                                    stream.writeInt(length);
+                                    stream.writeDoubles(((RComplexArrayVectorData) vector.getData()).getReadonlyComplexData(), 0, 2 * length);
+                                    break;
+                                }
                                 VectorAccess access = vector.slowPathAccess();
                                 SequentialIterator iter = access.access(vector);
                                 stream.writeInt(access.getLength(iter));
@@ -1838,6 +2198,12 @@ public class RSerialize {
 
                             case RAWSXP: {
                                 RRawVector vector = (RRawVector) obj;
+                                if (vector.getData() instanceof RRawArrayVectorData) {
+                                    int length = vector.getLength();
+                                    stream.writeInt(length);
+                                    stream.writeRaw(((RRawArrayVectorData) vector.getData()).getReadonlyRawData(), 0, length);
+                                    break;
+                                }
                                 VectorAccess access = vector.slowPathAccess();
                                 SequentialIterator iter = access.access(vector);
                                 stream.writeInt(access.getLength(iter));
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,6 +22,8 @@
  */
 package com.oracle.truffle.r.runtime;
 
+import java.util.ArrayDeque;
+
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 /**
@@ -30,30 +32,53 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 public class RegExp {
 
     private enum Predefined {
-        alnum("\\p{Alnum}"),
-        alpha("\\p{Alpha}"),
-        blank("\\p{Blank}"),
-        cntrl("\\p{Cntrl}"),
-        digit("\\p{Digit}"),
-        graph("\\p{Graph}"),
-        lower("\\p{Lower}"),
-        print("\\p{Print}"),
-        punct("\\p{Punct}"),
-        space("\\p{Space}"),
-        upper("\\p{Upper}"),
-        xdigit("\\p{XDigit}");
+        alnum("\\p{Alnum}", "0-9A-Za-z"),
+        alpha("\\p{Alpha}", "A-Za-z"),
+        blank("\\p{Blank}", " \\t"),
+        cntrl("\\p{Cntrl}", "\\x00-\\x1F\\x7F"),
+        digit("\\p{Digit}", "0-9"),
+        graph("\\p{Graph}", "!-~"),
+        lower("\\p{Lower}", "a-z"),
+        print("\\p{Print}", " -~"),
+        punct("\\p{Punct}", "!-\\/:-@\\[-`{-~"),
+        space("\\p{Space}", " \\t\\n\\x0B\\f\\r"),
+        upper("\\p{Upper}", "A-Z"),
+        xdigit("\\p{XDigit}", "0-9A-Fa-f");
 
         private final String replacement;
         private final String syntax;
         private final int syntaxLength;
+        /**
+         * The ASCII characters of the class (the Java classes are ASCII-only) as ECMAScript class
+         * ranges.
+         */
+        private final String ecmaScriptRanges;
 
-        Predefined(String replacement) {
+        Predefined(String replacement, String ecmaScriptRanges) {
             this.replacement = replacement;
+            this.ecmaScriptRanges = ecmaScriptRanges;
             syntax = "[:" + name() + ":]";
             syntaxLength = syntax.length();
         }
     }
 
+    /**
+     * The characters that have to be escaped in ECMAScript patterns with the {@code u} flag.
+     */
+    private static final String ECMASCRIPT_SYNTAX_CHARACTERS = "^$\\.*+?()[]{}|/";
+
+    /**
+     * The whitespace characters of {@code \s} in the Java regexp library, ECMAScript includes also
+     * the Unicode spaces.
+     */
+    private static final String JAVA_SPACES = " \\t\\n\\x0B\\f\\r";
+
+    /**
+     * The Java {@code $} without the {@code MULTILINE} flag also matches before a line terminator at
+     * the end of the input, except between {@code \r} and {@code \n}.
+     */
+    private static final String JAVA_DOLLAR = "(?:$|(?=[\\r\\u0085\\u2028\\u2029]$)|(?<!\\r)(?=\\n$)|(?=\\r\\n$))";
+
     /**
      * Transforms given pattern into a pattern that can be used by the Java regexp library.
      * 
@@ -216,6 +241,310 @@ public class RegExp {
         return sb.toString();
     }
 
+    /**
+     * Translates a pattern for the Java regexp library (as returned by
+     * {@link #transformPatternToGnurCompatible}) compiled with the {@code DOTALL} flag into an
+     * ECMAScript pattern for the {@code s} and {@code u} flags that matches the same strings at the
+     * same positions.
+     *
+     * Only the common subset of the two syntaxes is translated: literals, {@code .}, anchors,
+     * alternatives, capturing and non-capturing groups, look-aheads, greedy and lazy quantifiers
+     * and character classes with ranges, {@code \d}, {@code \w}, {@code \s} and the
+     * predefined classes of R. Returns {@code null} for anything else, e.g., back-references, word
+     * boundaries (which are Unicode-aware in Java), possessive quantifiers, inline flags, nested
+     * character classes or Unicode properties.
+     */
+    @TruffleBoundary
+    public static String toECMAScript(String pattern) {
+        int length = pattern.length();
+        StringBuilder sb = new StringBuilder(length + 16);
+        // for every open group, whether it is a look-ahead, which cannot be quantified
+        ArrayDeque<Boolean> groups = new ArrayDeque<>();
+        boolean quantifiable = false;
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 == length) {
+                        return null;
+                    }
+                    char escaped = pattern.charAt(i + 1);
+                    if (escaped == 's') {
+                        sb.append('[').append(JAVA_SPACES).append(']');
+                    } else if (escaped == 'S') {
+                        sb.append("[^").append(JAVA_SPACES).append(']');
+                    } else if (!appendEscape(sb, escaped)) {
+                        return null;
+                    }
+                    i += 2;
+                    quantifiable = true;
+                    break;
+                case '[':
+                    i = appendCharClass(sb, pattern, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    quantifiable = true;
+                    break;
+                case '(':
+                    if (pattern.startsWith("(?:", i)) {
+                        groups.push(false);
+                    } else if (pattern.startsWith("(?=", i) || pattern.startsWith("(?!", i)) {
+                        groups.push(true);
+                    } else if (i + 1 < length && pattern.charAt(i + 1) == '?') {
+                        return null;
+                    } else {
+                        groups.push(false);
+                        sb.append(c);
+                        i++;
+                        quantifiable = false;
+                        break;
+                    }
+                    sb.append(pattern, i, i + 3);
+                    i += 3;
+                    quantifiable = false;
+                    break;
+                case ')':
+                    if (groups.isEmpty()) {
+                        return null;
+                    }
+                    quantifiable = !groups.pop();
+                    sb.append(c);
+                    i++;
+                    break;
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    int end = c == '{' ? quantifierEnd(pattern, i) : i + 1;
+                    if (!quantifiable || end < 0) {
+                        return null;
+                    }
+                    sb.append(pattern, i, end);
+                    i = end;
+                    if (i < length && pattern.charAt(i) == '?') {
+                        sb.append('?');
+                        i++;
+                    } else if (i < length && pattern.charAt(i) == '+') {
+                        // possessive
+                        return null;
+                    }
+                    quantifiable = false;
+                    break;
+                case '$':
+                    sb.append(JAVA_DOLLAR);
+                    i++;
+                    quantifiable = false;
+                    break;
+                case '^':
+                case '|':
+                    sb.append(c);
+                    i++;
+                    quantifiable = false;
+                    break;
+                case '.':
+                    sb.append(c);
+                    i++;
+                    quantifiable = true;
+                    break;
+                default:
+                    // the literal ']', '}' and '/' have to be escaped
+                    appendLiteral(sb, c);
+                    i++;
+                    quantifiable = true;
+                    break;
+            }
+        }
+        if (!groups.isEmpty()) {
+            return null;
+        }
+        return sb.length() == 0 ? "(?:)" : sb.toString();
+    }
+
+    /**
+     * Appends the ECMAScript form of the class starting at {@code start}, returns the index after
+     * its end or {@code -1} if it cannot be translated.
+     */
+    private static int appendCharClass(StringBuilder sb, String pattern, int start) {
+        int length = pattern.length();
+        int i = start + 1;
+        sb.append('[');
+        if (i < length && pattern.charAt(i) == '^') {
+            sb.append('^');
+            i++;
+        }
+        if (i < length && pattern.charAt(i) == ']') {
+            // the leading ']' is literal in R but not in Java
+            return -1;
+        }
+        int first = sb.length();
+        // whether the previous item is a single character, which can start a range
+        boolean single = false;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            switch (c) {
+                case ']':
+                    sb.append(c);
+                    return i + 1;
+                case '[':
+                    // union with a nested class in Java
+                    return -1;
+                case '&':
+                    if (i + 1 < length && pattern.charAt(i + 1) == '&') {
+                        // intersection in Java
+                        return -1;
+                    }
+                    sb.append(c);
+                    single = true;
+                    i++;
+                    break;
+                case '-':
+                    if (sb.length() == first || i + 1 < length && pattern.charAt(i + 1) == ']') {
+                        // a literal '-' at the beginning or at the end of the class
+                        sb.append("\\-");
+                        single = true;
+                        i++;
+                    } else if (single && i + 1 < length && pattern.charAt(i + 1) != '\\' && pattern.charAt(i + 1) != '[') {
+                        sb.append(c);
+                        appendClassLiteral(sb, pattern.charAt(i + 1));
+                        single = false;
+                        i += 2;
+                    } else {
+                        return -1;
+                    }
+                    break;
+                case '\\':
+                    if (i + 1 == length) {
+                        return -1;
+                    }
+                    char escaped = pattern.charAt(i + 1);
+                    if (escaped == 'p') {
+                        int end = pattern.indexOf('}', i);
+                        Predefined predefined = end < 0 ? null : findPredefined(pattern.substring(i, end + 1));
+                        if (predefined == null) {
+                            return -1;
+                        }
+                        sb.append(predefined.ecmaScriptRanges);
+                        single = false;
+                        i = end + 1;
+                    } else if (escaped == 's') {
+                        sb.append(JAVA_SPACES);
+                        single = false;
+                        i += 2;
+                    } else if (escaped == 'd' || escaped == 'D' || escaped == 'w' || escaped == 'W') {
+                        sb.append(c).append(escaped);
+                        single = false;
+                        i += 2;
+                    } else if (escaped == '-') {
+                        sb.append("\\-");
+                        single = true;
+                        i += 2;
+                    } else if (appendEscape(sb, escaped)) {
+                        single = true;
+                        i += 2;
+                    } else {
+                        return -1;
+                    }
+                    break;
+                default:
+                    appendClassLiteral(sb, c);
+                    single = true;
+                    i++;
+                    break;
+            }
+        }
+        // unterminated
+        return -1;
+    }
+
+    private static Predefined findPredefined(String replacement) {
+        for (Predefined predefined : Predefined.values()) {
+            if (predefined.replacement.equals(replacement)) {
+                return predefined;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Appends the ECMAScript form of the escape sequence {@code \escaped} that denotes a single
+     * character or one of {@code \d}, {@code \D}, {@code \w} and {@code \W}. Returns
+     * {@code false} for all the other escapes.
+     */
+    private static boolean appendEscape(StringBuilder sb, char escaped) {
+        switch (escaped) {
+            case 'd':
+            case 'D':
+            case 'w':
+            case 'W':
+            case 't':
+            case 'n':
+            case 'r':
+            case 'f':
+                sb.append('\\').append(escaped);
+                return true;
+            case 'a':
+                sb.append("\\x07");
+                return true;
+            case 'e':
+                sb.append("\\x1B");
+                return true;
+            default:
+                if (escaped < 128 && Character.isLetterOrDigit(escaped)) {
+                    return false;
+                }
+                // an escaped non-alphanumeric character is the character itself
+                appendLiteral(sb, escaped);
+                return true;
+        }
+    }
+
+    private static void appendLiteral(StringBuilder sb, char c) {
+        if (ECMASCRIPT_SYNTAX_CHARACTERS.indexOf(c) >= 0) {
+            sb.append('\\');
+        }
+        sb.append(c);
+    }
+
+    private static void appendClassLiteral(StringBuilder sb, char c) {
+        if (c == '/') {
+            sb.append('\\');
+        }
+        sb.append(c);
+    }
+
+    /**
+     * Returns the index after the quantifier {@code {n}}, {@code {n,}} or {@code {n,m}} starting at
+     * {@code start}, or {@code -1}.
+     */
+    private static int quantifierEnd(String pattern, int start) {
+        int end = pattern.indexOf('}', start);
+        if (end < 0) {
+            return -1;
+        }
+        String content = pattern.substring(start + 1, end);
+        int comma = content.indexOf(',');
+        String min = comma < 0 ? content : content.substring(0, comma);
+        String max = comma < 0 ? "" : content.substring(comma + 1);
+        if (!isNumber(min) || !(max.isEmpty() || isNumber(max) && Long.parseLong(min) <= Long.parseLong(max))) {
+            return -1;
+        }
+        return end + 1;
+    }
+
+    private static boolean isNumber(String s) {
+        if (s.isEmpty() || s.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static boolean containsOnlyWhiteSpaces(String string) {
         for (int i = 0; i < string.length(); i++) {
             if (!isWhiteSpace(string.charAt(i))) {
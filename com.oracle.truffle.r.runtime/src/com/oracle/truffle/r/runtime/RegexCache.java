@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.ffi.PCRE2RFFI;
+import com.oracle.truffle.r.runtime.ffi.RFFIFactory;
+
+/**
+ * The compiled regular expressions shared by {@code grep}, {@code sub}, {@code regexpr},
+ * {@code strsplit} and the other regular expression builtins.
+ *
+ * Every context keeps the most recently used patterns, both {@link Pattern Java patterns} and
+ * patterns compiled by PCRE2 ({@code perl = TRUE}), in an LRU cache whose number of entries is
+ * limited by {@link FastROptions#RegexCacheSize}. The patterns are keyed by the text of the
+ * regular expression as passed to the engine, the engine and the compile options (which encode
+ * {@code fixed} and {@code ignore.case}).
+ *
+ * The PCRE2 patterns are native memory. A pattern evicted from the cache may still be used by the
+ * builtin that caused the eviction, therefore it is only released by the next
+ * {@link ContextStateImpl#releaseEvicted} call, which the builtins make once they do not use any
+ * pattern anymore.
+ */
+public final class RegexCache {
+
+    /**
+     * A pattern compiled by PCRE2 together with the number of its capture groups.
+     */
+    public static final class PerlPattern {
+        public final Object compiledPattern;
+        public final int captureCount;
+
+        public PerlPattern(Object compiledPattern, int captureCount) {
+            this.compiledPattern = compiledPattern;
+            this.captureCount = captureCount;
+        }
+    }
+
+    private static final class Key {
+        private final String pattern;
+        private final boolean perl;
+        private final int options;
+
+        Key(String pattern, boolean perl, int options) {
+            this.pattern = pattern;
+            this.perl = perl;
+            this.options = options;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return perl == other.perl && options == other.options && pattern.equals(other.pattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pattern, perl, options);
+        }
+    }
+
+    private RegexCache() {
+        // no instances
+    }
+
+    public static final class ContextStateImpl implements RContext.ContextState {
+        private final LinkedHashMap<Key, Object> patterns = new LinkedHashMap<>(16, 0.75f, true);
+        private final ArrayList<PerlPattern> evicted = new ArrayList<>();
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        /**
+         * Returns the Java pattern for the given regular expression and {@link Pattern} flags,
+         * compiling it if it is not cached.
+         */
+        @TruffleBoundary
+        public Pattern getJavaPattern(RContext context, String regex, int flags) throws PatternSyntaxException {
+            Key key = new Key(regex, false, flags);
+            Pattern pattern = (Pattern) lookup(key);
+            if (pattern == null) {
+                pattern = Pattern.compile(regex, flags);
+                add(context, key, pattern);
+            }
+            return pattern;
+        }
+
+        /**
+         * Returns the cached PCRE2 pattern for the given pattern and PCRE2 options, or
+         * {@code null}.
+         */
+        @TruffleBoundary
+        public PerlPattern getPerlPattern(String pattern, int options) {
+            return (PerlPattern) lookup(new Key(pattern, true, options));
+        }
+
+        /**
+         * Caches a PCRE2 pattern, which is then owned by the cache and must not be released by the
+         * caller.
+         */
+        @TruffleBoundary
+        public void putPerlPattern(RContext context, String pattern, int options, PerlPattern compiled) {
+            add(context, new Key(pattern, true, options), compiled);
+        }
+
+        /**
+         * Releases the PCRE2 patterns evicted from the cache since the last call.
+         */
+        public void releaseEvicted(PCRE2RFFI.MemoryReleaseNode releaseNode) {
+            while (!evicted.isEmpty()) {
+                releaseNode.execute(evicted.remove(evicted.size() - 1).compiledPattern);
+            }
+        }
+
+        /**
+         * Evicts all the patterns and resets the statistics.
+         */
+        @TruffleBoundary
+        public void clear() {
+            for (Object value : patterns.values()) {
+                if (value instanceof PerlPattern) {
+                    evicted.add((PerlPattern) value);
+                }
+            }
+            patterns.clear();
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+        }
+
+        /**
+         * Returns the number of cached patterns, hits, misses and evictions.
+         */
+        @TruffleBoundary
+        public long[] getStatistics() {
+            return new long[]{patterns.size(), hits, misses, evictions};
+        }
+
+        private Object lookup(Key key) {
+            Object value = patterns.get(key);
+            if (value == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+            return value;
+        }
+
+        private void add(RContext context, Key key, Object value) {
+            int capacity = context.getNonNegativeIntOption(FastROptions.RegexCacheSize);
+            Object previous = patterns.put(key, value);
+            assert previous == null;
+            var it = patterns.values().iterator();
+            while (patterns.size() > capacity && it.hasNext()) {
+                Object eldest = it.next();
+                it.remove();
+                evictions++;
+                if (eldest instanceof PerlPattern) {
+                    evicted.add((PerlPattern) eldest);
+                }
+            }
+        }
+
+        @Override
+        public void beforeFinalize(RContext context) {
+            clear();
+            if (!evicted.isEmpty()) {
+                releaseEvicted(RFFIFactory.getPCRE2RFFI().createMemoryReleaseNode());
+            }
+        }
+
+        public static ContextStateImpl newContextState() {
+            return new ContextStateImpl();
+        }
+    }
+
+    /**
+     * Convenience method for the Java patterns of the current context, see
+     * {@link ContextStateImpl#getJavaPattern}.
+     */
+    @TruffleBoundary
+    public static Pattern compile(String regex, int flags) throws PatternSyntaxException {
+        RContext context = RContext.getInstance();
+        return context.stateRegexCache.getJavaPattern(context, regex, flags);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+
+/**
+ * Runs the (non-perl) regular expressions on the TRegex engine, whose matchers are compiled
+ * together with the node that calls them. TRegex implements the ECMAScript syntax, the Java
+ * patterns produced by {@link RegExp#transformPatternToGnurCompatible} are translated by
+ * {@link RegExp#toECMAScript}. The patterns that cannot be translated exactly fall back to
+ * {@link java.util.regex}.
+ */
+public final class TRegex {
+
+    public static final String LANGUAGE_ID = "regex";
+
+    private TRegex() {
+        // no instances
+    }
+
+    /**
+     * Compiles the Java {@code pattern} (with {@link java.util.regex.Pattern#DOTALL}) to a TRegex
+     * object, or returns {@code null} if TRegex is disabled by {@link FastROptions#UseTRegex}, is
+     * not available or does not support the pattern.
+     */
+    @TruffleBoundary
+    public static Object compile(RContext context, String pattern) {
+        if (!context.getOption(FastROptions.UseTRegex)) {
+            return null;
+        }
+        Env env = context.getEnv();
+        if (!env.getInternalLanguages().containsKey(LANGUAGE_ID)) {
+            return null;
+        }
+        String ecmaScript = RegExp.toECMAScript(pattern);
+        if (ecmaScript == null) {
+            return null;
+        }
+        try {
+            // unicode and dotAll, i.e., the same semantics as DOTALL in Java
+            Source source = Source.newBuilder(LANGUAGE_ID, '/' + ecmaScript + "/su", "<regex>").internal(true).build();
+            Object regex = env.parseInternal(source).call();
+            return InteropLibrary.getUncached().isNull(regex) ? null : regex;
+        } catch (AbstractTruffleException e) {
+            // unsupported by TRegex
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether the compiled {@code regex} matches anywhere in {@code input}.
+     */
+    public static boolean isMatch(Object regex, String input, InteropLibrary regexInterop, InteropLibrary resultInterop) {
+        try {
+            Object result = regexInterop.invokeMember(regex, "exec", input, 0);
+            return (boolean) resultInterop.readMember(result, "isMatch");
+        } catch (InteropException e) {
+            throw RInternalError.shouldNotReachHere(e);
+        }
+    }
+}
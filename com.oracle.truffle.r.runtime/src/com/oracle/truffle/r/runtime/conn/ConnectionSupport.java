@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -29,6 +29,7 @@ import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
@@ -454,6 +455,21 @@ public class ConnectionSupport {
             throw RInternalError.shouldNotReachHere("INVALID CONNECTION");
         }
 
+        @Override
+        public ByteBuffer readBinView(int bytes) throws IOException {
+            throw RInternalError.shouldNotReachHere("INVALID CONNECTION");
+        }
+
+        @Override
+        public FileChannel getMappableChannel() throws IOException {
+            throw RInternalError.shouldNotReachHere("INVALID CONNECTION");
+        }
+
+        @Override
+        public String getMappableFile() throws IOException {
+            throw RInternalError.shouldNotReachHere("INVALID CONNECTION");
+        }
+
         @Override
         public byte[] readBinChars() throws IOException {
             throw RInternalError.shouldNotReachHere("INVALID CONNECTION");
@@ -834,6 +850,24 @@ public class ConnectionSupport {
             return theConnection.readBin(buffer);
         }
 
+        @Override
+        public ByteBuffer readBinView(int bytes) throws IOException {
+            checkOpen();
+            return theConnection.readBinView(bytes);
+        }
+
+        @Override
+        public FileChannel getMappableChannel() throws IOException {
+            checkOpen();
+            return theConnection.getMappableChannel();
+        }
+
+        @Override
+        public String getMappableFile() throws IOException {
+            checkOpen();
+            return theConnection.getMappableFile();
+        }
+
         @Override
         public byte[] readBinChars() throws IOException {
             checkOpen();
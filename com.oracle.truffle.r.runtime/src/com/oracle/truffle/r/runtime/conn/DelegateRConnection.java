@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -30,21 +30,30 @@ import java.io.Reader;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Objects;
+import java.util.logging.Level;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.r.runtime.ParallelWorkers;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.RLogger;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.conn.ConnectionSupport.BaseRConnection;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RBaseObject;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.RStringVector;
@@ -60,6 +69,7 @@ import java.util.zip.GZIPOutputStream;
  */
 abstract class DelegateRConnection extends RBaseObject implements RConnection, ByteChannel {
     public static final int DEFAULT_CACHE_SIZE = 16 * 1024;
+    private static final TruffleLogger LOGGER = RLogger.getLogger(RLogger.LOGGER_CONNECTIONS);
     protected final BaseRConnection base;
     private final ByteBuffer cache;
     private final boolean readCache;
@@ -140,6 +150,9 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
     @Override
     @TruffleBoundary
     public String[] readLines(int n, EnumSet<ReadLineWarning> warn, boolean skipNul) throws IOException {
+        if (readCache && cache != null) {
+            return readLinesFromCache(n, warn, skipNul);
+        }
         base.setIncomplete(false);
         ArrayList<String> lines = new ArrayList<>();
         int totalRead = 0;
@@ -216,6 +229,119 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
         return result;
     }
 
+    /**
+     * {@code readLines} for connections with a read cache. Instead of fetching the input byte by
+     * byte, the cache is scanned in bulk for the next line terminator or NUL and whole runs of bytes
+     * are appended to the current line. Lines consisting only of ASCII characters are decoded
+     * without a {@link CharsetDecoder} if the encoding is a superset of ASCII. The handling of
+     * {@code \r\n}, embedded NULs and an incomplete last line is the same as in
+     * {@link #readLines(int, EnumSet, boolean)}.
+     */
+    private String[] readLinesFromCache(int n, EnumSet<ReadLineWarning> warn, boolean skipNul) throws IOException {
+        base.setIncomplete(false);
+        long startTime = LOGGER.isLoggable(Level.FINE) ? System.nanoTime() : 0;
+        Charset encoding = base.getEncoding();
+        boolean asciiCompatible = isAsciiCompatible(encoding);
+        ArrayList<String> lines = new ArrayList<>();
+        byte[] buffer = new byte[64];
+        int totalRead = 0;
+        int nBytesConsumed = 0;
+        long nBytesScanned = 0;
+        int nonAscii = 0;
+        boolean nullRead = false;
+        while (n <= 0 || lines.size() < n) {
+            ensureDataAvailable(1);
+            if (!cache.hasRemaining()) {
+                if (totalRead > 0) {
+                    final String incompleteFinalLine = decodeLine(buffer, totalRead, encoding, asciiCompatible && nonAscii == 0);
+                    nBytesConsumed += totalRead;
+                    if (!base.isBlocking() && base.isTextMode()) {
+                        base.pushBack(RDataFactory.createStringVector(incompleteFinalLine), false);
+                        base.setIncomplete(true);
+                    } else {
+                        lines.add(incompleteFinalLine);
+                        if (warn.contains(ReadLineWarning.INCOMPLETE_LAST_LINE)) {
+                            RError.warning(RError.SHOW_CALLER, RError.Message.INCOMPLETE_FINAL_LINE, base.getSummaryDescription());
+                        }
+                    }
+                }
+                break;
+            }
+            byte[] array = cache.array();
+            int offset = cache.arrayOffset();
+            int from = offset + cache.position();
+            int limit = offset + cache.limit();
+            int end = from;
+            while (end < limit) {
+                byte b = array[end];
+                if (b == '\n' || b == '\r' || b == 0) {
+                    break;
+                }
+                nonAscii |= b & 0x80;
+                end++;
+            }
+            if (!nullRead && end > from) {
+                buffer = ensureCapacity(buffer, totalRead + end - from);
+                System.arraycopy(array, from, buffer, totalRead, end - from);
+                totalRead += end - from;
+            }
+            nBytesScanned += end - from;
+            if (end == limit) {
+                cache.position(limit - offset);
+                continue;
+            }
+            byte terminator = array[end];
+            cache.position(end + 1 - offset);
+            nBytesScanned++;
+            if (terminator == 0) {
+                nullRead = !skipNul;
+                if (warn.contains(ReadLineWarning.EMBEDDED_NUL) && !skipNul) {
+                    RError.warning(RError.SHOW_CALLER, RError.Message.LINE_CONTAINS_EMBEDDED_NULLS, lines.size() + 1);
+                }
+                continue;
+            }
+            if (terminator == '\r') {
+                // swallow the trailing lf, which may only be available after refilling the cache
+                ensureDataAvailable(1);
+                if (cache.hasRemaining() && cache.get(cache.position()) == '\n') {
+                    cache.get();
+                    nBytesScanned++;
+                }
+            }
+            lines.add(decodeLine(buffer, totalRead, encoding, asciiCompatible && nonAscii == 0));
+            nBytesConsumed += totalRead;
+            totalRead = 0;
+            nonAscii = 0;
+            nullRead = false;
+        }
+        updateReadOffset(nBytesConsumed);
+        if (startTime != 0) {
+            long nanos = Math.max(System.nanoTime() - startTime, 1);
+            LOGGER.fine(String.format("readLines(%s): %d lines, %d bytes in %.3f ms (%.1f MB/s)", base.getSummaryDescription(), lines.size(), nBytesScanned, nanos / 1e6,
+                            nBytesScanned * 1e3 / nanos));
+        }
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    private static boolean isAsciiCompatible(Charset encoding) {
+        return StandardCharsets.UTF_8.equals(encoding) || StandardCharsets.ISO_8859_1.equals(encoding) || StandardCharsets.US_ASCII.equals(encoding);
+    }
+
+    private static String decodeLine(byte[] buffer, int length, Charset encoding, boolean ascii) {
+        // ISO-8859-1 maps bytes to chars one to one, which is the cheapest way to create a string
+        return new String(buffer, 0, length, ascii ? StandardCharsets.ISO_8859_1 : encoding);
+    }
+
+    /**
+     * Enlarges the buffer so that it can hold at least {@code n} bytes.
+     */
+    private static byte[] ensureCapacity(byte[] buffer, int n) {
+        if (n <= buffer.length) {
+            return buffer;
+        }
+        return Arrays.copyOf(buffer, Math.max(n, buffer.length + buffer.length / 2));
+    }
+
     /**
      * Updates the read cursor.<br>
      * <p>
@@ -563,6 +689,21 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
         return read < 0 ? 0 : read;
     }
 
+    @Override
+    public ByteBuffer readBinView(int bytes) throws IOException {
+        return null;
+    }
+
+    @Override
+    public FileChannel getMappableChannel() throws IOException {
+        return null;
+    }
+
+    @Override
+    public String getMappableFile() throws IOException {
+        return null;
+    }
+
     /**
      * Reads null-terminated character strings from a {@link ReadableByteChannel}.
      */
@@ -641,6 +782,13 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
 
     static DelegateRConnection createGZIPDelegateOutputConnection(BaseRConnection base, OutputStream os) throws IOException {
         assert base.getOpenMode().canWrite();
+        int blocks = RContext.getInstance().getNonNegativeIntOption(FastROptions.ParallelCompressionBlocks);
+        if (blocks == 0) {
+            blocks = ParallelWorkers.getThreadCount();
+        }
+        if (blocks > 1) {
+            return new CompressedOutputRConnection(base, new ParallelGZIPOutputStream(os, blocks), true);
+        }
         return new CompressedOutputRConnection(base, new GZIPOutputStream(os, GZIP_BUFFER_SIZE), true);
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,8 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
 import java.util.EnumSet;
@@ -49,6 +51,9 @@ import com.oracle.truffle.r.runtime.conn.ConnectionSupport.BasePathRConnection;
 import com.oracle.truffle.r.runtime.conn.ConnectionSupport.ConnectionClass;
 import com.oracle.truffle.r.runtime.conn.DelegateRConnection.CompressedInputRConnection;
 import com.oracle.truffle.r.runtime.conn.DelegateRConnection.CompressedOutputRConnection;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.MappedFileRegion;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import java.nio.channels.SeekableByteChannel;
 import java.util.Collections;
@@ -248,6 +253,13 @@ public class FileConnections {
     @TruffleBoundary
     private static DelegateRConnection createDelegateConnection(BasePathRConnection base, RCompression.Type cType, boolean raw) throws IOException {
         AbstractOpenMode openMode = base.getOpenMode().abstractOpenMode;
+        if (openMode.writeable) {
+            // vectors unserialized lazily from the file must not see it truncated or overwritten
+            String file = getCanonicalPath(base.path);
+            if (file != null) {
+                MappedFileRegion.detachFile(file);
+            }
+        }
 
         /*
          * For input, we check the actual compression type as GNU R is permissive about the claimed
@@ -308,13 +320,27 @@ public class FileConnections {
         }
     }
 
+    /**
+     * Returns the canonical path of the file, or {@code null} if it does not exist or the path
+     * cannot be determined.
+     */
+    private static String getCanonicalPath(TruffleFile path) {
+        try {
+            return path.getCanonicalFile().getPath();
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+    }
+
     static class FileReadBinaryRConnection extends DelegateReadRConnection {
 
         private final SeekableByteChannel channel;
+        private final TruffleFile path;
 
         FileReadBinaryRConnection(BasePathRConnection base) throws IOException {
             super(base);
             channel = base.path.newByteChannel(Collections.singleton(StandardOpenOption.READ));
+            path = base.path;
         }
 
         @Override
@@ -327,6 +353,46 @@ public class FileConnections {
             return DelegateRConnection.seek(channel, offset, seekMode, seekRWMode, bytesInCache());
         }
 
+        /**
+         * Large reads map the requested part of the file into memory, so that {@code readBin} can
+         * convert the data directly from the page cache without copying them into a heap buffer
+         * first. Smaller reads are cheaper to copy, see {@link FastROptions#MemoryMappedReadThreshold}.
+         */
+        @Override
+        @TruffleBoundary
+        public ByteBuffer readBinView(int bytes) throws IOException {
+            int threshold = RContext.getInstance().getNonNegativeIntOption(FastROptions.MemoryMappedReadThreshold);
+            if (threshold == 0 || bytes < threshold) {
+                return null;
+            }
+            FileChannel fileChannel = getMappableChannel();
+            if (fileChannel == null) {
+                return null;
+            }
+            // the data already in the read cache are read again from the mapping
+            long position = channel.position() - bytesInCache();
+            invalidateCache();
+            long length = Math.max(0, Math.min(bytes, fileChannel.size() - position));
+            ByteBuffer view = length == 0 ? ByteBuffer.allocate(0) : fileChannel.map(MapMode.READ_ONLY, position, length);
+            channel.position(position + length);
+            return view;
+        }
+
+        /**
+         * Only the channel opened through the {@link TruffleFile} is mapped, so that the IO policy
+         * and the file system of the context apply. Other file systems, e.g., virtual ones, give no
+         * {@link FileChannel} and the data are copied instead.
+         */
+        @Override
+        public FileChannel getMappableChannel() {
+            return channel instanceof FileChannel ? (FileChannel) channel : null;
+        }
+
+        @Override
+        public String getMappableFile() {
+            return getCanonicalPath(path);
+        }
+
         @Override
         public ByteChannel getChannel() {
             return channel;
@@ -344,6 +410,21 @@ public class FileConnections {
             throw RError.error(RError.SHOW_CALLER2, RError.Message.ONLY_READ_BINARY_CONNECTION);
         }
 
+        @Override
+        public ByteBuffer readBinView(int bytes) throws IOException {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.ONLY_READ_BINARY_CONNECTION);
+        }
+
+        @Override
+        public FileChannel getMappableChannel() throws IOException {
+            return null;
+        }
+
+        @Override
+        public String getMappableFile() throws IOException {
+            return null;
+        }
+
         @Override
         public byte[] readBinChars() throws IOException {
             throw RError.error(RError.SHOW_CALLER2, RError.Message.ONLY_READ_BINARY_CONNECTION);
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.conn;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.oracle.truffle.r.runtime.ParallelWorkers;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+
+/**
+ * A gzip output stream that compresses the data in blocks of {@link #BLOCK_SIZE} bytes on the
+ * {@link ParallelWorkers}, in the way of {@code pigz}. Every block is compressed independently and
+ * written as a separate gzip member, so the result is a standard multi-member gzip file that can be
+ * read by GNU R, {@code gzip -d} and {@link java.util.zip.GZIPInputStream}.
+ *
+ * The data is collected into a batch of {@code blockCount} blocks, the whole batch is compressed
+ * in parallel once it is full and the members are written in the order of the blocks. The block
+ * boundaries do not depend on the number of threads, the output is therefore always the same for
+ * the same data and {@code blockCount}. Since the blocks do not share the dictionary, the output
+ * is slightly larger than the output of {@link java.util.zip.GZIPOutputStream}.
+ *
+ * Used for gzip connections opened for writing if {@link FastROptions#ParallelCompressionBlocks} is
+ * not {@code 1}.
+ */
+public final class ParallelGZIPOutputStream extends OutputStream {
+
+    public static final int BLOCK_SIZE = 128 * 1024;
+
+    /**
+     * The header of every member: magic, deflate, no flags, no modification time, no extra flags
+     * and "unknown" operating system, the same as written by
+     * {@link java.util.zip.GZIPOutputStream}.
+     */
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+    private static final int TRAILER_SIZE = 8;
+
+    private final OutputStream out;
+    private final byte[][] blocks;
+    private final int[] lengths;
+    private final byte[][] members;
+    private final int[] memberLengths;
+
+    /**
+     * The index of the block that is being filled.
+     */
+    private int current;
+    private boolean written;
+    private boolean closed;
+
+    public ParallelGZIPOutputStream(OutputStream out, int blockCount) {
+        assert blockCount > 1;
+        this.out = out;
+        this.blocks = new byte[blockCount][];
+        this.lengths = new int[blockCount];
+        this.members = new byte[blockCount][];
+        this.memberLengths = new int[blockCount];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (lengths[current] == BLOCK_SIZE) {
+            nextBlock();
+        }
+        block()[lengths[current]++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (lengths[current] == BLOCK_SIZE) {
+                nextBlock();
+            }
+            int count = Math.min(remaining, BLOCK_SIZE - lengths[current]);
+            System.arraycopy(b, offset, block(), lengths[current], count);
+            lengths[current] += count;
+            offset += count;
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Flushes the underlying stream only, the data of the current batch is compressed once the
+     * batch is full or the stream is closed.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            // the blocks before the current one are full, an empty stream is written as one
+            // empty member because gzip requires at least one
+            if (lengths[current] > 0 || !written) {
+                compressBatch(current + 1);
+            }
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+    }
+
+    private byte[] block() {
+        byte[] block = blocks[current];
+        if (block == null) {
+            block = new byte[BLOCK_SIZE];
+            blocks[current] = block;
+        }
+        return block;
+    }
+
+    private void nextBlock() throws IOException {
+        if (current == blocks.length - 1) {
+            compressBatch(blocks.length);
+        } else {
+            current++;
+        }
+    }
+
+    private void compressBatch(int count) throws IOException {
+        ParallelWorkers.forEachChunk(count, 1, (index, from, to) -> compressBlock(index));
+        for (int i = 0; i < count; i++) {
+            out.write(members[i], 0, memberLengths[i]);
+            lengths[i] = 0;
+        }
+        current = 0;
+        written = true;
+    }
+
+    /**
+     * Compresses the block with the given index into a complete gzip member. Runs on the workers,
+     * so it only touches the arrays of this block.
+     */
+    private void compressBlock(int index) {
+        byte[] data = blocks[index] == null ? new byte[0] : blocks[index];
+        int length = lengths[index];
+        // the deflate output can be slightly larger than the input for incompressible data
+        int capacity = HEADER.length + length + (length >> 12) + 64 + TRAILER_SIZE;
+        byte[] member = members[index];
+        if (member == null || member.length < capacity) {
+            member = new byte[capacity];
+            members[index] = member;
+        }
+        System.arraycopy(HEADER, 0, member, 0, HEADER.length);
+        int size = HEADER.length;
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (size == member.length - TRAILER_SIZE) {
+                    member = Arrays.copyOf(member, member.length * 2);
+                    members[index] = member;
+                }
+                size += deflater.deflate(member, size, member.length - TRAILER_SIZE - size);
+            }
+        } finally {
+            deflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        size = putIntLE(member, size, (int) crc.getValue());
+        size = putIntLE(member, size, length);
+        memberLengths[index] = size;
+    }
+
+    private static int putIntLE(byte[] buf, int offset, int value) {
+        buf[offset] = (byte) value;
+        buf[offset + 1] = (byte) (value >> 8);
+        buf[offset + 2] = (byte) (value >> 16);
+        buf[offset + 3] = (byte) (value >> 24);
+        return offset + 4;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
 import java.util.EnumSet;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -209,6 +210,30 @@ public interface RConnection extends AutoCloseable {
      */
     int readBin(ByteBuffer buffer) throws IOException;
 
+    /**
+     * Internal connection-specific support for the {@code readBin} builtin on large amounts of
+     * data. Returns a read-only buffer with at most {@code bytes} bytes following the current
+     * position, which is advanced past them, or {@code null} if the connection cannot provide such
+     * a view, in which case {@link #readBin(ByteBuffer)} has to be used. An empty buffer denotes
+     * EOS.
+     */
+    ByteBuffer readBinView(int bytes) throws IOException;
+
+    /**
+     * Internal support for unserializing large vectors lazily. Returns a channel on the file read
+     * by this binary connection that can be memory mapped, or {@code null} if the connection does
+     * not read a plain uncompressed file. The channel belongs to the connection and must only be
+     * used for mapping, the position of the connection is given by {@link #seek}.
+     */
+    FileChannel getMappableChannel() throws IOException;
+
+    /**
+     * The canonical path of the file returned by {@link #getMappableChannel()}, which identifies
+     * the regions mapped from the file, see {@code MappedFileRegion.detachFile}. May be
+     * {@code null} if the path cannot be determined.
+     */
+    String getMappableFile() throws IOException;
+
     /**
      * Internal connection-specific support for the {@code readBin} builtin on character data.
      * character data is null-terminated and, therefore of length unknown to the caller. The result
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,7 @@ import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 
 import com.oracle.truffle.r.runtime.RError;
@@ -219,9 +220,19 @@ public class TextConnections {
         }
     }
 
+    /**
+     * The lines written to the connection are collected in a buffer that grows by doubling, the
+     * variable is rebound to a view of the buffer after every write (see
+     * {@link RDataFactory#createStringVectorView}). Writing {@code n} lines therefore takes
+     * {@code O(n)} time in total, the lines are copied into an ordinary vector only if the value of
+     * the variable is modified.
+     */
     private static class TextWriteRConnection extends DelegateWriteRConnection implements GetConnectionValue {
-        private String incompleteLine;
-        private RStringVector textVec;
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final StringBuilder incompleteLine = new StringBuilder();
+        private String[] lineBuffer = new String[INITIAL_CAPACITY];
+        private int lineCount;
         private String idName;
         private RStringVector object;
 
@@ -235,8 +246,7 @@ public class TextConnections {
             } else {
                 idName = object.getDataAt(0);
                 try {
-                    textVec = v;
-                    textBase.env.put(idName, textVec);
+                    textBase.env.put(idName, v);
                 } catch (PutException ex) {
                     throw RError.error(RError.SHOW_CALLER2, ex);
                 }
@@ -261,10 +271,11 @@ public class TextConnections {
         @Override
         public void closeAndDestroy() throws IOException {
             /* Check if we ended up with an incomplete line */
-            if (incompleteLine != null) {
-                appendData(new String[]{incompleteLine});
-                incompleteLine = null;
+            if (incompleteLine.length() > 0) {
+                addLine(incompleteLine.toString());
+                incompleteLine.setLength(0);
                 base.setIncomplete(false);
+                updateTextVec();
             }
             base.closed = true;
             TextRConnection textBase = (TextRConnection) base;
@@ -284,59 +295,43 @@ public class TextConnections {
         private void writeStringInternal(String result) {
             int nlIndex;
             int px = 0;
-            boolean endOfLine = false;
-            ArrayList<String> appendedLines = new ArrayList<>();
+            int previousCount = lineCount;
             while ((nlIndex = result.indexOf('\n', px)) >= 0) {
-                if (incompleteLine != null) {
-                    appendedLines.add(new StringBuilder(incompleteLine).append(result.substring(px, nlIndex)).toString());
-                    incompleteLine = null;
-                    base.setIncomplete(false);
+                if (incompleteLine.length() > 0) {
+                    addLine(incompleteLine.append(result, px, nlIndex).toString());
+                    incompleteLine.setLength(0);
                 } else {
-                    appendedLines.add(result.substring(px, nlIndex));
+                    addLine(result.substring(px, nlIndex));
                 }
-                nlIndex++;
-                px = nlIndex;
-                endOfLine = true;
+                px = nlIndex + 1;
             }
-            if (incompleteLine != null && !endOfLine) {
-                // end of line not found - accumulate incomplete line
-                incompleteLine = new StringBuilder(incompleteLine).append(result).toString();
-                base.setIncomplete(true);
-            } else if (px < result.length()) {
-                // only reset incompleteLine if
-                incompleteLine = result.substring(px);
-                base.setIncomplete(true);
+            if (px < result.length()) {
+                // accumulate the incomplete line
+                incompleteLine.append(result, px, result.length());
             }
-            if (appendedLines.size() > 0) {
-                // update the vector data
-                String[] appendedData = new String[appendedLines.size()];
-                appendedLines.toArray(appendedData);
-                appendData(appendedData);
+            base.setIncomplete(incompleteLine.length() > 0);
+            if (lineCount > previousCount) {
+                updateTextVec();
             }
         }
 
-        void appendData(String[] appendedData) {
-            String[] updateData = appendedData;
-            if (textVec != null && textVec.getLength() > 0) {
-                String[] existingData = textVec.getReadonlyStringData();
-                updateData = new String[existingData.length + appendedData.length];
-                System.arraycopy(existingData, 0, updateData, 0, existingData.length);
-                System.arraycopy(appendedData, 0, updateData, existingData.length, appendedData.length);
+        private void addLine(String line) {
+            if (lineCount == lineBuffer.length) {
+                // the views created so far keep the old buffer
+                lineBuffer = Arrays.copyOf(lineBuffer, lineBuffer.length * 2);
             }
+            lineBuffer[lineCount++] = line;
+        }
+
+        private void updateTextVec() {
             TextRConnection textBase = (TextRConnection) base;
             unlockBinding(textBase);
-            // TODO: is vector really complete?
-            initTextVec(RDataFactory.createStringVector(updateData, RDataFactory.COMPLETE_VECTOR), textBase);
+            initTextVec(RDataFactory.createStringVectorView(lineBuffer, lineCount), textBase);
         }
 
         @Override
         public void writeLines(RStringVector lines, String sep, boolean useBytes) throws IOException {
             StringBuilder sb = new StringBuilder();
-            if (incompleteLine != null) {
-                sb.append(incompleteLine);
-                incompleteLine = null;
-                base.setIncomplete(false);
-            }
             for (int i = 0; i < lines.getLength(); i++) {
                 sb.append(lines.getDataAt(i));
                 sb.append(sep);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -126,6 +126,28 @@ public class FastROptions {
     public static final OptionKey<String> AdditionalOptions = new OptionKey<>("");
     @Option(category = OptionCategory.INTERNAL, usageSyntax = "[0, inf)", help = "Enables timeout (in seconds) when receiving messages from a channel.") //
     public static final OptionKey<Integer> ChannelReceiveTimeout = new OptionKey<>(0);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[1, inf)", help = "Number of messages that can be in flight in each direction of a channel used by parallel contexts.") //
+    public static final OptionKey<Integer> ChannelQueueCapacity = new OptionKey<>(1);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Minimal length of vectors for which element-wise operations are split among multiple threads, 0 disables the parallel execution.") //
+    public static final OptionKey<Integer> ParallelVectorThreshold = new OptionKey<>(1 << 20);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Number of threads used by parallel vector operations, 0 means the number of available processors.") //
+    public static final OptionKey<Integer> ParallelThreads = new OptionKey<>(0);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Minimal number of multiply-add operations of a matrix product for which the result blocks are computed by multiple threads, 0 disables the parallel execution.") //
+    public static final OptionKey<Integer> ParallelMatrixThreshold = new OptionKey<>(1 << 24);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Minimal number of bytes read at once by readBin from a file connection for which the file is memory mapped instead of copied into a buffer, 0 disables memory mapping.") //
+    public static final OptionKey<Integer> MemoryMappedReadThreshold = new OptionKey<>(1 << 20);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Number of 128KB blocks collected and then compressed together on the parallel vector operation threads when writing gzip connections (gzfile, saveRDS, save). The number of threads is given by ParallelThreads, this option only sets the size of a batch. 0 means as many blocks as there are threads, 1 disables the parallel compression.") //
+    public static final OptionKey<Integer> ParallelCompressionBlocks = new OptionKey<>(1);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Maximal total size in bytes of the decoded lazy-load database records cached in every context, 0 disables the cache.") //
+    public static final OptionKey<Integer> LazyLoadCacheSize = new OptionKey<>(16 << 20);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Minimal length of integer and double vectors that unserialize and readRDS leave in the memory mapped file when reading an uncompressed file, their elements are read on demand. 0 disables the lazy vectors.") //
+    public static final OptionKey<Integer> LazyVectorThreshold = new OptionKey<>(0);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Minimal length of character vectors that unserialize and readRDS store as the Latin-1 bytes of all the elements in one array instead of an array of strings if all the elements are Latin-1. 0 disables the compact vectors.") //
+    public static final OptionKey<Integer> CompactStringThreshold = new OptionKey<>(0);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Maximal number of compiled regular expressions cached in every context for grep, sub, regexpr, strsplit and the other regular expression functions, 0 disables the cache.") //
+    public static final OptionKey<Integer> RegexCacheSize = new OptionKey<>(256);
+    @Option(category = OptionCategory.EXPERT, help = "Run the regular expressions of grep and grepl that are neither perl nor fixed on the TRegex engine if it supports them.") //
+    public static final OptionKey<Boolean> UseTRegex = new OptionKey<>(true);
     @Option(category = OptionCategory.EXPERT, help = "Restrict force splitting of call targets.") //
     public static final OptionKey<Boolean> RestrictForceSplitting = new OptionKey<>(true);
     @Option(category = OptionCategory.INTERNAL, help = "Turn on explicit GC via the gc built-in. Otherwise calls to gc are ignored.") //
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -96,6 +96,7 @@ import com.oracle.truffle.r.runtime.RProfile;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RRuntimeASTAccess;
 import com.oracle.truffle.r.runtime.RSerialize;
+import com.oracle.truffle.r.runtime.RegexCache;
 import com.oracle.truffle.r.runtime.ReturnException;
 import com.oracle.truffle.r.runtime.SuppressFBWarnings;
 import com.oracle.truffle.r.runtime.TempPathName;
@@ -300,6 +301,12 @@ public final class RContext {
      */
     private boolean loadingBase;
 
+    /**
+     * The number of threads of the parallel vector operations set from R, {@code 0} means the value
+     * of {@link FastROptions#ParallelThreads}. Not worth promoting to a {@link ContextState}.
+     */
+    private int parallelThreads;
+
     /**
      * At most one shared child.
      */
@@ -376,10 +383,12 @@ public final class RContext {
     public final RRNG.ContextStateImpl stateRNG;
     public final RSerialize.ContextStateImpl stateRSerialize;
     public final LazyDBCache.ContextStateImpl stateLazyDBCache;
+    public final RegexCache.ContextStateImpl stateRegexCache;
     public final InstrumentationState stateInstrumentation;
     public final ContextStateImpl stateInternalCode;
     public final DLL.ContextStateImpl stateDLL;
     public final GCTortureState gcTorture;
+    public final WorkerContextPool stateWorkerPool;
     public volatile EventLoopState eventLoopState;
     public final AltRepContext altRepContext;
 
@@ -409,8 +418,8 @@ public final class RContext {
 
     private ContextState[] contextStates() {
         return new ContextState[]{stateREnvVars, stateRLocale, stateRProfile, stateTempPath, stateROptions, stateREnvironment, stateRErrorHandling, stateRConnection, stateStdConnections, stateRNG,
-                        stateRFFI,
-                        stateRSerialize, stateLazyDBCache, stateInstrumentation, stateDLL, stateglobalNativeVar};
+                        stateRegexCache, stateRFFI,
+                        stateRSerialize, stateLazyDBCache, stateInstrumentation, stateDLL, stateglobalNativeVar, stateWorkerPool};
     }
 
     public static void setEmbedded() {
@@ -495,6 +504,7 @@ public final class RContext {
         this.stateRNG = RRNG.ContextStateImpl.newContextState();
         this.stateRSerialize = RSerialize.ContextStateImpl.newContextState();
         this.stateLazyDBCache = LazyDBCache.ContextStateImpl.newContextState();
+        this.stateRegexCache = RegexCache.ContextStateImpl.newContextState();
         this.stateInstrumentation = InstrumentationState.newContextState(instrumenter);
         this.stateInternalCode = ContextStateImpl.newContextState();
         this.stateDLL = DLL.ContextStateImpl.newContextState();
@@ -502,6 +512,7 @@ public final class RContext {
         this.rffiUpCallTargets = new RFFIUpCallTargets();
 
         this.gcTorture = GCTortureState.newContextState();
+        this.stateWorkerPool = WorkerContextPool.newContextState();
         this.altRepContext = AltRepContext.newContextState();
         this.stateglobalNativeVar = GlobalNativeVarContext.newContextState(this);
         this.engine = RContext.getRRuntimeASTAccess().createEngine(this);
@@ -1018,6 +1029,14 @@ public final class RContext {
         return loadingBase;
     }
 
+    public int getParallelThreads() {
+        return parallelThreads;
+    }
+
+    public void setParallelThreads(int count) {
+        parallelThreads = count;
+    }
+
     public String getNamespaceName() {
         return nameSpaceName;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -69,7 +69,7 @@ import com.oracle.truffle.r.runtime.interop.Foreign2R;
         contextPolicy = ContextPolicy.EXCLUSIVE,
         interactive = true,
         fileTypeDetectors = RFileTypeDetector.class,
-        dependentLanguages = "llvm",
+        dependentLanguages = {"llvm", "regex"},
         website = "https://www.graalvm.org/r"
 )
 @ProvidedTags({
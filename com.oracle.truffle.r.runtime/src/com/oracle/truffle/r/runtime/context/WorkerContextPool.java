@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.context;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RChannel;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.env.REnvironment;
+
+/**
+ * A pool of long-lived child contexts ("workers") that SHARED clusters, and therefore
+ * {@code mclapply}, borrow instead of spawning and stopping fresh contexts on every call. A worker
+ * is a context running {@code parallel:::slaveLoop} and is identified by its context id and by the
+ * id of the primary end of the channel it listens on. Spawning workers and resetting their state
+ * between tasks is done on the R side (see {@code forkcluster_overrides.R}), this class only keeps
+ * the bookkeeping and shuts the idle workers down when the owning context is finalized.
+ */
+public final class WorkerContextPool implements RContext.ContextState {
+
+    /**
+     * Workers that are currently not borrowed by any cluster, each represented as
+     * {@code {contextId, channelId}}.
+     */
+    private final ArrayDeque<int[]> idle = new ArrayDeque<>();
+
+    /**
+     * All workers owned by the pool (idle or borrowed), maps context id to channel id.
+     */
+    private final Map<Integer, Integer> members = new HashMap<>();
+
+    /**
+     * The maximal number of idle workers kept alive, grows to the largest number of workers
+     * requested at once (i.e., {@code mc.cores}).
+     */
+    private int capacity;
+    private int spawnedCount;
+    private int reusedCount;
+
+    private WorkerContextPool() {
+    }
+
+    public static WorkerContextPool newContextState() {
+        return new WorkerContextPool();
+    }
+
+    /**
+     * Borrows up to {@code n} idle workers. The result has two rows, the first one contains the
+     * context ids and the second one the channel ids of the borrowed workers. Fewer than {@code n}
+     * workers are returned if there are not enough idle ones, the caller is expected to spawn and
+     * {@link #register} the rest.
+     */
+    @TruffleBoundary
+    public synchronized int[][] acquire(RContext context, int n) {
+        capacity = Math.max(capacity, n);
+        int count = 0;
+        int[] contextIds = new int[Math.min(n, idle.size())];
+        int[] channelIds = new int[contextIds.length];
+        while (count < contextIds.length && !idle.isEmpty()) {
+            int[] worker = idle.poll();
+            if (context.threads.get(worker[0]) == null) {
+                // the worker's thread is gone (e.g., it was interrupted), forget about it
+                members.remove(worker[0]);
+                continue;
+            }
+            contextIds[count] = worker[0];
+            channelIds[count] = worker[1];
+            count++;
+        }
+        reusedCount += count;
+        if (count < contextIds.length) {
+            int[] contextIdsTmp = new int[count];
+            int[] channelIdsTmp = new int[count];
+            System.arraycopy(contextIds, 0, contextIdsTmp, 0, count);
+            System.arraycopy(channelIds, 0, channelIdsTmp, 0, count);
+            contextIds = contextIdsTmp;
+            channelIds = channelIdsTmp;
+        }
+        return new int[][]{contextIds, channelIds};
+    }
+
+    /**
+     * Makes a freshly spawned (and currently borrowed) worker a member of the pool.
+     */
+    @TruffleBoundary
+    public synchronized void register(int contextId, int channelId) {
+        if (members.containsKey(contextId)) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "context is already a member of the worker pool");
+        }
+        members.put(contextId, channelId);
+        spawnedCount++;
+    }
+
+    /**
+     * Returns a borrowed worker to the pool. Returns {@code false} if the pool cannot take the
+     * worker back (it is not a member or the pool is full), in which case the caller is responsible
+     * for stopping it.
+     */
+    @TruffleBoundary
+    public synchronized boolean release(RContext context, int contextId, int channelId) {
+        Integer memberChannel = members.get(contextId);
+        if (memberChannel == null || memberChannel != channelId) {
+            return false;
+        }
+        if (idle.size() >= capacity || context.threads.get(contextId) == null) {
+            members.remove(contextId);
+            return false;
+        }
+        idle.push(new int[]{contextId, channelId});
+        return true;
+    }
+
+    /**
+     * Returns {@code {capacity, idle, spawned, reused}}.
+     */
+    public synchronized int[] getStats() {
+        return new int[]{capacity, idle.size(), spawnedCount, reusedCount};
+    }
+
+    @Override
+    public void beforeFinalize(RContext context) {
+        shutdown(context);
+    }
+
+    @TruffleBoundary
+    private synchronized void shutdown(RContext context) {
+        if (idle.isEmpty()) {
+            return;
+        }
+        // same message as parallel:::postNode(node, "DONE") sends
+        Object done = RDataFactory.createList(new Object[]{"DONE", RNull.instance, RNull.instance}, RDataFactory.createStringVector(new String[]{"type", "data", "tag"}, true));
+        int[] multiSlotIndices = new int[idle.size()];
+        int i = 0;
+        for (Iterator<int[]> it = idle.iterator(); it.hasNext(); i++) {
+            int[] worker = it.next();
+            Thread thread = context.threads.get(worker[0]);
+            Integer multiSlotIndex = EvalThread.idToMultiSlotTable.remove(worker[0]);
+            if (multiSlotIndex != null) {
+                multiSlotIndices[i] = multiSlotIndex;
+            }
+            if (thread == null) {
+                continue;
+            }
+            try {
+                RChannel.send(worker[1], done);
+                thread.join();
+            } catch (RError | InterruptedException e) {
+                // the worker is not responsive, nothing else we can do at this point
+            }
+        }
+        if (EvalThread.threadCnt.get() == 0) {
+            REnvironment.cleanupSearchpathFromMultiSlot();
+        } else {
+            REnvironment.cleanupSearchpathFromMultiSlot(multiSlotIndices);
+        }
+        idle.clear();
+        members.clear();
+    }
+}
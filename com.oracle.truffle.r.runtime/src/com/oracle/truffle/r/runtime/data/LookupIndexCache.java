@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+/**
+ * Vector data that can remember a lookup index (e.g., the hash table built by {@code match}) over
+ * their elements, so that repeated lookups into the same unchanged vector do not rebuild it. The
+ * index is dropped by every write to the data, the owner of the index only has to check that the
+ * cached object is of the expected kind.
+ */
+public interface LookupIndexCache {
+
+    /**
+     * Returns the cached index or {@code null} if there is none or the data were modified since it
+     * was set.
+     */
+    Object getLookupIndex();
+
+    void setLookupIndex(Object index);
+
+    /**
+     * Holds a published index. The data may be shared by several contexts and therefore read by
+     * several threads, the final field guarantees that a thread that sees the entry also sees the
+     * index fully built, even though the field holding the entry is not volatile (which would make
+     * every write to the data slower).
+     */
+    final class Entry {
+        private final Object index;
+
+        public Entry(Object index) {
+            this.index = index;
+        }
+
+        public static Object getIndex(Entry entry) {
+            return entry == null ? null : entry.index;
+        }
+    }
+}
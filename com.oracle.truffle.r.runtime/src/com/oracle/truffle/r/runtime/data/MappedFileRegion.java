@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * A read-only, memory mapped region of a file, which may be larger than a single
+ * {@link ByteBuffer}. The region is mapped in segments of {@code 2^30} bytes, numbers at offsets
+ * (relative to the start of the region) that are multiples of their size therefore never cross a
+ * segment boundary.
+ *
+ * The mapping stays valid after the channel it was created from is closed and is released once the
+ * region is garbage collected. Truncating the file would make the accesses to the mapping fault,
+ * therefore the regions of a file are copied to the heap by {@link #detachFile} before the file is
+ * opened for writing. The contents of a region never change and it can be shared between threads.
+ */
+public final class MappedFileRegion {
+
+    private static final int SEGMENT_SHIFT = 30;
+
+    /**
+     * The regions mapped from each file, by the canonical path of the file.
+     */
+    private static final Map<String, ArrayList<WeakReference<MappedFileRegion>>> regions = new HashMap<>();
+
+    private final int segmentShift;
+    private final long segmentMask;
+    private final ByteOrder order;
+    private final long size;
+
+    /**
+     * The segments are replaced by heap copies when the region is detached, see {@link #detach()}.
+     */
+    private volatile ByteBuffer[] segments;
+
+    private MappedFileRegion(ByteBuffer[] segments, int segmentShift, ByteOrder order, long size) {
+        this.segments = segments;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        this.order = order;
+        this.size = size;
+    }
+
+    /**
+     * Maps {@code size} bytes of the file starting at {@code position}, the numbers are read in the
+     * given byte order. The region is registered under {@code file}, the canonical path of the
+     * file, unless it is {@code null}.
+     */
+    public static MappedFileRegion map(FileChannel channel, String file, long position, long size, ByteOrder order) throws IOException {
+        return map(channel, file, position, size, order, SEGMENT_SHIFT);
+    }
+
+    /**
+     * As {@link #map(FileChannel, String, long, long, ByteOrder)}, but with segments of
+     * {@code 2^segmentShift} bytes. Only tests should need a segment size other than the default.
+     */
+    @TruffleBoundary
+    public static MappedFileRegion map(FileChannel channel, String file, long position, long size, ByteOrder order, int segmentShift) throws IOException {
+        long segmentSize = 1L << segmentShift;
+        int count = (int) ((size + segmentSize - 1) >>> segmentShift);
+        ByteBuffer[] segments = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << segmentShift;
+            segments[i] = channel.map(MapMode.READ_ONLY, position + start, Math.min(segmentSize, size - start)).order(order);
+        }
+        MappedFileRegion region = new MappedFileRegion(segments, segmentShift, order, size);
+        if (file != null) {
+            synchronized (regions) {
+                ArrayList<WeakReference<MappedFileRegion>> list = regions.computeIfAbsent(file, k -> new ArrayList<>());
+                list.removeIf(ref -> ref.get() == null);
+                list.add(new WeakReference<>(region));
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Copies all the live regions mapped from {@code file}, the canonical path of the file, to the
+     * heap. This must be called before the file is opened for writing, so that the vectors left
+     * in the file by a lazy unserialize survive overwriting or truncating it.
+     */
+    @TruffleBoundary
+    public static void detachFile(String file) {
+        ArrayList<WeakReference<MappedFileRegion>> list;
+        synchronized (regions) {
+            list = regions.remove(file);
+        }
+        if (list != null) {
+            for (WeakReference<MappedFileRegion> ref : list) {
+                MappedFileRegion region = ref.get();
+                if (region != null) {
+                    region.detach();
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the mapped segments by copies on the heap. Concurrent readers see either the mapped
+     * or the copied segments, which hold the same data.
+     */
+    @TruffleBoundary
+    public synchronized void detach() {
+        ByteBuffer[] mapped = segments;
+        ByteBuffer[] copies = new ByteBuffer[mapped.length];
+        for (int i = 0; i < mapped.length; i++) {
+            if (mapped[i] instanceof MappedByteBuffer) {
+                int length = mapped[i].limit();
+                copies[i] = ByteBuffer.allocate(length).order(order).put(0, mapped[i], 0, length);
+            } else {
+                copies[i] = mapped[i];
+            }
+        }
+        segments = copies;
+    }
+
+    /**
+     * Returns {@code true} if the region is still backed by the file.
+     */
+    public boolean isMapped() {
+        ByteBuffer[] current = segments;
+        return current.length > 0 && current[0] instanceof MappedByteBuffer;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public byte getByte(long offset) {
+        return segments[(int) (offset >>> segmentShift)].get((int) (offset & segmentMask));
+    }
+
+    public int getInt(long offset) {
+        return segments[(int) (offset >>> segmentShift)].getInt((int) (offset & segmentMask));
+    }
+
+    public double getDouble(long offset) {
+        return segments[(int) (offset >>> segmentShift)].getDouble((int) (offset & segmentMask));
+    }
+
+    /**
+     * Copies {@code count} bytes starting at {@code offset} into {@code dst}.
+     */
+    @TruffleBoundary
+    public void getBytes(long offset, byte[] dst, int from, int count) {
+        ByteBuffer[] current = segments;
+        long pos = offset;
+        int done = 0;
+        while (done < count) {
+            ByteBuffer segment = current[(int) (pos >>> segmentShift)];
+            int index = (int) (pos & segmentMask);
+            int n = Math.min(count - done, segment.limit() - index);
+            segment.get(index, dst, from + done, n);
+            done += n;
+            pos += n;
+        }
+    }
+
+    /**
+     * Converts {@code count} integers starting at {@code offset} into {@code dst}.
+     */
+    @TruffleBoundary
+    public void getInts(long offset, int[] dst, int from, int count) {
+        ByteBuffer[] current = segments;
+        long pos = offset;
+        int done = 0;
+        while (done < count) {
+            ByteBuffer segment = current[(int) (pos >>> segmentShift)];
+            int index = (int) (pos & segmentMask);
+            int n = Math.min(count - done, (segment.limit() - index) / Integer.BYTES);
+            // duplicates are always big endian, the order has to be set again
+            segment.duplicate().order(order).position(index).asIntBuffer().get(dst, from + done, n);
+            done += n;
+            pos += (long) n * Integer.BYTES;
+        }
+    }
+
+    /**
+     * Converts {@code count} doubles starting at {@code offset} into {@code dst}.
+     */
+    @TruffleBoundary
+    public void getDoubles(long offset, double[] dst, int from, int count) {
+        ByteBuffer[] current = segments;
+        long pos = offset;
+        int done = 0;
+        while (done < count) {
+            ByteBuffer segment = current[(int) (pos >>> segmentShift)];
+            int index = (int) (pos & segmentMask);
+            int n = Math.min(count - done, (segment.limit() - index) / Double.BYTES);
+            segment.duplicate().order(order).position(index).asDoubleBuffer().get(dst, from + done, n);
+            done += n;
+            pos += (long) n * Double.BYTES;
+        }
+    }
+}
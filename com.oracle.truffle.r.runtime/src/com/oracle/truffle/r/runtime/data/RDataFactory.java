@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -791,6 +791,39 @@ public final class RDataFactory {
         }
     }
 
+    /**
+     * Creates a new vector without attributes (the caller is expected to initialize them) that
+     * shares (does not copy) the managed data of given atomic vector. Both vectors are made shared
+     * permanent, so that any later update of either of them copies the data first. Returns
+     * {@code null} if the data of the vector cannot be shared this way, e.g., when it lives in
+     * native memory or is ALTREP.
+     */
+    @TruffleBoundary
+    public static RAbstractVector createSharedDataView(RAbstractVector vector) {
+        Object data = vector.getData();
+        int length = vector.getLength();
+        RAbstractVector result;
+        if (data instanceof RIntArrayVectorData) {
+            result = new RIntVector(data, length);
+        } else if (data instanceof RDoubleArrayVectorData) {
+            result = new RDoubleVector(data, length);
+        } else if (data instanceof RLogicalArrayVectorData) {
+            result = new RLogicalVector(data, length);
+        } else if (data instanceof RRawArrayVectorData) {
+            result = new RRawVector(data, length);
+        } else if (data instanceof RComplexArrayVectorData) {
+            result = new RComplexVector(data, length);
+        } else if (data instanceof RStringArrayVectorData) {
+            result = new RStringVector(data, length);
+        } else {
+            return null;
+        }
+        result.setTypedValueInfo(vector.getTypedValueInfo());
+        vector.makeSharedPermanent();
+        result.makeSharedPermanent();
+        return traceDataCreated(result);
+    }
+
     public static RIntVector createIntVectorFromNative(long address, int length) {
         return traceDataCreated(RIntVector.fromNative(address, length));
     }
@@ -1067,6 +1100,36 @@ public final class RDataFactory {
         return traceDataCreated(RDoubleVector.createSequence(start, stride, length));
     }
 
+    /**
+     * Creates a vector whose elements are read on demand from the given memory mapped region.
+     */
+    public static RIntVector createMappedIntVector(MappedFileRegion region, int length) {
+        return traceDataCreated(RIntVector.createMapped(region, length));
+    }
+
+    /**
+     * Creates a vector whose elements are read on demand from the given memory mapped region.
+     */
+    public static RDoubleVector createMappedDoubleVector(MappedFileRegion region, int length) {
+        return traceDataCreated(RDoubleVector.createMapped(region, length));
+    }
+
+    /**
+     * Creates a vector of the first {@code length} elements of the given buffer. The buffer may be
+     * appended to afterwards, but these elements must not be modified.
+     */
+    public static RStringVector createStringVectorView(String[] buffer, int length) {
+        return traceDataCreated(RStringVector.createBufferView(buffer, length));
+    }
+
+    /**
+     * Creates a vector of the strings collected by the builder, see
+     * {@link RStringCompactVectorData}.
+     */
+    public static RStringVector createCompactStringVector(RStringCompactVectorData.Builder builder) {
+        return traceDataCreated(RStringVector.createCompact(builder.build()));
+    }
+
     public static RIntVector createEmptyIntVector() {
         return createIntVector(new int[0], true);
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -44,9 +44,10 @@ import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqWriteIterator;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 
 @ExportLibrary(VectorDataLibrary.class)
-public class RDoubleArrayVectorData implements TruffleObject, ShareableVectorData {
+public class RDoubleArrayVectorData implements TruffleObject, ShareableVectorData, LookupIndexCache {
     private final double[] data;
     private boolean complete;
+    private LookupIndexCache.Entry lookupIndex;
 
     public RDoubleArrayVectorData(double[] data, boolean complete) {
         this.data = data;
@@ -155,15 +156,27 @@ public class RDoubleArrayVectorData implements TruffleObject, ShareableVectorDat
         return value;
     }
 
+    @Override
+    public Object getLookupIndex() {
+        return LookupIndexCache.Entry.getIndex(lookupIndex);
+    }
+
+    @Override
+    public void setLookupIndex(Object index) {
+        lookupIndex = new LookupIndexCache.Entry(index);
+    }
+
     // Write access to the elements:
 
     @ExportMessage
     public SeqWriteIterator writeIterator() {
+        lookupIndex = null;
         return new SeqWriteIterator(data, data.length);
     }
 
     @ExportMessage
     public RandomAccessWriteIterator randomAccessWriteIterator() {
+        lookupIndex = null;
         return new RandomAccessWriteIterator(data);
     }
 
@@ -179,6 +192,7 @@ public class RDoubleArrayVectorData implements TruffleObject, ShareableVectorDat
     }
 
     private void commitWrites(boolean neverSeenNA, BranchProfile setCompleteProfile) {
+        lookupIndex = null;
         if (!neverSeenNA) {
             setCompleteProfile.enter();
             complete = false;
@@ -187,6 +201,7 @@ public class RDoubleArrayVectorData implements TruffleObject, ShareableVectorDat
 
     @ExportMessage
     public void setDoubleAt(int index, double value, @Shared("setCompleteProfile") @Cached BranchProfile setCompleteProfile) {
+        lookupIndex = null;
         data[index] = value;
         if (RRuntime.isNA(value)) {
             setCompleteProfile.enter();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -89,6 +89,10 @@ public final class RDoubleVector extends RAbstractNumericVector implements RMate
         return new RDoubleVector(new RDoubleSeqVectorData(start, stride, length), length);
     }
 
+    public static RDoubleVector createMapped(MappedFileRegion region, int length) {
+        return new RDoubleVector(new RDoubleMappedVectorData(region, length), length);
+    }
+
     public static RDoubleVector createClosure(RAbstractVector delegate, boolean keepAttrs) {
         RDoubleVector result = new RDoubleVector(VectorDataClosure.fromVector(delegate, RType.Double), delegate.getLength());
         if (keepAttrs) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -44,9 +44,10 @@ import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqWriteIterator;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 
 @ExportLibrary(VectorDataLibrary.class)
-public class RIntArrayVectorData implements TruffleObject, ShareableVectorData {
+public class RIntArrayVectorData implements TruffleObject, ShareableVectorData, LookupIndexCache {
     private final int[] data;
     private boolean complete;
+    private LookupIndexCache.Entry lookupIndex;
 
     public RIntArrayVectorData(int[] data, boolean complete) {
         this.data = data;
@@ -156,15 +157,27 @@ public class RIntArrayVectorData implements TruffleObject, ShareableVectorData {
         return value;
     }
 
+    @Override
+    public Object getLookupIndex() {
+        return LookupIndexCache.Entry.getIndex(lookupIndex);
+    }
+
+    @Override
+    public void setLookupIndex(Object index) {
+        lookupIndex = new LookupIndexCache.Entry(index);
+    }
+
     // Write access to the elements:
 
     @ExportMessage
     public SeqWriteIterator writeIterator() {
+        lookupIndex = null;
         return new SeqWriteIterator(data, data.length);
     }
 
     @ExportMessage
     public RandomAccessWriteIterator randomAccessWriteIterator() {
+        lookupIndex = null;
         return new RandomAccessWriteIterator(data);
     }
 
@@ -180,6 +193,7 @@ public class RIntArrayVectorData implements TruffleObject, ShareableVectorData {
     }
 
     private void commitWrites(boolean neverSeenNA, @Cached BranchProfile setCompleteProfile) {
+        lookupIndex = null;
         if (!neverSeenNA) {
             setCompleteProfile.enter();
             complete = false;
@@ -188,6 +202,7 @@ public class RIntArrayVectorData implements TruffleObject, ShareableVectorData {
 
     @ExportMessage
     public void setIntAt(int index, int value, @Shared("setCompleteProfile") @Cached BranchProfile setCompleteProfile) {
+        lookupIndex = null;
         data[index] = value;
         if (RRuntime.isNA(value)) {
             setCompleteProfile.enter();
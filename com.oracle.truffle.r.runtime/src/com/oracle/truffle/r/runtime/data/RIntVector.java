@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -95,6 +95,10 @@ public final class RIntVector extends RAbstractNumericVector {
         return new RIntVector(new RIntSeqVectorData(start, stride, length), length);
     }
 
+    public static RIntVector createMapped(MappedFileRegion region, int length) {
+        return new RIntVector(new RIntMappedVectorData(region, length), length);
+    }
+
     @TruffleBoundary
     public static RIntVector createAltInt(AltIntegerClassDescriptor descriptor, RAltRepData altrepData) {
         RAltIntVectorData altIntVectorData = new RAltIntVectorData(descriptor, altrepData);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -164,6 +164,8 @@ public class RObjectSize {
             } else {
                 return OBJECT_HEADER_SIZE + seq.getStringAt(0).length() * CHAR_SIZE;
             }
+        } else if (obj instanceof RStringVector && ((RStringVector) obj).isCompact()) {
+            return OBJECT_HEADER_SIZE + ((RStringVector) obj).getCompact().getByteSize() + attributesSize;
         } else if (RRuntime.isSequence(obj)) {
             // count: start, stride, length
             return OBJECT_HEADER_SIZE + 2 * getElementSize((RAbstractVector) obj) + INT_SIZE + attributesSize;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -44,9 +44,10 @@ import java.util.Arrays;
 import static com.oracle.truffle.r.runtime.data.model.RAbstractVector.ENABLE_COMPLETE;
 
 @ExportLibrary(VectorDataLibrary.class)
-class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
+class RStringArrayVectorData implements TruffleObject, ShareableVectorData, LookupIndexCache {
     private final String[] data;
     private boolean complete;
+    private LookupIndexCache.Entry lookupIndex;
 
     RStringArrayVectorData(String[] data, boolean complete) {
         this.data = data;
@@ -169,15 +170,27 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
         return value;
     }
 
+    @Override
+    public Object getLookupIndex() {
+        return LookupIndexCache.Entry.getIndex(lookupIndex);
+    }
+
+    @Override
+    public void setLookupIndex(Object index) {
+        lookupIndex = new LookupIndexCache.Entry(index);
+    }
+
     // Write access to the elements:
 
     @ExportMessage
     public SeqWriteIterator writeIterator() {
+        lookupIndex = null;
         return new SeqWriteIterator(data, data.length);
     }
 
     @ExportMessage
     public RandomAccessWriteIterator randomAccessWriteIterator() {
+        lookupIndex = null;
         return new RandomAccessWriteIterator(data);
     }
 
@@ -193,6 +206,7 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
     }
 
     private void commitWrites(boolean neverSeenNA, @Cached BranchProfile setCompleteProfile) {
+        lookupIndex = null;
         if (!neverSeenNA) {
             setCompleteProfile.enter();
             complete = false;
@@ -201,6 +215,7 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
 
     @ExportMessage
     public void setStringAt(int index, String value, @Shared("setCompleteProfile") @Cached BranchProfile setCompleteProfile) {
+        lookupIndex = null;
         data[index] = value;
         if (RRuntime.isNA(value)) {
             setCompleteProfile.enter();
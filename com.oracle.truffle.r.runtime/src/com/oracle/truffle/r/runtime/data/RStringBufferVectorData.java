@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.profiles.LoopConditionProfile;
+import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.Iterator;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqIterator;
+import com.oracle.truffle.r.runtime.ops.na.NACheck;
+
+/**
+ * String vector data that are a view of the first {@code length} elements of an append-only
+ * buffer, which may be longer. The owner of the buffer only ever writes past the elements that are
+ * visible to the views, so a view can be created in constant time after every append instead of
+ * copying the buffer. Used for the variables of output text connections. The data are never
+ * written, writing into the vector materializes it first.
+ */
+@ExportLibrary(VectorDataLibrary.class)
+public class RStringBufferVectorData implements TruffleObject {
+    private final String[] buffer;
+    private final int length;
+
+    public RStringBufferVectorData(String[] buffer, int length) {
+        assert length <= buffer.length;
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public NACheck getNACheck() {
+        return NACheck.getDisabled();
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final RType getType() {
+        return RType.Character;
+    }
+
+    @ExportMessage
+    public int getLength() {
+        return length;
+    }
+
+    @ExportMessage
+    public RStringArrayVectorData materialize() {
+        return new RStringArrayVectorData(getStringDataCopy(), true);
+    }
+
+    @ExportMessage
+    public RStringCharSXPData materializeCharSXPStorage() {
+        return materialize().wrapStrings();
+    }
+
+    @ExportMessage
+    public RStringBufferVectorData copy(@SuppressWarnings("unused") boolean deep) {
+        // the visible elements never change and can be shared
+        return new RStringBufferVectorData(buffer, length);
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public boolean isComplete() {
+        // the lines of a connection are never NA
+        return true;
+    }
+
+    @ExportMessage
+    public String[] getStringDataCopy() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    // Read access to the elements:
+
+    @ExportMessage
+    public SeqIterator iterator(@Shared("SeqItLoopProfile") @Cached("createCountingProfile()") LoopConditionProfile loopProfile) {
+        SeqIterator it = new SeqIterator(buffer, length);
+        it.initLoopConditionProfile(loopProfile);
+        return it;
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public boolean nextImpl(SeqIterator it, boolean loopCondition,
+                    @Shared("SeqItLoopProfile") @Cached("createCountingProfile()") LoopConditionProfile loopProfile) {
+        return it.next(loopCondition, loopProfile);
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public void nextWithWrap(SeqIterator it,
+                    @Cached("createBinaryProfile()") ConditionProfile wrapProfile) {
+        it.nextWithWrap(wrapProfile);
+    }
+
+    @ExportMessage
+    public RandomAccessIterator randomAccessIterator() {
+        return new RandomAccessIterator(buffer);
+    }
+
+    @ExportMessage
+    public String getStringAt(int index) {
+        assert index < length;
+        return buffer[index];
+    }
+
+    @ExportMessage
+    public String getNextString(SeqIterator it) {
+        return getStore(it)[it.getIndex()];
+    }
+
+    @ExportMessage
+    public String getString(RandomAccessIterator it, int index) {
+        return getStore(it)[index];
+    }
+
+    private static String[] getStore(Iterator it) {
+        return (String[]) it.getStore();
+    }
+
+    @Override
+    public String toString() {
+        CompilerAsserts.neverPartOfCompilation();
+        return "buffer String[" + length + "]";
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.profiles.LoopConditionProfile;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqIterator;
+import com.oracle.truffle.r.runtime.ops.na.NACheck;
+
+/**
+ * String vector data whose elements only contain Latin-1 characters, stored as one byte per
+ * character in a single array shared by all the elements, the element {@code i} being the bytes
+ * from {@code offsets[i]} to {@code offsets[i + 1]}. This avoids the object header, the hash and
+ * the separate array of every {@link String}, which dominate the size of long vectors of short
+ * strings. The strings are only created when the elements are read, the size of the elements is
+ * available without that, see {@link #getCharCount(int)}, and so are the comparisons with a given
+ * string and the hash codes used by {@code ==} and {@code match}, see {@link #equals(int, String)}
+ * and {@link #hashCode(int)}. Created by {@link Builder}. The data are never written, writing into
+ * the vector materializes it first.
+ */
+@ExportLibrary(VectorDataLibrary.class)
+public class RStringCompactVectorData implements TruffleObject, LookupIndexCache {
+    private final byte[] bytes;
+    private final int[] offsets;
+    /**
+     * The indices of the NA elements, {@code null} if there are none.
+     */
+    private final BitSet na;
+    private final int length;
+    private LookupIndexCache.Entry lookupIndex;
+
+    private RStringCompactVectorData(byte[] bytes, int[] offsets, BitSet na, int length) {
+        assert offsets.length == length + 1 && offsets[length] <= bytes.length;
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.na = na;
+        this.length = length;
+    }
+
+    /**
+     * Collects the elements of a compact vector of a known length.
+     */
+    public static final class Builder {
+        private byte[] bytes;
+        private final int[] offsets;
+        private BitSet na;
+        private int count;
+
+        public Builder(int length) {
+            this.offsets = new int[length + 1];
+            // the typical elements are short codes, the array grows as needed
+            this.bytes = new byte[Math.max(16, Math.min(length, 1 << 16) * 8)];
+        }
+
+        /**
+         * Appends the next element, returns {@code false} and leaves the builder unchanged if the
+         * element contains a character that is not Latin-1.
+         */
+        public boolean add(String value) {
+            assert count < offsets.length - 1;
+            int start = offsets[count];
+            if (RRuntime.isNA(value)) {
+                if (na == null) {
+                    na = new BitSet();
+                }
+                na.set(count);
+            } else {
+                int valueLength = value.length();
+                if ((long) start + valueLength > bytes.length) {
+                    long newLength = Math.max((long) bytes.length * 2, (long) start + valueLength);
+                    if (newLength > Integer.MAX_VALUE - 8) {
+                        return false;
+                    }
+                    bytes = Arrays.copyOf(bytes, (int) newLength);
+                }
+                for (int i = 0; i < valueLength; i++) {
+                    char c = value.charAt(i);
+                    if (c > 0xFF) {
+                        return false;
+                    }
+                    bytes[start + i] = (byte) c;
+                }
+                start += valueLength;
+            }
+            offsets[++count] = start;
+            return true;
+        }
+
+        /**
+         * Returns an array of the final length with the elements added so far, used to continue
+         * with an ordinary vector if {@link #add} fails.
+         */
+        public String[] toStringArray() {
+            String[] result = new String[offsets.length - 1];
+            for (int i = 0; i < count; i++) {
+                result[i] = decode(bytes, offsets, na, i);
+            }
+            return result;
+        }
+
+        public RStringCompactVectorData build() {
+            assert count == offsets.length - 1;
+            return new RStringCompactVectorData(Arrays.copyOf(bytes, offsets[count]), offsets, na, count);
+        }
+    }
+
+    /**
+     * Returns the number of characters of the element that is not NA, which is also its number of
+     * bytes in Latin-1, without creating the string.
+     */
+    public int getCharCount(int index) {
+        assert !isNA(index);
+        return offsets[index + 1] - offsets[index];
+    }
+
+    public boolean isNA(int index) {
+        return na != null && na.get(index);
+    }
+
+    /**
+     * Compares the element that is not NA with a string that is not NA, without creating the
+     * string of the element.
+     */
+    public boolean equals(int index, String value) {
+        assert !isNA(index) && !RRuntime.isNA(value);
+        int start = offsets[index];
+        int valueLength = value.length();
+        if (offsets[index + 1] - start != valueLength) {
+            return false;
+        }
+        for (int i = 0; i < valueLength; i++) {
+            // a character that is not Latin-1 never equals the byte
+            if ((bytes[start + i] & 0xFF) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two elements that are not NA without creating their strings.
+     */
+    public boolean elementsEqual(int index, int otherIndex) {
+        assert !isNA(index) && !isNA(otherIndex);
+        int start = offsets[index];
+        int otherStart = offsets[otherIndex];
+        int elementLength = offsets[index + 1] - start;
+        if (offsets[otherIndex + 1] - otherStart != elementLength) {
+            return false;
+        }
+        for (int i = 0; i < elementLength; i++) {
+            if (bytes[start + i] != bytes[otherStart + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of the element that is not NA, which is the {@link String#hashCode()}
+     * of the string it represents.
+     */
+    public int hashCode(int index) {
+        assert !isNA(index);
+        int hash = 0;
+        for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+            hash = 31 * hash + (bytes[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the index of the first element equal to the given string (or the first NA element if
+     * the string is NA), {@code -1} if there is none.
+     */
+    public int indexOf(String value) {
+        if (RRuntime.isNA(value)) {
+            return na == null ? -1 : na.nextSetBit(0);
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isNA(i) && equals(i, value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of bytes used by the data, for {@code object.size}.
+     */
+    public long getByteSize() {
+        return bytes.length + (long) offsets.length * Integer.BYTES + (na == null ? 0 : na.size() / Byte.SIZE);
+    }
+
+    // LookupIndexCache, the data are never written and the index is never dropped:
+
+    @Override
+    public Object getLookupIndex() {
+        return LookupIndexCache.Entry.getIndex(lookupIndex);
+    }
+
+    @Override
+    public void setLookupIndex(Object index) {
+        lookupIndex = new LookupIndexCache.Entry(index);
+    }
+
+    // VectorDataLibrary:
+
+    @ExportMessage
+    public NACheck getNACheck(@Shared("naCheck") @Cached() NACheck naCheck) {
+        naCheck.enable(!isComplete());
+        return naCheck;
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final RType getType() {
+        return RType.Character;
+    }
+
+    @ExportMessage
+    public int getLength() {
+        return length;
+    }
+
+    @ExportMessage
+    public RStringArrayVectorData materialize() {
+        return new RStringArrayVectorData(getStringDataCopy(), isComplete());
+    }
+
+    @ExportMessage
+    public RStringCharSXPData materializeCharSXPStorage() {
+        return materialize().wrapStrings();
+    }
+
+    @ExportMessage
+    public RStringCompactVectorData copy(@SuppressWarnings("unused") boolean deep) {
+        // the data are never written and can be shared
+        return new RStringCompactVectorData(bytes, offsets, na, length);
+    }
+
+    @ExportMessage
+    public boolean isComplete() {
+        return na == null;
+    }
+
+    @ExportMessage
+    public String[] getStringDataCopy() {
+        String[] result = new String[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = getStringImpl(i);
+        }
+        return result;
+    }
+
+    // Read access to the elements:
+
+    @ExportMessage
+    public SeqIterator iterator(@Shared("naCheck") @Cached() NACheck naCheck,
+                    @Shared("SeqItLoopProfile") @Cached("createCountingProfile()") LoopConditionProfile loopProfile) {
+        SeqIterator it = new SeqIterator(null, length);
+        naCheck.enable(!isComplete());
+        it.initLoopConditionProfile(loopProfile);
+        return it;
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public boolean nextImpl(SeqIterator it, boolean loopCondition,
+                    @Shared("SeqItLoopProfile") @Cached("createCountingProfile()") LoopConditionProfile loopProfile) {
+        return it.next(loopCondition, loopProfile);
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public void nextWithWrap(SeqIterator it,
+                    @Cached("createBinaryProfile()") ConditionProfile wrapProfile) {
+        it.nextWithWrap(wrapProfile);
+    }
+
+    @ExportMessage
+    public RandomAccessIterator randomAccessIterator(@Shared("naCheck") @Cached() NACheck naCheck) {
+        naCheck.enable(!isComplete());
+        return new RandomAccessIterator(null);
+    }
+
+    @ExportMessage
+    public String getStringAt(int index, @Shared("naCheck") @Cached() NACheck naCheck) {
+        String value = getStringImpl(index);
+        naCheck.enable(!isComplete());
+        naCheck.check(value);
+        return value;
+    }
+
+    @ExportMessage
+    public String getNextString(SeqIterator it, @Shared("naCheck") @Cached() NACheck naCheck) {
+        String value = getStringImpl(it.getIndex());
+        naCheck.check(value);
+        return value;
+    }
+
+    @ExportMessage
+    public String getString(@SuppressWarnings("unused") RandomAccessIterator it, int index, @Shared("naCheck") @Cached() NACheck naCheck) {
+        String value = getStringImpl(index);
+        naCheck.check(value);
+        return value;
+    }
+
+    // Utility methods:
+
+    private String getStringImpl(int index) {
+        assert index >= 0 && index < length;
+        return decode(bytes, offsets, na, index);
+    }
+
+    @TruffleBoundary
+    private static String decode(byte[] bytes, int[] offsets, BitSet na, int index) {
+        if (na != null && na.get(index)) {
+            return RRuntime.STRING_NA;
+        }
+        return new String(bytes, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        CompilerAsserts.neverPartOfCompilation();
+        return "compact String[" + length + "]";
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -92,6 +92,14 @@ public final class RStringVector extends RAbstractAtomicVector implements RMater
         }
     }
 
+    public static RStringVector createBufferView(String[] buffer, int length) {
+        return new RStringVector(new RStringBufferVectorData(buffer, length), length);
+    }
+
+    public static RStringVector createCompact(RStringCompactVectorData compactData) {
+        return new RStringVector(compactData, compactData.getLength());
+    }
+
     public static RStringVector createClosure(RAbstractVector delegate, boolean keepAttrs) {
         RStringVector result = new RStringVector(VectorDataClosure.fromVector(delegate, RType.Character), delegate.getLength());
         if (keepAttrs) {
@@ -168,6 +176,14 @@ public final class RStringVector extends RAbstractAtomicVector implements RMater
         return (RStringSeqVectorData) data;
     }
 
+    public boolean isCompact() {
+        return data instanceof RStringCompactVectorData;
+    }
+
+    public RStringCompactVectorData getCompact() {
+        return (RStringCompactVectorData) data;
+    }
+
     @Override
     public boolean isClosure() {
         return data instanceof RClosure;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -49,6 +49,7 @@ public enum NativeFunction {
     // PCRE2 (in pcre2_rffi.c)
     compile("([uint8], uint32, uint32, [sint32], [uint32]): pointer", "call_pcre2_"),
     match("((uint32, uint32): void, (uint32, uint32, uint32): void, pointer, [uint8], uint32, uint32, sint32): sint32", "call_pcre2_"),
+    match_all("(pointer, [uint8], [sint32], sint32, sint32, uint32, sint32, [sint32], [sint32], sint32): sint32", "call_pcre2_"),
     capture_count("(pointer): uint32", "call_pcre2_"),
     names_count("(pointer): uint32", "call_pcre2_"),
     get_capture_names("((string, sint32): void, pointer): sint32", "call_pcre2_"),
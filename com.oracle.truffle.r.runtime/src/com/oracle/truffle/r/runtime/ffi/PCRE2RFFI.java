@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2021, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -37,6 +37,7 @@ import com.oracle.truffle.r.runtime.DSLConfig;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RLogger;
 import com.oracle.truffle.r.runtime.ffi.interop.NativeCharArray;
+import com.oracle.truffle.r.runtime.ffi.interop.NativeRawArray;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -517,7 +518,7 @@ public final class PCRE2RFFI {
                 throw RInternalError.shouldNotReachHere("PCRE2Rffi$MatchNode: match failed with " + errMessage);
             }
             assert matchCountInt == matchData.getMatchCount();
-            matchData = convertIndexes(matchData, subject, subjectBytes, captureCount);
+            matchData = convertIndexes(matchData, subject, subjectBytes.length, captureCount);
             matchData.padCapturesWithEmptyMatches();
             if (logger.isLoggable(Level.FINE)) {
                 logger.fine("Returning from MatchNode.execute: " + matchData);
@@ -532,16 +533,16 @@ public final class PCRE2RFFI {
          *
          * @return A copy of match data with converted indexes.
          */
-        private static MatchData convertIndexes(MatchData matchData, String subject, byte[] subjectBytes, int captureCount) {
-            if (subject.length() == subjectBytes.length) {
+        private static MatchData convertIndexes(MatchData matchData, String subject, int subjectByteLength, int captureCount) {
+            if (subject.length() == subjectByteLength) {
                 return matchData;
             }
             MatchData newMatchData = new MatchData(captureCount);
-            assert subjectBytes.length > subject.length();
-            int[] bytesToStrIndexes = bytesToStrIndexMapping(subject, subjectBytes);
-            assert bytesToStrIndexes.length == subjectBytes.length;
+            assert subjectByteLength > subject.length();
+            int[] bytesToStrIndexes = bytesToStrIndexMapping(subject, subjectByteLength);
+            assert bytesToStrIndexes.length == subjectByteLength;
             // Convert indexes in all the matches.
-            List<IndexRange> convertedMatches = convertListOfIndexes(matchData.matches, bytesToStrIndexes, subject, subjectBytes);
+            List<IndexRange> convertedMatches = convertListOfIndexes(matchData.matches, bytesToStrIndexes, subject, subjectByteLength);
             for (IndexRange convertedMatch : convertedMatches) {
                 newMatchData.addMatch(convertedMatch);
             }
@@ -551,18 +552,18 @@ public final class PCRE2RFFI {
                 int captureIdx = entry.getKey();
                 List<IndexRange> captureMatches = entry.getValue();
                 assert captureMatches != null;
-                List<IndexRange> convertedCaptureMatches = convertListOfIndexes(captureMatches, bytesToStrIndexes, subject, subjectBytes);
+                List<IndexRange> convertedCaptureMatches = convertListOfIndexes(captureMatches, bytesToStrIndexes, subject, subjectByteLength);
                 convertedCaptures.put(captureIdx, convertedCaptureMatches);
             }
             newMatchData.captures = convertedCaptures;
             return newMatchData;
         }
 
-        private static List<IndexRange> convertListOfIndexes(List<IndexRange> rangeList, int[] bytesToStrIndexes, String subject, byte[] subjectBytes) {
+        private static List<IndexRange> convertListOfIndexes(List<IndexRange> rangeList, int[] bytesToStrIndexes, String subject, int subjectByteLength) {
             List<IndexRange> convertedRanges = new ArrayList<>(rangeList.size());
             for (IndexRange range : rangeList) {
-                int newStartIdx = (range.startIdx == subjectBytes.length) ? subject.length() : bytesToStrIndexes[range.startIdx];
-                int newEndIdx = (range.endIdx == subjectBytes.length) ? subject.length() : bytesToStrIndexes[range.endIdx];
+                int newStartIdx = (range.startIdx == subjectByteLength) ? subject.length() : bytesToStrIndexes[range.startIdx];
+                int newEndIdx = (range.endIdx == subjectByteLength) ? subject.length() : bytesToStrIndexes[range.endIdx];
                 if (convertedRanges.size() > 0) {
                     IndexRange prevNewRange = convertedRanges.get(convertedRanges.size() - 1);
                     // Check whether we just created a duplicate range.
@@ -580,14 +581,14 @@ public final class PCRE2RFFI {
         }
 
         /**
-         * Returns an array of indexes with the same length as given {@code strBytes}, where in
-         * {@code array[i]}, there is an index into {@code str}. In other words, returns an array of
-         * indexes that maps indexes of bytes into the String.
+         * Returns an array of indexes with the length of the UTF-8 encoding of {@code str}, where
+         * in {@code array[i]}, there is an index into {@code str}. In other words, returns an array
+         * of indexes that maps indexes of bytes into the String.
          */
-        private static int[] bytesToStrIndexMapping(String str, byte[] strBytes) {
-            assert str.length() < strBytes.length;
+        private static int[] bytesToStrIndexMapping(String str, int strByteLength) {
+            assert str.length() < strByteLength;
             int indexMappingIdx = 0;
-            int[] indexMapping = new int[strBytes.length];
+            int[] indexMapping = new int[strByteLength];
             for (int strIdx = 0; strIdx < str.length(); strIdx++) {
                 String subStr = str.substring(strIdx, strIdx + 1);
                 byte[] subStrBytes = subStr.getBytes(StandardCharsets.UTF_8);
@@ -600,6 +601,122 @@ public final class PCRE2RFFI {
         }
     }
 
+    /**
+     * Matches a compiled pattern against many subjects with one downcall per batch of subjects,
+     * rather than one downcall (and one upcall per match) per subject as {@link MatchNode} does.
+     * The subjects of a batch are passed to the native code as one UTF-8 buffer and the indexes of
+     * all the matches and captures are returned in flat {@code int} buffers.
+     */
+    public static final class MatchAllNode extends NativeCallNode {
+        /**
+         * The subjects are passed to the native code in batches of roughly this many bytes or at
+         * most {@link #BATCH_SUBJECTS} subjects.
+         */
+        private static final int BATCH_BYTES = 1 << 20;
+        private static final int BATCH_SUBJECTS = 1 << 16;
+        private static final int INITIAL_RESULTS_LENGTH = 1 << 12;
+
+        @Child private GetErrorStringNode getErrorStringNode = RFFIFactory.getPCRE2RFFI().createGetErrorStringNode();
+        @Child private InteropLibrary interop = InteropLibrary.getFactory().createDispatched(DSLConfig.getInteropLibraryCacheSize());
+
+        public MatchAllNode(DownCallNodeFactory downCallNodeFactory) {
+            super(downCallNodeFactory.createDownCallNode());
+        }
+
+        public static MatchAllNode create() {
+            return RFFIFactory.getPCRE2RFFI().createMatchAllNode();
+        }
+
+        /**
+         * Performs a match in every subject with the given compiled pattern, the same as
+         * {@link MatchNode#execute} would do for each of them.
+         *
+         * @param subjects Texts to be searched, {@code null} elements are skipped.
+         * @return The match data of every subject, {@code null} for the skipped subjects.
+         */
+        @TruffleBoundary
+        public MatchData[] execute(Object pcreCompiledPattern, String[] subjects, int options, boolean stopAfterFirstMatch, int captureCount) {
+            MatchData[] result = new MatchData[subjects.length];
+            int batchLength = Math.min(subjects.length, BATCH_SUBJECTS);
+            int[] indexes = new int[batchLength];
+            int[] offsets = new int[batchLength + 1];
+            int[] matchCounts = new int[batchLength];
+            int[] results = new int[INITIAL_RESULTS_LENGTH];
+            byte[] buffer = new byte[0];
+            int from = 0;
+            while (from < subjects.length) {
+                int count = 0;
+                int size = 0;
+                while (from < subjects.length && count < batchLength && size < BATCH_BYTES) {
+                    String subject = subjects[from];
+                    if (subject != null) {
+                        byte[] subjectBytes = subject.getBytes(StandardCharsets.UTF_8);
+                        if (size + subjectBytes.length > buffer.length) {
+                            buffer = Arrays.copyOf(buffer, Math.max(Math.min(BATCH_BYTES, buffer.length * 2), size + subjectBytes.length));
+                        }
+                        System.arraycopy(subjectBytes, 0, buffer, size, subjectBytes.length);
+                        indexes[count] = from;
+                        offsets[count] = size;
+                        size += subjectBytes.length;
+                        count++;
+                    }
+                    from++;
+                }
+                offsets[count] = size;
+                NativeRawArray subjectsArray = new NativeRawArray(buffer);
+                int first = 0;
+                while (first < count) {
+                    Object next = call(NativeFunction.match_all, pcreCompiledPattern, subjectsArray, offsets, first, count, options, stopAfterFirstMatch ? 1 : 0,
+                                    matchCounts, results, results.length);
+                    int nextInt;
+                    try {
+                        nextInt = interop.asInt(next);
+                    } catch (UnsupportedMessageException e) {
+                        throw RInternalError.shouldNotReachHere(e);
+                    }
+                    if (nextInt < 0) {
+                        String errMessage = getErrorStringNode.execute(nextInt);
+                        throw RInternalError.shouldNotReachHere("PCRE2Rffi$MatchAllNode: match failed with " + errMessage);
+                    }
+                    int resultsIdx = 0;
+                    for (int i = first; i < nextInt; i++) {
+                        String subject = subjects[indexes[i]];
+                        result[indexes[i]] = toMatchData(results, resultsIdx, matchCounts[i], subject, offsets[i + 1] - offsets[i], captureCount);
+                        resultsIdx += matchCounts[i] * 2 * (captureCount + 1);
+                    }
+                    if (nextInt == first) {
+                        // the matches of a single subject do not fit into the buffer
+                        results = new int[results.length * 2];
+                    }
+                    first = nextInt;
+                }
+            }
+            logger.fine(() -> "MatchAllNode.execute: matched " + subjects.length + " subjects");
+            return result;
+        }
+
+        private static MatchData toMatchData(int[] results, int start, int matchCount, String subject, int subjectByteLength, int captureCount) {
+            MatchData matchData = new MatchData(captureCount);
+            int idx = start;
+            for (int i = 0; i < matchCount; i++) {
+                matchData.addMatch(results[idx], results[idx + 1]);
+                idx += 2;
+                for (int captureIdx = 0; captureIdx < captureCount; captureIdx++) {
+                    int captureStartIdx = results[idx];
+                    int captureEndIdx = results[idx + 1];
+                    // captures that did not participate in the match are reported as -1
+                    if (captureStartIdx >= 0 && captureEndIdx >= 0) {
+                        matchData.addCapture(captureIdx, captureStartIdx, captureEndIdx);
+                    }
+                    idx += 2;
+                }
+            }
+            matchData = MatchNode.convertIndexes(matchData, subject, subjectByteLength, captureCount);
+            matchData.padCapturesWithEmptyMatches();
+            return matchData;
+        }
+    }
+
     public static final class MemoryReleaseNode extends NativeCallNode {
         public MemoryReleaseNode(DownCallNodeFactory downCallNodeFactory) {
             super(downCallNodeFactory.createDownCallNode());
@@ -650,6 +767,10 @@ public final class PCRE2RFFI {
         return new MatchNode(downCallNodeFactory);
     }
 
+    public MatchAllNode createMatchAllNode() {
+        return new MatchAllNode(downCallNodeFactory);
+    }
+
     public GetCaptureNamesNode createGetCaptureNamesNode() {
         return new GetCaptureNamesNode(downCallNodeFactory);
     }
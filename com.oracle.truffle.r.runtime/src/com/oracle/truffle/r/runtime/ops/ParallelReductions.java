@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.ops;
+
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.ParallelWorkers;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.RDoubleArrayVectorData;
+import com.oracle.truffle.r.runtime.data.RDoubleSeqVectorData;
+import com.oracle.truffle.r.runtime.data.RIntArrayVectorData;
+import com.oracle.truffle.r.runtime.data.RIntSeqVectorData;
+
+/**
+ * Reductions ({@code sum}, {@code prod}, {@code max}, {@code min} and {@code mean}) of long vectors
+ * computed by the {@link ParallelWorkers}. The vector is split into chunks of
+ * {@link #CHUNK_SIZE} elements, each chunk is reduced separately and the partial results are
+ * combined in the order of the chunks. Since the chunks only depend on the length of the vector,
+ * the results are reproducible bit-for-bit regardless of the number of threads. They may, however,
+ * differ in the last bits from the sequential reduction of shorter vectors, because floating point
+ * addition and multiplication are not associative.
+ *
+ * Only data that can be read without the context are supported, i.e., Java arrays and compact
+ * sequences, see {@link #doubleElements(Object)} and {@link #intElements(Object)}.
+ */
+public final class ParallelReductions {
+
+    public static final int CHUNK_SIZE = ParallelWorkers.DEFAULT_CHUNK_SIZE;
+
+    public enum Kind {
+        SUM,
+        PROD,
+        MAX,
+        MIN;
+
+        /**
+         * Returns the kind corresponding to the given arithmetic or {@code null} if the arithmetic
+         * cannot be used for a parallel reduction.
+         */
+        public static Kind fromArithmetic(BinaryArithmeticFactory factory) {
+            if (factory == BinaryArithmetic.ADD) {
+                return SUM;
+            } else if (factory == BinaryArithmetic.MULTIPLY) {
+                return PROD;
+            } else if (factory == BinaryArithmetic.MAX) {
+                return MAX;
+            } else if (factory == BinaryArithmetic.MIN) {
+                return MIN;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The result of a reduction, {@code value} is either {@link Integer} or {@link Double},
+     * {@code empty} is set if all the elements were removed because of {@code na.rm} or
+     * {@code finite}.
+     */
+    public static final class Result {
+        public final Object value;
+        public final boolean empty;
+
+        Result(Object value, boolean empty) {
+            this.value = value;
+            this.empty = empty;
+        }
+    }
+
+    private ParallelReductions() {
+        // no instances
+    }
+
+    /**
+     * Returns a thread-safe accessor for the elements of double vector data, or {@code null} if the
+     * data cannot be read outside of the context.
+     */
+    public static IntToDoubleFunction doubleElements(Object data) {
+        if (data instanceof RDoubleArrayVectorData) {
+            double[] array = ((RDoubleArrayVectorData) data).getReadonlyDoubleData();
+            return i -> array[i];
+        } else if (data instanceof RDoubleSeqVectorData) {
+            double start = ((RDoubleSeqVectorData) data).getStart();
+            double stride = ((RDoubleSeqVectorData) data).getStride();
+            return i -> start + stride * i;
+        }
+        return null;
+    }
+
+    /**
+     * Returns a thread-safe accessor for the elements of integer vector data, or {@code null} if the
+     * data cannot be read outside of the context.
+     */
+    public static IntUnaryOperator intElements(Object data) {
+        if (data instanceof RIntArrayVectorData) {
+            int[] array = ((RIntArrayVectorData) data).getReadonlyIntData();
+            return i -> array[i];
+        } else if (data instanceof RIntSeqVectorData) {
+            int start = ((RIntSeqVectorData) data).getStart();
+            int stride = ((RIntSeqVectorData) data).getStride();
+            return i -> start + stride * i;
+        }
+        return null;
+    }
+
+    private static int chunkCount(int length) {
+        return (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    private static double op(Kind kind, double left, double right) {
+        switch (kind) {
+            case SUM:
+                return left + right;
+            case PROD:
+                return left * right;
+            case MAX:
+                // same as BinaryArithmetic.Max
+                if (left != left) {
+                    return left;
+                } else if (left == 0.0d && right == 0.0d && Double.doubleToRawLongBits(left) == Double.doubleToRawLongBits(-0.0d)) {
+                    return right;
+                }
+                return left >= right ? left : right;
+            case MIN:
+                // same as BinaryArithmetic.Min
+                if (left != left) {
+                    return left;
+                } else if (left == 0.0d && right == 0.0d && Double.doubleToRawLongBits(right) == Double.doubleToRawLongBits(-0.0d)) {
+                    return right;
+                }
+                return left <= right ? left : right;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Reduces double elements with the semantics of {@code UnaryArithmeticReduceNode}: NA makes the
+     * result NA unless {@code naRm}, NaN is handled by the arithmetic unless {@code naRm}, and
+     * infinite values are skipped if {@code finite}.
+     */
+    @TruffleBoundary
+    public static Result reduceDouble(Kind kind, IntToDoubleFunction elements, int length, double start, boolean naRm, boolean finite) {
+        int chunks = chunkCount(length);
+        double[] partial = new double[chunks];
+        boolean[] nonEmpty = new boolean[chunks];
+        boolean[] seenNA = new boolean[chunks];
+        ParallelWorkers.forEachChunk(length, CHUNK_SIZE, (chunk, from, to) -> {
+            double result = start;
+            boolean empty = true;
+            for (int i = from; i < to; i++) {
+                double d = elements.applyAsDouble(i);
+                if (Double.isNaN(d)) {
+                    if (naRm) {
+                        continue;
+                    } else if (RRuntime.isNA(d)) {
+                        seenNA[chunk] = true;
+                        return;
+                    }
+                } else if (finite && !RRuntime.isFinite(d)) {
+                    continue;
+                }
+                result = op(kind, result, d);
+                empty = false;
+            }
+            partial[chunk] = result;
+            nonEmpty[chunk] = !empty;
+        });
+        double result = start;
+        boolean empty = true;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            if (seenNA[chunk]) {
+                return new Result(RRuntime.DOUBLE_NA, false);
+            }
+            if (nonEmpty[chunk]) {
+                result = op(kind, result, partial[chunk]);
+                empty = false;
+            }
+        }
+        return new Result(result, empty);
+    }
+
+    /**
+     * Reduces integer elements with the semantics of {@code UnaryArithmeticReduceNode}. For
+     * {@link Kind#SUM}, the result is a double if the running sum overflows the integer range at any
+     * point, exactly as in the sequential version.
+     */
+    @TruffleBoundary
+    public static Result reduceInt(Kind kind, IntUnaryOperator elements, int length, int start, boolean naRm) {
+        assert kind != Kind.PROD;
+        int chunks = chunkCount(length);
+        // for SUM: the sum of the chunk and the minimal and maximal prefix sums within the chunk
+        long[] partial = new long[chunks];
+        long[] minPrefix = new long[chunks];
+        long[] maxPrefix = new long[chunks];
+        boolean[] nonEmpty = new boolean[chunks];
+        boolean[] seenNA = new boolean[chunks];
+        ParallelWorkers.forEachChunk(length, CHUNK_SIZE, (chunk, from, to) -> {
+            long result = kind == Kind.SUM ? 0 : start;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            boolean empty = true;
+            for (int i = from; i < to; i++) {
+                int d = elements.applyAsInt(i);
+                if (d == RRuntime.INT_NA) {
+                    if (naRm) {
+                        continue;
+                    }
+                    seenNA[chunk] = true;
+                    return;
+                }
+                switch (kind) {
+                    case SUM:
+                        result += d;
+                        min = Math.min(min, result);
+                        max = Math.max(max, result);
+                        break;
+                    case MAX:
+                        result = Math.max(result, d);
+                        break;
+                    case MIN:
+                        result = Math.min(result, d);
+                        break;
+                    default:
+                        throw new IllegalArgumentException();
+                }
+                empty = false;
+            }
+            partial[chunk] = result;
+            minPrefix[chunk] = min;
+            maxPrefix[chunk] = max;
+            nonEmpty[chunk] = !empty;
+        });
+        long result = start;
+        boolean overflow = false;
+        boolean empty = true;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            if (seenNA[chunk]) {
+                return new Result(RRuntime.INT_NA, false);
+            }
+            if (!nonEmpty[chunk]) {
+                continue;
+            }
+            empty = false;
+            switch (kind) {
+                case SUM:
+                    // the sequential version switches to doubles once a prefix sum overflows
+                    overflow |= result + minPrefix[chunk] <= RRuntime.INT_NA || result + maxPrefix[chunk] > Integer.MAX_VALUE;
+                    result += partial[chunk];
+                    break;
+                case MAX:
+                    result = Math.max(result, partial[chunk]);
+                    break;
+                case MIN:
+                    result = Math.min(result, partial[chunk]);
+                    break;
+                default:
+                    throw new IllegalArgumentException();
+            }
+        }
+        return new Result(overflow ? (Object) (double) result : (Object) (int) result, empty);
+    }
+
+    /**
+     * Computes the mean of double elements with the semantics of the {@code mean} builtin: the
+     * first NA or NaN value is the result.
+     */
+    @TruffleBoundary
+    public static double mean(IntToDoubleFunction elements, int length) {
+        int chunks = chunkCount(length);
+        double[] partial = new double[chunks];
+        double[] firstNaN = new double[chunks];
+        boolean[] seenNaN = new boolean[chunks];
+        ParallelWorkers.forEachChunk(length, CHUNK_SIZE, (chunk, from, to) -> {
+            double sum = 0;
+            for (int i = from; i < to; i++) {
+                double d = elements.applyAsDouble(i);
+                if (Double.isNaN(d)) {
+                    seenNaN[chunk] = true;
+                    firstNaN[chunk] = d;
+                    return;
+                }
+                sum += d;
+            }
+            partial[chunk] = sum;
+        });
+        double sum = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            if (seenNaN[chunk]) {
+                return firstNaN[chunk];
+            }
+            sum += partial[chunk];
+        }
+        return sum / length;
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1995-2012, The R Core Team
  * Copyright (c) 2003, The R Foundation
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -23,6 +23,7 @@ import static com.oracle.truffle.r.runtime.rng.RRNG.SampleKind.REJECTION;
 import static com.oracle.truffle.r.runtime.rng.RRNG.SampleKind.ROUNDING;
 
 import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -43,14 +44,15 @@ import com.oracle.truffle.r.runtime.env.frame.ActiveBinding;
 import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
 import com.oracle.truffle.r.runtime.ffi.BaseRFFI;
 import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandomNumberProvider;
+import com.oracle.truffle.r.runtime.rng.lecuyer.LEcuyerCMRG;
 import com.oracle.truffle.r.runtime.rng.mm.MarsagliaMulticarry;
 import com.oracle.truffle.r.runtime.rng.mt.MersenneTwister;
 import com.oracle.truffle.r.runtime.rng.user.UserRNG;
 
 /**
  * Facade class to the R random number generators, (see src/main/RNG.c in GnuR). The individual
- * generators are implemented in their own class. Currently there are only two implemented, the
- * default, {@link MersenneTwister} and {@link MarsagliaMulticarry}.
+ * generators are implemented in their own class. Currently there are only three implemented, the
+ * default, {@link MersenneTwister}, {@link MarsagliaMulticarry} and {@link LEcuyerCMRG}.
  *
  * The fact that the R programmer can set {@code .Random.seed} explicitly, as opposed to the
  * recommended approach of calling {@code set.seed}, is something of a pain as it changes the
@@ -79,7 +81,7 @@ public class RRNG {
         KNUTH_TAOCP(),
         USER_UNIF(UserRNG::new),
         KNUTH_TAOCP2(),
-        LECUYER_CMRG();
+        LECUYER_CMRG(LEcuyerCMRG::new);
 
         @CompilationFinal(dimensions = 1) static final Kind[] VALUES = values();
 
@@ -146,6 +148,14 @@ public class RRNG {
          */
         private Object currentSeeds = null;
 
+        /**
+         * The state of this context's generator from which {@link #lastChildStream} was derived and
+         * the seeds of the last stream handed out to a child context, see
+         * {@link #nextChildStream()}.
+         */
+        private int[] childStreamBase;
+        private int[] lastChildStream;
+
         private ContextStateImpl() {
             this.currentNormKind = DEFAULT_NORM_KIND;
             this.currentSampleKind = REJECTION;
@@ -154,6 +164,20 @@ public class RRNG {
 
         @Override
         public RContext.ContextState initialize(RContext context) {
+            RContext parent = context.getParent();
+            int[] childStream = parent != null ? parent.stateRNG.nextChildStream() : null;
+            if (childStream != null) {
+                // the parent uses L'Ecuyer-CMRG, the child continues with its own stream like
+                // parallel::mc.set.stream would do in a forked child
+                RandomNumberGenerator rng = Kind.LECUYER_CMRG.create();
+                rng.setISeed(childStream);
+                this.currentNormKind = parent.stateRNG.currentNormKind;
+                this.currentSampleKind = parent.stateRNG.currentSampleKind;
+                this.currentGenerator = rng;
+                this.allGenerators[rng.getKind().ordinal()] = rng;
+                this.currentSeeds = childStream;
+                return this;
+            }
             int seed = timeToSeed();
             RandomNumberGenerator rng = DEFAULT_KIND.create();
             initGenerator(rng, seed);
@@ -220,6 +244,28 @@ public class RRNG {
             }
         }
 
+        /**
+         * If the current generator is {@link Kind#LECUYER_CMRG}, returns the seeds (in the format of
+         * {@code .Random.seed}) of a new stream for a child context. As long as the state of this
+         * context's generator does not change, each call returns the stream following the previous
+         * one, otherwise the streams start again from the current state. Returns {@code null} for
+         * other generators.
+         */
+        private synchronized int[] nextChildStream() {
+            RandomNumberGenerator rng = currentGenerator;
+            if (rng == null || rng.getKind() != Kind.LECUYER_CMRG) {
+                return null;
+            }
+            int[] seeds = rng.getSeeds();
+            if (childStreamBase == null || !Arrays.equals(childStreamBase, 1, childStreamBase.length, seeds, 1, rng.getNSeed() + 1)) {
+                childStreamBase = Arrays.copyOf(seeds, rng.getNSeed() + 1);
+                lastChildStream = childStreamBase.clone();
+            }
+            lastChildStream[0] = Kind.LECUYER_CMRG.ordinal() + 100 * currentNormKind.ordinal() + 10000 * currentSampleKind.ordinal();
+            lastChildStream = LEcuyerCMRG.nextStream(lastChildStream);
+            return lastChildStream.clone();
+        }
+
         public static ContextStateImpl newContextState() {
             return new ContextStateImpl();
         }
@@ -231,6 +277,10 @@ public class RRNG {
             Frame frame = REnvironment.globalEnv().getFrame();
             int frameIndex = FrameSlotChangeMonitor.findOrAddAuxiliaryFrameSlot(frame.getFrameDescriptor(), RRNG.RANDOM_SEED);
             FrameSlotChangeMonitor.setActiveBinding(frame, frameIndex, dotRandomSeed, false);
+            if (currentSeeds != null) {
+                // seeded from the parent context's stream
+                dotRandomSeed.setInitialized(true);
+            }
             dotRandomSeedBinding = new WeakReference<>(dotRandomSeed);
         }
 
@@ -466,6 +516,14 @@ public class RRNG {
         return (millis << 16) ^ pid;
     }
 
+    /**
+     * Initializes {@code generator} from the time and the process id, like {@code Randomize} in
+     * GnuR, used by the generators to recover from invalid seeds.
+     */
+    public static void randomize(RandomNumberGenerator generator) {
+        initGenerator(generator, timeToSeed());
+    }
+
     private static void randomize(Kind kind) {
         RandomNumberGenerator rng = kind.create();
         initGenerator(rng, timeToSeed());
@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2018, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -128,6 +128,21 @@ public class TestBuiltin_grep extends TestBase {
         assertEval("grep('[^][a]', 'b')");
     }
 
+    @Test
+    public void testGrepTRegex() {
+        // the patterns that translate exactly run on TRegex, regexpr runs them on java.util.regex
+        String sameAsRegexpr = "identical(grep(p, x), which(!is.na(x) & regexpr(p, x) > 0))";
+        assertEval("{ p <- 'a$'; x <- c('a', 'ba', 'a\\nb', 'a\\n', 'a\\r\\n', 'a\\r', 'a\\n\\n'); list(grep(p, x[1:3]), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- '^[[:alpha:]]+$'; x <- c('abc', 'ab1', 'abc\\n', 'abc\\r\\n', '\\nabc'); list(grep(p, x[1:2]), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- '[[:space:]]'; x <- c('\\u00a0', 'a b', 'a\\tb', 'ab'); list(grep(p, x), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- '\\\\s'; x <- c('\\u00a0', 'a b', 'a\\nb', 'ab'); list(grep(p, x, value = TRUE), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- 'a.b'; x <- c('a\\nb', 'a\\rb', 'axb', 'ab'); list(grep(p, x), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- '*a'; x <- c('xa', 'b', 'a'); list(grep(p, x), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- 'a'; x <- c('a', NA, 'b', 'ba'); list(grep(p, x), grep(p, x, value = TRUE), grep(p, x, invert = TRUE), " + sameAsRegexpr + ") }");
+        // the same call site with patterns that run on java.util.regex and on TRegex
+        assertEval("{ f <- function(p, x) grep(p, x); x <- c('ab', 'a b', 'ba', NA); list(f('\\\\ba', x), f('\\\\ba', x), f('(a)\\\\1', c('aa', 'ab')), f('a$', x), f('\\\\ba', x)) }");
+    }
+
     @Test
     public void testLsRegExp() {
         assertEval("{ abc <- 1; ls(pattern=\"a.*\")}");
@@ -136,4 +151,12 @@ public class TestBuiltin_grep extends TestBase {
         assertEval("{ abc <- 1; ls(pattern=\"[[:alpha:]]*\")}");
         assertEval("{ f <- function(abc) { ls(pattern=\"[a-z]*\") }; f(1) }");
     }
+
+    @Test
+    public void testGrepFixedLong() {
+        // needles of at least 8 characters in texts at least 4 times as long use the Horspool search
+        assertEval("{ x <- c(paste0(strrep('-', 40), 'abcdefgh'), paste0(strrep('abcdefgx', 6), 'abcdefg'), strrep('a', 40), paste0(strrep('\\u0161', 40), 'abcd\\u0165fgh'), paste0(strrep('\\u0168', 40), 'abcdefgh')); " +
+                        "list(grep('abcdefgh', x, fixed = TRUE), grep('abcd\\u0165fgh', x, fixed = TRUE), grep('abcdefg\\u0168', x, fixed = TRUE, value = TRUE), grepl(strrep('a', 8), x, fixed = TRUE), grepl('aaaaaaab', x, fixed = TRUE)) }");
+        assertEval("{ x <- c(paste0(strrep('A', 40), strrep('\\u0141', 8)), paste0(strrep('A', 40), strrep('\\u0141', 7)), NA); grep(strrep('\\u0141', 8), x, fixed = TRUE, invert = TRUE) }");
+    }
 }
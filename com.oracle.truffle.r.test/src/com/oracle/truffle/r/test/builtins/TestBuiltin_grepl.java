@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -95,6 +95,22 @@ public class TestBuiltin_grepl extends TestBase {
         assertEval("{ .Internal(grepl('.+X', 'a\nXb', F, F, T, F, F, F)) }");
     }
 
+    @Test
+    public void testGreplTRegex() {
+        // the patterns that translate exactly run on TRegex, regexpr runs them on java.util.regex
+        String sameAsRegexpr = "identical(grepl(p, x), !is.na(x) & regexpr(p, x) > 0)";
+        assertEval("{ p <- 'a$'; x <- c('a', 'ba', 'a\\nb', 'a\\n', 'a\\r\\n', 'a\\r', 'a\\n\\n'); list(grepl(p, x[1:3]), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- '(b|c)$'; x <- c('ab', 'ac\\n', 'ab\\r\\n', 'b\\r\\n\\n', 'a'); list(grepl(p, x[c(1, 5)]), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- '[[:space:]]+'; x <- c('\\u00a0', 'a b', 'a\\tb', 'ab', 'a\\u00a0b'); list(grepl(p, x), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- '^\\\\s*$'; x <- c('\\u00a0', ' ', '', '\\t\\t', 'a'); list(grepl(p, x), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- '^a.*b$'; x <- c('a\\nb', 'a\\n\\nb', 'axxb', 'ba'); list(grepl(p, x), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- '*ab'; x <- c('xab', 'ab', 'a'); list(grepl(p, x), " + sameAsRegexpr + ") }");
+        assertEval("{ p <- '^[a-c]+$'; x <- c('abc', NA, 'abd', NA_character_, ''); list(grepl(p, x), " + sameAsRegexpr + ") }");
+        assertEval("{ grepl('a', NA) }");
+        // the same call site with patterns that run on java.util.regex and on TRegex
+        assertEval("{ f <- function(p, x) grepl(p, x); x <- c('ab', 'a b', 'ba', NA); list(f('\\\\ba', x), f('\\\\ba', x), f('(a)\\\\1', c('aa', 'ab')), f('a$', x), f('\\\\ba', x)) }");
+    }
+
     /**
      * The following test tests an expected bug in GNU-R implementation: spaces after comma in
      * quantifiers are ignored.
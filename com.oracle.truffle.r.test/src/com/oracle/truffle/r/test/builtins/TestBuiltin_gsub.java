@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -249,4 +249,29 @@ public class TestBuiltin_gsub extends TestBase {
 
         assertEval("{ gsub('([⚽])', '\\\\1', '─', perl=TRUE)} ");
     }
+
+    @Test
+    public void testGsubRegexCache() {
+        assertEval("{ x <- character(); for (i in 1:50) x[i] <- gsub('[0-9]+', '#', paste0('a', i, 'b', i)); c(x[1], x[50]) }");
+        assertEval("{ x <- character(); for (i in 1:50) x[i] <- gsub('([a-z])([0-9])', '\\\\2\\\\1', paste0('a', i), perl=TRUE); c(x[1], x[50]) }");
+        // more distinct patterns than the cache holds
+        assertEval("{ x <- sapply(1:300, function(i) sub(paste0('(', i, ')$'), '<\\\\1>', paste0('a', i), perl=TRUE)); c(x[1], x[150], x[300]) }");
+        assertEval("{ s <- strsplit(c('a1b2c', 'x1y2z'), paste0('[', 1:300 %% 3, ']'), perl=TRUE); c(length(s), s[[1]], s[[2]]) }");
+        assertEvalFastR("{ .fastr.regex.cache(TRUE); for (i in 1:100) x <- gsub('[0-9]+', '#', paste0('a', i)); s <- .fastr.regex.cache(); identical(unname(s[c('size', 'hits', 'misses')]), c(1, 99, 1)) }", "[1] TRUE");
+    }
+
+    @Test
+    public void testGsubFixedLong() {
+        // overlapping candidates and characters sharing the low byte with the needle
+        assertEval("{ gsub(strrep('a', 8), 'X', strrep('a', 40), fixed = TRUE) }");
+        assertEval("{ gsub(strrep('a', 8), 'X', c(strrep('a', 47), strrep('a', 7), NA), fixed = TRUE) }");
+        assertEval("{ gsub('aaaaaaab', '<>', paste0(strrep('a', 50), 'b', strrep('a', 9), 'b'), fixed = TRUE) }");
+        assertEval("{ gsub(strrep('ab', 4), '-', paste0(strrep('ab', 20), 'a'), fixed = TRUE) }");
+        assertEval("{ gsub('abcd\\u0165fgh', '+', paste0('abcdefgh', strrep('\\u0161', 30), 'abcd\\u0165fgh', 'abcd\\u0165fgh', 'z'), fixed = TRUE) }");
+        assertEval("{ gsub(strrep('\\u0141', 8), '.', paste0(strrep('A', 40), strrep('\\u0141', 9)), fixed = TRUE) }");
+        assertEval("{ sub(strrep('ab', 4), '-', strrep('ab', 20), fixed = TRUE) }");
+        // the replacement is only checked once something matches
+        assertEval("{ gsub('x', '\\\\', c('abc', NA), fixed = TRUE) }");
+        assertEval("{ gsub(strrep('x', 8), '\\\\', strrep('a', 40), fixed = TRUE) }");
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.builtins;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.test.TestBase;
+
+// Checkstyle: stop line length check
+public class TestBuiltin_lazyLoadDBfetch extends TestBase {
+
+    @Test
+    public void testFetch() {
+        // 1 is gzip, 3 is xz (falls back to gzip for small records)
+        assertEval(template("{ src <- new.env(); src$x <- 1:1e4; src$f <- function(a) a + 1; src$s <- c('a', NA); db <- tempfile(); tools:::makeLazyLoadDB(src, db, compress = %0); " +
+                        "e1 <- new.env(); lazyLoad(db, envir = e1); e2 <- new.env(); lazyLoad(db, envir = e2); r <- list(identical(e1$x, src$x), e1$f(1), e1$s, identical(e2$x, e1$x), e2$f(2)); unlink(paste0(db, c('.rdb', '.rdx'))); r }",
+                        "0", "1", "3"));
+    }
+
+    @Test
+    public void testRewrittenDB() {
+        // the database is rewritten in place while it is mapped and its records are cached
+        assertEvalFastR("{ src <- new.env(); src$x <- 1:10; db <- tempfile(); tools:::makeLazyLoadDB(src, db); e1 <- new.env(); lazyLoad(db, envir = e1); a <- e1$x; " +
+                        "src$x <- 'new'; src$y <- 2; tools:::makeLazyLoadDB(src, db); e2 <- new.env(); lazyLoad(db, envir = e2); r <- list(a, e2$x, e2$y); unlink(paste0(db, c('.rdb', '.rdx'))); r }",
+                        "list(1:10, 'new', 2)");
+    }
+}
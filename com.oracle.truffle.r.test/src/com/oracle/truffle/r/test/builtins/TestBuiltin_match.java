@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2020, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -134,10 +134,7 @@ public class TestBuiltin_match extends TestBase {
 
     @Test
     public void testmatch22() {
-        // FIXME docs say "For all types, ‘NA’ matches ‘NA’ and no other value."
-        // Expected output: [1] 0 0 0 3 4
-        // FastR output: Error: usage of 'incomparables' in match not implemented
-        assertEval(Ignored.ImplementationError, "argv <- list(c(NA, NA, 3, 4, 5), c(NA, NA, 4, 5), 0L, NA); .Internal(match(argv[[1]], argv[[2]], argv[[3]], argv[[4]]))");
+        assertEval("argv <- list(c(NA, NA, 3, 4, 5), c(NA, NA, 4, 5), 0L, NA); .Internal(match(argv[[1]], argv[[2]], argv[[3]], argv[[4]]))");
     }
 
     @Test
@@ -459,6 +456,25 @@ public class TestBuiltin_match extends TestBase {
         assertEval("match(1:3, numeric(0))");
     }
 
+    @Test
+    public void testMatchIncomparables() {
+        assertEval("{ match(c(1, 2, NA, 3), c(NA, 3, 2, 1), incomparables = NA) }");
+        assertEval("{ match(c(1L, 2L, 3L), 3:1, incomparables = c(2L, 5L)) }");
+        assertEval("{ match(c('a', 'b', 'c'), c('c', 'b', 'a'), nomatch = 0L, incomparables = 'b') }");
+        assertEval("{ match(c(1, 2), c(2, 1), incomparables = FALSE) }");
+        assertEval("{ match(2, c(2, 1), incomparables = 2) }");
+        assertEval("{ match(c(1, 2), c(2, 1), incomparables = NULL) }");
+        assertEval("{ match(c(1, 2), c(2, 1), incomparables = numeric()) }");
+    }
+
+    @Test
+    public void testMatchReusedTable() {
+        // long tables keep their hash index until they are modified
+        assertEval("{ t <- as.integer(seq(5000, 1)); r1 <- match(c(1L, 5000L, 7000L), t); t[[2]] <- 7000L; r2 <- match(c(1L, 5000L, 7000L), t); list(r1, r2) }");
+        assertEval("{ t <- seq(0.5, 3000); r1 <- c(2.5, 9.5) %in% t; t[3] <- 9.5; r2 <- match(c(2.5, 9.5), t); list(r1, r2) }");
+        assertEval("{ t <- paste0('k', 1:2000); r <- match(c('k7', 'x', 'k2000'), t, 0L); t[7] <- 'x'; list(r, match(c('k7', 'x'), t), setdiff(c('k1', 'k7', 'y'), t)) }");
+    }
+
     private void testMatchStringSequence(String preffix, String suffix) {
         String x = String.format("c('%1$s-2%2$s', '%1$s-1%2$s', '%1$s0%2$s', '%1$s1%2$s', '%1$s10%2$s', '%1$s11%2$s')", preffix, suffix);
         String table = String.format("paste('%1$s', -1:10, '%2$s', sep='')", preffix, suffix);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -53,4 +53,14 @@ public class TestBuiltin_matmul extends TestBase {
         assertEval("numeric() %*% matrix(0, nrow=1, ncol=0)");
         assertEval("numeric() %*% matrix(0, nrow=0, ncol=1)");
     }
+
+    @Test
+    public void testMatmulLarge() {
+        // large enough for the blocks to be computed by multiple threads
+        assertEval("{ a <- matrix(as.double(1:90000 %% 11), 300); b <- matrix(as.double(1:120000 %% 7), 300); r <- a %*% b; c(dim(r), sum(r), r[1, 1], r[300, 400], r[123, 45]) }");
+        assertEval("{ a <- matrix(as.double(1:90000 %% 11), 300); a[5, 7] <- NA; a[6, 8] <- NaN; r <- a %*% a; c(sum(is.na(r)), sum(is.nan(r)), r[1:6, 1]) }");
+        assertEval("{ a <- matrix(as.double(1:90000 %% 11), 300); r <- crossprod(a); c(isSymmetric(r), sum(r), r[1, 300], identical(r, t(a) %*% a)) }");
+        assertEvalFastR("{ a <- matrix(runif(90000), 300); .fastr.parallel.threads(1L); r1 <- a %*% a; c1 <- crossprod(a); .fastr.parallel.threads(4L); r2 <- a %*% a; c2 <- crossprod(a); .fastr.parallel.threads(0L); c(identical(r1, r2), identical(c1, c2)) }",
+                        "c(TRUE, TRUE)");
+    }
 }
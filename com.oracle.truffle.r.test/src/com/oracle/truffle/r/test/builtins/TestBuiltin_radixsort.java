@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2014, Purdue University
- * Copyright (c) 2014, 2018, Oracle and/or its affiliates
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -64,4 +64,27 @@ public class TestBuiltin_radixsort extends TestBase {
         // at InternalNode$InternalCallWrapNode.prepareArgs(InternalNode.java:309)
         assertEval(Ignored.ImplementationError, "argv <- list(structure(integer(0), .Label = character(0), class = 'factor'), TRUE, FALSE); .Internal(radixsort(argv[[1]], argv[[2]], argv[[3]]))");
     }
+
+    @Test
+    public void testRadixOrder() {
+        assertEval("{ x <- c(3L, NA, 1L, 2L, 1L, NA, -5L); list(order(x, method = 'radix'), order(x, method = 'radix', decreasing = TRUE), order(x, method = 'radix', na.last = FALSE), order(x, method = 'radix', na.last = NA)) }");
+        assertEval("{ x <- c(2.5, -0, NaN, 0, -Inf, NA, Inf, 1e-300, -1e300); list(order(x, method = 'radix'), order(x, method = 'radix', decreasing = TRUE), sort(x, method = 'radix')) }");
+        assertEval("{ x <- c(TRUE, NA, FALSE, TRUE, FALSE); list(order(x, method = 'radix'), order(x, method = 'radix', decreasing = TRUE, na.last = FALSE)) }");
+        assertEval("{ x <- c('b', 'B', NA, 'a', 'ab', '', 'b', 'A'); list(order(x, method = 'radix'), order(x, method = 'radix', decreasing = TRUE), sort.list(x, method = 'radix')) }");
+        assertEval("{ x <- c(2L, 1L, 2L, 1L, 2L, NA); y <- c(1, 5, 3, 5, NA, 1); list(order(x, y, method = 'radix'), order(x, y, method = 'radix', decreasing = c(TRUE, FALSE)), order(x, y, method = 'radix', na.last = NA), order(x, -y, method = 'radix', decreasing = c(FALSE, TRUE))) }");
+        assertEval("{ x <- factor(c('u', 'v', 'u', NA, 'w')); order(x, c(3, 2, 1, 0, 0), method = 'radix') }");
+        assertEval("{ set.seed(42); x <- sample(1e5L, 2e5, replace = TRUE); y <- runif(2e5); o <- order(x, y, method = 'radix'); c(identical(o, order(x, y)), !is.unsorted(x[o])) }");
+        assertEval("order(integer(0), method = 'radix')");
+        assertEval("order(c(1, 2), 1:3, method = 'radix')");
+        assertEval(".Internal(radixsort(TRUE, c(FALSE, TRUE), FALSE, TRUE, c(1L, 1L, 2L), c(3, 4, 5)))");
+    }
+
+    @Test
+    public void testRadixGroups() {
+        assertEval(".Internal(radixsort(TRUE, FALSE, TRUE, TRUE, c(3L, 1L, NA, 3L, 1L, 1L)))");
+        assertEval(".Internal(radixsort(TRUE, c(FALSE, FALSE), TRUE, TRUE, c(1L, 2L, 1L, 2L, 1L), c('b', 'a', 'b', 'a', 'a')))");
+        assertEval(".Internal(radixsort(TRUE, FALSE, TRUE, FALSE, c('z', 'a', 'z', NA, 'm', 'a')))");
+        assertEval(".Internal(radixsort(TRUE, FALSE, TRUE, TRUE, c(0, -0, NaN, NA, 1)))");
+        assertEval("{ g <- grouping(c(3L, 1L, 3L, 2L, 1L)); c(g, attr(g, 'ends'), attr(g, 'maxgrpn')) }");
+    }
 }
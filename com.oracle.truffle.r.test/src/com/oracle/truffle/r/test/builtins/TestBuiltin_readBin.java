@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -49,4 +49,11 @@ public class TestBuiltin_readBin extends TestBase {
 
         assertEval("readBin(as.raw(as.raw(c(1, 2, 3))), 'tralala', 5)");
     }
+
+    @Test
+    public void testReadBinLargeFile() {
+        // large enough to be memory mapped
+        assertEval("{ f <- tempfile(); x <- c(1:3e5 / 7, NA, -Inf); writeBin(x, f); con <- file(f, 'rb'); r <- readBin(con, 'raw', 8L); y <- readBin(con, 'double', 4e5); seek(con, 16); z <- readBin(con, 'double', 2e5, endian = 'swap'); close(con); unlink(f); c(identical(y, x[-1]), sum(is.na(y)), length(z), identical(readBin(writeBin(z, raw(), endian = 'swap'), 'double', 2e5), x[3:200002])) }");
+        assertEval("{ f <- tempfile(); x <- c(1:5e5, NA); writeBin(x, f); y <- readBin(f, 'integer', 1e6); unlink(f); c(identical(x, y), anyNA(y)) }");
+    }
 }
@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -154,4 +154,13 @@ public class TestBuiltin_regexpr extends TestBase {
         // FIXME: Enable once Unicode support is implemented in PCRE2.
         assertEval(Ignored.ImplementationError, "{ regexpr('[⚽]', '─', perl=TRUE) }");
     }
+
+    @Test
+    public void testRegexprFixedLong() {
+        // the Horspool search has to continue after every match
+        assertEval("{ regexpr(strrep('ab', 4), c(strrep('ab', 20), paste0(strrep('a', 40), strrep('ab', 4)), strrep('ba', 20)), fixed = TRUE) }");
+        assertEval("{ gregexpr(strrep('ab', 4), strrep('ab', 20), fixed = TRUE) }");
+        assertEval("{ gregexpr(strrep('a', 8), c(strrep('a', 40), strrep('a', 47)), fixed = TRUE) }");
+        assertEval("{ regexpr('abcd\\u0165fgh', c(paste0(strrep('\\u0161', 40), 'abcdefgh'), paste0(strrep('\\u0161', 40), 'abcd\\u0165fgh')), fixed = TRUE) }");
+    }
 }
@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2019, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -105,6 +105,19 @@ public class TestBuiltin_scan extends TestBase {
         assertEval("{ con<-textConnection(c(\"1.5 2.89 3\", \"4 5 6\")); .Internal(scan(con, 1.2, 2, ' ', NULL, '\"', 0, 3, \"NA\", F, F, F, T, T, '', '#', T, 'utf8', F)) }");
     }
 
+    @Test
+    public void testColumns() {
+        assertEval("{ con<-textConnection(c('1 -2 NA', '003 2147483647 -2147483647')); scan(con, what=1L, quiet=TRUE) }");
+        assertEval("{ con<-textConnection(c('1.5 -2e3 .25 1e-5 +7', '1.234567890123456789 1e400 Inf NaN 0x1A')); scan(con, what=1, quiet=TRUE) }");
+        assertEval("{ con<-textConnection(c('T F TRUE false', 'True x NA')); scan(con, what=TRUE, quiet=TRUE) }");
+        assertEval("{ con<-textConnection(c('1,\"a b\",2.5,T', '2,,,F', '3,c,-1,')); scan(con, what=list(1L, '', 1, TRUE), sep=',', quiet=TRUE) }");
+        assertEval("{ con<-textConnection(c('1 a', '2', '3 c')); scan(con, what=list(0L, ''), fill=TRUE, quiet=TRUE) }");
+        assertEval("{ con<-textConnection(c('1 2', '3 4', '5 6')); scan(con, what=list(0, 0), nlines=2, quiet=TRUE) }");
+        assertEval("{ con<-textConnection(c('1 2', '3 4', '5 6')); list(scan(con, what=0, nlines=1, quiet=TRUE), scan(con, what=0, quiet=TRUE)) }");
+        assertEval("{ con<-textConnection(c('1 x', '-')); scan(con, what=0L, quiet=TRUE) }");
+        assertEval("{ con<-textConnection(paste(1:5000, (1:5000) / 8, sep=',')); x <- scan(con, what=list(0L, 0), sep=',', quiet=TRUE); c(length(x[[1]]), sum(x[[1]]), sum(x[[2]])) }");
+    }
+
     @Test
     public void testPooling() {
         assertEvalFastR("s <- scan(textConnection(paste0(rep('asdf\\n', 1000))), character(0), quiet=T); all(sapply(s, function(x) .fastr.identity(x) == .fastr.identity(s[[1]])))", "TRUE");
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,9 +22,22 @@
  */
 package com.oracle.truffle.r.test.builtins;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
+import com.oracle.truffle.r.runtime.data.MappedFileRegion;
+import com.oracle.truffle.r.runtime.data.RDoubleMappedVectorData;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RIntMappedVectorData;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRContext;
+import com.oracle.truffle.r.test.generate.FastRSession;
 
 public class TestBuiltin_serialize extends TestBase {
 
@@ -141,4 +154,87 @@ public class TestBuiltin_serialize extends TestBase {
         assertEval(template("{ f <- function(...) serialize(mget('...'), NULL, version=%0); length(unserialize(f(a=3,b=2,c=1))[[1]]); }", VERSIONS));
         assertEval(template("{ f <- function(...) serialize(environment()[['...']], NULL, version=%0); x <- unserialize(f(a=3,b=2,c=1)); typeof(x) }", VERSIONS));
     }
+
+    @Test
+    public void testSerializeLargeVectors() {
+        // larger than the serialization buffers
+        assertEval(template("{ x <- list(c(1:1e5 / 3, NA, NaN, -Inf), c(NA, 1:1e5), 1:1e5, c(TRUE, NA, FALSE)[1:1e5 %% 3 + 1], as.raw(1:1e5 %% 256), complex(real = 1:5e4, imaginary = -1), c(1i, NA, 2)); " +
+                        "y <- unserialize(serialize(x, NULL, version=%0)); f <- tempfile(); saveRDS(x, f, version=%0); z <- readRDS(f); unlink(f); c(identical(x, y), identical(x, z), anyNA(y[[1]]), anyNA(z[[3]])) }", VERSIONS));
+    }
+
+    @Test
+    public void testSerializeNativeBinary() {
+        assertEval(template("{ x <- list(1:10, c(1.5, NA, -Inf), 'abc', c(TRUE, NA), 3+2i, as.raw(1:3), quote(f(x))); s <- serialize(x, NULL, xdr=FALSE, version=%0); c(rawToChar(s[1]), identical(x, unserialize(s))) }", VERSIONS));
+        assertEval("{ x <- c(1:1e5 / 3, NA); f <- tempfile(); con <- file(f, 'wb'); serialize(x, con, xdr=FALSE); close(con); y <- readRDS(f); info <- .Internal(serializeInfoFromConn(gzfile(f))); unlink(f); c(identical(x, y), info$format) }");
+    }
+
+    @Test
+    public void testReadRDSUncompressed() {
+        // large vectors may be read lazily from the mapped file, see the LazyVectorThreshold option
+        assertEval(template("{ x <- list(a = c(1:1e5 / 7, NA), b = structure(c(NA, 1:1e5), names = paste0('n', 0:1e5)), c = 'abc'); f <- tempfile(); saveRDS(x, f, compress = FALSE, version = %0); y <- readRDS(f); " +
+                        "con <- file(f, 'rb'); z <- unserialize(con); close(con); unlink(f); y$a[3] <- 0; c(identical(x$b, z$b), sum(x$a, na.rm = TRUE) == sum(z$a, na.rm = TRUE), y$a[2:3], names(y$b)[3], anyNA(z$a), y$c) }", VERSIONS));
+    }
+
+    @Test
+    public void testReadRDSLazyVectors() {
+        try (FastRContext context = FastRSession.create().createContext(ContextKind.SHARE_NOTHING)) {
+            FastRSession.execInContext(context, () -> {
+                RContext.getInstance().setOption(FastROptions.LazyVectorThreshold, 1000);
+                return null;
+            });
+            // a and b are left in the file, d is too short
+            context.eval("R", "x <- list(a = c(1:1e5 / 7, NA), b = structure(c(NA, 1:1e5), names = paste0('n', 0:1e5)), c = 'abc', d = 1:10); f <- tempfile(); " +
+                            "saveRDS(x, f, compress = FALSE); y <- readRDS(f); a <- y$a; b <- y$b; con <- file(f, 'rb'); z <- unserialize(con); close(con)");
+            MappedFileRegion[] regions = new MappedFileRegion[2];
+            FastRSession.execInContext(context, () -> {
+                Object a = ((RDoubleVector) REnvironment.globalEnv().get("a")).getData();
+                Object b = ((RIntVector) REnvironment.globalEnv().get("b")).getData();
+                Assert.assertTrue(a instanceof RDoubleMappedVectorData);
+                Assert.assertTrue(b instanceof RIntMappedVectorData);
+                regions[0] = ((RDoubleMappedVectorData) a).getRegion();
+                regions[1] = ((RIntMappedVectorData) b).getRegion();
+                return null;
+            });
+            Assert.assertTrue(regions[0].isMapped() && regions[1].isMapped());
+            Assert.assertTrue(context.eval("R", "identical(x, y) && identical(x, z) && sum(y$a, na.rm = TRUE) == sum(x$a, na.rm = TRUE) && is.na(y$b[1]) && y$b[[1e5 + 1]] == 1e5").asBoolean());
+            // overwriting the file copies the vectors still mapped from it to the heap first
+            Assert.assertTrue(context.eval("R", "saveRDS(y, f); w <- readRDS(f); con <- file(f, 'wb'); close(con); unlink(f); identical(x, y) && identical(x, z) && identical(x, w)").asBoolean());
+            Assert.assertFalse(regions[0].isMapped() || regions[1].isMapped());
+            Assert.assertTrue(context.eval("R", "y$a[3] <- 0; b[2] <- -1L; identical(y$a[2:4], c(2/7, 0, 4/7)) && identical(b[1:3], c(n0 = NA, n1 = -1L, n2 = 2L))").asBoolean());
+        }
+    }
+
+    @Test
+    public void testCompactStrings() {
+        try (FastRContext context = FastRSession.create().createContext(ContextKind.SHARE_NOTHING)) {
+            FastRSession.execInContext(context, () -> {
+                RContext.getInstance().setOption(FastROptions.CompactStringThreshold, 3);
+                return null;
+            });
+            // y is all Latin-1, w has a character outside of Latin-1, v is too short
+            context.eval("R", "x <- c('abc', NA, '', 'caf\\u00e9', 'z'); y <- unserialize(serialize(x, NULL)); f <- tempfile(); saveRDS(x, f); z <- readRDS(f); unlink(f); " +
+                            "w <- unserialize(serialize(c('a', NA, '\\u20ac', 'caf\\u00e9'), NULL)); v <- unserialize(serialize(c('a', 'b'), NULL))");
+            long[] byteSize = new long[1];
+            FastRSession.execInContext(context, () -> {
+                RStringVector y = (RStringVector) REnvironment.globalEnv().get("y");
+                Assert.assertTrue(y.isCompact());
+                Assert.assertTrue(((RStringVector) REnvironment.globalEnv().get("z")).isCompact());
+                Assert.assertFalse(((RStringVector) REnvironment.globalEnv().get("w")).isCompact());
+                Assert.assertFalse(((RStringVector) REnvironment.globalEnv().get("v")).isCompact());
+                byteSize[0] = y.getCompact().getByteSize();
+                return null;
+            });
+            Assert.assertTrue(context.eval("R", "identical(x, y) && identical(x, z) && identical(serialize(y, NULL), serialize(x, NULL)) && identical(y[c(4, 2)], c('caf\\u00e9', NA))").asBoolean());
+            Assert.assertTrue(context.eval("R", "identical(nchar(y), c(3L, NA, 0L, 4L, 1L)) && identical(nchar(y, keepNA = FALSE), c(3L, 2L, 0L, 4L, 1L)) && " +
+                            "identical(nchar(y, keepNA = TRUE), nchar(x, keepNA = TRUE)) && identical(nchar(y, type = 'width'), c(3L, 2L, 0L, 4L, 1L))").asBoolean());
+            Assert.assertTrue(context.eval("R", "identical(w, c('a', NA, '\\u20ac', 'caf\\u00e9')) && identical(nchar(w), c(1L, NA, 1L, 4L)) && identical(v, c('a', 'b'))").asBoolean());
+            // object.size counts the bytes of the compact vector on top of the empty vector
+            Assert.assertEquals(byteSize[0], context.eval("R", "as.numeric(object.size(y)) - as.numeric(object.size(character()))").asDouble(), 0);
+            // == and match compare the bytes of the compact vector
+            Assert.assertTrue(context.eval("R", "identical(y == 'caf\\u00e9', c(FALSE, NA, FALSE, TRUE, FALSE)) && identical('z' != y, x != 'z') && identical(y == NA_character_, x == NA_character_) && " +
+                            "identical(y == '\\u20ac', c(FALSE, NA, FALSE, FALSE, FALSE)) && identical(match('z', y), 5L) && identical(match(NA_character_, y), 2L) && " +
+                            "identical(match(c('z', NA, 'q', 'caf\\u00e9', ''), y), c(5L, 2L, NA, 4L, 3L)) && identical(c('abc', 'x') %in% y, c(TRUE, FALSE))").asBoolean());
+            Assert.assertTrue(context.eval("R", "y[2] <- 'd'; identical(y, c('abc', 'd', '', 'caf\\u00e9', 'z')) && identical(nchar(y), c(3L, 1L, 0L, 4L, 1L))").asBoolean());
+        }
+    }
 }
@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -179,4 +179,12 @@ public class TestBuiltin_strsplit extends TestBase {
         // replaced by an empty character vector, but in this case gnur does not do that.
         assertEval(Ignored.ImplementationError, "strsplit('/some/path/to/somewhere' , '^(?=/)(?!//)|(?<!^)(?<!^/)/', perl = TRUE)");
     }
+
+    @Test
+    public void testStrsplitFixedLong() {
+        // separators long enough for the Horspool search, at the start and at the end
+        assertEval("{ strsplit(paste0('<--SEP-->', paste(c('a', 'b', strrep('c', 40)), collapse = '<--SEP-->'), '<--SEP-->'), '<--SEP-->', fixed = TRUE) }");
+        assertEval("{ strsplit(c(strrep('a', 40), strrep('a', 42)), strrep('a', 8), fixed = TRUE) }");
+        assertEval("{ strsplit(paste0(strrep('\\u0161', 40), 'abcd\\u0165fgh', 'x', 'abcdefgh'), 'abcd\\u0165fgh', fixed = TRUE) }");
+    }
 }
@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -171,4 +171,12 @@ public class TestBuiltin_sub extends TestBase {
         // FastR output: [1] "axÄÄÄÄb"
         assertEval("{ sub(pattern = 'Ä*', replacement = 'x', x = 'aÄÄÄÄÄb', perl = TRUE) }");
     }
+
+    @Test
+    public void testSubFixed() {
+        // the replacement is only prepared once something matches
+        assertEval("{ sub('x', '\\\\', c('abc', NA), fixed = TRUE) }");
+        assertEval("{ sub(strrep('x', 8), '\\\\', strrep('a', 40), fixed = TRUE) }");
+        assertEval("{ sub('abcdefgh', '<>', c(paste0(strrep('abcdefgx', 6), 'abcdefgh', 'abcdefgh'), strrep('a', 40)), fixed = TRUE) }");
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -149,6 +149,9 @@ public class TestConnections extends TestRBase {
         assertEval("{ con <- textConnection(\"tcval\", open=\"w\"); writeLines(\"a\", con); writeLines(c(\"a\", \"b\"), con, sep=\".\"); writeLines(\"\", con); tcval; close(con) }");
         assertEval("{ con <- textConnection(\"tcval\", open=\"w\"); writeLines(\"a\\nb\", con); tcval; close(con) }");
         assertEval("c <- textConnection('out', 'w'); cat('testtext', file=c); isIncomplete(c); cat('testtext2\\n', file=c); isIncomplete(c); close(c); out");
+        assertEval("{ con <- textConnection('tcval', 'w'); cat('a', file=con); x <- tcval; cat('b\\nc', file=con); y <- tcval; writeLines(c('d', 'e'), con); z <- tcval; close(con); list(x, y, z, tcval) }");
+        assertEval("{ con <- textConnection('tcval', 'w'); writeLines(as.character(1:100), con); x <- tcval; x[2] <- 'x'; writeLines('101', con); close(con); list(x[1:3], length(tcval), tcval[c(2, 100, 101)]) }");
+        assertEval("{ x <- capture.output(for (i in 1:20000) cat(i, '\\n')); c(length(x), x[1], x[12345], x[20000]) }");
 
         // anonymous connection
         assertEval("{ c <- textConnection(NULL, 'w'); cat('testtext\\n', file=c); textConnectionValue(c) }");
@@ -219,6 +222,23 @@ public class TestConnections extends TestRBase {
         assertEval(template("readLines(textConnection(\"foo%0%1\"))", endings, text));
     }
 
+    @Test
+    public void testReadLinesBulk() {
+        // more lines than fit into the read cache of the connection
+        assertEval("{ fn <- tempfile(); lines <- paste0('line', 1:5000, strrep('x', 1:5000 %% 17)); writeLines(lines, fn); r <- readLines(fn); unlink(fn); identical(r, lines) }");
+        assertEval("{ fn <- tempfile(); writeLines(as.character(1:100000), fn); con <- file(fn, 'r'); a <- readLines(con, 3); b <- readLines(con, 2); rest <- readLines(con); close(con); unlink(fn); list(a, b, length(rest), rest[length(rest)]) }");
+        // '\r' at the end of the cache followed by '\n' at the start of the next fill
+        assertEval("{ fn <- tempfile(); con <- file(fn, 'wb'); writeBin(charToRaw(paste0(strrep('a', 16383), '\\r\\nb\\rc\\n\\nd')), con); close(con); r <- readLines(fn, warn = FALSE); unlink(fn); c(nchar(r[[1]]), r[-1]) }");
+        assertEval("{ fn <- tempfile(fileext = '.gz'); con <- gzfile(fn, 'w'); writeLines(c('a\\u00e4', '', strrep('\\u00fc', 20000), 'end'), con); close(con); r <- readLines(gzfile(fn), encoding = 'UTF-8'); unlink(fn); c(r[1:2], nchar(r[[3]]), r[[4]]) }");
+    }
+
+    @Test
+    public void testGzfileLargeWrite() {
+        // larger than the buffer of the gzip output, see TestParallelGZIPOutputStream for the
+        // parallel compressor, which is disabled by default
+        assertEval("{ x <- list(1:1e6, as.character(1:1e5)); fn <- tempfile(fileext = '.rds'); saveRDS(x, fn); y <- readRDS(fn); con <- gzfile(fn, 'w'); writeLines(as.character(1:2e5), con); close(con); con <- gzfile(fn, 'a'); writeLines('end', con); close(con); r <- readLines(fn); unlink(fn); c(identical(x, y), length(r), r[[2e5]], r[[length(r)]]) }");
+    }
+
     @Test
     public void testRawReadAppendText() {
 
@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -301,6 +301,31 @@ public class TestSimpleArithmetic extends TestBase {
         assertEval("3 ** 4");
     }
 
+    @Test
+    public void testLargeVectors() {
+        // long enough to be processed by multiple threads
+        assertEval("{ x <- as.double(1:2e6); y <- x * 2 + x - x / 2; c(all(y == 2.5 * x), length(y)) }");
+        assertEval("{ x <- as.double(1:2e6); x[c(1, 1500000)] <- NA; x[2] <- NaN; y <- x + c(1, NA); c(sum(is.na(y)), sum(is.nan(y)), y[1:4]) }");
+        assertEval("{ x <- as.double(1:2e6); y <- NaN - x; c(sum(is.nan(y)), sum(is.na(y))) }");
+        assertEval("{ x <- matrix(as.double(1:2e6), ncol = 2); y <- x * 3; c(dim(y), y[2e6]) }");
+        assertEval("{ y <- as.double(1:2e6) + c(1, 2, 3); c(length(y), y[1:4], y[2e6]) }");
+        assertEval("{ y <- c(1, 2, 3) * as.double(1:2e6); c(length(y), y[1:4], y[2e6]) }");
+    }
+
+    @Test
+    public void testLargeVectorReductions() {
+        // long enough to be reduced in chunks, the sums of integral doubles are exact in any order
+        assertEval("{ x <- as.double(1:2e6); c(sum(x), mean(x), max(x), min(x), sum(-x), max(rev(x))) }");
+        assertEval("{ x <- as.double(1:2e6); x[1500000] <- NA; x[2] <- NaN; c(sum(x), sum(x, na.rm = TRUE), max(x), min(x, na.rm = TRUE), mean(x)) }");
+        assertEval("{ x <- as.double(1:2e6); x[3] <- NaN; c(sum(x), mean(x), prod(x)) }");
+        assertEval("{ x <- rep(c(Inf, NA, NaN), 1e6); c(sum(x, na.rm = TRUE), range(x, finite = TRUE), max(x, na.rm = TRUE)) }");
+        assertEval("{ x <- rep(c(-0.5, 2), 1e6); c(prod(x), prod(x[-1]), all.equal(mean(x), 0.75)) }");
+        assertEval("{ x <- 1:2e6; c(typeof(sum(x %% 3L)), sum(x %% 3L), max(x), min(x), max(rev(x))) }");
+        assertEval("{ x <- rep(c(1000L, -1000L), 1e6); c(typeof(sum(x)), sum(x)) }");
+        assertEval("{ x <- rep(3L, 2e6); x[2e6] <- NA; c(sum(x), sum(x, na.rm = TRUE), min(x), max(x, na.rm = TRUE)) }");
+        assertEval("{ x <- rep(NA_real_, 2e6); max(x, na.rm = TRUE) }");
+    }
+
     @Test
     public void testVectorsOperationsComplex() {
         assertEval("{ a <- c(1+1i,3+2i) ; a - (4+3i) }");
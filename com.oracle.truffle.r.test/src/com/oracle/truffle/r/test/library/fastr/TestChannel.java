@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRContext;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+/**
+ * Tests the channels used by the SHARED clusters to communicate with their worker contexts.
+ */
+public class TestChannel extends TestBase {
+
+    /**
+     * Returns code that spawns a worker context running {@code workerCode} with {@code ch} bound
+     * to its end of a new channel, the id of the parent end of the channel is bound to {@code ch}.
+     */
+    private static String spawn(String workerCode) {
+        return "ch <- .fastr.channel.createForkChannel(21000L); " +
+                        "ctx <- .fastr.context.spawn(sprintf('{ ch <- .fastr.channel.get(%dL); " + workerCode + " }', ch$port)); ch <- ch$channelId; ";
+    }
+
+    @Test
+    public void testSharedData() {
+        // the function attribute forces the conversion of the attributes, the data are shared
+        assertEvalFastR("{ " + spawn("y <- .fastr.channel.receive(ch); y[[1]] <- -1; .fastr.channel.send(ch, 0); .fastr.channel.receive(ch); " +
+                        ".fastr.channel.send(ch, list(y[1:3], dim(y), attr(y, \"tag\"), attr(y, \"f\")()))") +
+                        "x <- structure(as.double(1:1e6), dim = c(1000L, 1000L), tag = 'a', f = function() 42); .fastr.channel.send(ch, x); " +
+                        "invisible(.fastr.channel.receive(ch)); x[[2]] <- -2; .fastr.channel.send(ch, 0); res <- .fastr.channel.receive(ch); " +
+                        ".fastr.context.join(ctx); .fastr.channel.close(ch); list(x[1:3], res) }",
+                        "list(c(1, -2, 3), list(c(-1, 2, 3), c(1000L, 1000L), 'a', 42))");
+    }
+
+    @Test
+    public void testBatch() {
+        // receiveBatch returns at least one message, but not necessarily all that were sent
+        String receive3 = "msgs <- list(); while (length(msgs) < 3) msgs <- c(msgs, .fastr.channel.receiveBatch(ch, 3L - length(msgs))); ";
+        assertEvalFastR("{ " + spawn(receive3 +".fastr.channel.sendBatch(ch, rev(msgs))") +
+                        ".fastr.channel.sendBatch(ch, list(1, 'a', list(b = 2))); " + receive3 +
+                        ".fastr.context.join(ctx); stats <- .fastr.channel.stats(ch); .fastr.channel.close(ch); list(msgs, stats[c('messages.sent', 'messages.received')]) }",
+                        "list(list(list(b = 2), 'a', 1), c(messages.sent = 3, messages.received = 3))");
+        assertEvalFastR("{ ch <- .fastr.channel.createForkChannel(21000L)$channelId; res <- names(.fastr.channel.stats(ch)); .fastr.channel.close(ch); res }",
+                        "c('messages.sent', 'messages.received', 'bytes.sent', 'bytes.received', 'send.wait.ms', 'receive.wait.ms')");
+    }
+
+    @Test
+    public void testQueueCapacity() {
+        try (FastRContext context = FastRSession.create().createContext(ContextKind.SHARE_NOTHING)) {
+            FastRSession.execInContext(context, () -> {
+                RContext.getInstance().setOption(FastROptions.ChannelQueueCapacity, 3);
+                return null;
+            });
+            // with the default capacity of 1, the second send would block as nobody receives
+            String code = "{ ch <- .fastr.channel.createForkChannel(22000L); peer <- .fastr.channel.get(ch$port); ch <- ch$channelId; " +
+                            ".fastr.channel.send(ch, 1); .fastr.channel.sendBatch(ch, list(2, 3)); " +
+                            "res <- .fastr.channel.receiveBatch(peer, 10L); stats <- .fastr.channel.stats(peer); .fastr.channel.close(ch); " +
+                            "identical(res, list(1, 2, 3)) && stats[['messages.received']] == 3 && .fastr.channel.stats(ch)[['messages.sent']] == 3 }";
+            Assert.assertTrue(context.eval("R", code).asBoolean());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -46,6 +46,56 @@ public class TestBuiltin_mclapply extends TestBase {
         assertEval(Ignored.ImplementationError, "f <- function() { res <- parallel:::mclapply(1:3, function(i) i)}; f() ; f()");
     }
 
+    @Test
+    public void testMCLapplyPool() {
+        assertEvalFastR("names(.fastr.context.pool.stats())", "c('capacity', 'idle', 'spawned', 'reused')");
+        // pooled workers must not see globals from previous tasks (race-conditions, see above)
+        assertEval(Ignored.ImplementationError, "invisible(parallel:::mclapply(1:2, function(i) assign('g', i, globalenv()), mc.cores=2)); " +
+                        "unlist(parallel:::mclapply(1:2, function(i) exists('g', globalenv()), mc.cores=2))");
+        // a single worker is reused by the second cluster and must be reset to its initial state
+        assertEvalFastR("{ cl <- parallel::makeCluster(1, type='SHARED', pool=TRUE); " +
+                        "invisible(parallel::clusterEvalQ(cl, { g <- 1; options(fastr.test.option = 1); attach(list(h = 1), name = 'fastr.test.attached'); " +
+                        "RNGkind(\"L'Ecuyer-CMRG\"); set.seed(1); sink(tempfile()) })); parallel::stopCluster(cl); " +
+                        "reused <- .fastr.context.pool.stats()[['reused']]; " +
+                        "cl <- parallel::makeCluster(1, type='SHARED', pool=TRUE); " +
+                        "res <- parallel::clusterEvalQ(cl, c(exists('g'), !is.null(getOption('fastr.test.option')), 'fastr.test.attached' %in% search(), " +
+                        "exists('.Random.seed', globalenv()), RNGkind()[[1]] == \"L'Ecuyer-CMRG\", sink.number() != 0))[[1]]; parallel::stopCluster(cl); " +
+                        "c(res, .fastr.context.pool.stats()[['reused']] > reused) }", "c(FALSE, FALSE, FALSE, FALSE, FALSE, FALSE, TRUE)");
+        // reused workers do not replay the random numbers of the previous call
+        assertEvalFastR("{ a <- parallel::mclapply(1:2, function(i) runif(3), mc.cores=2); b <- parallel::mclapply(1:2, function(i) runif(3), mc.cores=2); !identical(a, b) }", "TRUE");
+    }
+
+    @Test
+    public void testParLapply() {
+        assertEvalFastR(".fastr.isPure(function(x) x + 1)", "TRUE");
+        assertEvalFastR(".fastr.isPure(function(x) { y <- x * 2; names(y) <- 'a'; y })", "TRUE");
+        assertEvalFastR(".fastr.isPure(function(x) y <<- x)", "FALSE");
+        assertEvalFastR(".fastr.isPure(function(i, e) e$x <- i)", "FALSE");
+        assertEvalFastR(".fastr.isPure(function(i, e) { y <- e; attr(y, 'a') <- i })", "FALSE");
+        assertEvalFastR(".fastr.isPure(function(i, e) { y <- list(); if (i > 1) y <- e; y[['x']] <- i })", "FALSE");
+        assertEvalFastR(".fastr.isPure(function(i, e) { y <- list(); for (j in 1:i) { y$x <- j; y <- e } })", "FALSE");
+        assertEvalFastR(".fastr.isPure(function(i) { y <- list(); y$x <- i; y[['z']] <- i; y })", "TRUE");
+        assertEvalFastR(".fastr.isPure(function(x) cat(x))", "FALSE");
+        assertEvalFastR(".fastr.isPure(function(x) runif(x))", "FALSE");
+        assertEvalFastR(".fastr.isPure(function(x, f) f(x))", "FALSE");
+        assertEvalFastR("{ g <- function(x) x * 2; .fastr.isPure(function(x) g(x) + 1) }", "TRUE");
+        assertEvalFastR("{ g <- function(x) assign('y', x, globalenv()); .fastr.isPure(function(x) g(x)) }", "FALSE");
+        // impure functions fall back to lapply
+        assertEvalFastR("{ n <- 0; invisible(.fastr.parLapply(1:3, function(i) n <<- n + i)); n }", "6");
+        assertEvalFastR("{ e <- new.env(); invisible(.fastr.parLapply(1:2, function(i, e) e$x <- i, e = e)); e$x }", "2");
+        assertEvalFastR(".fastr.parLapply(1:3, function(i) i, mc.cores = 1)", "lapply(1:3, function(i) i)");
+        assertEvalFastR(".fastr.parLapply(c(a=1, b=2, c=3), function(x) x * 2)", "lapply(c(a=1, b=2, c=3), function(x) x * 2)");
+        // pure functions run on the pooled workers
+        assertEvalFastR("{ before <- .fastr.context.pool.stats(); res <- .fastr.parLapply(1:4, function(x) x * 2, mc.cores = 2); " +
+                        "after <- .fastr.context.pool.stats(); c(identical(res, lapply(1:4, function(x) x * 2)), sum(after[c('spawned', 'reused')]) > sum(before[c('spawned', 'reused')])) }",
+                        "c(TRUE, TRUE)");
+        // classed objects in X or in the extra arguments fall back to lapply
+        assertEvalFastR("{ before <- .fastr.context.pool.stats(); res <- .fastr.parLapply(list(1, factor('a')), function(x) x, mc.cores = 2); " +
+                        "c(length(res) == 2, identical(before, .fastr.context.pool.stats())) }", "c(TRUE, TRUE)");
+        assertEvalFastR("{ before <- .fastr.context.pool.stats(); res <- .fastr.parLapply(1:2, function(x, d) x + as.numeric(d), d = as.Date('1970-01-03'), mc.cores = 2); " +
+                        "c(identical(res, list(3, 4)), identical(before, .fastr.context.pool.stats())) }", "c(TRUE, TRUE)");
+    }
+
     @Test
     public void testMCLapplyNested() {
         // race-conditions, easilly reproducible with LLVM
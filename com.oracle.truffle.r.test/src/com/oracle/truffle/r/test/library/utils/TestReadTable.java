@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -46,4 +46,18 @@ public class TestReadTable extends TestBase {
         assertEval("read.table(header = TRUE, blank.lines.skip=FALSE, text = 'a b c\\n\\n1 2 3\\n4 5 6')");
     }
 
+    @Test
+    public void testFiles() {
+        assertEval("{ f <- tempfile(); writeLines(c('a,b,c,d', '1,2.5,x,TRUE', '-3,NA,\\\"y, z\\\",F', '4,1e3,,NA'), f); r <- read.csv(f); unlink(f); r }");
+        assertEval("{ f <- tempfile(); writeLines(c('a,b', '1,\\\"x\\\"\\\"y\\\"', '2,\\\"two\\nlines\\\"'), f); r <- read.csv(f); unlink(f); r }");
+        assertEval("{ f <- tempfile(); writeLines(c('# comment', '1 2.0 a', '3  4 b', '', '5 6 c'), f); r <- read.table(f, skip = 1); unlink(f); str(r) }");
+        assertEval("{ f <- tempfile(); writeLines(c('x\\ty', '1\\t9999999999', '2\\t-1'), f); r <- read.delim(f, stringsAsFactors = TRUE); unlink(f); str(r) }");
+        assertEval("{ f <- tempfile(); writeLines(c('a,b', '1,x', '2,y # not a comment'), f); r <- read.table(f, sep = ',', header = TRUE); unlink(f); r }");
+        assertEval("{ f <- tempfile(); writeLines(c('a,b', '01,-0', '2,NA'), f); r <- read.csv(f, na.strings = c('NA', '2')); unlink(f); str(r) }");
+        // the same table read in chunks of different sizes
+        assertEvalFastR("{ f <- tempfile(); writeLines(c('a,b,c', paste0(1:500, ',', (1:500) / 8, ',\\\"s', 1:500, '\\n', 1:500, '\\\"')), f); " +
+                        "r1 <- .fastr.readTable(f, TRUE, ',', '\\\"', 'NA', 0L, '', FALSE); r2 <- .fastr.readTable(f, TRUE, ',', '\\\"', 'NA', 0L, '', FALSE, 64L); unlink(f); " +
+                        "c(identical(r1, r2), r1$rows, typeof(r1$columns[[2]]), r1$convert) }", "c('TRUE', '500', 'double', 'FALSE', 'FALSE', 'TRUE')");
+        assertEvalFastR("{ f <- tempfile(); writeLines(c('a,b', '1,x', '2,y'), f, sep = '\\r'); r <- .fastr.readTable(f, TRUE, ',', '\\\"', 'NA', 0L, '', FALSE); unlink(f); r }", "NULL");
+    }
 }
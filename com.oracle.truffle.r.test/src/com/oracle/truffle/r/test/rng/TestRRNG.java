@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -43,6 +43,18 @@ public class TestRRNG extends TestBase {
         assertEval("RNGkind('Marsaglia-Multicarry'); RNGkind('Mersenne-Twister'); set.seed(2); runif(5);");
     }
 
+    @Test
+    public void testLEcuyerCMRG() {
+        assertEval("RNGkind(\"L'Ecuyer-CMRG\"); set.seed(42); runif(5)");
+        assertEval("set.seed(123, kind = \"L'Ecuyer-CMRG\"); .Random.seed");
+        assertEval("set.seed(123, kind = \"L'Ecuyer-CMRG\"); s <- .Random.seed; parallel::nextRNGStream(s)");
+        assertEval("set.seed(123, kind = \"L'Ecuyer-CMRG\"); s <- .Random.seed; parallel::nextRNGSubStream(s)");
+        assertEval(".Random.seed <- c(10407L, 1L, 2L, 3L, 4L, 5L, 6L); runif(3)");
+        // invalid seeds are re-initialized
+        assertEval(".Random.seed <- c(10407L, 0L, 0L, 0L, 4L, 5L, 6L); invisible(runif(3)); .Random.seed[2:4] != 0L");
+        assertEval("{ .Random.seed <- c(10407L, 0L, 0L, 0L, 0L, 0L, 0L); x <- runif(3); all(x > 0 & x < 1) && !all(.Random.seed[2:4] == 0L) && !all(.Random.seed[5:7] == 0L) }");
+    }
+
     @Test
     public void testDirectReadingSeed() {
         assertEval("invisible(runif(1)); length(.Random.seed)");
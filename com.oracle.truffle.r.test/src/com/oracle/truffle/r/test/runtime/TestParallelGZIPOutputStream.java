@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.ParallelWorkers;
+import com.oracle.truffle.r.runtime.conn.ParallelGZIPOutputStream;
+import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRContext;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+public class TestParallelGZIPOutputStream extends TestBase {
+
+    private static final int BLOCKS = 4;
+
+    private static FastRContext context;
+
+    @BeforeClass
+    public static void setupClass() {
+        FastRSession session = FastRSession.create();
+        context = session.createContext(ContextKind.SHARE_PARENT_RW);
+    }
+
+    @AfterClass
+    public static void finishClass() {
+        context.close();
+    }
+
+    @Test
+    public void testSeveralBatches() {
+        // two full batches and a partial one, written in pieces that cross the block boundaries
+        byte[] data = createData(2 * BLOCKS * ParallelGZIPOutputStream.BLOCK_SIZE + 12345);
+        Assert.assertArrayEquals(data, roundTrip(data, 7777));
+    }
+
+    @Test
+    public void testSingleBytes() {
+        byte[] data = createData(ParallelGZIPOutputStream.BLOCK_SIZE + 10);
+        Assert.assertArrayEquals(data, roundTrip(data, 1));
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertArrayEquals(new byte[0], roundTrip(new byte[0], 1));
+    }
+
+    private static byte[] createData(int length) {
+        // compressible, but not trivially
+        Random random = new Random(42);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return data;
+    }
+
+    private static byte[] roundTrip(byte[] data, int pieceSize) {
+        byte[][] result = new byte[1][];
+        FastRSession.execInContext(context, () -> {
+            ParallelWorkers.setThreadCount(BLOCKS);
+            try {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (ParallelGZIPOutputStream out = new ParallelGZIPOutputStream(compressed, BLOCKS)) {
+                    for (int i = 0; i < data.length; i += pieceSize) {
+                        if (pieceSize == 1) {
+                            out.write(data[i]);
+                        } else {
+                            out.write(data, i, Math.min(pieceSize, data.length - i));
+                        }
+                    }
+                }
+                result[0] = decompress(compressed.toByteArray());
+            } finally {
+                ParallelWorkers.setThreadCount(0);
+            }
+            return null;
+        });
+        return result[0];
+    }
+
+    private static byte[] decompress(byte[] compressed) throws IOException {
+        // GZIPInputStream reads all the members of a multi-member stream
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2021, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -43,4 +43,22 @@ public class TestRegExp {
         Assert.assertEquals("[\\[]", RegExp.transformPatternToGnurCompatible("[[]"));
         Assert.assertEquals("[\\\\]", RegExp.transformPatternToGnurCompatible("[\\]"));
     }
+
+    @Test
+    public void testToECMAScript() {
+        Assert.assertEquals("abc", RegExp.toECMAScript("abc"));
+        Assert.assertEquals("a\\/b", RegExp.toECMAScript("a/b"));
+        Assert.assertEquals("(?:)", RegExp.toECMAScript(""));
+        Assert.assertEquals("(a|b)*", RegExp.toECMAScript("(a|b)*"));
+        Assert.assertEquals("(?=a)b", RegExp.toECMAScript("(?=a)b"));
+        Assert.assertEquals("[0-9]{2,3}?", RegExp.toECMAScript(RegExp.transformPatternToGnurCompatible("[[:digit:]]{2,3}?")));
+        Assert.assertEquals("[ \\t\\n\\x0B\\f\\r]", RegExp.toECMAScript("\\s"));
+        Assert.assertEquals("^[A-Za-z]+(?:$|(?=[\\r\\u0085\\u2028\\u2029]$)|(?<!\\r)(?=\\n$)|(?=\\r\\n$))",
+                        RegExp.toECMAScript(RegExp.transformPatternToGnurCompatible("^[[:alpha:]]+$")));
+        // no exact translation
+        Assert.assertNull(RegExp.toECMAScript("a++"));
+        Assert.assertNull(RegExp.toECMAScript("\\bx"));
+        Assert.assertNull(RegExp.toECMAScript("(a)\\1"));
+        Assert.assertNull(RegExp.toECMAScript("[a&&b]"));
+    }
 }
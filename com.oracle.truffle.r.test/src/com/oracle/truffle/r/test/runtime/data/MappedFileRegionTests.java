@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.data.MappedFileRegion;
+
+public class MappedFileRegionTests {
+
+    // segments of 4096 bytes, so that small files cross several segment boundaries
+    private static final int SEGMENT_SHIFT = 12;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("mapped", ".bin");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testInts() throws IOException {
+        int count = 3000;
+        ByteBuffer buffer = ByteBuffer.allocate(count * Integer.BYTES).order(ByteOrder.BIG_ENDIAN);
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(i * i);
+        }
+        MappedFileRegion region = map(buffer, ByteOrder.BIG_ENDIAN);
+        assertEquals(count * Integer.BYTES, region.getSize());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i * i, region.getInt((long) i * Integer.BYTES));
+        }
+        // starts in the first segment and ends in the third one
+        int[] ints = new int[count - 2];
+        region.getInts(Integer.BYTES, ints, 0, ints.length);
+        for (int i = 0; i < ints.length; i++) {
+            assertEquals((i + 1) * (i + 1), ints[i]);
+        }
+        // exactly the second segment, into the middle of the array
+        int[] segment = new int[SEGMENT_SIZE / Integer.BYTES + 2];
+        region.getInts(SEGMENT_SIZE, segment, 1, SEGMENT_SIZE / Integer.BYTES);
+        assertEquals(0, segment[0]);
+        assertEquals(1024 * 1024, segment[1]);
+        assertEquals(2047 * 2047, segment[segment.length - 2]);
+        assertEquals(0, segment[segment.length - 1]);
+    }
+
+    @Test
+    public void testDoubles() throws IOException {
+        int count = 1500;
+        ByteBuffer buffer = ByteBuffer.allocate(count * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        double[] expected = new double[count];
+        for (int i = 0; i < count; i++) {
+            expected[i] = i == 700 ? Double.NaN : i / 7.0;
+            buffer.putDouble(expected[i]);
+        }
+        MappedFileRegion region = map(buffer, ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected[i], region.getDouble((long) i * Double.BYTES), 0);
+        }
+        double[] doubles = new double[count];
+        region.getDoubles(0, doubles, 0, count);
+        assertArrayEquals(expected, doubles, 0);
+    }
+
+    @Test
+    public void testBytes() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(3 * SEGMENT_SIZE + 100);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            buffer.put((byte) (i * 31));
+        }
+        MappedFileRegion region = map(buffer, ByteOrder.BIG_ENDIAN);
+        // an odd offset, across two segment boundaries
+        byte[] bytes = new byte[SEGMENT_SIZE + 20];
+        region.getBytes(SEGMENT_SIZE - 7, bytes, 0, bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            assertEquals((byte) ((SEGMENT_SIZE - 7 + i) * 31), bytes[i]);
+        }
+        assertEquals((byte) ((buffer.capacity() - 1) * 31), region.getByte(buffer.capacity() - 1));
+    }
+
+    @Test
+    public void testDetachFile() throws IOException {
+        int count = 2500;
+        ByteBuffer buffer = ByteBuffer.allocate(count * Integer.BYTES);
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(-i);
+        }
+        String key = file.toRealPath().toString();
+        MappedFileRegion region = map(buffer, ByteOrder.BIG_ENDIAN, key);
+        MappedFileRegion other = map(buffer, ByteOrder.BIG_ENDIAN, null);
+        assertTrue(region.isMapped());
+        MappedFileRegion.detachFile(key);
+        assertFalse(region.isMapped());
+        assertTrue(other.isMapped());
+        // the copy does not depend on the file anymore
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+        }
+        int[] ints = new int[count];
+        region.getInts(0, ints, 0, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(-i, ints[i]);
+            assertEquals(-i, region.getInt((long) i * Integer.BYTES));
+        }
+    }
+
+    private MappedFileRegion map(ByteBuffer data, ByteOrder order) throws IOException {
+        return map(data, order, null);
+    }
+
+    private MappedFileRegion map(ByteBuffer data, ByteOrder order, String key) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(data.duplicate().flip());
+            return MappedFileRegion.map(channel, key, 0, data.capacity(), order, SEGMENT_SHIFT);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.RStringCompactVectorData;
+
+public class RStringCompactVectorDataTests {
+    @Test
+    public void testBuild() {
+        RStringCompactVectorData.Builder builder = new RStringCompactVectorData.Builder(4);
+        assertTrue(builder.add("abc"));
+        assertTrue(builder.add(RRuntime.STRING_NA));
+        assertTrue(builder.add(""));
+        assertTrue(builder.add("caf\u00e9"));
+        RStringCompactVectorData data = builder.build();
+        assertEquals(4, data.getLength());
+        assertFalse(data.isComplete());
+        assertEquals(3, data.getCharCount(0));
+        assertTrue(data.isNA(1));
+        assertEquals(0, data.getCharCount(2));
+        assertEquals(4, data.getCharCount(3));
+        assertArrayEquals(new String[]{"abc", RRuntime.STRING_NA, "", "caf\u00e9"}, data.getStringDataCopy());
+    }
+
+    @Test
+    public void testGrow() {
+        int length = 1000;
+        String[] expected = new String[length];
+        RStringCompactVectorData.Builder builder = new RStringCompactVectorData.Builder(length);
+        for (int i = 0; i < length; i++) {
+            expected[i] = "element" + i;
+            assertTrue(builder.add(expected[i]));
+        }
+        RStringCompactVectorData data = builder.build();
+        assertTrue(data.isComplete());
+        assertArrayEquals(expected, data.getStringDataCopy());
+    }
+
+    @Test
+    public void testCompare() {
+        String[] elements = {"abc", RRuntime.STRING_NA, "", "caf\u00e9", "abc", "ab"};
+        RStringCompactVectorData.Builder builder = new RStringCompactVectorData.Builder(elements.length);
+        for (String element : elements) {
+            assertTrue(builder.add(element));
+        }
+        RStringCompactVectorData data = builder.build();
+        assertTrue(data.equals(0, "abc"));
+        assertFalse(data.equals(0, "ab"));
+        assertFalse(data.equals(5, "abd"));
+        assertTrue(data.equals(2, ""));
+        assertTrue(data.equals(3, "caf\u00e9"));
+        // the low byte of the euro sign is not the same character
+        assertFalse(data.equals(3, "caf\u20e9"));
+        assertTrue(data.elementsEqual(0, 4));
+        assertFalse(data.elementsEqual(0, 5));
+        assertEquals("caf\u00e9".hashCode(), data.hashCode(3));
+        assertEquals("".hashCode(), data.hashCode(2));
+        assertEquals(0, data.indexOf("abc"));
+        assertEquals(1, data.indexOf(RRuntime.STRING_NA));
+        assertEquals(5, data.indexOf("ab"));
+        assertEquals(-1, data.indexOf("a"));
+    }
+
+    @Test
+    public void testNonLatin1() {
+        RStringCompactVectorData.Builder builder = new RStringCompactVectorData.Builder(3);
+        assertTrue(builder.add("a"));
+        assertTrue(builder.add(RRuntime.STRING_NA));
+        assertFalse(builder.add("\u20ac"));
+        assertArrayEquals(new String[]{"a", RRuntime.STRING_NA, null}, builder.toStringArray());
+    }
+}
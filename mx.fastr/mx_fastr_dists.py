@@ -1,5 +1,5 @@
 #
-# Copyright (c) 2016, 2022, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # This code is free software; you can redistribute it and/or modify it
@@ -210,7 +210,7 @@ mx_sdk.register_graalvm_component(mx_sdk.GraalVmLanguage(
     short_name='R',
     license_files=['LICENSE_FASTR'],
     third_party_license_files=['3rd_party_licenses_fastr.txt'],
-    dependencies=['Truffle', 'LLVM Runtime Native', 'LLVM.org toolchain'],
+    dependencies=['Truffle', 'TRegex', 'LLVM Runtime Native', 'LLVM.org toolchain'],
     truffle_jars=['fastr:FASTR'],
     support_distributions=['fastr:FASTR_GRAALVM_SUPPORT'],
     provided_executables=[
@@ -26,6 +26,17 @@ suite = {
                     {"url" : "https://curio.ssw.jku.at/nexus/content/repositories/snapshots", "kind" : "binary"},
                 ]
             },
+            {
+               "name" : "regex",
+               "subdir" : True,
+               # The version must be the same as the version of Truffle
+               # TRUFFLE REVISION (note: this is a marker for script that can update this)
+               "version" : "2ad03d9745ea946f1c0c7e18ff9e214229c3eb89",
+               "urls" : [
+                    {"url" : "https://github.com/graalvm/graal", "kind" : "git"},
+                    {"url" : "https://curio.ssw.jku.at/nexus/content/repositories/snapshots", "kind" : "binary"},
+                ]
+            },
         ],
    },
 
@@ -168,6 +179,7 @@ suite = {
       "dependencies" : [
         "com.oracle.truffle.r.library",
         "sulong:SULONG_API",
+        "regex:TREGEX",
       ],
       "requires" : [
         "java.desktop",